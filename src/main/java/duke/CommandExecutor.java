@@ -1,41 +1,233 @@
 package duke;
 
 import duke.command.Command;
-import duke.command.UndoAction;
+import duke.history.HistoryEntry;
+import duke.history.HistoryLog;
+import error.storage.StorageException;
 import error.ui.UiException;
 
-import java.util.Stack;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
 
 /**
- * Class used by the program to execute commands. It keeps a history of UndoActions to revert any changes made
- * by the user.
+ * Class used by the program to execute commands. It keeps a history of HistoryEntries to revert any changes made
+ * by the user, and of the HistoryEntries that were undone so that they can be redone until another command changes
+ * the user's tasks. The history is bounded by a budget of memory: once the estimated size of its HistoryEntries
+ * exceeds the budget, the oldest HistoryEntries are evicted, although the latest HistoryEntry is always kept.
+ *
+ * <p>The history may be recorded in a HistoryLog, from which it is restored when the program starts again.
  */
 public class CommandExecutor {
-    private Stack<UndoAction> undoActions;
+    public static final long DEFAULT_MEMORY_BUDGET = 16L * 1024 * 1024;
+
+    private final long memoryBudget;
+    private Deque<HistoryEntry> undoActions;
+    private Deque<HistoryEntry> redoEntries;
+    private long undoActionsSize;
+    private HistoryLog historyLog;
+
+    private interface HistoryLogWrite {
+        void writeTo(HistoryLog historyLog) throws StorageException;
+    }
 
     public CommandExecutor() {
-        this.undoActions = new Stack<>();
+        this(DEFAULT_MEMORY_BUDGET);
     }
 
     /**
-     * Executes the command and adds its correpsonding UndoAction to memory if it exists.
+     * Constructs an executor whose history of HistoryEntries is bounded by a budget of memory.
+     * @param memoryBudget the maximum estimated number of bytes held by the history, which MUST be positive.
+     */
+    public CommandExecutor(long memoryBudget) {
+        this.memoryBudget = memoryBudget;
+        this.undoActions = new ArrayDeque<>();
+        this.redoEntries = new ArrayDeque<>();
+    }
+
+    /**
+     * Restores the history recorded in a log, and records every later change to the history in it.
+     * @param historyLog the log of the history.
+     * @throws StorageException if the log cannot be read or compacted.
+     */
+    public void attachHistoryLog(HistoryLog historyLog) throws StorageException {
+        historyLog.replay(new HistoryLog.RecordHandler() {
+            @Override
+            public void onExecuted(HistoryEntry entry) {
+                CommandExecutor.this.redoEntries.clear();
+                CommandExecutor.this.undoActions.addLast(entry);
+            }
+
+            @Override
+            public void onUndone() {
+                if (CommandExecutor.this.undoActions.isEmpty()) {
+                    // the undone entry is missing from the log, so the entries that could be redone are unknown
+                    CommandExecutor.this.redoEntries.clear();
+                    return;
+                }
+
+                CommandExecutor.this.redoEntries.addLast(CommandExecutor.this.undoActions.removeLast());
+            }
+
+            @Override
+            public void onRedone() {
+                if (!CommandExecutor.this.redoEntries.isEmpty()) {
+                    CommandExecutor.this.undoActions.addLast(CommandExecutor.this.redoEntries.removeLast());
+                }
+            }
+        });
+
+        // entries are only evicted once the history is restored, so that replayed records refer to the same entries
+        this.undoActionsSize = 0;
+        this.undoActions.forEach(undoAction -> this.undoActionsSize += undoAction.getEstimatedSize());
+        this.redoEntries.forEach(redoEntry -> this.undoActionsSize += redoEntry.getEstimatedSize());
+        this.evictOldestUndoActions();
+
+        this.historyLog = historyLog;
+        this.compactHistoryLog();
+    }
+
+    /**
+     * Executes the command and adds its correpsonding HistoryEntry to memory if it exists.
      * @param command the command to be executed by the program.
+     * @return true if the command was carried out, false if it failed.
+     * @throws UiException if the ui fails unexpectedly.
+     */
+    public boolean executeCommand(Command command) throws UiException {
+        boolean isCarriedOut = command.execute();
+        command.getUndoAction().ifPresent(this::pushUndoAction);
+
+        return isCarriedOut;
+    }
+
+    /**
+     * Reverts the latest changes made by the user with the latest HistoryEntry, which can be redone afterwards. The
+     * entry is only taken out of the history once it has reverted the changes, so an entry that fails stays the
+     * latest one.
+     * @return true if the changes were reverted, false if there are no entries to undo or the entry failed.
      * @throws UiException if the ui fails unexpectedly.
      */
-    public void executeCommand(Command command) throws UiException {
-        command.execute();
-        command.getUndoAction().ifPresent(undoActions::push);
+    public boolean undoLatestAction() throws UiException {
+        HistoryEntry undoEntry = this.undoActions.peekLast();
+
+        if (undoEntry == null || !undoEntry.undo()) {
+            return false;
+        }
+
+        this.redoEntries.addLast(this.undoActions.removeLast());
+
+        this.recordInHistoryLog(HistoryLog::appendUndone);
+        return true;
     }
 
     /**
-     * Returns the latest UndoAction to revert the latest changes made by the user.
-     * @return the latest UndoAction.
+     * Makes the changes of the latest undone HistoryEntry again. The entry can be undone again afterwards. The entry
+     * is only taken out of the undone entries once it has made the changes, so an entry that fails stays the latest
+     * undone one.
+     * @return true if the changes were made, false if there are no undone entries or the entry failed.
+     * @throws UiException if the ui fails unexpectedly.
      */
-    public UndoAction getLatestUndoAction() {
-        if (this.undoActions.isEmpty()) {
-            return null;
+    public boolean redoLatestEntry() throws UiException {
+        HistoryEntry redoEntry = this.redoEntries.peekLast();
+
+        if (redoEntry == null || !redoEntry.redo()) {
+            return false;
         }
 
-        return this.undoActions.pop();
+        this.undoActions.addLast(this.redoEntries.removeLast());
+
+        this.recordInHistoryLog(HistoryLog::appendRedone);
+        return true;
+    }
+
+    /**
+     * Holds back the flushes of the history log while a long run of commands is executed, so that the records of the
+     * whole run are flushed together by resumeHistoryFlushes().
+     */
+    public void deferHistoryFlushes() {
+        if (this.historyLog != null) {
+            this.historyLog.deferFlushes();
+        }
+    }
+
+    /**
+     * Flushes the records of the history log held back since deferHistoryFlushes() was called, and flushes each
+     * record as it is made again.
+     */
+    public void resumeHistoryFlushes() {
+        this.recordInHistoryLog(HistoryLog::resumeFlushes);
+    }
+
+    /**
+     * Returns the number of HistoryEntries in the history that can be undone.
+     * @return the number of HistoryEntries that can be undone.
+     */
+    public int getUndoActionsCount() {
+        return this.undoActions.size();
+    }
+
+    /**
+     * Returns the number of undone HistoryEntries in the history.
+     * @return the number of HistoryEntries that can be redone.
+     */
+    public int getRedoEntriesCount() {
+        return this.redoEntries.size();
+    }
+
+    /**
+     * Returns the estimated number of bytes held by the HistoryEntries in the history, including undone ones.
+     * @return the estimated size of the history.
+     */
+    public long getUndoActionsSize() {
+        return this.undoActionsSize;
+    }
+
+    private void pushUndoAction(HistoryEntry undoEntry) {
+        this.redoEntries.forEach(redoEntry -> this.undoActionsSize -= redoEntry.getEstimatedSize());
+        this.redoEntries.clear();
+
+        this.undoActions.addLast(undoEntry);
+        this.undoActionsSize += undoEntry.getEstimatedSize();
+        this.evictOldestUndoActions();
+        this.recordInHistoryLog(historyLog -> historyLog.appendExecuted(undoEntry));
+    }
+
+    private void evictOldestUndoActions() {
+        while (this.undoActionsSize > this.memoryBudget && this.undoActions.size() > 1) {
+            this.undoActionsSize -= this.undoActions.removeFirst().getEstimatedSize();
+        }
+
+        // entries undone first are redone last, so they are evicted once there is nothing else left to evict
+        while (this.undoActionsSize > this.memoryBudget && !this.redoEntries.isEmpty()) {
+            this.undoActionsSize -= this.redoEntries.removeFirst().getEstimatedSize();
+        }
+    }
+
+    private void recordInHistoryLog(HistoryLogWrite write) {
+        if (this.historyLog == null) {
+            return;
+        }
+
+        try {
+            write.writeTo(this.historyLog);
+
+            if (this.historyLog.isFull()) {
+                this.compactHistoryLog();
+            }
+        } catch (StorageException e) {
+            System.out.println("Unable to save history of commands.");
+            this.historyLog = null;
+        }
+    }
+
+    private void compactHistoryLog() throws StorageException {
+        // the log expects the oldest entry to undo first, and the latest undone entry to redo first
+        List<HistoryEntry> undoEntries = new ArrayList<>(this.undoActions);
+        List<HistoryEntry> redoEntries = new ArrayList<>(this.redoEntries);
+        Collections.reverse(redoEntries);
+
+        this.historyLog.compact(undoEntries, redoEntries);
     }
 }
@@ -10,30 +10,50 @@ import duke.command.done.DoneCommandProducer;
 import duke.command.find.FindCommandProducer;
 import duke.command.help.HelpCommandProducer;
 import duke.command.list.ListCommandProducer;
+import duke.command.run.RunCommandProducer;
+import duke.command.schedule.DueCommandProducer;
+import duke.command.schedule.OnCommandProducer;
 import duke.command.sort.SortCommandProducer;
+import duke.command.stats.StatsCommandProducer;
+import duke.history.HistoryLog;
+import duke.task.CachedTaskRepo;
 import duke.task.DefaultTaskRepo;
 import duke.task.TasksController;
 import duke.task.ITaskRepo;
 import error.command.CommandCreationException;
 import error.command.CommandProducerRegisterException;
+import error.storage.StorageException;
 import error.ui.UiException;
 import error.ui.UiInitializationException;
 import storage.Storage;
+import storage.StorageType;
 import ui.Ui;
 import ui.UiDriver;
+import ui.UiType;
 import util.strings.ErrorMessageFormatter;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Main driver class for Duke task manager program.
  */
 
 public class Duke implements UiDriver {
+    private final AtomicBoolean isShuttingDown = new AtomicBoolean();
+
     private Ui ui;
+    private Storage storage;
     private MainCommandFactory mainCommandFactory;
     private TasksController tasksController;
     private CommandExecutor commandExecutor;
+    private ScriptRunner scriptRunner;
+    private int listPageSize;
+    private int scriptFlushInterval;
 
     /**
      * Program entry point.
@@ -43,20 +63,36 @@ public class Duke implements UiDriver {
     public static void main(String[] args) {
         Duke duke = new Duke();
 
-        boolean isGuiEnabled;
+        UiType uiType;
+        StorageType storageType = StorageType.JOURNAL;
+        Path scriptPath = null;
 
-        if (args.length == 0) {
-            isGuiEnabled = true;
-        } else if (args.length == 1 && args[0].equals("-c")) {
-            isGuiEnabled = false;
-        } else {
+        // Tasks are kept in a memory-mapped file instead of a journal if the other arguments are preceded by -m
+        String[] uiArgs = args;
+        if (args.length > 0 && args[0].equals("-m")) {
+            storageType = StorageType.MAPPED;
+            uiArgs = Arrays.copyOfRange(args, 1, args.length);
+        }
+
+        try {
+            if (uiArgs.length == 0) {
+                uiType = UiType.JAVAFX;
+            } else if (uiArgs.length == 1 && uiArgs[0].equals("-c")) {
+                uiType = UiType.CLI;
+            } else if (uiArgs.length == 2 && uiArgs[0].equals("-b")) {
+                uiType = UiType.BATCH;
+                scriptPath = Paths.get(uiArgs[1]);
+            } else {
+                throw new IllegalArgumentException();
+            }
+        } catch (IllegalArgumentException e) {
             System.out.println("Invalid program arguments.");
             System.exit(1);
             return;
         }
 
         try {
-            DukeOptions options = OptionsFactory.select(isGuiEnabled, true, duke);
+            DukeOptions options = OptionsFactory.select(uiType, storageType, duke);
             duke.configure(options);
         } catch (Exception e) {
             System.out.println("FATAL: Unable to configure application.");
@@ -64,7 +100,11 @@ public class Duke implements UiDriver {
             return;
         }
 
-        duke.run();
+        if (scriptPath != null) {
+            duke.runScript(scriptPath);
+        } else {
+            duke.run();
+        }
     }
 
     /**
@@ -80,6 +120,31 @@ public class Duke implements UiDriver {
             System.exit(1);
         }
 
+        this.shutdown(0);
+    }
+
+    /**
+     * Runs a script of commands stored in a file instead of reading commands from the user, and reports how many
+     * commands were run, how fast and how many of them failed.
+     *
+     * @param path the path of the script.
+     */
+    public void runScript(Path path) {
+        try {
+            ui.initializeUi();
+            ScriptRunner.Report report = this.scriptRunner.runScript(path);
+            ui.displayOutput(report.formatReport());
+        } catch (UiInitializationException | UiException e) {
+            System.out.println("FATAL: Failed to initialize ui.");
+            System.exit(1);
+        } catch (IOException e) {
+            System.out.println("FATAL: Unable to read script.");
+            System.exit(1);
+        } catch (StorageException e) {
+            System.out.println("Unable to save tasks.");
+            System.exit(1);
+        }
+
         System.exit(0);
     }
 
@@ -93,11 +158,15 @@ public class Duke implements UiDriver {
         this.ui = options.getUiController();
 
         // Initialize tasks and storage
-        Storage storage = options.getStorage();
-        ITaskRepo model = new DefaultTaskRepo(storage);
+        this.storage = options.getStorage();
+        ITaskRepo model = options.isTaskCachingEnabled() ? new CachedTaskRepo(storage) : new DefaultTaskRepo(storage);
         this.tasksController = new TasksController(model);
         this.tasksController.registerUi(this.ui.getUiOutputAccessor());
-        this.commandExecutor = new CommandExecutor();
+        this.commandExecutor = new CommandExecutor(options.getUndoMemoryBudget());
+        options.getHistoryFilePath()
+                .ifPresent(path -> this.attachHistoryLog(path, options.getHistoryFileMaxSize()));
+        this.listPageSize = options.getListPageSize();
+        this.scriptFlushInterval = options.getScriptFlushInterval();
 
         // Initialize command factory
         this.mainCommandFactory = intializeCommandFactory();
@@ -129,7 +198,43 @@ public class Duke implements UiDriver {
     @Override
     public void onUiClosed() {
         System.out.println("Exiting program...");
-        System.exit(0);
+        this.shutdown(0);
+    }
+
+    /**
+     * Waits for the inputs received so far to be handled, saves the user's tasks and exits the program. The program
+     * is shut down by whichever of run() and onUiClosed() gets here first, so the tasks are only saved once even if
+     * both of them try to shut it down at the same time.
+     *
+     * @param status the exit status of the program
+     */
+    private void shutdown(int status) {
+        if (!this.isShuttingDown.compareAndSet(false, true)) {
+            return;
+        }
+
+        this.ui.awaitReceivedInputs();
+        this.flushStorage();
+        System.exit(status);
+    }
+
+    private void attachHistoryLog(String historyFilePath, long maxSize) {
+        try {
+            HistoryLog historyLog = HistoryLog.getInstance(historyFilePath, maxSize, this.storage,
+                    this.tasksController);
+            this.commandExecutor.attachHistoryLog(historyLog);
+        } catch (StorageException e) {
+            System.out.println("Unable to access history file.");
+            System.out.println("Starting the app without a persistent history of commands.");
+        }
+    }
+
+    private void flushStorage() {
+        try {
+            this.storage.flush();
+        } catch (StorageException e) {
+            System.out.println("Unable to save tasks before exiting.");
+        }
     }
 
     private void handleCommandCreationExceptions(CommandCreationException error) {
@@ -143,31 +248,37 @@ public class Duke implements UiDriver {
 
     private MainCommandFactory intializeCommandFactory() {
         MainCommandFactory mainFactory = new MainCommandFactory();
+        this.scriptRunner = new ScriptRunner(mainFactory, this.commandExecutor, this.storage, this.ui,
+                this.scriptFlushInterval);
 
         // register CommandProducers
         try {
 
             mainFactory.registerCommandProducer(new ByeCommandProducer(this.ui));
             mainFactory.registerCommandProducer(new DeleteCommandProducer(this.tasksController));
-            mainFactory.registerCommandProducer(new ListCommandProducer(this.tasksController));
+            mainFactory.registerCommandProducer(new ListCommandProducer(this.tasksController, this.listPageSize));
             mainFactory.registerCommandProducer(new SortCommandProducer(this.tasksController));
             mainFactory.registerCommandProducer(new DoneCommandProducer(this.tasksController));
             mainFactory.registerCommandProducer(new FindCommandProducer(this.tasksController));
+            mainFactory.registerCommandProducer(new DueCommandProducer(this.tasksController));
+            mainFactory.registerCommandProducer(new OnCommandProducer(this.tasksController));
+            mainFactory.registerCommandProducer(new StatsCommandProducer(this.tasksController));
             mainFactory.registerCommandProducer(new HelpCommandProducer(this.ui));
+            mainFactory.registerCommandProducer(new RunCommandProducer(this.scriptRunner, this.ui));
+
+            // create factories
+            AddCommandFactory addCommandFactory = new AddCommandFactory(this.tasksController);
+            UndoCommandFactory undoCommandFactory = new UndoCommandFactory(this.commandExecutor, this.ui);
+
+            // register factories
+            mainFactory.registerCommandFactory(addCommandFactory);
+            mainFactory.registerCommandFactory(undoCommandFactory);
 
         } catch (CommandProducerRegisterException e) {
             System.out.println("FATAL: Unable to register command producer.");
             System.exit(1);
         }
 
-        // create factories
-        AddCommandFactory addCommandFactory = new AddCommandFactory(this.tasksController);
-        UndoCommandFactory undoCommandFactory = new UndoCommandFactory(this.commandExecutor, this.ui);
-
-        // register factories
-        mainFactory.registerCommandFactory(addCommandFactory);
-        mainFactory.registerCommandFactory(undoCommandFactory);
-
         return mainFactory;
     }
 }
@@ -1,8 +1,12 @@
 package duke;
 
+import duke.command.list.ListCursor;
+import duke.history.HistoryLog;
 import storage.Storage;
 import ui.Ui;
 
+import java.util.Optional;
+
 /**
  * An interface to encapsulate potential runtime configurations for the Duke program.
  */
@@ -18,4 +22,55 @@ public interface DukeOptions {
      * @return the Storage instance to be used for reading and writing data.
      */
     public Storage getStorage();
+
+    /**
+     * Returns true if the user's tasks should be kept in memory instead of being read from the Storage instance every
+     * time they are needed. Caching SHOULD be disabled for storages that can read single tasks cheaply.
+     * @return true if the user's tasks should be cached in memory.
+     */
+    public default boolean isTaskCachingEnabled() {
+        return true;
+    }
+
+    /**
+     * Returns the maximum number of tasks shown on each page when the user lists their tasks one page at a time.
+     * @return the number of tasks on each page, which MUST be positive.
+     */
+    public default int getListPageSize() {
+        return ListCursor.DEFAULT_PAGE_SIZE;
+    }
+
+    /**
+     * Returns the number of commands of a script that are run between flushes of the storage.
+     * @return the number of commands between flushes, which MUST be positive.
+     */
+    public default int getScriptFlushInterval() {
+        return ScriptRunner.DEFAULT_FLUSH_INTERVAL;
+    }
+
+    /**
+     * Returns the maximum estimated number of bytes held by the history of actions that the user can undo. The oldest
+     * actions are forgotten once the history exceeds it.
+     * @return the memory budget of the undo history, which MUST be positive.
+     */
+    public default long getUndoMemoryBudget() {
+        return CommandExecutor.DEFAULT_MEMORY_BUDGET;
+    }
+
+    /**
+     * Returns the path of the file in which the history of actions that the user can undo and redo is kept, so that
+     * it survives restarts of the program.
+     * @return the path of the history file, or empty if the history is only kept in memory.
+     */
+    public default Optional<String> getHistoryFilePath() {
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the size in bytes beyond which the history file is compacted.
+     * @return the maximum size of the history file, which MUST be positive.
+     */
+    public default long getHistoryFileMaxSize() {
+        return HistoryLog.DEFAULT_MAX_SIZE;
+    }
 }
@@ -3,13 +3,19 @@ package duke;
 import error.storage.StorageException;
 import storage.FileSystemStorage;
 import storage.InMemStorage;
+import storage.JournalStorage;
+import storage.MappedStorage;
 import storage.Storage;
+import storage.StorageType;
+import storage.WriteBehindStorage;
 
 import ui.Ui;
 import ui.UiControllerFactory;
 import ui.UiDriver;
 import ui.UiType;
 
+import java.util.Optional;
+
 /**
  * A factory class to generate duke runtime options. The DukeOptions instance created will encapsulate all the
  * dependencies needed for the program to run.
@@ -20,38 +26,86 @@ public class OptionsFactory {
         return System.getProperty("user.home") + "/Duke/tasks.DAT";
     }
 
+    private static String getDefaultMappedStorageFilePath() {
+        return System.getProperty("user.home") + "/Duke/tasks.MAP";
+    }
+
+    private static String getDefaultStorageFilePath(StorageType storageType) {
+        return storageType == StorageType.MAPPED ? getDefaultMappedStorageFilePath() : getDefaultStorageFilePath();
+    }
+
     /**
-     * Generates options based on custom parameters.
+     * Generates options based on custom parameters. Persistent data is stored using a JournalStorage that is written
+     * in the background.
      * @param isGuiEnabled to enable JavaFx gui
      * @param isPersistentDataEnabled to enable changes to be stored in local memory
      * @return DukeOptions object encompassing all the runtime configurations.
      */
     public static DukeOptions select(boolean isGuiEnabled, boolean isPersistentDataEnabled, UiDriver driver) {
-        Ui ui;
+        StorageType storageType = isPersistentDataEnabled ? StorageType.JOURNAL : StorageType.IN_MEMORY;
+        return OptionsFactory.select(isGuiEnabled, storageType, driver);
+    }
+
+    /**
+     * Generates options based on custom parameters.
+     * @param isGuiEnabled to enable JavaFx gui
+     * @param storageType the type of storage used to store the user's tasks
+     * @return DukeOptions object encompassing all the runtime configurations.
+     */
+    public static DukeOptions select(boolean isGuiEnabled, StorageType storageType, UiDriver driver) {
+        return OptionsFactory.select(isGuiEnabled ? UiType.JAVAFX : UiType.CLI, storageType, driver);
+    }
+
+    /**
+     * Generates options based on custom parameters.
+     * @param uiType the type of ui used to interact with the user
+     * @param storageType the type of storage used to store the user's tasks
+     * @return DukeOptions object encompassing all the runtime configurations.
+     */
+    public static DukeOptions select(UiType uiType, StorageType storageType, UiDriver driver) {
         Storage storage;
 
         // Setup UiController
-        if (isGuiEnabled) {
-            ui = UiControllerFactory.createUiController(driver, UiType.JAVAFX);
-        } else {
-            ui = UiControllerFactory.createUiController(driver, UiType.CLI);
-        }
+        Ui ui = UiControllerFactory.createUiController(driver, uiType);
 
         // Setup file storage
-        if (isPersistentDataEnabled) {
-            storage = OptionsFactory.getPersistentStorage();
-        } else {
+        if (storageType == StorageType.IN_MEMORY) {
             storage = new InMemStorage();
+        } else {
+            storage = OptionsFactory.getPersistentStorage(storageType);
         }
 
-        return getOptions(ui, storage);
+        // Tasks are read from storages directly if single tasks can be read without reading the whole file
+        boolean isTaskCachingEnabled = !storage.hasCheapSingleTaskReads();
+
+        // The history of commands is kept next to the storage file, and only if the storage persists a sequence number
+        String historyFilePath = storage.hasPersistentSequenceNumber()
+                ? getDefaultStorageFilePath(storageType) + ".history"
+                : null;
+
+        return getOptions(ui, storage, isTaskCachingEnabled, historyFilePath);
     }
 
-    private static Storage getPersistentStorage() {
+    private static Storage getPersistentStorage(StorageType storageType) {
         try {
-            Storage storage = FileSystemStorage.getInstance(getDefaultStorageFilePath());
+            Storage storage;
+
+            if (storageType == StorageType.JOURNAL) {
+                storage = JournalStorage.getInstance(getDefaultStorageFilePath(storageType));
+            } else if (storageType == StorageType.MAPPED) {
+                storage = MappedStorage.getInstance(getDefaultStorageFilePath(storageType));
+            } else {
+                storage = FileSystemStorage.getInstance(getDefaultStorageFilePath(storageType));
+            }
+
             System.out.println("Storage file found.");
-            return storage;
+
+            // Single task reads and writes of mapped storages are cheap enough to be done synchronously
+            if (storageType == StorageType.MAPPED) {
+                return storage;
+            }
+
+            return WriteBehindStorage.getInstance(storage);
         } catch (StorageException e) {
             System.out.println("Unable to access storage file.");
             System.out.println("Starting the app without a persistent file storage.");
@@ -59,7 +113,8 @@ public class OptionsFactory {
         }
     }
 
-    private static DukeOptions getOptions(Ui ui, Storage storage) {
+    private static DukeOptions getOptions(Ui ui, Storage storage, boolean isTaskCachingEnabled,
+            String historyFilePath) {
         return new DukeOptions() {
             @Override
             public Ui getUiController() {
@@ -70,6 +125,16 @@ public class OptionsFactory {
             public Storage getStorage() {
                 return storage;
             }
+
+            @Override
+            public boolean isTaskCachingEnabled() {
+                return isTaskCachingEnabled;
+            }
+
+            @Override
+            public Optional<String> getHistoryFilePath() {
+                return Optional.ofNullable(historyFilePath);
+            }
         };
     }
 }
@@ -0,0 +1,233 @@
+package duke;
+
+import duke.command.Command;
+import duke.command.creation.MainCommandFactory;
+import error.command.CommandCreationException;
+import error.storage.StorageException;
+import error.ui.UiException;
+import storage.Storage;
+import ui.Ui;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Class used by the program to run a script of commands, one command on each line, through the same factory and
+ * executor as commands entered by the user. Blank lines are skipped. While a script runs, the output of its commands
+ * is not displayed and the storage holds back its writes, which are only flushed once every few commands and once
+ * the script ends, so that a long script does not pay for a storage write and a rendered message on every line.
+ * Likewise, the records of the history of commands made by the script are flushed once the script ends.
+ * Commands that cannot be created or that fail when they are executed are counted as failures and do not stop the
+ * script.
+ */
+public class ScriptRunner {
+    public static final int DEFAULT_FLUSH_INTERVAL = 500;
+    private static final int MAX_REPORTED_FAILURES = 10;
+
+    private final MainCommandFactory commandFactory;
+    private final CommandExecutor commandExecutor;
+    private final Storage storage;
+    private final Ui ui;
+    private final int flushInterval;
+
+    private boolean isRunning;
+
+    /**
+     * Summary of a script that has been run.
+     */
+    public static class Report {
+        private final int commandsCount;
+        private final int failuresCount;
+        private final long elapsedNanos;
+        private final List<String> failures;
+
+        private Report(int commandsCount, int failuresCount, long elapsedNanos, List<String> failures) {
+            this.commandsCount = commandsCount;
+            this.failuresCount = failuresCount;
+            this.elapsedNanos = elapsedNanos;
+            this.failures = Collections.unmodifiableList(failures);
+        }
+
+        /**
+         * Returns the number of commands in the script, including those that failed.
+         * @return the number of commands.
+         */
+        public int getCommandsCount() {
+            return this.commandsCount;
+        }
+
+        /**
+         * Returns the number of commands in the script that could not be created or carried out.
+         * @return the number of failed commands.
+         */
+        public int getFailuresCount() {
+            return this.failuresCount;
+        }
+
+        /**
+         * Returns the time taken to run the script, including the time taken to flush the storage.
+         * @return the time taken in nanoseconds.
+         */
+        public long getElapsedNanos() {
+            return this.elapsedNanos;
+        }
+
+        /**
+         * Returns the number of commands run per second.
+         * @return the throughput of the script.
+         */
+        public double getCommandsPerSecond() {
+            return this.elapsedNanos == 0 ? 0 : this.commandsCount * 1e9 / this.elapsedNanos;
+        }
+
+        /**
+         * Returns the line number and error message of the first few commands that failed.
+         * @return the failures of the script.
+         */
+        public List<String> getFailures() {
+            return this.failures;
+        }
+
+        /**
+         * Returns a message summarizing the script for the user.
+         * @return the summary of the script.
+         */
+        public String formatReport() {
+            StringBuilder builder = new StringBuilder();
+            builder.append(String.format("%d commands in %d ms, I ran. %.0f commands per second, that is.\n",
+                    this.commandsCount, this.elapsedNanos / 1000000, this.getCommandsPerSecond()));
+            builder.append(String.format("Failed, %d of them did.", this.failuresCount));
+
+            for (String failure : this.failures) {
+                builder.append("\n").append(failure);
+            }
+
+            return builder.toString();
+        }
+    }
+
+    /**
+     * Constructs a runner for scripts of commands.
+     * @param commandFactory the factory used to create each command of a script.
+     * @param commandExecutor the executor used to execute each command of a script.
+     * @param storage the storage of the user's tasks, whose writes are deferred while a script runs.
+     * @param ui the ui whose output is suppressed while a script runs.
+     * @param flushInterval the number of commands after which the storage is flushed, which MUST be positive.
+     */
+    public ScriptRunner(MainCommandFactory commandFactory, CommandExecutor commandExecutor, Storage storage, Ui ui,
+            int flushInterval) {
+        this.commandFactory = commandFactory;
+        this.commandExecutor = commandExecutor;
+        this.storage = storage;
+        this.ui = ui;
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * Returns true if a script is being run, in which case another script cannot be run until it ends.
+     * @return true if a script is being run.
+     */
+    public boolean isRunning() {
+        return this.isRunning;
+    }
+
+    /**
+     * Method used by the program to run the script stored in a file.
+     * @param path the path of the script.
+     * @return the summary of the script.
+     * @throws IOException if the script cannot be read.
+     * @throws StorageException if the changes made by the script cannot be saved.
+     * @throws UiException if the ui fails unexpectedly.
+     */
+    public Report runScript(Path path) throws IOException, StorageException, UiException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return this.runScript(reader);
+        }
+    }
+
+    /**
+     * Method used by the program to run a script read from a reader.
+     * @param reader the reader of the script.
+     * @return the summary of the script.
+     * @throws IOException if the script cannot be read.
+     * @throws StorageException if the changes made by the script cannot be saved.
+     * @throws UiException if the ui fails unexpectedly.
+     */
+    public Report runScript(BufferedReader reader) throws IOException, StorageException, UiException {
+        if (this.isRunning) {
+            throw new IllegalStateException("Script is already running");
+        }
+
+        this.isRunning = true;
+        this.storage.deferWrites();
+        this.commandExecutor.deferHistoryFlushes();
+        this.ui.setOutputSuppressed(true);
+
+        long startTime = System.nanoTime();
+        int commandsCount = 0;
+        int failuresCount = 0;
+        List<String> failures = new ArrayList<>();
+
+        try {
+            int lineNumber = 0;
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                commandsCount++;
+                Optional<String> failure = this.runCommand(line);
+
+                if (failure.isPresent()) {
+                    failuresCount++;
+
+                    if (failures.size() < MAX_REPORTED_FAILURES) {
+                        failures.add(String.format("Line %d: %s", lineNumber, failure.get()));
+                    }
+                }
+
+                if (commandsCount % this.flushInterval == 0) {
+                    this.storage.flush();
+                }
+            }
+
+            this.storage.flush();
+        } finally {
+            this.ui.setOutputSuppressed(false);
+            this.storage.resumeWrites();
+            this.commandExecutor.resumeHistoryFlushes();
+            this.isRunning = false;
+        }
+
+        return new Report(commandsCount, failuresCount, System.nanoTime() - startTime, failures);
+    }
+
+    private Optional<String> runCommand(String line) throws UiException {
+        try {
+            Optional<Command> command = this.commandFactory.getCommandFromUserInput(line);
+
+            if (command.isEmpty()) {
+                return Optional.of("Please enter a valid command.");
+            }
+
+            if (!this.commandExecutor.executeCommand(command.get())) {
+                return Optional.of("Carry out the command, I could not.");
+            }
+
+            return Optional.empty();
+        } catch (CommandCreationException e) {
+            return Optional.of(e.getMessage());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package duke.command;
 
+import duke.history.HistoryEntry;
 import error.command.CommandNotExecutedException;
 import error.ui.UiException;
 
@@ -11,14 +12,15 @@ import java.util.Optional;
 public interface Command {
     /**
      * Carries out command execution logic.
+     * @return true if the command was carried out, false if it failed and its error was displayed instead.
      * @throws UiException if ui fails unexpectedly
      */
-    public abstract void execute() throws UiException;
+    public abstract boolean execute() throws UiException;
 
     /**
-     * Returns a functional interface that undoes the actions carried out by this command.
-     * @return optional of the functional interface
+     * Returns the HistoryEntry that undoes the actions carried out by this command, and redoes them once undone.
+     * @return optional of the HistoryEntry
      */
-    public abstract Optional<UndoAction> getUndoAction() throws CommandNotExecutedException;
+    public abstract Optional<HistoryEntry> getUndoAction() throws CommandNotExecutedException;
 
 }
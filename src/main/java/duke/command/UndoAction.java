@@ -1,11 +1,58 @@
 package duke.command;
 
+import duke.task.Task;
 import error.ui.UiException;
 
+import java.util.List;
+
 /**
- * Undoes a command's action.
+ * Undoes a command's action. UndoActions are kept in memory until they are used or evicted, so each of them reports
+ * an estimate of the memory it holds on to, which the program uses to bound the size of the history of UndoActions.
  */
 @FunctionalInterface
 public interface UndoAction {
+    /**
+     * Estimated number of bytes held by an UndoAction that only captures a few references and numbers.
+     */
+    public static final long BASE_SIZE = 64;
+
+    /**
+     * Estimated number of bytes held by a task besides the characters of its details.
+     */
+    public static final long TASK_BASE_SIZE = 160;
+
     public boolean undo() throws UiException;
+
+    /**
+     * Returns an estimate of the number of bytes held in memory by the UndoAction.
+     * @return the estimated size of the UndoAction.
+     */
+    public default long getEstimatedSize() {
+        return BASE_SIZE;
+    }
+
+    /**
+     * Returns an estimate of the number of bytes held by an array of indexes.
+     * @param indexes the indexes held by an UndoAction.
+     * @return the estimated size of the indexes.
+     */
+    public static long estimateIndexesSize(int[] indexes) {
+        return 16 + 4L * indexes.length;
+    }
+
+    /**
+     * Returns an estimate of the number of bytes held by tasks that are no longer in the user's list, and are only
+     * kept so that they can be added back.
+     * @param tasks the tasks held by an UndoAction.
+     * @return the estimated size of the tasks.
+     */
+    public static long estimateTasksSize(List<Task> tasks) {
+        long size = 16 + 8L * tasks.size();
+
+        for (Task task : tasks) {
+            size += TASK_BASE_SIZE + 2L * task.getTaskDetails().length();
+        }
+
+        return size;
+    }
 }
@@ -1,7 +1,8 @@
 package duke.command.add;
 
 import duke.command.Command;
-import duke.command.UndoAction;
+import duke.history.HistoryEntry;
+import duke.history.TaskOperation;
 import duke.task.Task;
 import duke.task.TasksController;
 import error.command.CommandCreationException;
@@ -36,9 +37,11 @@ public class AddCommand implements Command {
      * @throws UiException if ui fails unexpectedly
      */
     @Override
-    public void execute() throws UiException {
+    public boolean execute() throws UiException {
         this.isSuccessful = tasksController.addTask(task);
         this.isExecuted = true;
+
+        return this.isSuccessful;
     }
 
     /**
@@ -46,13 +49,14 @@ public class AddCommand implements Command {
      * @return Optional of UndoAction that is always present
      */
     @Override
-    public Optional<UndoAction> getUndoAction() throws CommandNotExecutedException {
+    public Optional<HistoryEntry> getUndoAction() throws CommandNotExecutedException {
         if (!isExecuted) {
             throw new CommandNotExecutedException();
         }
 
         if (this.isSuccessful) {
-            return Optional.of(() -> tasksController.deleteTaskByUuid(task.getUuid()) != null);
+            return Optional.of(new HistoryEntry(this.tasksController,
+                    TaskOperation.deleteTaskByUuid(this.task.getUuid()), TaskOperation.appendTask(this.task)));
         } else {
             return Optional.empty();
         }
@@ -1,7 +1,7 @@
 package duke.command.bye;
 
 import duke.command.Command;
-import duke.command.UndoAction;
+import duke.history.HistoryEntry;
 import error.command.CommandCreationException;
 import error.ui.UiException;
 import ui.Ui;
@@ -23,8 +23,9 @@ public class ByeCommand implements Command {
      * @throws UiException if ui fails unexpectedly
      */
     @Override
-    public void execute() throws UiException {
+    public boolean execute() throws UiException {
         this.ui.stopUi();
+        return true;
     }
 
     /**
@@ -32,7 +33,7 @@ public class ByeCommand implements Command {
      * @return empty optional
      */
     @Override
-    public Optional<UndoAction> getUndoAction() {
+    public Optional<HistoryEntry> getUndoAction() {
         return Optional.empty();
     }
 }
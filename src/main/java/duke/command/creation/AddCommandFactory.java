@@ -1,42 +1,59 @@
 package duke.command.creation;
 
 import duke.command.Command;
+import duke.command.CommandProducer;
 import duke.command.add.AddCommand;
 import duke.task.Task;
 import duke.task.TasksController;
 import duke.task.creation.TaskFactory;
+import duke.task.creation.TaskType;
 import error.command.CommandCreationException;
 import error.task.TaskCreationException;
-import util.strings.CommandSplitter;
 
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
-public class AddCommandFactory implements CommandFactory {
+public class AddCommandFactory implements KeywordCommandFactory {
     private TaskFactory taskFactory;
     private TasksController tasksController;
+    private List<CommandProducer> commandProducers;
 
-    public AddCommandFactory(TasksController tasksController) {
-        this.taskFactory = new TaskFactory();
-        this.tasksController = tasksController;
-    }
+    private class AddCommandProducer extends CommandProducer {
+        private final TaskType taskType;
 
-    @Override
-    public Optional<Command> getCommandFromUserInput(String input) throws CommandCreationException {
-        String keyword = CommandSplitter.getCommand(input);
-        String arguments = CommandSplitter.getArguments(input);
+        AddCommandProducer(TaskType taskType) {
+            super(taskType.keyword);
+            this.taskType = taskType;
+        }
+
+        @Override
+        public Command generateCommand(String arguments) throws CommandCreationException {
+            Task task;
 
-        Optional<Task> task;
+            try {
+                task = AddCommandFactory.this.taskFactory.getTask(this.taskType, arguments);
+            } catch (TaskCreationException e) {
+                throw new CommandCreationException(e.getMessage());
+            }
 
-        try {
-            task = this.taskFactory.getTask(keyword, arguments);
-        }  catch (TaskCreationException e) {
-            throw new CommandCreationException(e.getMessage());
+            return new AddCommand(task, AddCommandFactory.this.tasksController);
         }
+    }
 
-        if (task.isEmpty()) {
-            return Optional.empty();
+    public AddCommandFactory(TasksController tasksController) {
+        this.taskFactory = new TaskFactory();
+        this.tasksController = tasksController;
+
+        List<CommandProducer> producers = new ArrayList<>();
+        for (TaskType taskType : TaskType.values()) {
+            producers.add(new AddCommandProducer(taskType));
         }
+        this.commandProducers = Collections.unmodifiableList(producers);
+    }
 
-        return Optional.of(new AddCommand(task.get(), tasksController));
+    @Override
+    public List<CommandProducer> getCommandProducers() {
+        return this.commandProducers;
     }
 }
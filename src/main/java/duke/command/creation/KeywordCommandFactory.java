@@ -0,0 +1,41 @@
+package duke.command.creation;
+
+import duke.command.Command;
+import duke.command.CommandProducer;
+import error.command.CommandCreationException;
+import util.strings.CommandSplitter;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A CommandFactory whose commands are all chosen by the first word of the user's input. Such a factory exposes a
+ * CommandProducer for each of its keywords, so that the MainCommandFactory can dispatch inputs to them directly
+ * together with the rest of the input, instead of probing the factory with every input.
+ */
+public interface KeywordCommandFactory extends CommandFactory {
+    /**
+     * Returns the CommandProducers of this factory, each of which MUST have a unique keyword.
+     * @return the CommandProducers of this factory.
+     */
+    public List<CommandProducer> getCommandProducers();
+
+    /**
+     * Parses user input to return an executable command instance for the program, by looking up the CommandProducer
+     * of the first word of the input.
+     * @param input the user's input.
+     * @return an executable command instance, or empty if no CommandProducer has the first word as its keyword.
+     */
+    @Override
+    public default Optional<Command> getCommandFromUserInput(String input) throws CommandCreationException {
+        String keyword = CommandSplitter.getCommand(input);
+
+        for (CommandProducer producer : this.getCommandProducers()) {
+            if (producer.getKeyword().equals(keyword)) {
+                return Optional.of(producer.generateCommand(CommandSplitter.getArguments(input)));
+            }
+        }
+
+        return Optional.empty();
+    }
+}
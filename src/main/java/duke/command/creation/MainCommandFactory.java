@@ -4,10 +4,10 @@ import duke.command.Command;
 import duke.command.CommandProducer;
 import error.command.CommandCreationException;
 import error.command.CommandProducerRegisterException;
+import util.collections.KeywordTrie;
 import util.strings.CommandSplitter;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,16 +16,21 @@ import java.util.Optional;
  * its corresponding CommandProducer MUST be registered in the factory using the
  * registerCommandProducer(CommandProducer producer) method. The factory maps the first word of the user's input
  * to the keyword of the CommandProducer and invokes it to generate the corresponding Command instance.
+ *
+ * <p>The keywords of all CommandProducers, including those of registered KeywordCommandFactory instances, are kept
+ * in a single trie. Each input is split once, and its first word is looked up in the trie without being copied, so
+ * that the input is dispatched straight to its CommandProducer together with its arguments. The first word may also
+ * be any abbreviation that only one keyword starts with, such as "del" for "delete".
  */
 public class MainCommandFactory implements CommandFactory {
     private static final String UNKNOWN_COMMAND_MESSAGE = "☹ OOPS!!! I'm sorry, but I don't know what that means :-(";
 
     private List<CommandFactory> commandFactories;
-    private HashMap<String, CommandProducer> commandProducerHashMap;
+    private KeywordTrie<CommandProducer> commandProducers;
 
     public MainCommandFactory() {
         this.commandFactories = new ArrayList<>();
-        this.commandProducerHashMap = new HashMap<>();
+        this.commandProducers = new KeywordTrie<>();
     }
 
     /**
@@ -35,24 +40,29 @@ public class MainCommandFactory implements CommandFactory {
      * @param producer the CommandProducer instance to be registered.
      */
     public void registerCommandProducer(CommandProducer producer) throws CommandProducerRegisterException {
-        String keyword = producer.getKeyword();
-
-        if (this.commandProducerHashMap.containsKey(keyword)) {
+        if (!this.commandProducers.put(producer.getKeyword(), producer)) {
             throw new CommandProducerRegisterException("Cannot register CommandProducer as its "
                     + "keyword already exists.");
         }
-
-        this.commandProducerHashMap.put(keyword, producer);
     }
 
     /**
      * Registers other CommandFactory instances that would be used to create commands before checking against the
      * internal CommandProducer hashmap. This allows other commands with more complicated instantiation logic to be
-     * produced in another factory but still be created by the program.
+     * produced in another factory but still be created by the program. The CommandProducers of a
+     * KeywordCommandFactory are registered with the factory instead, so that they are found in the same lookup as
+     * all other CommandProducers.
      * @param factory the CommandFactory instance to be added.
      */
-    public void registerCommandFactory(CommandFactory factory) {
-        this.commandFactories.add(factory);
+    public void registerCommandFactory(CommandFactory factory) throws CommandProducerRegisterException {
+        if (!(factory instanceof KeywordCommandFactory)) {
+            this.commandFactories.add(factory);
+            return;
+        }
+
+        for (CommandProducer producer : ((KeywordCommandFactory) factory).getCommandProducers()) {
+            this.registerCommandProducer(producer);
+        }
     }
 
     /**
@@ -85,16 +95,13 @@ public class MainCommandFactory implements CommandFactory {
     }
 
     private Optional<Command> getCommandFromCommandProducers(String input) throws CommandCreationException {
-        String commandKeyword = CommandSplitter.getCommand(input);
-        String arguments = CommandSplitter.getArguments(input);
-
-
-        CommandProducer matchingProducer = this.commandProducerHashMap.get(commandKeyword);
+        int commandEnd = CommandSplitter.getCommandEnd(input);
+        Optional<CommandProducer> matchingProducer = this.commandProducers.findByPrefix(input, 0, commandEnd);
 
-        if (matchingProducer == null) {
+        if (matchingProducer.isEmpty()) {
             return Optional.empty();
         }
 
-        return Optional.of(matchingProducer.generateCommand(arguments));
+        return Optional.of(matchingProducer.get().generateCommand(CommandSplitter.getArguments(input, commandEnd)));
     }
 }
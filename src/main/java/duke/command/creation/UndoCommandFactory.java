@@ -2,54 +2,106 @@ package duke.command.creation;
 
 import duke.CommandExecutor;
 import duke.command.Command;
-import duke.command.UndoAction;
+import duke.command.CommandProducer;
+import duke.history.HistoryEntry;
 import error.command.CommandCreationException;
 import error.command.CommandNotExecutedException;
 import error.ui.UiException;
 import ui.Ui;
-import util.strings.CommandSplitter;
+import util.strings.ErrorMessageFormatter;
 
+import java.util.List;
 import java.util.Optional;
 
-public class UndoCommandFactory implements CommandFactory {
+public class UndoCommandFactory implements KeywordCommandFactory {
     private final CommandExecutor commandExecutor;
     private Ui ui;
+    private List<CommandProducer> commandProducers;
 
     public UndoCommandFactory(CommandExecutor commandExecutor, Ui ui) {
         this.commandExecutor = commandExecutor;
         this.ui = ui;
+        this.commandProducers = List.of(new CommandProducer("undo") {
+            @Override
+            public Command generateCommand(String arguments) throws CommandCreationException {
+                return UndoCommandFactory.this.generateUndoCommand(arguments);
+            }
+        }, new CommandProducer("redo") {
+            @Override
+            public Command generateCommand(String arguments) throws CommandCreationException {
+                return UndoCommandFactory.this.generateRedoCommand(arguments);
+            }
+        });
     }
 
     @Override
-    public Optional<Command> getCommandFromUserInput(String input) throws CommandCreationException {
-        if (!CommandSplitter.getCommand(input).equals("undo")) {
-            return Optional.empty();
-        }
+    public List<CommandProducer> getCommandProducers() {
+        return this.commandProducers;
+    }
 
-        if (!CommandSplitter.getArguments(input).equals("")) {
+    private void displayError(String message) throws UiException {
+        this.ui.displayOutput(ErrorMessageFormatter.formatErrorMessage(message));
+    }
+
+    private Command generateUndoCommand(String arguments) throws CommandCreationException {
+        if (!arguments.equals("")) {
             throw new CommandCreationException("Arguments, this command does not accept.");
         }
 
-        UndoAction undoAction = this.commandExecutor.getLatestUndoAction();
-        if (undoAction == null) {
+        if (this.commandExecutor.getUndoActionsCount() == 0) {
             throw new CommandCreationException("No actions to undo you have, I'm afraid.");
         }
 
         Command undoCommand = new Command() {
 
             @Override
-            public void execute() throws UiException {
+            public boolean execute() throws UiException {
+                if (!UndoCommandFactory.this.commandExecutor.undoLatestAction()) {
+                    UndoCommandFactory.this.displayError("Nothing to undo, there is.");
+                    return false;
+                }
+
                 UndoCommandFactory.this.ui.displayOutput("Noted. Undone your latest action I have.");
-                undoAction.undo();
+                return true;
             }
 
             @Override
-            public Optional<UndoAction> getUndoAction() throws CommandNotExecutedException {
+            public Optional<HistoryEntry> getUndoAction() throws CommandNotExecutedException {
                 return Optional.empty();
             }
         };
 
-        return Optional.of(undoCommand);
+        return undoCommand;
+    }
+
+    private Command generateRedoCommand(String arguments) throws CommandCreationException {
+        if (!arguments.equals("")) {
+            throw new CommandCreationException("Arguments, this command does not accept.");
+        }
+
+        if (this.commandExecutor.getRedoEntriesCount() == 0) {
+            throw new CommandCreationException("No undone actions to redo you have, I'm afraid.");
+        }
+
+        Command redoCommand = new Command() {
+
+            @Override
+            public boolean execute() throws UiException {
+                if (!UndoCommandFactory.this.commandExecutor.redoLatestEntry()) {
+                    UndoCommandFactory.this.displayError("Nothing to redo, there is.");
+                    return false;
+                }
+
+                UndoCommandFactory.this.ui.displayOutput("Noted. Redone your latest undone action I have.");
+                return true;
+            }
+
+            @Override
+            public Optional<HistoryEntry> getUndoAction() throws CommandNotExecutedException {
+                return Optional.empty();
+            }
+        };
 
+        return redoCommand;
     }
 }
@@ -1,7 +1,8 @@
 package duke.command.delete;
 
 import duke.command.Command;
-import duke.command.UndoAction;
+import duke.history.HistoryEntry;
+import duke.history.TaskOperation;
 import duke.task.Task;
 import duke.task.TasksController;
 import error.command.CommandCreationException;
@@ -12,10 +13,10 @@ import java.util.List;
 import java.util.Optional;
 
 /**
- * Command to delete a task.
+ * Command to delete tasks. Several tasks are deleted in a single batch, which is undone as a whole.
  */
 public class DeleteCommand implements Command {
-    private int deletedTaskIndex;
+    private int[] deletedTaskIndexes;
     private TasksController tasksController;
     private boolean deleteAll;
 
@@ -23,8 +24,8 @@ public class DeleteCommand implements Command {
     private List<Task> deletedTasks;
     private boolean isExecuted;
 
-    DeleteCommand(int index, boolean deleteAll, TasksController tasksController) throws CommandCreationException {
-        this.deletedTaskIndex = index;
+    DeleteCommand(int[] indexes, boolean deleteAll, TasksController tasksController) throws CommandCreationException {
+        this.deletedTaskIndexes = indexes;
         this.tasksController = tasksController;
         this.deleteAll = deleteAll;
 
@@ -37,35 +38,52 @@ public class DeleteCommand implements Command {
      * @throws UiException if ui fails unexpectedly
      */
     @Override
-    public void execute() throws UiException {
+    public boolean execute() throws UiException {
         if (this.deleteAll) {
             this.deletedTasks = tasksController.deleteAllTasks();
             this.isExecuted = true;
 
-            return;
+            return this.deletedTasks != null;
+        }
+
+        if (this.deletedTaskIndexes.length == 1) {
+            this.deletedTask = tasksController.deleteTask(this.deletedTaskIndexes[0]);
+        } else {
+            this.deletedTasks = tasksController.deleteTasks(this.deletedTaskIndexes);
         }
 
-        this.deletedTask = tasksController.deleteTask(deletedTaskIndex);
         this.isExecuted = true;
+
+        return this.deletedTask != null || this.deletedTasks != null;
     }
 
     /**
-     * Returns UndoAction to add back the task if task was successfully deleted.
+     * Returns UndoAction to add back the tasks if tasks were successfully deleted.
      *
-     * @return empty if task was not deleted successfully
+     * @return empty if tasks were not deleted successfully
      */
     @Override
-    public Optional<UndoAction> getUndoAction() throws CommandNotExecutedException {
+    public Optional<HistoryEntry> getUndoAction() throws CommandNotExecutedException {
         if (!this.isExecuted) {
             throw new CommandNotExecutedException();
         }
 
+        // the deleted tasks are only referenced by the UndoAction, so they count towards its size
         if (this.deleteAll && this.deletedTasks != null) {
-            return Optional.of(() -> tasksController.setNewTasks(deletedTasks, true));
+            return Optional.of(new HistoryEntry(this.tasksController, TaskOperation.setTasks(this.deletedTasks),
+                    TaskOperation.deleteAllTasks()));
         }
 
         if (!this.deleteAll && this.deletedTask != null) {
-            return Optional.of(() -> tasksController.addTaskToIndex(deletedTaskIndex, deletedTask));
+            return Optional.of(new HistoryEntry(this.tasksController,
+                    TaskOperation.addTasks(this.deletedTaskIndexes, List.of(this.deletedTask)),
+                    TaskOperation.deleteTasks(this.deletedTaskIndexes)));
+        }
+
+        if (!this.deleteAll && this.deletedTasks != null) {
+            return Optional.of(new HistoryEntry(this.tasksController,
+                    TaskOperation.addTasks(this.deletedTaskIndexes, this.deletedTasks),
+                    TaskOperation.deleteTasks(this.deletedTaskIndexes)));
         }
 
         return Optional.empty();
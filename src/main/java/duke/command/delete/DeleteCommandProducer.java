@@ -4,6 +4,7 @@ import duke.command.Command;
 import duke.command.CommandProducer;
 import duke.task.TasksController;
 import error.command.CommandCreationException;
+import util.strings.IndexListParser;
 
 public class DeleteCommandProducer extends CommandProducer {
     private TasksController tasksController;
@@ -15,12 +16,12 @@ public class DeleteCommandProducer extends CommandProducer {
 
     @Override
     public Command generateCommand(String arguments) throws CommandCreationException {
-        int index = 0;
+        int[] indexes = new int[0];
         boolean deleteAll = false;
 
 
         try {
-            index = Integer.parseInt(arguments) - 1;
+            indexes = IndexListParser.parse(arguments);
         } catch (NumberFormatException e) {
             if (arguments.equals("all")) {
                 deleteAll = true;
@@ -29,6 +30,6 @@ public class DeleteCommandProducer extends CommandProducer {
             }
         }
 
-        return new DeleteCommand(index, deleteAll, tasksController);
+        return new DeleteCommand(indexes, deleteAll, tasksController);
     }
 }
@@ -1,7 +1,8 @@
 package duke.command.done;
 
 import duke.command.Command;
-import duke.command.UndoAction;
+import duke.history.HistoryEntry;
+import duke.history.TaskOperation;
 import duke.task.TasksController;
 import error.command.CommandCreationException;
 import error.command.CommandNotExecutedException;
@@ -10,43 +11,61 @@ import error.ui.UiException;
 import java.util.Optional;
 
 /**
- * Command to mark tasks as done.
+ * Command to mark tasks as done. Several tasks are marked in a single batch, which is undone as a whole.
  */
 public class DoneCommand implements Command {
-    private final int index;
+    private final int[] indexes;
     private TasksController tasksController;
 
     private boolean isExecuted;
     private boolean isSuccessful;
 
     public DoneCommand(int index, TasksController tasksController) throws CommandCreationException {
+        this(new int[] {index}, tasksController);
+    }
+
+    /**
+     * Constructs a command to mark several tasks as done.
+     * @param indexes the indexes of the tasks, in ascending order and without duplicates.
+     * @param tasksController the controller of the tasks.
+     */
+    public DoneCommand(int[] indexes, TasksController tasksController) throws CommandCreationException {
+        if (indexes.length == 0) {
+            throw new CommandCreationException("Numerical argument only, is required.");
+        }
+
         this.tasksController = tasksController;
-        this.index = index;
+        this.indexes = indexes;
     }
 
     /**
-     * Sets task to done.
+     * Sets tasks to done.
      */
     @Override
-    public void execute() throws UiException {
-        this.isSuccessful = tasksController.setTaskToDone(index);
+    public boolean execute() throws UiException {
+        this.isSuccessful = this.indexes.length == 1
+                ? tasksController.setTaskToDone(this.indexes[0])
+                : tasksController.setTasksToDone(this.indexes);
         this.isExecuted = true;
+
+        return this.isSuccessful;
     }
 
     /**
-     * Returns UndoAction to unmark task as done.
-     * @return empty if task was not successfully marked
+     * Returns UndoAction to unmark tasks as done.
+     * @return empty if tasks were not successfully marked
      */
     @Override
-    public Optional<UndoAction> getUndoAction() throws CommandNotExecutedException {
+    public Optional<HistoryEntry> getUndoAction() throws CommandNotExecutedException {
         if (!this.isExecuted) {
             throw new CommandNotExecutedException();
         }
 
-        if (this.isSuccessful) {
-            return Optional.of(() -> tasksController.setTaskToUndone(index));
+        if (!this.isSuccessful) {
+            return Optional.empty();
         }
 
-        return Optional.empty();
+        return Optional.of(new HistoryEntry(this.tasksController, TaskOperation.setTasksDoneStatus(this.indexes, false),
+                TaskOperation.setTasksDoneStatus(this.indexes, true)));
     }
 }
@@ -4,6 +4,7 @@ import duke.command.Command;
 import duke.command.CommandProducer;
 import duke.task.TasksController;
 import error.command.CommandCreationException;
+import util.strings.IndexListParser;
 
 public class DoneCommandProducer extends CommandProducer {
     private TasksController tasksController;
@@ -15,14 +16,14 @@ public class DoneCommandProducer extends CommandProducer {
 
     @Override
     public Command generateCommand(String arguments) throws CommandCreationException {
-        int index;
+        int[] indexes;
 
         try {
-            index = Integer.parseInt(arguments) - 1;
+            indexes = IndexListParser.parse(arguments);
         } catch (NumberFormatException e) {
             throw new CommandCreationException("Numerical argument only, is required.");
         }
 
-        return new DoneCommand(index, tasksController);
+        return new DoneCommand(indexes, tasksController);
     }
 }
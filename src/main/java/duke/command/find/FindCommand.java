@@ -1,7 +1,7 @@
 package duke.command.find;
 
 import duke.command.Command;
-import duke.command.UndoAction;
+import duke.history.HistoryEntry;
 import duke.task.TasksController;
 import error.command.CommandCreationException;
 import error.ui.UiException;
@@ -10,14 +10,24 @@ import ui.Ui;
 import java.util.Optional;
 
 /**
- * Command to find tasks.
+ * Command to find tasks, either containing a parameter or with words similar to the words of a parameter.
  */
 public class FindCommand implements Command {
     private String parameter;
+    private boolean isFuzzy;
+    private int maxDistance;
     private TasksController tasksController;
 
     FindCommand(String parameter, TasksController tasksController) {
         this.parameter = parameter;
+        this.isFuzzy = false;
+        this.tasksController = tasksController;
+    }
+
+    FindCommand(String parameter, int maxDistance, TasksController tasksController) {
+        this.parameter = parameter;
+        this.isFuzzy = true;
+        this.maxDistance = maxDistance;
         this.tasksController = tasksController;
     }
 
@@ -25,8 +35,12 @@ public class FindCommand implements Command {
      * Search for task.
      */
     @Override
-    public void execute() throws UiException {
-        this.tasksController.findTasks(this.parameter);
+    public boolean execute() throws UiException {
+        if (this.isFuzzy) {
+            return this.tasksController.findSimilarTasks(this.parameter, this.maxDistance);
+        } else {
+            return this.tasksController.findTasks(this.parameter);
+        }
     }
 
     /**
@@ -34,7 +48,7 @@ public class FindCommand implements Command {
      * @return empty optional
      */
     @Override
-    public Optional<UndoAction> getUndoAction() {
+    public Optional<HistoryEntry> getUndoAction() {
         return Optional.empty();
     }
 }
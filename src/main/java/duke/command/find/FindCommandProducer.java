@@ -3,9 +3,15 @@ package duke.command.find;
 import duke.command.Command;
 import duke.command.CommandProducer;
 import duke.task.TasksController;
+import duke.task.search.TokenIndex;
 import error.command.CommandCreationException;
 
+import java.util.Set;
+
 public class FindCommandProducer extends CommandProducer {
+    private static final String FUZZY_SEARCH_PREFIX = "~";
+    private static final int SHORT_WORD_LENGTH = 4;
+
     private TasksController tasksController;
 
     public FindCommandProducer(TasksController tasksController) {
@@ -19,6 +25,21 @@ public class FindCommandProducer extends CommandProducer {
             throw new CommandCreationException("Search parameter, I must have.");
         }
 
+        if (arguments.startsWith(FUZZY_SEARCH_PREFIX)) {
+            String parameter = arguments.substring(FUZZY_SEARCH_PREFIX.length());
+            Set<String> words = TokenIndex.getTokens(parameter);
+
+            if (words.isEmpty()) {
+                throw new CommandCreationException("Words to search for, I must have.");
+            }
+
+            // short words allow fewer typos so that they do not match too many unrelated words
+            int shortestWordLength = words.stream().mapToInt(String::length).min().getAsInt();
+            int maxDistance = shortestWordLength <= SHORT_WORD_LENGTH ? 1 : 2;
+
+            return new FindCommand(parameter, maxDistance, this.tasksController);
+        }
+
         return new FindCommand(arguments, this.tasksController);
     }
 }
@@ -1,7 +1,7 @@
 package duke.command.help;
 
 import duke.command.Command;
-import duke.command.UndoAction;
+import duke.history.HistoryEntry;
 import error.command.CommandNotExecutedException;
 import error.ui.UiException;
 import ui.Ui;
@@ -16,8 +16,9 @@ public class HelpCommand implements Command {
     }
 
     @Override
-    public void execute() throws UiException {
+    public boolean execute() throws UiException {
         ui.displayOutput(HelpDoc.HELP_DOC);
+        return true;
     }
 
     /**
@@ -25,7 +26,7 @@ public class HelpCommand implements Command {
      * @return an empty Optional.
      */
     @Override
-    public Optional<UndoAction> getUndoAction() {
+    public Optional<HistoryEntry> getUndoAction() {
         return Optional.empty();
     }
 }
@@ -14,13 +14,26 @@ public class HelpDoc {
             + "\n"
             + "Below are other generic commands.\n"
             + "1. bye - exits the program\n"
-            + "2. delete [index] - deletes a task at a particular index\n"
+            + "2. delete [indexes] - deletes the tasks at some indexes, e.g. delete 5,9,12-20\n"
             + "3. delete all - deletes all tasks\n"
-            + "4. done [index] - marks a task as done at a particular index\n"
-            + "5. list - lists all your tasks\n"
-            + "6. sort date - sorts our tasks by date\n"
-            + "7. sort name - sorts your tasks by name\n"
-            + "8. undo - undo your previous action\n"
+            + "4. done [indexes] - marks the tasks at some indexes as done, e.g. done 3-40,52,60\n"
+            + "5. find [text] - lists the tasks containing the text\n"
+            + "6. find ~[words] - lists the tasks with words similar to the words, allowing for typos\n"
+            + "7. due [datetime] to [datetime] - lists the tasks with time frames overlapping the period\n"
+            + "8. on [date] - lists the tasks with time frames overlapping the day\n"
+            + "9. list - lists all your tasks\n"
+            + "10. list date - lists your tasks by date, without sorting them\n"
+            + "11. list name - lists your tasks by name, without sorting them\n"
+            + "12. list page [number] - lists a single page of your tasks\n"
+            + "13. list next - lists the page after the one you last listed\n"
+            + "14. redo - redo the action you last undid\n"
+            + "15. run [file] - runs the commands in a file, one command on each line\n"
+            + "16. sort date - sorts our tasks by date\n"
+            + "17. sort name - sorts your tasks by name\n"
+            + "18. stats - counts your tasks, undone tasks, overdue tasks and tasks of each type\n"
+            + "19. undo - undo your previous action\n"
+            + "\n"
+            + "Shorten any command you may, if only one command it starts, e.g. del 1 or dea report 1/1/2020\n"
             + "\n"
             + "May the force be with you.";
 
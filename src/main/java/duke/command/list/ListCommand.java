@@ -1,7 +1,8 @@
 package duke.command.list;
 
 import duke.command.Command;
-import duke.command.UndoAction;
+import duke.command.sort.TaskSorts;
+import duke.history.HistoryEntry;
 import duke.task.TasksController;
 import error.command.CommandCreationException;
 import error.ui.UiException;
@@ -9,21 +10,32 @@ import error.ui.UiException;
 import java.util.Optional;
 
 /**
- * Command to list all tasks in memory.
+ * Command to list all tasks in memory, either in the order of the list or sorted without changing that order.
  */
 public class ListCommand implements Command {
     TasksController tasksController;
+    private Optional<TaskSorts> sortingMethod;
 
     public ListCommand(TasksController tasksController) throws CommandCreationException {
         this.tasksController = tasksController;
+        this.sortingMethod = Optional.empty();
+    }
+
+    public ListCommand(TaskSorts sortingMethod, TasksController tasksController) throws CommandCreationException {
+        this.tasksController = tasksController;
+        this.sortingMethod = Optional.of(sortingMethod);
     }
 
     /**
      * Display tasks.
      */
     @Override
-    public void execute() throws UiException {
-        tasksController.listTasks();
+    public boolean execute() throws UiException {
+        if (this.sortingMethod.isPresent()) {
+            return tasksController.listSortedTasks(this.sortingMethod.get());
+        } else {
+            return tasksController.listTasks();
+        }
     }
 
     /**
@@ -32,7 +44,7 @@ public class ListCommand implements Command {
      * @return empty optional
      */
     @Override
-    public Optional<UndoAction> getUndoAction() {
+    public Optional<HistoryEntry> getUndoAction() {
         return Optional.empty();
     }
 }
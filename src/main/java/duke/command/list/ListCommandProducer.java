@@ -2,23 +2,65 @@ package duke.command.list;
 
 import duke.command.Command;
 import duke.command.CommandProducer;
+import duke.command.sort.TaskSorts;
 import duke.task.TasksController;
 import error.command.CommandCreationException;
 
+import java.util.Arrays;
+import java.util.OptionalInt;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Produces commands to list tasks. Each producer keeps its own ListCursor, so that users of different Uis page
+ * through their tasks independently.
+ */
 public class ListCommandProducer extends CommandProducer {
+    private static final Pattern PAGE_PATTERN = Pattern.compile("page\\s+(\\d+)");
+
     private TasksController tasksController;
+    private ListCursor cursor;
 
     public ListCommandProducer(TasksController tasksController) {
+        this(tasksController, ListCursor.DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Constructor with a custom page size.
+     * @param tasksController the controller of the tasks to be listed.
+     * @param pageSize the maximum number of tasks on each page.
+     */
+    public ListCommandProducer(TasksController tasksController, int pageSize) {
         super("list");
         this.tasksController = tasksController;
+        this.cursor = new ListCursor(pageSize);
     }
 
     @Override
     public Command generateCommand(String arguments) throws CommandCreationException {
-        if (!arguments.equals("")) {
-            throw new CommandCreationException("Does not accept arguments, this command.");
+        if (arguments.equals("")) {
+            return new ListCommand(tasksController);
         }
 
-        return new ListCommand(tasksController);
+        if (arguments.equals("next")) {
+            return new ListPageCommand(OptionalInt.empty(), cursor, tasksController);
+        }
+
+        Matcher pageMatcher = PAGE_PATTERN.matcher(arguments);
+        if (pageMatcher.matches()) {
+            try {
+                int pageNumber = Integer.parseInt(pageMatcher.group(1));
+                return new ListPageCommand(OptionalInt.of(pageNumber), cursor, tasksController);
+            } catch (NumberFormatException e) {
+                throw new CommandCreationException("A valid page number, I need.");
+            }
+        }
+
+        TaskSorts sortingMethod = Arrays.stream(TaskSorts.values())
+                .filter(sort -> sort.keyword.equals(arguments))
+                .findFirst()
+                .orElseThrow(() -> new CommandCreationException("Invalid argument, I sense."));
+
+        return new ListCommand(sortingMethod, tasksController);
     }
 }
@@ -0,0 +1,50 @@
+package duke.command.list;
+
+/**
+ * Keeps track of the last page of tasks listed to a user, so that the user can move on to the next page without
+ * giving its number. The size of the pages is fixed when the cursor is created.
+ */
+public class ListCursor {
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    private final int pageSize;
+    private int pageNumber;
+
+    /**
+     * Constructs a cursor that has not listed any page yet.
+     * @param pageSize the maximum number of tasks on each page.
+     * @throws IllegalArgumentException if the page size is not positive.
+     */
+    public ListCursor(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+
+        this.pageSize = pageSize;
+        this.pageNumber = 0;
+    }
+
+    /**
+     * Returns the maximum number of tasks on each page.
+     * @return the page size.
+     */
+    public int getPageSize() {
+        return this.pageSize;
+    }
+
+    /**
+     * Returns the number of the page after the last page listed, which is the first page if none has been listed.
+     * @return the number of the next page.
+     */
+    public int getNextPageNumber() {
+        return this.pageNumber + 1;
+    }
+
+    /**
+     * Records that a page has been listed.
+     * @param pageNumber the number of the page listed.
+     */
+    public void moveTo(int pageNumber) {
+        this.pageNumber = pageNumber;
+    }
+}
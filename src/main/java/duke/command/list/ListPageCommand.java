@@ -0,0 +1,52 @@
+package duke.command.list;
+
+import duke.command.Command;
+import duke.history.HistoryEntry;
+import duke.task.TasksController;
+import error.command.CommandCreationException;
+import error.ui.UiException;
+
+import java.util.Optional;
+import java.util.OptionalInt;
+
+/**
+ * Command to list a single page of the tasks in memory. Without a page number, the page after the one last listed
+ * through the cursor is listed.
+ */
+public class ListPageCommand implements Command {
+    private TasksController tasksController;
+    private ListCursor cursor;
+    private OptionalInt pageNumber;
+
+    public ListPageCommand(OptionalInt pageNumber, ListCursor cursor, TasksController tasksController)
+            throws CommandCreationException {
+        this.pageNumber = pageNumber;
+        this.cursor = cursor;
+        this.tasksController = tasksController;
+    }
+
+    /**
+     * Display the page of tasks, and move the cursor to it if it exists.
+     */
+    @Override
+    public boolean execute() throws UiException {
+        int page = this.pageNumber.orElse(this.cursor.getNextPageNumber());
+
+        if (!tasksController.listTasksPage(page, this.cursor.getPageSize())) {
+            return false;
+        }
+
+        this.cursor.moveTo(page);
+        return true;
+    }
+
+    /**
+     * Always returns empty.
+     *
+     * @return empty optional
+     */
+    @Override
+    public Optional<HistoryEntry> getUndoAction() {
+        return Optional.empty();
+    }
+}
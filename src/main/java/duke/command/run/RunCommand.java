@@ -0,0 +1,54 @@
+package duke.command.run;
+
+import duke.ScriptRunner;
+import duke.command.Command;
+import duke.history.HistoryEntry;
+import error.storage.StorageException;
+import error.ui.UiException;
+import ui.Ui;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Command to run a script of commands stored in a file.
+ */
+public class RunCommand implements Command {
+    private ScriptRunner scriptRunner;
+    private Path path;
+    private Ui ui;
+
+    RunCommand(ScriptRunner scriptRunner, Path path, Ui ui) {
+        this.scriptRunner = scriptRunner;
+        this.path = path;
+        this.ui = ui;
+    }
+
+    /**
+     * Runs the script and displays its summary.
+     */
+    @Override
+    public boolean execute() throws UiException {
+        try {
+            ScriptRunner.Report report = this.scriptRunner.runScript(this.path);
+            this.ui.displayOutput(report.formatReport());
+            return true;
+        } catch (IOException e) {
+            this.ui.displayOutput("Read the script, I could not.");
+        } catch (StorageException e) {
+            this.ui.displayOutput("Save the changes of the script, I could not.");
+        }
+
+        return false;
+    }
+
+    /**
+     * Always returns empty, as each command of the script can be undone on its own.
+     * @return empty optional
+     */
+    @Override
+    public Optional<HistoryEntry> getUndoAction() {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,43 @@
+package duke.command.run;
+
+import duke.ScriptRunner;
+import duke.command.Command;
+import duke.command.CommandProducer;
+import error.command.CommandCreationException;
+import ui.Ui;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+public class RunCommandProducer extends CommandProducer {
+    private ScriptRunner scriptRunner;
+    private Ui ui;
+
+    public RunCommandProducer(ScriptRunner scriptRunner, Ui ui) {
+        super("run");
+        this.scriptRunner = scriptRunner;
+        this.ui = ui;
+    }
+
+    @Override
+    public Command generateCommand(String arguments) throws CommandCreationException {
+        if (arguments.isBlank()) {
+            throw new CommandCreationException("The file of the script, you must give.");
+        }
+
+        if (this.scriptRunner.isRunning()) {
+            throw new CommandCreationException("Run a script from within a script, you cannot.");
+        }
+
+        Path path;
+
+        try {
+            path = Paths.get(arguments.strip());
+        } catch (InvalidPathException e) {
+            throw new CommandCreationException("A valid file, I need.");
+        }
+
+        return new RunCommand(this.scriptRunner, path, this.ui);
+    }
+}
@@ -0,0 +1,46 @@
+package duke.command.schedule;
+
+import duke.command.Command;
+import duke.command.CommandProducer;
+import duke.task.TasksController;
+import error.command.CommandCreationException;
+import error.datetime.UnknownDateTimeException;
+import util.time.DateTime;
+
+import java.time.LocalDateTime;
+
+public class DueCommandProducer extends CommandProducer {
+    private TasksController tasksController;
+
+    public DueCommandProducer(TasksController tasksController) {
+        super("due");
+        this.tasksController = tasksController;
+    }
+
+    @Override
+    public Command generateCommand(String arguments) throws CommandCreationException {
+        String[] period = arguments.trim().split("\\s+to\\s+");
+
+        if (period.length != 2) {
+            throw new CommandCreationException("A start and end separated by 'to', the period must have.");
+        }
+
+        try {
+            LocalDateTime from = DateTime.parse(period[0]);
+            LocalDateTime to = DateTime.parse(period[1]);
+
+            // a date without a time includes the whole day
+            if (!period[1].contains(" ")) {
+                to = to.plusDays(1).minusNanos(1);
+            }
+
+            if (to.isBefore(from)) {
+                throw new CommandCreationException("Before its start, the period cannot end.");
+            }
+
+            return new ScheduleCommand(from, to, this.tasksController);
+        } catch (UnknownDateTimeException e) {
+            throw new CommandCreationException("Recognize these dates, I do not.");
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package duke.command.schedule;
+
+import duke.command.Command;
+import duke.command.CommandProducer;
+import duke.task.TasksController;
+import error.command.CommandCreationException;
+import error.datetime.UnknownDateTimeException;
+import util.time.DateTime;
+
+import java.time.LocalDateTime;
+
+public class OnCommandProducer extends CommandProducer {
+    private TasksController tasksController;
+
+    public OnCommandProducer(TasksController tasksController) {
+        super("on");
+        this.tasksController = tasksController;
+    }
+
+    @Override
+    public Command generateCommand(String arguments) throws CommandCreationException {
+        try {
+            LocalDateTime from = DateTime.parse(arguments.trim()).toLocalDate().atStartOfDay();
+            LocalDateTime to = from.plusDays(1).minusNanos(1);
+
+            return new ScheduleCommand(from, to, this.tasksController);
+        } catch (UnknownDateTimeException e) {
+            throw new CommandCreationException("Recognize this date, I do not.");
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package duke.command.schedule;
+
+import duke.command.Command;
+import duke.history.HistoryEntry;
+import duke.task.TasksController;
+import error.ui.UiException;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Command to list the tasks whose time frames overlap a period.
+ */
+public class ScheduleCommand implements Command {
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private TasksController tasksController;
+
+    ScheduleCommand(LocalDateTime from, LocalDateTime to, TasksController tasksController) {
+        this.from = from;
+        this.to = to;
+        this.tasksController = tasksController;
+    }
+
+    /**
+     * Display tasks within the period.
+     */
+    @Override
+    public boolean execute() throws UiException {
+        return this.tasksController.findOverlappingTasks(this.from, this.to);
+    }
+
+    /**
+     * Always returns empty.
+     * @return empty optional
+     */
+    @Override
+    public Optional<HistoryEntry> getUndoAction() {
+        return Optional.empty();
+    }
+}
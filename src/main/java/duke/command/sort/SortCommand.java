@@ -1,14 +1,13 @@
 package duke.command.sort;
 
 import duke.command.Command;
-import duke.command.UndoAction;
-import duke.task.Task;
+import duke.history.HistoryEntry;
+import duke.history.TaskOperation;
 import duke.task.TasksController;
 import error.command.CommandCreationException;
 import error.command.CommandNotExecutedException;
 import error.ui.UiException;
 
-import java.util.List;
 import java.util.Optional;
 
 public class SortCommand implements Command {
@@ -16,7 +15,7 @@ public class SortCommand implements Command {
     private TaskSorts sortingMethod;
     private TasksController tasksController;
 
-    private List<Task> oldCopy;
+    private int[] oldIndexes;
     private boolean isExecuted;
 
     public SortCommand(TaskSorts sort, TasksController tasksController) throws CommandCreationException {
@@ -25,19 +24,23 @@ public class SortCommand implements Command {
     }
 
     @Override
-    public void execute() throws UiException {
-        this.oldCopy = tasksController.sortTasks(sortingMethod);
+    public boolean execute() throws UiException {
+        this.oldIndexes = tasksController.sortTasks(sortingMethod);
         this.isExecuted = true;
+
+        return this.oldIndexes != null;
     }
 
     @Override
-    public Optional<UndoAction> getUndoAction() throws CommandNotExecutedException {
+    public Optional<HistoryEntry> getUndoAction() throws CommandNotExecutedException {
         if (!this.isExecuted) {
             throw new CommandNotExecutedException();
         }
 
-        if (this.oldCopy != null) {
-            return Optional.of(() -> tasksController.setNewTasks(oldCopy, true));
+        // the sort is undone by moving tasks back to their old indexes, so no copy of the old list is kept
+        if (this.oldIndexes != null) {
+            return Optional.of(new HistoryEntry(this.tasksController, TaskOperation.moveTasks(this.oldIndexes),
+                    TaskOperation.sortTasks(this.sortingMethod)));
         }
 
         return Optional.empty();
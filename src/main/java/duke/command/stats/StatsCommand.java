@@ -0,0 +1,37 @@
+package duke.command.stats;
+
+import duke.command.Command;
+import duke.history.HistoryEntry;
+import duke.task.TasksController;
+import error.ui.UiException;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Command to display the statistics of the tasks in memory.
+ */
+public class StatsCommand implements Command {
+    private TasksController tasksController;
+
+    StatsCommand(TasksController tasksController) {
+        this.tasksController = tasksController;
+    }
+
+    /**
+     * Display statistics as of now.
+     */
+    @Override
+    public boolean execute() throws UiException {
+        return this.tasksController.displayStatistics(LocalDateTime.now());
+    }
+
+    /**
+     * Always returns empty.
+     * @return empty optional
+     */
+    @Override
+    public Optional<HistoryEntry> getUndoAction() {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,24 @@
+package duke.command.stats;
+
+import duke.command.Command;
+import duke.command.CommandProducer;
+import duke.task.TasksController;
+import error.command.CommandCreationException;
+
+public class StatsCommandProducer extends CommandProducer {
+    private TasksController tasksController;
+
+    public StatsCommandProducer(TasksController tasksController) {
+        super("stats");
+        this.tasksController = tasksController;
+    }
+
+    @Override
+    public Command generateCommand(String arguments) throws CommandCreationException {
+        if (!arguments.equals("")) {
+            throw new CommandCreationException("Does not accept arguments, this command.");
+        }
+
+        return new StatsCommand(this.tasksController);
+    }
+}
@@ -0,0 +1,75 @@
+package duke.history;
+
+import duke.command.UndoAction;
+import duke.task.TasksController;
+import error.ui.UiException;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * UndoAction made of a pair of TaskOperations, one undoing a command and the other doing it again. Unlike other
+ * UndoActions, a HistoryEntry can be redone once it has been undone, and can be written to a history log so that it
+ * survives restarts of the program.
+ */
+public class HistoryEntry implements UndoAction {
+    private final TasksController tasksController;
+    private final TaskOperation undoOperation;
+    private final TaskOperation redoOperation;
+
+    /**
+     * Constructs an entry from the operations undoing and redoing a command.
+     * @param tasksController the controller through which the operations are applied.
+     * @param undoOperation the operation reverting the changes made by the command.
+     * @param redoOperation the operation making the changes of the command again.
+     */
+    public HistoryEntry(TasksController tasksController, TaskOperation undoOperation, TaskOperation redoOperation) {
+        this.tasksController = tasksController;
+        this.undoOperation = undoOperation;
+        this.redoOperation = redoOperation;
+    }
+
+    @Override
+    public boolean undo() throws UiException {
+        return this.undoOperation.apply(this.tasksController);
+    }
+
+    /**
+     * Makes the changes of the command again, after they have been undone.
+     * @return true if the changes were made.
+     * @throws UiException if the ui fails unexpectedly.
+     */
+    public boolean redo() throws UiException {
+        return this.redoOperation.apply(this.tasksController);
+    }
+
+    @Override
+    public long getEstimatedSize() {
+        return UndoAction.BASE_SIZE + this.undoOperation.getEstimatedSize() + this.redoOperation.getEstimatedSize();
+    }
+
+    /**
+     * Writes the operations of the entry to a history log.
+     * @param output the output to write the entry to.
+     * @throws IOException if the entry cannot be written.
+     */
+    public void writeTo(DataOutput output) throws IOException {
+        this.undoOperation.writeTo(output);
+        this.redoOperation.writeTo(output);
+    }
+
+    /**
+     * Reads an entry written by writeTo(DataOutput output).
+     * @param input the input to read the entry from.
+     * @param tasksController the controller through which the operations of the entry are applied.
+     * @return the entry that was read.
+     * @throws IOException if the entry cannot be read.
+     */
+    public static HistoryEntry readFrom(DataInput input, TasksController tasksController) throws IOException {
+        TaskOperation undoOperation = TaskOperation.readFrom(input);
+        TaskOperation redoOperation = TaskOperation.readFrom(input);
+
+        return new HistoryEntry(tasksController, undoOperation, redoOperation);
+    }
+}
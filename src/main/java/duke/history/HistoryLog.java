@@ -0,0 +1,383 @@
+package duke.history;
+
+import duke.task.TasksController;
+import error.storage.StorageException;
+import storage.Storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only file recording the history of commands that can be undone and redone, so that the history survives
+ * restarts of the program. Each record is one of
+ * 1. a command that was executed, with the HistoryEntry undoing and redoing it
+ * 2. the latest command being undone
+ * 3. the latest undone command being redone.
+ * On startup, the records are replayed to rebuild the history. Once the log grows beyond its maximum size, it is
+ * compacted by rewriting only the entries that can still be undone or redone, dropping the oldest entries if they do
+ * not fit in half of the maximum size.
+ *
+ * <p>The log is written as soon as a command is executed, while the storage may write the tasks later, so the log and
+ * the tasks in storage can disagree when the program stops unexpectedly. Each record therefore ends with the sequence
+ * number of the storage once the record was made, which is read without reading the tasks. On startup, only the
+ * records up to the latest one whose sequence number matches the sequence number persisted by the storage are
+ * replayed, and the whole history is dropped if none of them match. The log can thus only be kept for storages that
+ * persist a sequence number.
+ *
+ * <p>Records are flushed to the log file one at a time, unless flushes are deferred while a long run of commands is
+ * executed, in which case the records of the whole run are flushed together once flushes are resumed.
+ *
+ * <p>Records replayed from the log may also describe fewer entries than the history had when the records were
+ * written, for instance after a compaction dropped the oldest entries. Records that refer to entries missing from the
+ * log are skipped, and undoing a missing entry forgets the entries that could be redone.
+ */
+public class HistoryLog {
+    public static final long DEFAULT_MAX_SIZE = 1024 * 1024;
+
+    private static final int MAGIC_NUMBER = 0x444b4833;
+
+    private static final byte EXECUTED_RECORD = 'E';
+    private static final byte UNDONE_RECORD = 'U';
+    private static final byte REDONE_RECORD = 'R';
+
+    private final String logFilePath;
+    private final long maxSize;
+    private final Storage storage;
+    private final TasksController tasksController;
+
+    private DataOutputStream logWriter;
+    private long size;
+    private boolean isFlushingDeferred;
+
+    /**
+     * An interface to receive the records of a history log as it is replayed.
+     */
+    public interface RecordHandler {
+        /**
+         * Receives a command that was executed.
+         * @param entry the entry undoing and redoing the command.
+         */
+        public void onExecuted(HistoryEntry entry);
+
+        /**
+         * Receives the latest command being undone.
+         */
+        public void onUndone();
+
+        /**
+         * Receives the latest undone command being redone.
+         */
+        public void onRedone();
+    }
+
+    private static class Record {
+        private final int recordType;
+        private final HistoryEntry entry;
+        private final long sequenceNumber;
+
+        private Record(int recordType, HistoryEntry entry, long sequenceNumber) {
+            this.recordType = recordType;
+            this.entry = entry;
+            this.sequenceNumber = sequenceNumber;
+        }
+    }
+
+    private HistoryLog(String logFilePath, long maxSize, Storage storage, TasksController tasksController) {
+        this.logFilePath = logFilePath;
+        this.maxSize = maxSize;
+        this.storage = storage;
+        this.tasksController = tasksController;
+    }
+
+    /**
+     * Returns an instance of a HistoryLog kept at the file path. Records are only appended to the file once the log
+     * has been compacted for the first time, so existing records can be replayed before that.
+     * @param logFilePath file path of the log
+     * @param maxSize size in bytes beyond which the log is compacted
+     * @param storage the storage of the tasks whose sequence number is recorded with each record
+     * @param tasksController the controller through which the entries of the log are applied
+     * @return HistoryLog instance
+     * @throws StorageException if the maximum size is not positive or the storage does not persist a sequence number
+     */
+    public static HistoryLog getInstance(String logFilePath, long maxSize, Storage storage,
+            TasksController tasksController) throws StorageException {
+        if (maxSize < 1) {
+            throw new StorageException("History log size must be positive");
+        }
+
+        if (!storage.hasPersistentSequenceNumber()) {
+            throw new StorageException("Storage does not persist a sequence number");
+        }
+
+        return new HistoryLog(logFilePath, maxSize, storage, tasksController);
+    }
+
+    /**
+     * Replays the records of the log, up to the latest record made when the storage had written the same changes as it
+     * has now. A log that does not exist or was written in another format has no records, and a record that was only
+     * partially written ends the log.
+     * @param handler the handler receiving each record.
+     * @throws StorageException if the log or the sequence number of the storage cannot be read.
+     */
+    public void replay(RecordHandler handler) throws StorageException {
+        File logFile = new File(this.logFilePath);
+        if (!logFile.exists()) {
+            return;
+        }
+
+        List<Record> records = new ArrayList<>();
+
+        try (DataInputStream logReader = new DataInputStream(new BufferedInputStream(new FileInputStream(logFile)))) {
+            if (logReader.readInt() != MAGIC_NUMBER) {
+                return;
+            }
+
+            for (Record record = this.readRecord(logReader); record != null; record = this.readRecord(logReader)) {
+                records.add(record);
+            }
+        } catch (EOFException e) {
+            // the last record was only partially written, the records before it are still valid
+        } catch (IOException e) {
+            throw new StorageException("Unable to read history");
+        }
+
+        // records made after the latest one matching the storage describe changes that never reached the storage
+        long sequenceNumber = this.storage.getSequenceNumber();
+        int recordsCount = records.size();
+
+        while (recordsCount > 0 && records.get(recordsCount - 1).sequenceNumber != sequenceNumber) {
+            recordsCount--;
+        }
+
+        for (Record record : records.subList(0, recordsCount)) {
+            replayRecord(record, handler);
+        }
+    }
+
+    private Record readRecord(DataInputStream logReader) throws IOException {
+        int recordType = logReader.read();
+        if (recordType == -1) {
+            return null;
+        }
+
+        switch (recordType) {
+        case EXECUTED_RECORD:
+            HistoryEntry entry = HistoryEntry.readFrom(logReader, this.tasksController);
+            return new Record(recordType, entry, logReader.readLong());
+
+        case UNDONE_RECORD:
+        case REDONE_RECORD:
+            return new Record(recordType, null, logReader.readLong());
+
+        default:
+            throw new IOException("Unknown history record");
+        }
+    }
+
+    private static void replayRecord(Record record, RecordHandler handler) {
+        switch (record.recordType) {
+        case EXECUTED_RECORD:
+            handler.onExecuted(record.entry);
+            break;
+
+        case UNDONE_RECORD:
+            handler.onUndone();
+            break;
+
+        default:
+            handler.onRedone();
+            break;
+        }
+    }
+
+    /**
+     * Returns true if the log has grown beyond its maximum size and should be compacted.
+     * @return true if the log is full.
+     */
+    public boolean isFull() {
+        return this.size > this.maxSize;
+    }
+
+    /**
+     * Appends a record of a command that was executed.
+     * @param entry the entry undoing and redoing the command.
+     * @throws StorageException if unable to write to the log.
+     */
+    public void appendExecuted(HistoryEntry entry) throws StorageException {
+        this.appendRecord(EXECUTED_RECORD, entry);
+    }
+
+    /**
+     * Appends a record of the latest command being undone.
+     * @throws StorageException if unable to write to the log.
+     */
+    public void appendUndone() throws StorageException {
+        this.appendRecord(UNDONE_RECORD, null);
+    }
+
+    /**
+     * Appends a record of the latest undone command being redone.
+     * @throws StorageException if unable to write to the log.
+     */
+    public void appendRedone() throws StorageException {
+        this.appendRecord(REDONE_RECORD, null);
+    }
+
+    /**
+     * Holds back the flushes of appended records to the log file until resumeFlushes() is called, so that the records
+     * of a long run of commands are flushed together.
+     */
+    public void deferFlushes() {
+        this.isFlushingDeferred = true;
+    }
+
+    /**
+     * Flushes the records appended since flushes were deferred, and flushes each record as it is appended again.
+     * @throws StorageException if unable to write to the log.
+     */
+    public void resumeFlushes() throws StorageException {
+        this.isFlushingDeferred = false;
+
+        if (this.logWriter == null) {
+            return;
+        }
+
+        try {
+            this.logWriter.flush();
+        } catch (IOException e) {
+            throw new StorageException("Unable to save history");
+        }
+    }
+
+    private void appendRecord(byte recordType, HistoryEntry entry) throws StorageException {
+        if (this.logWriter == null) {
+            throw new IllegalStateException("History log has not been compacted");
+        }
+
+        long sequenceNumber = this.storage.getSequenceNumber();
+        int writtenSize = this.logWriter.size();
+
+        try {
+            this.logWriter.writeByte(recordType);
+
+            if (entry != null) {
+                entry.writeTo(this.logWriter);
+            }
+
+            this.logWriter.writeLong(sequenceNumber);
+
+            if (!this.isFlushingDeferred) {
+                this.logWriter.flush();
+            }
+        } catch (IOException e) {
+            throw new StorageException("Unable to save history");
+        }
+
+        this.size += this.logWriter.size() - writtenSize;
+    }
+
+    /**
+     * Rewrites the log with only the entries of a history, replacing all of its records. The oldest entries that can
+     * be undone are dropped first if the entries do not fit in half of the maximum size of the log, followed by the
+     * entries that would be redone last. Every record is written with the current sequence number of the storage.
+     * @param undoEntries the entries that can be undone, from the oldest to the latest.
+     * @param redoEntries the entries that can be redone, from the latest undone to the first undone.
+     * @throws StorageException if unable to write the log.
+     */
+    public void compact(List<HistoryEntry> undoEntries, List<HistoryEntry> redoEntries) throws StorageException {
+        long sequenceNumber = this.storage.getSequenceNumber();
+
+        try {
+            List<byte[]> undoRecords = writeRecords(undoEntries, sequenceNumber);
+            List<byte[]> redoRecords = writeRecords(redoEntries, sequenceNumber);
+            long undoneRecordSize = 1 + Long.BYTES;
+            long compactedSize = Integer.BYTES + getSize(undoRecords) + getSize(redoRecords)
+                    + redoRecords.size() * undoneRecordSize;
+
+            int firstUndoRecord = 0;
+            int redoRecordsCount = redoRecords.size();
+
+            while (compactedSize > this.maxSize / 2 && firstUndoRecord < undoRecords.size()) {
+                compactedSize -= undoRecords.get(firstUndoRecord++).length;
+            }
+
+            while (compactedSize > this.maxSize / 2 && redoRecordsCount > 0) {
+                compactedSize -= redoRecords.get(--redoRecordsCount).length + undoneRecordSize;
+            }
+
+            if (this.logWriter != null) {
+                this.logWriter.close();
+            }
+
+            String compactedFilePath = this.logFilePath + ".tmp";
+
+            try (DataOutputStream compactedWriter = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(compactedFilePath)))) {
+                compactedWriter.writeInt(MAGIC_NUMBER);
+
+                for (byte[] record : undoRecords.subList(firstUndoRecord, undoRecords.size())) {
+                    compactedWriter.write(record);
+                }
+
+                // entries that can be redone are executed and then undone, the first undone being undone first
+                for (byte[] record : redoRecords.subList(0, redoRecordsCount)) {
+                    compactedWriter.write(record);
+                }
+
+                for (int i = 0; i < redoRecordsCount; i++) {
+                    compactedWriter.writeByte(UNDONE_RECORD);
+                    compactedWriter.writeLong(sequenceNumber);
+                }
+            }
+
+            Files.move(Paths.get(compactedFilePath), Paths.get(this.logFilePath),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            this.logWriter = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(this.logFilePath, true)));
+            this.size = new File(this.logFilePath).length();
+        } catch (IOException e) {
+            this.logWriter = null;
+            throw new StorageException("Unable to compact history");
+        }
+    }
+
+    private static List<byte[]> writeRecords(List<HistoryEntry> entries, long sequenceNumber) throws IOException {
+        List<byte[]> records = new ArrayList<>(entries.size());
+
+        for (HistoryEntry entry : entries) {
+            ByteArrayOutputStream record = new ByteArrayOutputStream();
+            DataOutputStream recordWriter = new DataOutputStream(record);
+
+            recordWriter.writeByte(EXECUTED_RECORD);
+            entry.writeTo(recordWriter);
+            recordWriter.writeLong(sequenceNumber);
+            records.add(record.toByteArray());
+        }
+
+        return records;
+    }
+
+    private static long getSize(List<byte[]> records) {
+        long size = 0;
+
+        for (byte[] record : records) {
+            size += record.length;
+        }
+
+        return size;
+    }
+}
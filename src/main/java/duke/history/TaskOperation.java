@@ -0,0 +1,360 @@
+package duke.history;
+
+import duke.command.UndoAction;
+import duke.command.sort.TaskSorts;
+import duke.task.Task;
+import duke.task.TasksController;
+import error.ui.UiException;
+import storage.codec.BinaryTaskCodec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A change to the user's tasks that can be applied through a TasksController, and written to and read back from a
+ * history log. Operations only hold what they need to be applied: indexes, the key of a sort, or the tasks that are
+ * no longer in the user's list and have to be added back. Operations are immutable.
+ */
+public final class TaskOperation {
+    private static final byte ADD_TASKS = 'A';
+    private static final byte APPEND_TASK = 'P';
+    private static final byte SET_TASKS = 'S';
+    private static final byte DELETE_TASKS = 'D';
+    private static final byte DELETE_TASK_BY_UUID = 'U';
+    private static final byte DELETE_ALL_TASKS = 'C';
+    private static final byte SET_TASKS_DONE = 'T';
+    private static final byte SET_TASKS_UNDONE = 'F';
+    private static final byte MOVE_TASKS = 'M';
+    private static final byte SORT_TASKS = 'O';
+
+    private static final int[] NO_INDEXES = new int[0];
+
+    private final byte type;
+    private final int[] indexes;
+    private final List<Task> tasks;
+    private final UUID uuid;
+    private final TaskSorts sortingMethod;
+
+    private TaskOperation(byte type, int[] indexes, List<Task> tasks, UUID uuid, TaskSorts sortingMethod) {
+        this.type = type;
+        this.indexes = indexes;
+        this.tasks = tasks;
+        this.uuid = uuid;
+        this.sortingMethod = sortingMethod;
+    }
+
+    private TaskOperation(byte type, int[] indexes) {
+        this(type, indexes, Collections.emptyList(), null, null);
+    }
+
+    /**
+     * Returns an operation adding tasks back to the indexes they had before they were deleted.
+     * @param indexes the indexes of the tasks in ascending order.
+     * @param tasks the tasks to be added, in the same order as their indexes.
+     * @return the operation.
+     */
+    public static TaskOperation addTasks(int[] indexes, List<Task> tasks) {
+        return new TaskOperation(ADD_TASKS, indexes, List.copyOf(tasks), null, null);
+    }
+
+    /**
+     * Returns an operation adding a task to the end of the list.
+     * @param task the task to be added.
+     * @return the operation.
+     */
+    public static TaskOperation appendTask(Task task) {
+        return new TaskOperation(APPEND_TASK, NO_INDEXES, List.of(task), null, null);
+    }
+
+    /**
+     * Returns an operation replacing the whole list of tasks.
+     * @param tasks the new list of tasks.
+     * @return the operation.
+     */
+    public static TaskOperation setTasks(List<Task> tasks) {
+        return new TaskOperation(SET_TASKS, NO_INDEXES, List.copyOf(tasks), null, null);
+    }
+
+    /**
+     * Returns an operation deleting the tasks at some indexes.
+     * @param indexes the indexes of the tasks in ascending order.
+     * @return the operation.
+     */
+    public static TaskOperation deleteTasks(int[] indexes) {
+        return new TaskOperation(DELETE_TASKS, indexes);
+    }
+
+    /**
+     * Returns an operation deleting the task with a uuid, wherever it is in the list.
+     * @param uuid the uuid of the task.
+     * @return the operation.
+     */
+    public static TaskOperation deleteTaskByUuid(UUID uuid) {
+        return new TaskOperation(DELETE_TASK_BY_UUID, NO_INDEXES, Collections.emptyList(), uuid, null);
+    }
+
+    /**
+     * Returns an operation deleting all of the user's tasks.
+     * @return the operation.
+     */
+    public static TaskOperation deleteAllTasks() {
+        return new TaskOperation(DELETE_ALL_TASKS, NO_INDEXES);
+    }
+
+    /**
+     * Returns an operation setting the done status of the tasks at some indexes.
+     * @param indexes the indexes of the tasks in ascending order.
+     * @param isDone the new done status of the tasks.
+     * @return the operation.
+     */
+    public static TaskOperation setTasksDoneStatus(int[] indexes, boolean isDone) {
+        return new TaskOperation(isDone ? SET_TASKS_DONE : SET_TASKS_UNDONE, indexes);
+    }
+
+    /**
+     * Returns an operation moving each task to a new index.
+     * @param newIndexes the new index of each task, in the current order of the tasks.
+     * @return the operation.
+     */
+    public static TaskOperation moveTasks(int[] newIndexes) {
+        return new TaskOperation(MOVE_TASKS, newIndexes);
+    }
+
+    /**
+     * Returns an operation sorting the user's tasks.
+     * @param sortingMethod the method with which the tasks are sorted.
+     * @return the operation.
+     */
+    public static TaskOperation sortTasks(TaskSorts sortingMethod) {
+        return new TaskOperation(SORT_TASKS, NO_INDEXES, Collections.emptyList(), null, sortingMethod);
+    }
+
+    /**
+     * Method used by the program to apply the operation, with the same feedback as the command making the change.
+     * @param tasksController the controller of the user's tasks.
+     * @return true if the operation was applied.
+     * @throws UiException if the ui fails unexpectedly.
+     */
+    public boolean apply(TasksController tasksController) throws UiException {
+        switch (this.type) {
+        case ADD_TASKS:
+            if (this.indexes.length == 1) {
+                return tasksController.addTaskToIndex(this.indexes[0], this.tasks.get(0));
+            }
+
+            return tasksController.addTasksToIndexes(this.indexes, this.tasks);
+
+        case APPEND_TASK:
+            return tasksController.addTask(this.tasks.get(0));
+
+        case SET_TASKS:
+            return tasksController.setNewTasks(this.tasks, true);
+
+        case DELETE_TASKS:
+            if (this.indexes.length == 1) {
+                return tasksController.deleteTask(this.indexes[0]) != null;
+            }
+
+            return tasksController.deleteTasks(this.indexes) != null;
+
+        case DELETE_TASK_BY_UUID:
+            return tasksController.deleteTaskByUuid(this.uuid) != null;
+
+        case DELETE_ALL_TASKS:
+            return tasksController.deleteAllTasks() != null;
+
+        case SET_TASKS_DONE:
+            if (this.indexes.length == 1) {
+                return tasksController.setTaskToDone(this.indexes[0]);
+            }
+
+            return tasksController.setTasksToDone(this.indexes);
+
+        case SET_TASKS_UNDONE:
+            if (this.indexes.length == 1) {
+                return tasksController.setTaskToUndone(this.indexes[0]);
+            }
+
+            return tasksController.setTasksToUndone(this.indexes);
+
+        case MOVE_TASKS:
+            return tasksController.restoreTaskOrder(this.indexes);
+
+        case SORT_TASKS:
+            return tasksController.sortTasks(this.sortingMethod) != null;
+
+        default:
+            throw new IllegalStateException("Unknown task operation");
+        }
+    }
+
+    /**
+     * Returns an estimate of the number of bytes held in memory by the operation.
+     * @return the estimated size of the operation.
+     */
+    public long getEstimatedSize() {
+        long size = 32;
+
+        if (this.indexes != NO_INDEXES) {
+            size += UndoAction.estimateIndexesSize(this.indexes);
+        }
+
+        if (!this.tasks.isEmpty()) {
+            size += UndoAction.estimateTasksSize(this.tasks);
+        }
+
+        return size;
+    }
+
+    /**
+     * Writes the operation to a history log.
+     * @param output the output to write the operation to.
+     * @throws IOException if the operation cannot be written.
+     */
+    public void writeTo(DataOutput output) throws IOException {
+        output.writeByte(this.type);
+
+        switch (this.type) {
+        case ADD_TASKS:
+            writeIndexes(output, this.indexes);
+            writeTasks(output, this.tasks);
+            break;
+
+        case APPEND_TASK:
+        case SET_TASKS:
+            writeTasks(output, this.tasks);
+            break;
+
+        case DELETE_TASK_BY_UUID:
+            output.writeLong(this.uuid.getMostSignificantBits());
+            output.writeLong(this.uuid.getLeastSignificantBits());
+            break;
+
+        case SORT_TASKS:
+            output.writeUTF(this.sortingMethod.name());
+            break;
+
+        case DELETE_ALL_TASKS:
+            break;
+
+        default:
+            writeIndexes(output, this.indexes);
+            break;
+        }
+    }
+
+    /**
+     * Reads an operation written by writeTo(DataOutput output).
+     * @param input the input to read the operation from.
+     * @return the operation that was read.
+     * @throws IOException if the operation cannot be read.
+     */
+    public static TaskOperation readFrom(DataInput input) throws IOException {
+        byte type = input.readByte();
+
+        switch (type) {
+        case ADD_TASKS:
+            int[] indexes = readIndexes(input);
+            List<Task> addedTasks = readTasks(input);
+
+            if (addedTasks.size() != indexes.length) {
+                throw new IOException("Number of tasks does not match number of indexes");
+            }
+
+            return new TaskOperation(type, indexes, addedTasks, null, null);
+
+        case APPEND_TASK:
+            List<Task> appendedTasks = readTasks(input);
+
+            if (appendedTasks.size() != 1) {
+                throw new IOException("Appended task is missing");
+            }
+
+            return new TaskOperation(type, NO_INDEXES, appendedTasks, null, null);
+
+        case SET_TASKS:
+            return new TaskOperation(type, NO_INDEXES, readTasks(input), null, null);
+
+        case DELETE_TASK_BY_UUID:
+            UUID uuid = new UUID(input.readLong(), input.readLong());
+            return new TaskOperation(type, NO_INDEXES, Collections.emptyList(), uuid, null);
+
+        case SORT_TASKS:
+            try {
+                TaskSorts sortingMethod = TaskSorts.valueOf(input.readUTF());
+                return new TaskOperation(type, NO_INDEXES, Collections.emptyList(), null, sortingMethod);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Unknown sorting method");
+            }
+
+        case DELETE_ALL_TASKS:
+            return new TaskOperation(type, NO_INDEXES);
+
+        case DELETE_TASKS:
+        case SET_TASKS_DONE:
+        case SET_TASKS_UNDONE:
+        case MOVE_TASKS:
+            return new TaskOperation(type, readIndexes(input));
+
+        default:
+            throw new IOException("Unknown task operation");
+        }
+    }
+
+    private static void writeIndexes(DataOutput output, int[] indexes) throws IOException {
+        output.writeInt(indexes.length);
+
+        for (int index : indexes) {
+            output.writeInt(index);
+        }
+    }
+
+    private static int[] readIndexes(DataInput input) throws IOException {
+        int count = input.readInt();
+        if (count < 0) {
+            throw new IOException("Invalid number of indexes");
+        }
+
+        // the array grows as indexes are read, so a corrupted count cannot allocate a huge array by itself
+        int[] indexes = new int[Math.min(count, 1024)];
+
+        for (int i = 0; i < count; i++) {
+            if (i == indexes.length) {
+                indexes = Arrays.copyOf(indexes, Math.min(count, indexes.length * 2));
+            }
+
+            indexes[i] = input.readInt();
+        }
+
+        return indexes;
+    }
+
+    private static void writeTasks(DataOutput output, List<Task> tasks) throws IOException {
+        output.writeInt(tasks.size());
+
+        for (Task task : tasks) {
+            BinaryTaskCodec.writeTask(output, task);
+        }
+    }
+
+    private static List<Task> readTasks(DataInput input) throws IOException {
+        int count = input.readInt();
+        if (count < 0) {
+            throw new IOException("Invalid number of tasks");
+        }
+
+        List<Task> tasks = new ArrayList<>(Math.min(count, 1024));
+
+        for (int i = 0; i < count; i++) {
+            tasks.add(BinaryTaskCodec.readTask(input));
+        }
+
+        return Collections.unmodifiableList(tasks);
+    }
+}
@@ -0,0 +1,50 @@
+package duke.task;
+
+import error.task.TaskRepoException;
+
+import java.util.List;
+
+/**
+ * Checks shared by the repos for the arguments of operations that change several tasks at once.
+ */
+class BulkTaskChanges {
+    private static final String INVALID_INDEX_MESSAGE = "Please enter a valid index";
+
+    /**
+     * Checks the indexes of tasks that are about to be changed against the number of tasks the user currently has.
+     * @param indexes the indexes of the tasks to be changed.
+     * @param tasksCount the number of tasks the user currently has.
+     * @throws TaskRepoException if any index is out of bounds or the indexes are not in ascending order.
+     */
+    static void checkIndexesToChange(int[] indexes, int tasksCount) throws TaskRepoException {
+        for (int i = 0; i < indexes.length; i++) {
+            boolean isAscending = i == 0 ? indexes[i] >= 0 : indexes[i] > indexes[i - 1];
+
+            if (!isAscending || indexes[i] >= tasksCount) {
+                throw new TaskRepoException(INVALID_INDEX_MESSAGE);
+            }
+        }
+    }
+
+    /**
+     * Checks the arguments of ITaskRepo.addTasksToIndexes(int[] indexes, List&lt;Task&gt; tasks) against the number
+     * of tasks the user currently has.
+     * @param indexes the indexes at which the tasks end up.
+     * @param tasks the tasks to be added.
+     * @param tasksCount the number of tasks the user currently has.
+     * @throws TaskRepoException if any index is out of bounds or the indexes are not in ascending order.
+     */
+    static void checkIndexesToAdd(int[] indexes, List<Task> tasks, int tasksCount) throws TaskRepoException {
+        if (indexes.length != tasks.size()) {
+            throw new TaskRepoException("Unable to add tasks.");
+        }
+
+        for (int i = 0; i < indexes.length; i++) {
+            boolean isAscending = i == 0 ? indexes[i] >= 0 : indexes[i] > indexes[i - 1];
+
+            if (!isAscending || indexes[i] > tasksCount + i) {
+                throw new TaskRepoException(INVALID_INDEX_MESSAGE);
+            }
+        }
+    }
+}
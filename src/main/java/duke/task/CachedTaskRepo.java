@@ -0,0 +1,570 @@
+package duke.task;
+
+import duke.task.search.CombinedIndex;
+import duke.task.search.FuzzyIndex;
+import duke.task.search.SortedTaskView;
+import duke.task.search.TaskSearchIndex;
+import duke.task.search.TimeFrameIndex;
+import duke.task.search.TokenIndex;
+import duke.task.search.TrigramIndex;
+import error.storage.StorageException;
+import error.task.TaskRepoException;
+import storage.Storage;
+import util.collections.OrderStatisticTree;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Predicate;
+
+/**
+ * An implementation of the TaskRepo that keeps an in-memory copy of the user's tasks. The tasks are read from the
+ * Storage instance only once, when they are first needed. All subsequent reads are served from memory. Each method
+ * call to update task information is written through to the Storage instance before the in-memory copy is updated,
+ * so the in-memory copy never holds changes that failed to be stored. As tasks are immutable, they are shared with the
+ * Storage instance and with clients without being copied. Changes to several tasks at once are written to the Storage
+ * instance with a single call to its bulk methods before the in-memory copy is updated. The changes of a batch made by
+ * applyBatch(TaskBatch batch) are handed to the writeChanges method of the Storage instance together, and are made
+ * through this repo on the Storage it is given, so that the in-memory copy and its indexes are updated change by
+ * change. The in-memory copy is read again from the Storage instance if the changes of a batch fail to be stored.
+ *
+ * <p>Tasks are kept in memory in a persistent OrderStatisticTree, so that tasks can be read, added, replaced and
+ * deleted at any index in O(log N) time. The list returned by getCurrentTasks() is an O(1) snapshot of the tree, which
+ * clients may read or even modify without affecting the user's tasks. The label of each task in the tree is also
+ * indexed by its UUID so that the current index of a task can be found from its UUID in O(log N) time as well. UUIDs
+ * of tasks are assumed to be unique. The index is updated whenever the tree gives tasks new labels. The tasks are
+ * counted by TaskCounters once when they are read, and the counters are then kept up to date as tasks change, so
+ * that statistics of the tasks are available without checking every task.
+ *
+ * <p>Searches are narrowed down with a TokenIndex and a TrigramIndex over the details of the tasks, which are built
+ * when tasks are first searched and then kept up to date as tasks change. Only the tasks that are candidates in both
+ * indexes are checked against the search parameter, in the order of the list of tasks. All tasks are checked if
+ * neither index is able to narrow down the tasks for a search parameter. Searches for similar tasks are answered
+ * with a FuzzyIndex, and searches for tasks within a period are answered with a TimeFrameIndex, both of which are
+ * built and kept up to date in the same way.
+ *
+ * <p>Tasks are listed in sorted order through a SortedTaskView for each comparator that has been used, which is built
+ * when tasks are first listed with the comparator and then updated in O(log N) time as tasks change. The views refer
+ * to tasks by their labels in the tree, so the tasks that the tree gives new labels are moved to their new labels.
+ */
+public class CachedTaskRepo implements ITaskRepo {
+    private static final String INVALID_INDEX_MESSAGE = "Please enter a valid index";
+
+    private Storage storage;
+    private OrderStatisticTree<Task> cachedTasks;
+    private Map<UUID, Long> taskLabels;
+    private TaskSearchIndex searchIndex;
+    private FuzzyIndex fuzzyIndex;
+    private TimeFrameIndex timeFrameIndex;
+    private Map<Comparator<Task>, SortedTaskView> sortedViews;
+    private TaskCounters counters;
+
+    public CachedTaskRepo(Storage storage) {
+        this.storage = storage;
+        this.sortedViews = new HashMap<>();
+    }
+
+    private OrderStatisticTree<Task> getCachedTasks() throws TaskRepoException {
+        if (this.cachedTasks == null) {
+            try {
+                this.setCachedTasks(storage.getTasks());
+            } catch (StorageException e) {
+                throw new TaskRepoException("Failed to retrieve tasks.");
+            }
+        }
+
+        return this.cachedTasks;
+    }
+
+    private Map<UUID, Long> getTaskLabels() throws TaskRepoException {
+        OrderStatisticTree<Task> tasks = this.getCachedTasks();
+
+        if (this.taskLabels == null) {
+            Map<UUID, Long> labels = new HashMap<>();
+            tasks.forEachWithLabel((task, label) -> labels.put(task.getUuid(), label));
+
+            this.taskLabels = labels;
+        }
+
+        return this.taskLabels;
+    }
+
+    private TaskSearchIndex getSearchIndex() throws TaskRepoException {
+        if (this.searchIndex == null) {
+            TaskSearchIndex index = new CombinedIndex(new TokenIndex(), new TrigramIndex());
+            this.getCachedTasks().forEach(index::addTask);
+
+            this.searchIndex = index;
+        }
+
+        return this.searchIndex;
+    }
+
+    private FuzzyIndex getFuzzyIndex() throws TaskRepoException {
+        if (this.fuzzyIndex == null) {
+            FuzzyIndex index = new FuzzyIndex();
+            this.getCachedTasks().forEach(index::addTask);
+
+            this.fuzzyIndex = index;
+        }
+
+        return this.fuzzyIndex;
+    }
+
+    private TimeFrameIndex getTimeFrameIndex() throws TaskRepoException {
+        if (this.timeFrameIndex == null) {
+            TimeFrameIndex index = new TimeFrameIndex();
+            this.getCachedTasks().forEach(index::addTask);
+
+            this.timeFrameIndex = index;
+        }
+
+        return this.timeFrameIndex;
+    }
+
+    private SortedTaskView getSortedView(Comparator<Task> comparator) throws TaskRepoException {
+        OrderStatisticTree<Task> tasks = this.getCachedTasks();
+        SortedTaskView view = this.sortedViews.get(comparator);
+
+        if (view == null) {
+            SortedTaskView newView = new SortedTaskView(comparator);
+            tasks.forEachWithLabel(newView::addTask);
+
+            view = newView;
+            this.sortedViews.put(comparator, view);
+        }
+
+        return view;
+    }
+
+    private void addSortedTask(Task task, long label) {
+        for (SortedTaskView view : this.sortedViews.values()) {
+            view.addTask(task, label);
+        }
+    }
+
+    private void removeSortedTask(Task task, long label) {
+        for (SortedTaskView view : this.sortedViews.values()) {
+            view.removeTask(task, label);
+        }
+    }
+
+    private void relabelCachedTasks(List<Task> tasks, long[] oldLabels, long[] newLabels) {
+        if (this.taskLabels != null) {
+            for (int i = 0; i < tasks.size(); i++) {
+                this.taskLabels.put(tasks.get(i).getUuid(), newLabels[i]);
+            }
+        }
+
+        // all old labels are removed first, as a new label may be the old label of another task
+        for (SortedTaskView view : this.sortedViews.values()) {
+            for (int i = 0; i < tasks.size(); i++) {
+                view.removeTask(tasks.get(i), oldLabels[i]);
+            }
+
+            for (int i = 0; i < tasks.size(); i++) {
+                view.addTask(tasks.get(i), newLabels[i]);
+            }
+        }
+    }
+
+    private void addIndexedTask(Task task) {
+        if (this.searchIndex != null) {
+            this.searchIndex.addTask(task);
+        }
+
+        if (this.fuzzyIndex != null) {
+            this.fuzzyIndex.addTask(task);
+        }
+
+        if (this.timeFrameIndex != null) {
+            this.timeFrameIndex.addTask(task);
+        }
+    }
+
+    private void removeIndexedTask(Task task) {
+        if (this.searchIndex != null) {
+            this.searchIndex.removeTask(task);
+        }
+
+        if (this.fuzzyIndex != null) {
+            this.fuzzyIndex.removeTask(task);
+        }
+
+        if (this.timeFrameIndex != null) {
+            this.timeFrameIndex.removeTask(task);
+        }
+    }
+
+    private void setCachedTasks(List<Task> tasks) {
+        this.cachedTasks = new OrderStatisticTree<>(tasks);
+        this.taskLabels = null;
+        this.searchIndex = null;
+        this.fuzzyIndex = null;
+        this.timeFrameIndex = null;
+        this.sortedViews.clear();
+        this.counters = new TaskCounters();
+        tasks.forEach(this.counters::addTask);
+    }
+
+    private Task getCachedTask(int index) throws TaskRepoException {
+        try {
+            return this.getCachedTasks().get(index);
+        } catch (IndexOutOfBoundsException e) {
+            throw new TaskRepoException(INVALID_INDEX_MESSAGE);
+        }
+    }
+
+    @Override
+    public void applyBatch(TaskBatch batch) throws TaskRepoException {
+        StagedTaskRepo stagedRepo = new StagedTaskRepo(this);
+        batch.apply(stagedRepo);
+
+        if (stagedRepo.getChangesCount() <= 1) {
+            stagedRepo.commit();
+            return;
+        }
+
+        // the in-memory copy is read from storage before the storage is replaced by the one given by writeChanges
+        this.getCachedTasks();
+        Storage storage = this.storage;
+
+        try {
+            // each change is written to the storage given by writeChanges, so that they are persisted together
+            storage.writeChanges(List.of(stagedRepo.toStorageChange(batchStorage -> {
+                this.storage = batchStorage;
+                return this;
+            })));
+        } catch (StorageException e) {
+            this.cachedTasks = null;
+            throw new TaskRepoException("Failed to write tasks.");
+        } finally {
+            this.storage = storage;
+        }
+    }
+
+    @Override
+    public List<Task> getCurrentTasks() throws TaskRepoException {
+        return this.getCachedTasks().snapshot();
+    }
+
+    @Override
+    public int getCurrentTasksCount() throws TaskRepoException {
+        return this.getCachedTasks().size();
+    }
+
+    @Override
+    public int getUndoneTasksCount() throws TaskRepoException {
+        this.getCachedTasks();
+        return this.counters.getUndoneTasksCount();
+    }
+
+    @Override
+    public TaskStatistics getTaskStatistics(LocalDateTime now) throws TaskRepoException {
+        this.getCachedTasks();
+        return this.counters.getStatistics(now);
+    }
+
+    @Override
+    public Task getTaskFromListIndex(int index) throws TaskRepoException {
+        return this.getCachedTask(index);
+    }
+
+    private static Predicate<Task> getSearchFilter(String parameter) {
+        String lowerCaseParameter = parameter.toLowerCase();
+        return task -> task.getTaskDetails().toLowerCase().contains(lowerCaseParameter);
+    }
+
+    @Override
+    public int getTaskIndexByUuid(UUID uuid) throws TaskRepoException {
+        Long label = this.getTaskLabels().get(uuid);
+        int index = label == null ? -1 : this.getCachedTasks().indexOfLabel(label);
+
+        if (index == -1) {
+            throw new TaskRepoException("Task is not found.");
+        }
+
+        return index;
+    }
+
+    @Override
+    public List<Task> searchTasks(String parameter) throws TaskRepoException {
+        List<Task> matchingTasks = new ArrayList<>();
+        this.forEachMatchingTask(parameter, matchingTasks::add);
+
+        return matchingTasks;
+    }
+
+    @Override
+    public void forEachCurrentTask(Consumer<Task> consumer) throws TaskRepoException {
+        this.getCachedTasks().forEach(consumer);
+    }
+
+    @Override
+    public void forEachMatchingTask(String parameter, Consumer<Task> consumer) throws TaskRepoException {
+        Predicate<Task> searchFilter = getSearchFilter(parameter);
+        Optional<Set<UUID>> candidates = this.getSearchIndex().getCandidateTasks(parameter);
+        Iterable<Task> tasksToCheck = candidates.isPresent()
+                ? this.getTasksInListOrder(candidates.get())
+                : this.getCachedTasks();
+
+        for (Task task : tasksToCheck) {
+            if (searchFilter.test(task)) {
+                consumer.accept(task);
+            }
+        }
+    }
+
+    @Override
+    public void forEachSimilarTask(String parameter, int maxDistance, Consumer<Task> consumer)
+            throws TaskRepoException {
+        Set<UUID> similarTasks = this.getFuzzyIndex().getSimilarTasks(TokenIndex.getTokens(parameter), maxDistance);
+        this.getTasksInListOrder(similarTasks).forEach(consumer);
+    }
+
+    @Override
+    public void forEachOverlappingTask(LocalDateTime from, LocalDateTime to, Consumer<Task> consumer)
+            throws TaskRepoException {
+        Set<UUID> overlappingTasks = this.getTimeFrameIndex().getOverlappingTasks(from, to);
+        this.getTasksInListOrder(overlappingTasks).forEach(consumer);
+    }
+
+    @Override
+    public void forEachSortedTask(Comparator<Task> comparator, ObjIntConsumer<Task> consumer)
+            throws TaskRepoException {
+        SortedTaskView view = this.getSortedView(comparator);
+        view.forEachTask((task, label) -> consumer.accept(task, this.cachedTasks.indexOfLabel(label)));
+    }
+
+    private List<Task> getTasksInListOrder(Set<UUID> uuids) throws TaskRepoException {
+        Map<UUID, Long> labels = this.getTaskLabels();
+        List<Integer> indexes = new ArrayList<>(uuids.size());
+
+        for (UUID uuid : uuids) {
+            indexes.add(this.cachedTasks.indexOfLabel(labels.get(uuid)));
+        }
+
+        Collections.sort(indexes);
+        List<Task> tasks = new ArrayList<>(indexes.size());
+
+        for (int index : indexes) {
+            tasks.add(this.cachedTasks.get(index));
+        }
+
+        return tasks;
+    }
+
+    @Override
+    public void deleteTask(int index) throws TaskRepoException {
+        this.getCachedTask(index);
+
+        try {
+            storage.deleteTask(index);
+        } catch (StorageException e) {
+            throw new TaskRepoException("Failed to delete task.");
+        }
+
+        this.removeCachedTask(index);
+    }
+
+    @Override
+    public void deleteTasks(int[] indexes) throws TaskRepoException {
+        BulkTaskChanges.checkIndexesToChange(indexes, this.getCachedTasks().size());
+
+        try {
+            storage.deleteTasks(indexes);
+        } catch (StorageException e) {
+            throw new TaskRepoException("Failed to delete tasks.");
+        }
+
+        // tasks are removed from the back so that the indexes of the tasks yet to be removed do not change
+        for (int i = indexes.length - 1; i >= 0; i--) {
+            this.removeCachedTask(indexes[i]);
+        }
+    }
+
+    private void removeCachedTask(int index) {
+        long label = this.cachedTasks.getLabel(index);
+        Task deletedTask = this.cachedTasks.remove(index);
+
+        if (this.taskLabels != null) {
+            this.taskLabels.remove(deletedTask.getUuid(), label);
+        }
+
+        this.removeIndexedTask(deletedTask);
+        this.removeSortedTask(deletedTask, label);
+        this.counters.removeTask(deletedTask);
+    }
+
+    @Override
+    public void addTask(Task task) throws TaskRepoException {
+        OrderStatisticTree<Task> tasks = this.getCachedTasks();
+
+        try {
+            storage.addTask(task);
+        } catch (StorageException e) {
+            throw new TaskRepoException("Failed to add new task");
+        }
+
+        this.addCachedTask(tasks.size(), task);
+    }
+
+    @Override
+    public void addTaskToIndex(int index, Task task) throws TaskRepoException {
+        OrderStatisticTree<Task> tasks = this.getCachedTasks();
+
+        if (index < 0 || index > tasks.size()) {
+            throw new TaskRepoException(INVALID_INDEX_MESSAGE);
+        }
+
+        try {
+            storage.addTaskToIndex(index, task);
+        } catch (StorageException e) {
+            throw new TaskRepoException("Failed to add new task");
+        }
+
+        this.addCachedTask(index, task);
+    }
+
+    @Override
+    public void addTasksToIndexes(int[] indexes, List<Task> tasks) throws TaskRepoException {
+        BulkTaskChanges.checkIndexesToAdd(indexes, tasks, this.getCachedTasks().size());
+
+        try {
+            storage.addTasksToIndexes(indexes, tasks);
+        } catch (StorageException e) {
+            throw new TaskRepoException("Failed to add new tasks");
+        }
+
+        // tasks are added from the front so that each task is added at its final index
+        for (int i = 0; i < indexes.length; i++) {
+            this.addCachedTask(indexes[i], tasks.get(i));
+        }
+    }
+
+    private void addCachedTask(int index, Task task) {
+        long label = this.cachedTasks.addWithLabel(index, task, this::relabelCachedTasks);
+
+        if (this.taskLabels != null) {
+            this.taskLabels.put(task.getUuid(), label);
+        }
+
+        this.addIndexedTask(task);
+        this.addSortedTask(task, label);
+        this.counters.addTask(task);
+    }
+
+    @Override
+    public void updateTask(int index, Task task) throws TaskRepoException {
+        if (task.getUniqueCharCode() != this.getCachedTask(index).getUniqueCharCode()) {
+            throw new TaskRepoException("Incompatible task types.");
+        }
+
+        this.writeTaskThrough(index, task);
+    }
+
+    @Override
+    public void updateTaskDoneStatus(int index, boolean isDone) throws TaskRepoException {
+        Task task = this.getCachedTask(index);
+
+        if (task.isTaskDone() == isDone) {
+            throw new TaskRepoException("Task's done status is already set to " + isDone);
+        }
+
+        try {
+            storage.updateTaskDoneStatus(index, isDone);
+        } catch (StorageException e) {
+            throw new TaskRepoException("Failed to update task");
+        }
+
+        this.setCachedDoneStatus(index, task.withDoneStatus(isDone));
+    }
+
+    @Override
+    public void updateTasksDoneStatus(int[] indexes, boolean isDone) throws TaskRepoException {
+        OrderStatisticTree<Task> tasks = this.getCachedTasks();
+        BulkTaskChanges.checkIndexesToChange(indexes, tasks.size());
+
+        for (int index : indexes) {
+            if (tasks.get(index).isTaskDone() == isDone) {
+                throw new TaskRepoException("Task's done status is already set to " + isDone);
+            }
+        }
+
+        try {
+            storage.updateTasksDoneStatus(indexes, isDone);
+        } catch (StorageException e) {
+            throw new TaskRepoException("Failed to update tasks");
+        }
+
+        for (int index : indexes) {
+            this.setCachedDoneStatus(index, tasks.get(index).withDoneStatus(isDone));
+        }
+    }
+
+    private void setCachedDoneStatus(int index, Task updatedTask) {
+        Task task = this.cachedTasks.get(index);
+        long label = this.cachedTasks.getLabel(index);
+        this.cachedTasks.set(index, updatedTask);
+
+        // the other indexes do not depend on the done status, but the views hold the tasks themselves
+        this.removeSortedTask(task, label);
+        this.addSortedTask(updatedTask, label);
+        this.counters.removeTask(task);
+        this.counters.addTask(updatedTask);
+    }
+
+    private void writeTaskThrough(int index, Task task) throws TaskRepoException {
+        try {
+            storage.updateTask(index, task);
+        } catch (StorageException e) {
+            throw new TaskRepoException("Failed to update task");
+        }
+
+        Task replacedTask = this.cachedTasks.set(index, task);
+        long label = this.cachedTasks.getLabel(index);
+
+        if (this.taskLabels != null && !replacedTask.getUuid().equals(task.getUuid())) {
+            this.taskLabels.remove(replacedTask.getUuid(), label);
+            this.taskLabels.put(task.getUuid(), label);
+        }
+
+        this.removeIndexedTask(replacedTask);
+        this.addIndexedTask(task);
+        this.removeSortedTask(replacedTask, label);
+        this.addSortedTask(task, label);
+        this.counters.removeTask(replacedTask);
+        this.counters.addTask(task);
+    }
+
+    @Override
+    public void setNewTasks(List<Task> tasks) throws TaskRepoException {
+        try {
+            storage.writeTasks(new ArrayList<>(tasks));
+        } catch (StorageException e) {
+            throw new TaskRepoException("Failed to write tasks.");
+        }
+
+        this.setCachedTasks(tasks);
+    }
+
+    @Override
+    public void deleteAllTasks() throws TaskRepoException {
+        try {
+            storage.writeTasks(new ArrayList<>());
+        } catch (StorageException e) {
+            throw new TaskRepoException("Failed to delete tasks.");
+        }
+
+        this.setCachedTasks(new ArrayList<>());
+    }
+}
@@ -1,18 +1,32 @@
 package duke.task;
 
 import error.storage.StorageException;
+import error.storage.UncheckedStorageException;
 import error.task.TaskRepoException;
 import storage.Storage;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * The default implementation of the TaskRepo required by the program to read and perform operations on the user's
  * tasks. This default implementation reads and writes the user's tasks from a Storage instance. Each method call to
  * retrieve task information by its clients will result in a read from the Storage instance. Each method call to update
- * task information will also result in a a direct write to the Storage instance.
+ * task information will also result in a a direct write to the Storage instance. Changes to single tasks are written
+ * through the corresponding single task methods of the Storage instance so that storages which support it can avoid
+ * rewriting all of the user's tasks, and changes to several tasks at once are written through the corresponding bulk
+ * methods of the Storage instance. Similarly, single tasks and the number of tasks are read through the
+ * corresponding methods of the Storage instance so that storages which support it can avoid reading all of the
+ * user's tasks. Tasks that are read one at a time are streamed from the Storage instance so that all of the user's
+ * tasks need not be held in memory at once. As tasks are immutable, they are handed to and from the Storage instance
+ * without being copied. Batches of changes are staged in memory by applyBatch(TaskBatch batch). A batch with a single
+ * change is written through the corresponding method of the Storage instance, while the changes of a larger batch are
+ * handed to the writeChanges method of the Storage instance together, so that they are persisted with a single write.
  */
 public class DefaultTaskRepo implements ITaskRepo {
     private Storage storage;
@@ -23,24 +37,28 @@ public class DefaultTaskRepo implements ITaskRepo {
         this.storage = storage;
     }
 
-    private List<Task> produceTaskListCopy(List<Task> originalList) throws CloneNotSupportedException {
-        List<Task> copy = new ArrayList<>();
+    @Override
+    public void applyBatch(TaskBatch batch) throws TaskRepoException {
+        StagedTaskRepo stagedRepo = new StagedTaskRepo(this);
+        batch.apply(stagedRepo);
 
-        for (Task task : originalList) {
-            Task clone = task.clone();
-            copy.add(clone);
+        if (stagedRepo.getChangesCount() <= 1) {
+            stagedRepo.commit();
+            return;
         }
 
-        return copy;
+        try {
+            storage.writeChanges(List.of(stagedRepo.toStorageChange(DefaultTaskRepo::new)));
+        } catch (StorageException e) {
+            throw new TaskRepoException("Failed to write tasks.");
+        }
     }
 
     @Override
     public List<Task> getCurrentTasks() throws TaskRepoException {
         try {
-            List<Task> storedTasks = storage.getTasks();
-
-            return produceTaskListCopy(storedTasks);
-        } catch (StorageException | CloneNotSupportedException e) {
+            return new ArrayList<>(storage.getTasks());
+        } catch (StorageException e) {
             throw new TaskRepoException("Failed to retrieve tasks.");
         }
     }
@@ -48,10 +66,8 @@ public class DefaultTaskRepo implements ITaskRepo {
     @Override
     public void setNewTasks(List<Task> tasks) throws TaskRepoException {
         try {
-            List<Task> tasksToWrite = this.produceTaskListCopy(tasks);
-
-            storage.writeTasks(tasksToWrite);
-        } catch (StorageException | CloneNotSupportedException e) {
+            storage.writeTasks(new ArrayList<>(tasks));
+        } catch (StorageException e) {
             throw new TaskRepoException("Failed to write tasks.");
         }
     }
@@ -67,54 +83,103 @@ public class DefaultTaskRepo implements ITaskRepo {
 
     @Override
     public int getCurrentTasksCount() throws TaskRepoException {
-        List<Task> tasks = this.getCurrentTasks();
-        return tasks.size();
+        try {
+            return storage.getTasksCount();
+        } catch (StorageException e) {
+            throw new TaskRepoException("Failed to retrieve tasks.");
+        }
     }
 
     @Override
     public Task getTaskFromListIndex(int index) throws TaskRepoException {
-        List<Task> tasks = this.getCurrentTasks();
-
         try {
-            return tasks.get(index);
+            return storage.getTask(index);
         } catch (IndexOutOfBoundsException e) {
             throw new TaskRepoException(INVALID_INDEX_MESSAGE);
+        } catch (StorageException e) {
+            throw new TaskRepoException("Failed to retrieve tasks.");
+        }
+    }
+
+    private static Predicate<Task> getSearchFilter(String parameter) {
+        String lowerCaseParameter = parameter.toLowerCase();
+        return task -> task.getTaskDetails().toLowerCase().contains(lowerCaseParameter);
+    }
+
+    private void forEachStoredTask(Predicate<Task> filter, Consumer<Task> consumer) throws TaskRepoException {
+        try (Stream<Task> tasks = storage.streamTasks()) {
+            tasks.filter(filter).forEach(consumer);
+        } catch (StorageException | UncheckedStorageException e) {
+            throw new TaskRepoException("Failed to retrieve tasks.");
         }
     }
 
     @Override
     public List<Task> searchTasks(String parameter) throws TaskRepoException {
-        String lowerCaseParameter = parameter.toLowerCase();
+        List<Task> matchingTasks = new ArrayList<>();
+        this.forEachStoredTask(getSearchFilter(parameter), matchingTasks::add);
 
-        List<Task> tasks = this.getCurrentTasks();
-        return tasks.stream()
-                .filter(task -> task.getTaskDetails().toLowerCase().contains(lowerCaseParameter))
-                .collect(Collectors.toList());
+        return matchingTasks;
     }
 
     @Override
-    public void deleteTask(int index) throws TaskRepoException {
-        List<Task> tasks = this.getCurrentTasks();
+    public int getTaskIndexByUuid(UUID uuid) throws TaskRepoException {
+        int index = 0;
+
+        try (Stream<Task> tasks = storage.streamTasks()) {
+            Iterator<Task> taskIterator = tasks.iterator();
+
+            while (taskIterator.hasNext()) {
+                if (taskIterator.next().getUuid().equals(uuid)) {
+                    return index;
+                }
+
+                index++;
+            }
+        } catch (StorageException | UncheckedStorageException e) {
+            throw new TaskRepoException("Failed to retrieve tasks.");
+        }
+
+        throw new TaskRepoException("Task is not found.");
+    }
+
+    @Override
+    public void forEachCurrentTask(Consumer<Task> consumer) throws TaskRepoException {
+        this.forEachStoredTask(task -> true, consumer);
+    }
+
+    @Override
+    public void forEachMatchingTask(String parameter, Consumer<Task> consumer) throws TaskRepoException {
+        this.forEachStoredTask(getSearchFilter(parameter), consumer);
+    }
 
+    @Override
+    public void deleteTask(int index) throws TaskRepoException {
         try {
-            tasks.remove(index);
+            storage.deleteTask(index);
         } catch (IndexOutOfBoundsException e) {
             throw new TaskRepoException(INVALID_INDEX_MESSAGE);
+        } catch (StorageException e) {
+            throw new TaskRepoException("Failed to delete task.");
         }
-
-        this.setNewTasks(tasks);
     }
 
 
     @Override
-    public void addTask(Task task) throws TaskRepoException {
+    public void deleteTasks(int[] indexes) throws TaskRepoException {
         try {
-            Task taskToAdd = task.clone();
+            BulkTaskChanges.checkIndexesToChange(indexes, storage.getTasksCount());
+            storage.deleteTasks(indexes);
+        } catch (StorageException e) {
+            throw new TaskRepoException("Failed to delete tasks.");
+        }
+    }
 
-            List<Task> tasks = this.getCurrentTasks();
-            tasks.add(taskToAdd);
-            this.setNewTasks(tasks);
-        } catch (CloneNotSupportedException e) {
+    @Override
+    public void addTask(Task task) throws TaskRepoException {
+        try {
+            storage.addTask(task);
+        } catch (StorageException e) {
             throw new TaskRepoException("Failed to add new task");
         }
     }
@@ -122,32 +187,33 @@ public class DefaultTaskRepo implements ITaskRepo {
     @Override
     public void addTaskToIndex(int index, Task task) throws TaskRepoException {
         try {
-            Task taskToAdd = task.clone();
-
-            List<Task> tasks = this.getCurrentTasks();
-            tasks.add(index, taskToAdd);
-            this.setNewTasks(tasks);
-        } catch (CloneNotSupportedException e) {
+            storage.addTaskToIndex(index, task);
+        } catch (StorageException e) {
             throw new TaskRepoException("Failed to add new task");
+        } catch (IndexOutOfBoundsException e) {
+            throw new TaskRepoException(INVALID_INDEX_MESSAGE);
         }
     }
 
+    @Override
+    public void addTasksToIndexes(int[] indexes, List<Task> tasks) throws TaskRepoException {
+        try {
+            BulkTaskChanges.checkIndexesToAdd(indexes, tasks, storage.getTasksCount());
+            storage.addTasksToIndexes(indexes, tasks);
+        } catch (StorageException e) {
+            throw new TaskRepoException("Failed to add new tasks");
+        }
+    }
 
     @Override
     public void updateTask(int index, Task task) throws TaskRepoException {
         try {
-            Task taskToUpdate = task.clone();
-            List<Task> tasks = this.getCurrentTasks();
-
-            if (task.getUniqueCharCode() != tasks.get(index).getUniqueCharCode()) {
+            if (task.getUniqueCharCode() != storage.getTask(index).getUniqueCharCode()) {
                 throw new TaskRepoException("Incompatible task types.");
             }
 
-            tasks.remove(index);
-
-            tasks.add(index, taskToUpdate);
-            this.setNewTasks(tasks);
-        } catch (CloneNotSupportedException e) {
+            storage.updateTask(index, task);
+        } catch (StorageException e) {
             throw new TaskRepoException("Failed to update task");
         } catch (IndexOutOfBoundsException e) {
             throw new TaskRepoException(INVALID_INDEX_MESSAGE);
@@ -157,13 +223,33 @@ public class DefaultTaskRepo implements ITaskRepo {
 
     @Override
     public void updateTaskDoneStatus(int index, boolean isDone) throws TaskRepoException {
-        List<Task> tasks = this.getCurrentTasks();
+        Task task = this.getTaskFromListIndex(index);
 
-        if (tasks.get(index).isTaskDone() == isDone) {
+        if (task.isTaskDone() == isDone) {
             throw new TaskRepoException("Task's done status is already set to " + isDone);
         }
 
-        tasks.get(index).setTaskAsDone(isDone);
-        this.setNewTasks(tasks);
+        try {
+            storage.updateTaskDoneStatus(index, isDone);
+        } catch (StorageException e) {
+            throw new TaskRepoException("Failed to update task");
+        }
+    }
+
+    @Override
+    public void updateTasksDoneStatus(int[] indexes, boolean isDone) throws TaskRepoException {
+        try {
+            BulkTaskChanges.checkIndexesToChange(indexes, storage.getTasksCount());
+
+            for (int index : indexes) {
+                if (storage.getTask(index).isTaskDone() == isDone) {
+                    throw new TaskRepoException("Task's done status is already set to " + isDone);
+                }
+            }
+
+            storage.updateTasksDoneStatus(indexes, isDone);
+        } catch (StorageException e) {
+            throw new TaskRepoException("Failed to update tasks");
+        }
     }
 }
@@ -1,8 +1,17 @@
 package duke.task;
 
+import duke.task.search.TokenIndex;
 import error.task.TaskRepoException;
+import util.strings.EditDistance;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
 
 /**
  * An interface to encapsulate the accessing of a user's tasks. It includes operations required by the
@@ -26,6 +35,30 @@ public interface ITaskRepo {
      */
     public int getCurrentTasksCount() throws TaskRepoException;
 
+    /**
+     * Method used by the program to retrieve the number of tasks that a user has not done yet. Repos that are able to
+     * do so SHOULD keep count of these tasks as they change rather than checking all of the user's tasks.
+     * @return the number of tasks that are not done.
+     * @throws TaskRepoException if tasks cannot be read.
+     */
+    public default int getUndoneTasksCount() throws TaskRepoException {
+        return (int) this.getCurrentTasks().stream().filter(task -> !task.isTaskDone()).count();
+    }
+
+    /**
+     * Method used by the program to summarize the user's tasks at a point in time. Repos that are able to do so SHOULD
+     * keep count of the tasks as they change rather than checking all of the user's tasks.
+     * @param now the point in time at which tasks that have ended are overdue.
+     * @return the statistics of the user's tasks.
+     * @throws TaskRepoException if tasks cannot be read.
+     */
+    public default TaskStatistics getTaskStatistics(LocalDateTime now) throws TaskRepoException {
+        TaskCounters counters = new TaskCounters();
+        this.forEachCurrentTask(counters::addTask);
+
+        return counters.getStatistics(now);
+    }
+
     /**
      * Method used by the program to retrieve the task based on its index in the list of
      * tasks returned by the getCurrentTasks() method. The task returned MUST correspond to the task that is
@@ -36,6 +69,55 @@ public interface ITaskRepo {
      */
     public Task getTaskFromListIndex(int index) throws TaskRepoException;
 
+    /**
+     * Method used by the program to find the index of a task in the list of tasks returned by the getCurrentTasks()
+     * method based on its UUID. Repos that are able to do so SHOULD avoid scanning all of the user's tasks.
+     * @param uuid the UUID of the task.
+     * @return the index of the task with the specified UUID.
+     * @throws TaskRepoException if tasks cannot be retrieved or if no task has the specified UUID.
+     */
+    public default int getTaskIndexByUuid(UUID uuid) throws TaskRepoException {
+        List<Task> tasks = this.getCurrentTasks();
+
+        for (int i = 0; i < tasks.size(); i++) {
+            if (tasks.get(i).getUuid().equals(uuid)) {
+                return i;
+            }
+        }
+
+        throw new TaskRepoException("Task is not found.");
+    }
+
+    /**
+     * Method used by the program to retrieve a task based on its UUID.
+     * @param uuid the UUID of the task to be retrieved.
+     * @return the task with the specified UUID.
+     * @throws TaskRepoException if tasks cannot be retrieved or if no task has the specified UUID.
+     */
+    public default Task getTaskByUuid(UUID uuid) throws TaskRepoException {
+        return this.getTaskFromListIndex(this.getTaskIndexByUuid(uuid));
+    }
+
+    /**
+     * Method used by the program to update a currently existing task identified by its UUID. The same rules as the
+     * updateTask(int index, Task task) method apply.
+     * @param uuid the UUID of the task to be updated.
+     * @param task new task to be updated.
+     * @throws TaskRepoException if no task has the specified UUID or if the task is unable to be updated.
+     */
+    public default void updateTaskByUuid(UUID uuid, Task task) throws TaskRepoException {
+        this.updateTask(this.getTaskIndexByUuid(uuid), task);
+    }
+
+    /**
+     * Method used by the program to delete a specific task identified by its UUID.
+     * @param uuid the UUID of the task to be deleted.
+     * @throws TaskRepoException if no task has the specified UUID or if the task is unable to be deleted.
+     */
+    public default void deleteTaskByUuid(UUID uuid) throws TaskRepoException {
+        this.deleteTask(this.getTaskIndexByUuid(uuid));
+    }
+
     /**
      * Method used by the program to search for tasks. Tasks are considered matching if a substring of its details
      * contains the parameter. A list of matching tasks is to be returned. The list returned by this method SHOULD be
@@ -46,6 +128,122 @@ public interface ITaskRepo {
      */
     public List<Task> searchTasks(String parameter) throws TaskRepoException;
 
+    /**
+     * Method used by the program to read the user's current tasks one at a time, in the same order as the list of
+     * tasks returned by the getCurrentTasks() method. Repos that are able to do so SHOULD avoid holding all of the
+     * user's tasks in memory at once. The tasks given to the consumer MUST NOT be modified.
+     * @param consumer the consumer to be given each of the user's current tasks.
+     * @throws TaskRepoException if tasks cannot be retrieved.
+     */
+    public default void forEachCurrentTask(Consumer<Task> consumer) throws TaskRepoException {
+        this.getCurrentTasks().forEach(consumer);
+    }
+
+    /**
+     * Method used by the program to read a range of the user's current tasks one at a time, together with their
+     * indexes in the list of tasks returned by the getCurrentTasks() method. Repos SHOULD only read the tasks within
+     * the range. The tasks given to the consumer MUST NOT be modified.
+     * @param from the index of the first task of the range.
+     * @param to the index after the last task of the range.
+     * @param consumer the consumer to be given each task in the range and its index.
+     * @throws TaskRepoException if tasks cannot be retrieved or if the range is out of bounds.
+     */
+    public default void forEachTaskInRange(int from, int to, ObjIntConsumer<Task> consumer) throws TaskRepoException {
+        for (int i = from; i < to; i++) {
+            consumer.accept(this.getTaskFromListIndex(i), i);
+        }
+    }
+
+    /**
+     * Method used by the program to read the tasks matching a search parameter one at a time, in the same order as
+     * the list of tasks returned by the searchTasks(String parameter) method. Repos that are able to do so SHOULD
+     * avoid holding all of the matching tasks in memory at once. The tasks given to the consumer MUST NOT be
+     * modified.
+     * @param parameter substring to be used to search for matching tasks.
+     * @param consumer the consumer to be given each of the matching tasks.
+     * @throws TaskRepoException if tasks cannot be retrieved.
+     */
+    public default void forEachMatchingTask(String parameter, Consumer<Task> consumer) throws TaskRepoException {
+        this.searchTasks(parameter).forEach(consumer);
+    }
+
+    /**
+     * Method used by the program to read the tasks with details similar to a search parameter one at a time, in the
+     * same order as the list of tasks returned by the getCurrentTasks() method. The parameter and the details of tasks
+     * are split into lowercase words made up of letters and digits. Tasks are considered matching if each word of the
+     * parameter is within the maximum Levenshtein distance of a word in its details. No tasks match a parameter
+     * without any words. Repos that are able to do so SHOULD avoid measuring the distance between the parameter and
+     * every word of every task. The tasks given to the consumer MUST NOT be modified.
+     * @param parameter the words to be used to search for similar tasks.
+     * @param maxDistance the maximum Levenshtein distance between the words of the parameter and of matching tasks.
+     * @param consumer the consumer to be given each of the matching tasks.
+     * @throws TaskRepoException if tasks cannot be retrieved.
+     */
+    public default void forEachSimilarTask(String parameter, int maxDistance, Consumer<Task> consumer)
+            throws TaskRepoException {
+        Set<String> words = TokenIndex.getTokens(parameter);
+
+        if (words.isEmpty()) {
+            return;
+        }
+
+        this.forEachCurrentTask(task -> {
+            Set<String> tokens = TokenIndex.getTokens(task.getTaskDetails());
+            boolean isSimilar = words.stream().allMatch(word -> tokens.stream()
+                    .anyMatch(token -> EditDistance.levenshtein(word, token) <= maxDistance));
+
+            if (isSimilar) {
+                consumer.accept(task);
+            }
+        });
+    }
+
+    /**
+     * Method used by the program to read the tasks whose TimeFrames overlap a period one at a time, in the same order
+     * as the list of tasks returned by the getCurrentTasks() method. Tasks are considered overlapping according to
+     * TimeFrame.overlaps(LocalDateTime from, LocalDateTime to). Repos that are able to do so SHOULD avoid checking
+     * the TimeFrames of all of the user's tasks. The tasks given to the consumer MUST NOT be modified.
+     * @param from the start of the period, which is included in the period.
+     * @param to the end of the period, which is included in the period.
+     * @param consumer the consumer to be given each of the overlapping tasks.
+     * @throws TaskRepoException if tasks cannot be retrieved.
+     */
+    public default void forEachOverlappingTask(LocalDateTime from, LocalDateTime to, Consumer<Task> consumer)
+            throws TaskRepoException {
+        this.forEachCurrentTask(task -> {
+            if (task.getTaskTimeFrame().overlaps(from, to)) {
+                consumer.accept(task);
+            }
+        });
+    }
+
+    /**
+     * Method used by the program to read the user's current tasks one at a time in sorted order, together with their
+     * indexes in the list of tasks returned by the getCurrentTasks() method. Tasks that the comparator considers equal
+     * MUST be given in the same order as that list. The order of the list itself is not changed. Repos that are able
+     * to do so SHOULD keep the tasks sorted as they change rather than sorting them on every call, in which case
+     * callers SHOULD reuse the same comparators. The tasks given to the consumer MUST NOT be modified.
+     * @param comparator the comparator used to sort the tasks.
+     * @param consumer the consumer to be given each of the user's current tasks and its index.
+     * @throws TaskRepoException if tasks cannot be retrieved.
+     */
+    public default void forEachSortedTask(Comparator<Task> comparator, ObjIntConsumer<Task> consumer)
+            throws TaskRepoException {
+        List<Task> tasks = this.getCurrentTasks();
+        List<Integer> indexes = new ArrayList<>(tasks.size());
+
+        for (int i = 0; i < tasks.size(); i++) {
+            indexes.add(i);
+        }
+
+        // List.sort is stable, so equal tasks stay in the order of the list
+        indexes.sort(Comparator.comparing(tasks::get, comparator));
+
+        for (int index : indexes) {
+            consumer.accept(tasks.get(index), index);
+        }
+    }
+
     /**
      * Method used by the program to delete a specific task. The task is identified based on its index in the list
      * of tasks returned by the getCurrentTasks() method. The task deleted MUST correspond to the task that is found
@@ -94,6 +292,101 @@ public interface ITaskRepo {
      */
     public void updateTaskDoneStatus(int index, boolean isDone) throws TaskRepoException;
 
+    /**
+     * Method used by the program to update the done status of several tasks at once. The tasks are identified by their
+     * indexes in the list of tasks returned by the getCurrentTasks() method. Either all of the tasks are updated, or
+     * none of them are. Repos SHOULD apply all of the changes in a single pass and persist them with a single write.
+     * @param indexes the indexes of the tasks to be updated, in ascending order and without duplicates.
+     * @param isDone the new done status of the tasks.
+     * @throws TaskRepoException if any index is out of bounds, if any task already has the new done status or if the
+     *     tasks are unable to be updated.
+     */
+    public default void updateTasksDoneStatus(int[] indexes, boolean isDone) throws TaskRepoException {
+        List<Task> tasks = new ArrayList<>(this.getCurrentTasks());
+        BulkTaskChanges.checkIndexesToChange(indexes, tasks.size());
+
+        for (int index : indexes) {
+            Task task = tasks.get(index);
+
+            if (task.isTaskDone() == isDone) {
+                throw new TaskRepoException("Task's done status is already set to " + isDone);
+            }
+
+            tasks.set(index, task.withDoneStatus(isDone));
+        }
+
+        this.setNewTasks(tasks);
+    }
+
+    /**
+     * Method used by the program to delete several tasks at once. The tasks are identified by their indexes in the
+     * list of tasks returned by the getCurrentTasks() method. Either all of the tasks are deleted, or none of them
+     * are. Repos SHOULD apply all of the changes in a single pass and persist them with a single write.
+     * @param indexes the indexes of the tasks to be deleted, in ascending order and without duplicates.
+     * @throws TaskRepoException if any index is out of bounds or if the tasks are unable to be deleted.
+     */
+    public default void deleteTasks(int[] indexes) throws TaskRepoException {
+        List<Task> tasks = this.getCurrentTasks();
+        BulkTaskChanges.checkIndexesToChange(indexes, tasks.size());
+
+        List<Task> remainingTasks = new ArrayList<>(tasks.size());
+        int nextIndex = 0;
+
+        for (int index : indexes) {
+            remainingTasks.addAll(tasks.subList(nextIndex, index));
+            nextIndex = index + 1;
+        }
+
+        remainingTasks.addAll(tasks.subList(nextIndex, tasks.size()));
+        this.setNewTasks(remainingTasks);
+    }
+
+    /**
+     * Method used by the program to add several new tasks at once, such that each task ends up at its index in the
+     * list of tasks returned by the getCurrentTasks() method. This reverses deleteTasks(int[] indexes) when given the
+     * same indexes and the deleted tasks. Either all of the tasks are added, or none of them are. Repos SHOULD apply
+     * all of the changes in a single pass and persist them with a single write.
+     * @param indexes the indexes at which the tasks end up, in ascending order and without duplicates.
+     * @param tasks the tasks to be added, in the same order as their indexes.
+     * @throws TaskRepoException if any index is out of bounds or if the tasks are unable to be added.
+     */
+    public default void addTasksToIndexes(int[] indexes, List<Task> tasks) throws TaskRepoException {
+        List<Task> currentTasks = this.getCurrentTasks();
+        BulkTaskChanges.checkIndexesToAdd(indexes, tasks, currentTasks.size());
+
+        List<Task> newTasks = new ArrayList<>(currentTasks.size() + tasks.size());
+        int nextIndex = 0;
+
+        for (int i = 0; i < indexes.length; i++) {
+            // the tasks before the index that are not added are the next tasks of the current list
+            int currentTasksBefore = indexes[i] - i;
+            newTasks.addAll(currentTasks.subList(nextIndex, currentTasksBefore));
+            newTasks.add(tasks.get(i));
+            nextIndex = currentTasksBefore;
+        }
+
+        newTasks.addAll(currentTasks.subList(nextIndex, currentTasks.size()));
+        this.setNewTasks(newTasks);
+    }
+
+    /**
+     * Method used by the program to make several changes to the user's tasks as a single transaction. The changes of
+     * the batch are staged in memory, so that every change is checked before any of them are persisted. If the batch
+     * throws an exception, none of its changes are persisted. Otherwise the changes are committed by making the single
+     * task and bulk operations of the batch on this repo in order, so that a batch with a single change costs the same
+     * as the change on its own. Reads of the batch are served by this repo until its first change, and a copy of the
+     * tasks is only taken if the batch reads or changes tasks after that. Repos that are able to persist several
+     * changes together SHOULD override this method so that the changes of a batch are persisted with a single write.
+     * @param batch the changes to be made.
+     * @throws TaskRepoException if any change of the batch cannot be made or if the changes are unable to be
+     *     persisted.
+     */
+    public default void applyBatch(TaskBatch batch) throws TaskRepoException {
+        StagedTaskRepo stagedRepo = new StagedTaskRepo(this);
+        batch.apply(stagedRepo);
+        stagedRepo.commit();
+    }
+
     /**
      * Method used by the program to completely update the user's existing tasks to a new list of tasks. The old task
      * information will be erased.
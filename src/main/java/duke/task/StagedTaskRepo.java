@@ -0,0 +1,283 @@
+package duke.task;
+
+import error.storage.StorageException;
+import error.task.TaskRepoException;
+import storage.Storage;
+import storage.StorageChange;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * A TaskRepo that stages the changes of a TaskBatch in memory, so that every change is checked before any of them is
+ * committed to the repo it was staged from. Each change is recorded as the single task or bulk operation that made it,
+ * and the batch is committed by making the recorded operations on a repo in order. Until the first change is made,
+ * reads are served by the repo the batch was staged from, which may have indexed its tasks, and the first change is
+ * checked against that repo as well. A copy of the tasks of the repo is only taken once the batch reads or changes
+ * tasks after its first change, so a batch that reads a few tasks and then makes a single change does not read all
+ * of the user's tasks.
+ */
+class StagedTaskRepo implements ITaskRepo {
+    private static final String INVALID_INDEX_MESSAGE = "Please enter a valid index";
+
+    private final ITaskRepo baseRepo;
+    private final List<StagedChange> changes;
+    private List<Task> tasks;
+
+    /**
+     * An interface to encapsulate the change to the copy of the tasks made by a staged change.
+     */
+    private interface ListChange {
+        void applyTo(List<Task> tasks);
+    }
+
+    /**
+     * An interface to encapsulate the operation of a repo that commits a staged change.
+     */
+    private interface TaskChange {
+        void applyTo(ITaskRepo tasksRepo) throws TaskRepoException;
+    }
+
+    /**
+     * A single change that is yet to be committed.
+     */
+    private static class StagedChange {
+        private final ListChange listChange;
+        private final TaskChange taskChange;
+
+        private StagedChange(ListChange listChange, TaskChange taskChange) {
+            this.listChange = listChange;
+            this.taskChange = taskChange;
+        }
+    }
+
+    /**
+     * Constructs a repo that stages changes on top of the current tasks of another repo.
+     * @param baseRepo the repo whose tasks the changes are staged on.
+     */
+    StagedTaskRepo(ITaskRepo baseRepo) {
+        this.baseRepo = baseRepo;
+        this.changes = new ArrayList<>();
+    }
+
+    /**
+     * Returns the number of changes that have been staged.
+     * @return the number of staged changes.
+     */
+    int getChangesCount() {
+        return this.changes.size();
+    }
+
+    /**
+     * Commits the staged changes to the repo they were staged on.
+     * @throws TaskRepoException if the changes are unable to be committed.
+     */
+    void commit() throws TaskRepoException {
+        this.commitTo(this.baseRepo);
+    }
+
+    /**
+     * Commits the staged changes to a repo by making the recorded operations on it in order.
+     * @param tasksRepo the repo holding the same tasks as the repo the changes were staged on.
+     * @throws TaskRepoException if the changes are unable to be committed.
+     */
+    void commitTo(ITaskRepo tasksRepo) throws TaskRepoException {
+        for (StagedChange change : this.changes) {
+            change.taskChange.applyTo(tasksRepo);
+        }
+    }
+
+    /**
+     * Returns a change to a Storage that commits the staged changes to a repo of that Storage, so that the Storage
+     * is able to persist all of them together.
+     * @param repoOfStorage the function that returns the repo through which the changes are made to a Storage.
+     * @return the change to the Storage.
+     */
+    StorageChange toStorageChange(Function<Storage, ITaskRepo> repoOfStorage) {
+        return storage -> {
+            try {
+                this.commitTo(repoOfStorage.apply(storage));
+            } catch (TaskRepoException e) {
+                throw new StorageException("Unable to save tasks");
+            }
+        };
+    }
+
+    private List<Task> getStagedTasks() throws TaskRepoException {
+        if (this.tasks == null) {
+            this.tasks = new ArrayList<>(this.baseRepo.getCurrentTasks());
+
+            for (StagedChange change : this.changes) {
+                change.listChange.applyTo(this.tasks);
+            }
+        }
+
+        return this.tasks;
+    }
+
+    private void stage(ListChange listChange, TaskChange taskChange) {
+        if (this.tasks != null) {
+            listChange.applyTo(this.tasks);
+        }
+
+        this.changes.add(new StagedChange(listChange, taskChange));
+    }
+
+    private void checkIndex(int index, int tasksCount) throws TaskRepoException {
+        if (index < 0 || index >= tasksCount) {
+            throw new TaskRepoException(INVALID_INDEX_MESSAGE);
+        }
+    }
+
+    @Override
+    public List<Task> getCurrentTasks() throws TaskRepoException {
+        if (this.changes.isEmpty()) {
+            return this.baseRepo.getCurrentTasks();
+        }
+
+        return new ArrayList<>(this.getStagedTasks());
+    }
+
+    @Override
+    public int getCurrentTasksCount() throws TaskRepoException {
+        if (this.changes.isEmpty()) {
+            return this.baseRepo.getCurrentTasksCount();
+        }
+
+        return this.getStagedTasks().size();
+    }
+
+    @Override
+    public Task getTaskFromListIndex(int index) throws TaskRepoException {
+        if (this.changes.isEmpty()) {
+            return this.baseRepo.getTaskFromListIndex(index);
+        }
+
+        List<Task> tasks = this.getStagedTasks();
+        this.checkIndex(index, tasks.size());
+        return tasks.get(index);
+    }
+
+    @Override
+    public int getTaskIndexByUuid(UUID uuid) throws TaskRepoException {
+        if (this.changes.isEmpty()) {
+            return this.baseRepo.getTaskIndexByUuid(uuid);
+        }
+
+        return ITaskRepo.super.getTaskIndexByUuid(uuid);
+    }
+
+    @Override
+    public List<Task> searchTasks(String parameter) throws TaskRepoException {
+        if (this.changes.isEmpty()) {
+            return this.baseRepo.searchTasks(parameter);
+        }
+
+        String lowerCaseParameter = parameter.toLowerCase();
+        List<Task> matchingTasks = new ArrayList<>();
+
+        for (Task task : this.getStagedTasks()) {
+            if (task.getTaskDetails().toLowerCase().contains(lowerCaseParameter)) {
+                matchingTasks.add(task);
+            }
+        }
+
+        return matchingTasks;
+    }
+
+    @Override
+    public void deleteTask(int index) throws TaskRepoException {
+        this.checkIndex(index, this.getCurrentTasksCount());
+        this.stage(tasks -> tasks.remove(index), tasksRepo -> tasksRepo.deleteTask(index));
+    }
+
+    @Override
+    public void deleteTasks(int[] indexes) throws TaskRepoException {
+        BulkTaskChanges.checkIndexesToChange(indexes, this.getCurrentTasksCount());
+        this.stage(tasks -> {
+            // tasks are removed from the back so that the indexes of the tasks yet to be removed do not change
+            for (int i = indexes.length - 1; i >= 0; i--) {
+                tasks.remove(indexes[i]);
+            }
+        }, tasksRepo -> tasksRepo.deleteTasks(indexes));
+    }
+
+    @Override
+    public void addTask(Task task) {
+        this.stage(tasks -> tasks.add(task), tasksRepo -> tasksRepo.addTask(task));
+    }
+
+    @Override
+    public void addTaskToIndex(int index, Task task) throws TaskRepoException {
+        this.checkIndex(index, this.getCurrentTasksCount() + 1);
+        this.stage(tasks -> tasks.add(index, task), tasksRepo -> tasksRepo.addTaskToIndex(index, task));
+    }
+
+    @Override
+    public void addTasksToIndexes(int[] indexes, List<Task> tasks) throws TaskRepoException {
+        BulkTaskChanges.checkIndexesToAdd(indexes, tasks, this.getCurrentTasksCount());
+        List<Task> addedTasks = new ArrayList<>(tasks);
+
+        this.stage(stagedTasks -> {
+            // tasks are added from the front so that each task is added at its final index
+            for (int i = 0; i < indexes.length; i++) {
+                stagedTasks.add(indexes[i], addedTasks.get(i));
+            }
+        }, tasksRepo -> tasksRepo.addTasksToIndexes(indexes, addedTasks));
+    }
+
+    @Override
+    public void updateTask(int index, Task task) throws TaskRepoException {
+        if (task.getUniqueCharCode() != this.getTaskFromListIndex(index).getUniqueCharCode()) {
+            throw new TaskRepoException("Incompatible task types.");
+        }
+
+        this.stage(tasks -> tasks.set(index, task), tasksRepo -> tasksRepo.updateTask(index, task));
+    }
+
+    @Override
+    public void updateTaskDoneStatus(int index, boolean isDone) throws TaskRepoException {
+        Task task = this.getTaskFromListIndex(index);
+
+        if (task.isTaskDone() == isDone) {
+            throw new TaskRepoException("Task's done status is already set to " + isDone);
+        }
+
+        this.stage(tasks -> tasks.set(index, task.withDoneStatus(isDone)),
+                tasksRepo -> tasksRepo.updateTaskDoneStatus(index, isDone));
+    }
+
+    @Override
+    public void updateTasksDoneStatus(int[] indexes, boolean isDone) throws TaskRepoException {
+        BulkTaskChanges.checkIndexesToChange(indexes, this.getCurrentTasksCount());
+
+        for (int index : indexes) {
+            if (this.getTaskFromListIndex(index).isTaskDone() == isDone) {
+                throw new TaskRepoException("Task's done status is already set to " + isDone);
+            }
+        }
+
+        this.stage(tasks -> {
+            for (int index : indexes) {
+                tasks.set(index, tasks.get(index).withDoneStatus(isDone));
+            }
+        }, tasksRepo -> tasksRepo.updateTasksDoneStatus(indexes, isDone));
+    }
+
+    @Override
+    public void setNewTasks(List<Task> tasks) {
+        List<Task> newTasks = new ArrayList<>(tasks);
+
+        this.stage(stagedTasks -> {
+            stagedTasks.clear();
+            stagedTasks.addAll(newTasks);
+        }, tasksRepo -> tasksRepo.setNewTasks(newTasks));
+    }
+
+    @Override
+    public void deleteAllTasks() {
+        this.stage(List::clear, ITaskRepo::deleteAllTasks);
+    }
+}
@@ -13,6 +13,8 @@ import java.util.UUID;
  * 3. a details String to serve as a descriptor for each task
  * 4. a TimeFrame within which the task is to be completed
  * 5. a boolean flag to represent if the task is completed.
+ * Tasks are immutable once created. Changes to a task are made by creating a modified copy of it instead, so tasks
+ * may be shared freely without being copied defensively.
  * The constructors of all tasks MUST follow the following formats
  * 1. Task(String details, LocalDateTime a, LocalDateTime b)
  * 2. Task(String details, LocalDateTime a).
@@ -22,10 +24,10 @@ public abstract class Task implements Serializable, Cloneable {
     private static String TASK_IS_DONE_ICON = "✓";
     private static String TASK_NOT_DONE_ICON = "✘";
 
-    private final UUID uuid;
+    private UUID uuid;
     private final char uniqueCharCode;
-    private String details;
-    private TimeFrame timeFrame;
+    private final String details;
+    private final TimeFrame timeFrame;
     private boolean isDone;
 
     /**
@@ -67,8 +69,27 @@ public abstract class Task implements Serializable, Cloneable {
         return this.isDone;
     }
 
-    public void setTaskAsDone(boolean done) {
-        this.isDone = done;
+    /**
+     * Returns a copy of the task with the given done status. The task itself is not modified.
+     * @param done whether the copy is done.
+     * @return a copy of the task with the given done status.
+     */
+    public Task withDoneStatus(boolean done) {
+        Task copy = this.clone();
+        copy.isDone = done;
+        return copy;
+    }
+
+    /**
+     * Returns a copy of the task that is identified by the given UUID instead. Used when restoring tasks that were
+     * stored without java object serialization, so that they keep their original identities.
+     * @param uuid the UUID of the copy.
+     * @return a copy of the task with the given UUID.
+     */
+    public Task withUuid(UUID uuid) {
+        Task copy = this.clone();
+        copy.uuid = uuid;
+        return copy;
     }
 
     /**
@@ -109,15 +130,18 @@ public abstract class Task implements Serializable, Cloneable {
     }
 
     /**
-     * Returns a deep copy of the task instance other than its UUID which is immutable regardless.
-     * @return a deep copy of the task instance.
-     * @throws CloneNotSupportedException if cloning of the task instance fails.
+     * Returns a copy of the task instance, including its UUID. As tasks and their TimeFrames are immutable, the copy
+     * shares its TimeFrame with the task.
+     * @return a copy of the task instance.
      */
     @Override
-    public Task clone() throws CloneNotSupportedException {
-        Task clone = (Task) super.clone();
-        clone.timeFrame = new TimeFrame(timeFrame.getStart(), timeFrame.getEnd());
-        return clone;
+    public Task clone() {
+        try {
+            return (Task) super.clone();
+        } catch (CloneNotSupportedException e) {
+            // tasks are always cloneable
+            throw new AssertionError(e);
+        }
     }
 
     /**
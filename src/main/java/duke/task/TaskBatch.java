@@ -0,0 +1,18 @@
+package duke.task;
+
+import error.task.TaskRepoException;
+
+/**
+ * A group of changes to the user's tasks that are made together by ITaskRepo.applyBatch(TaskBatch batch). The changes
+ * are made through the repo given to the batch, which stages them in memory. Reads through that repo reflect the
+ * changes made so far by the batch.
+ */
+@FunctionalInterface
+public interface TaskBatch {
+    /**
+     * Makes the changes of the batch. Throwing an exception rolls back every change made by the batch.
+     * @param tasksRepo the repo through which the changes are made.
+     * @throws TaskRepoException if any change cannot be made.
+     */
+    public void apply(ITaskRepo tasksRepo) throws TaskRepoException;
+}
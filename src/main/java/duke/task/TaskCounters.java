@@ -0,0 +1,95 @@
+package duke.task;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Counters over a set of tasks that are updated in O(log N) time as tasks are added and removed, so that TaskStatistics
+ * can be produced without checking every task. The end times of undone tasks are kept in a sorted multiset, together
+ * with a watermark below which all of them have already been counted as overdue. As the current time moves forward,
+ * only the end times passed since the last query have to be counted, so each task is counted once as it becomes
+ * overdue rather than on every query.
+ */
+class TaskCounters {
+    private final Map<Character, Integer> tasksCountByCharCode;
+    private final NavigableMap<LocalDateTime, Integer> undoneEndTimes;
+    private int tasksCount;
+    private int undoneTasksCount;
+    private LocalDateTime watermark;
+    private int overdueTasksCount;
+
+    TaskCounters() {
+        this.tasksCountByCharCode = new HashMap<>();
+        this.undoneEndTimes = new TreeMap<>();
+        this.watermark = LocalDateTime.MIN;
+    }
+
+    void addTask(Task task) {
+        this.countTask(task, 1);
+    }
+
+    void removeTask(Task task) {
+        this.countTask(task, -1);
+    }
+
+    private static <K> void addCount(Map<K, Integer> counts, K key, int change) {
+        if (counts.merge(key, change, Integer::sum) == 0) {
+            counts.remove(key);
+        }
+    }
+
+    private void countTask(Task task, int change) {
+        this.tasksCount += change;
+        addCount(this.tasksCountByCharCode, task.getUniqueCharCode(), change);
+
+        if (task.isTaskDone()) {
+            return;
+        }
+
+        this.undoneTasksCount += change;
+        LocalDateTime endTime = task.getTaskTimeFrame().getLatest();
+
+        // TimeFrames without an end never become overdue
+        if (endTime.equals(LocalDateTime.MAX)) {
+            return;
+        }
+
+        addCount(this.undoneEndTimes, endTime, change);
+
+        if (endTime.isBefore(this.watermark)) {
+            this.overdueTasksCount += change;
+        }
+    }
+
+    int getTasksCount() {
+        return this.tasksCount;
+    }
+
+    int getUndoneTasksCount() {
+        return this.undoneTasksCount;
+    }
+
+    int getOverdueTasksCount(LocalDateTime now) {
+        if (now.isAfter(this.watermark)) {
+            for (int count : this.undoneEndTimes.subMap(this.watermark, true, now, false).values()) {
+                this.overdueTasksCount += count;
+            }
+        } else {
+            // the clock has been turned back, so tasks that are no longer overdue are uncounted
+            for (int count : this.undoneEndTimes.subMap(now, true, this.watermark, false).values()) {
+                this.overdueTasksCount -= count;
+            }
+        }
+
+        this.watermark = now;
+        return this.overdueTasksCount;
+    }
+
+    TaskStatistics getStatistics(LocalDateTime now) {
+        return new TaskStatistics(now, this.tasksCount, this.undoneTasksCount, this.getOverdueTasksCount(now),
+                this.tasksCountByCharCode);
+    }
+}
@@ -0,0 +1,60 @@
+package duke.task;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Summary of the user's tasks at a point in time. A task is overdue if it is not done and its TimeFrame ended before
+ * that point in time. Tasks whose TimeFrames have no end are never overdue.
+ */
+public class TaskStatistics {
+    private final LocalDateTime time;
+    private final int tasksCount;
+    private final int undoneTasksCount;
+    private final int overdueTasksCount;
+    private final Map<Character, Integer> tasksCountByCharCode;
+
+    /**
+     * Constructs a summary of the user's tasks.
+     * @param time the point in time of the summary.
+     * @param tasksCount the number of tasks.
+     * @param undoneTasksCount the number of tasks that are not done.
+     * @param overdueTasksCount the number of tasks that are overdue.
+     * @param tasksCountByCharCode the number of tasks of each unique char code, leaving out char codes without tasks.
+     */
+    public TaskStatistics(LocalDateTime time, int tasksCount, int undoneTasksCount, int overdueTasksCount,
+            Map<Character, Integer> tasksCountByCharCode) {
+        this.time = time;
+        this.tasksCount = tasksCount;
+        this.undoneTasksCount = undoneTasksCount;
+        this.overdueTasksCount = overdueTasksCount;
+        this.tasksCountByCharCode = Collections.unmodifiableMap(new TreeMap<>(tasksCountByCharCode));
+    }
+
+    public LocalDateTime getTime() {
+        return this.time;
+    }
+
+    public int getTasksCount() {
+        return this.tasksCount;
+    }
+
+    public int getUndoneTasksCount() {
+        return this.undoneTasksCount;
+    }
+
+    public int getOverdueTasksCount() {
+        return this.overdueTasksCount;
+    }
+
+    /**
+     * Returns the number of tasks of each unique char code, ordered by char code. Char codes without any tasks are
+     * left out.
+     * @return the read-only map from char codes to numbers of tasks.
+     */
+    public Map<Character, Integer> getTasksCountByCharCode() {
+        return this.tasksCountByCharCode;
+    }
+}
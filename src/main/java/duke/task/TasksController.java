@@ -6,11 +6,12 @@ import error.ui.UiException;
 import ui.UiOutputAccessor;
 import util.strings.ErrorMessageFormatter;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Controller task to help mediate the execution of commands that require the retrieval and update of data from the
@@ -61,14 +62,75 @@ public class TasksController {
 
     /**
      * Displays a lists all of the user's tasks in the TasksModel in each of the registered Uis.
+     * @return true if the tasks were displayed.
      */
-    public void listTasks() throws UiException {
+    public boolean listTasks() throws UiException {
         try {
-            List<Task> tasks = tasksRepo.getCurrentTasks();
-            String feedback = this.feedbackFormatter.displayAllTasks(tasks);
+            TasksControllerFeedback.TaskListBuilder taskList = new TasksControllerFeedback.TaskListBuilder();
+            tasksRepo.forEachCurrentTask(taskList);
+
+            String feedback = this.feedbackFormatter.displayAllTasks(taskList);
+            this.displayFeedback(feedback);
+            return true;
+        } catch (TaskRepoException e) {
+            this.displayError(e);
+            return false;
+        }
+    }
+
+    /**
+     * Displays a page of the user's tasks in each of the registered Uis. Only the tasks on the page are read from the
+     * TasksModel, and the numbers of tasks shown with the page are the counts kept by the TasksModel.
+     *
+     * @param pageNumber the number of the page, starting from 1.
+     * @param pageSize the maximum number of tasks on each page.
+     * @return true if the page exists and was displayed.
+     * @throws UiException if the ui fails unexpectedly.
+     */
+    public boolean listTasksPage(int pageNumber, int pageSize) throws UiException {
+        try {
+            int tasksCount = tasksRepo.getCurrentTasksCount();
+            int pagesCount = Math.max(1, (tasksCount + pageSize - 1) / pageSize);
+
+            if (pageNumber < 1 || pageNumber > pagesCount) {
+                this.displayError(String.format("Only %d pages of tasks, there are.", pagesCount));
+                return false;
+            }
+
+            int from = (pageNumber - 1) * pageSize;
+            int to = Math.min(from + pageSize, tasksCount);
+            TasksControllerFeedback.TaskListBuilder page = new TasksControllerFeedback.TaskListBuilder();
+            tasksRepo.forEachTaskInRange(from, to, page);
+
+            String feedback = this.feedbackFormatter.displayTasksPage(pageNumber, pagesCount, page, tasksCount,
+                    tasksRepo.getUndoneTasksCount());
             this.displayFeedback(feedback);
+            return true;
         } catch (TaskRepoException e) {
             this.displayError(e);
+            return false;
+        }
+    }
+
+    /**
+     * Displays all of the user's tasks in sorted order in each of the registered Uis, without changing the order of
+     * the tasks. Each task is numbered by its index in the list of tasks displayed by the listTasks() method.
+     *
+     * @param sortingMethod method with which to sort the user's tasks.
+     * @return true if the tasks were displayed.
+     * @throws UiException if the ui fails unexpectedly.
+     */
+    public boolean listSortedTasks(TaskSorts sortingMethod) throws UiException {
+        try {
+            TasksControllerFeedback.TaskListBuilder taskList = new TasksControllerFeedback.TaskListBuilder();
+            tasksRepo.forEachSortedTask(sortingMethod.comparator, taskList);
+
+            String feedback = this.feedbackFormatter.displayAllTasks(taskList);
+            this.displayFeedback(feedback);
+            return true;
+        } catch (TaskRepoException e) {
+            this.displayError(e);
+            return false;
         }
     }
 
@@ -238,19 +300,197 @@ public class TasksController {
         return taskToBeDeleted;
     }
 
+    /**
+     * Sets several tasks to done at once and prints corresponding feedback in each of the registered Uis. Either all
+     * of the tasks are set to done, or none of them are.
+     *
+     * @param indexes indexes of the tasks to be set to done, in ascending order and without duplicates.
+     * @return true if the tasks were modified successfully.
+     */
+    public boolean setTasksToDone(int[] indexes) throws UiException {
+        return this.setTasksDoneStatus(indexes, true);
+    }
+
+    /**
+     * Sets several tasks to undone at once and prints corresponding feedback in each of the registered Uis. Either all
+     * of the tasks are set to undone, or none of them are.
+     *
+     * @param indexes indexes of the tasks to be set to undone, in ascending order and without duplicates.
+     * @return true if the tasks were modified successfully.
+     */
+    public boolean setTasksToUndone(int[] indexes) throws UiException {
+        return this.setTasksDoneStatus(indexes, false);
+    }
+
+    private boolean setTasksDoneStatus(int[] indexes, boolean isDone) throws UiException {
+        TasksControllerFeedback.TaskListBuilder modifiedTasks = new TasksControllerFeedback.TaskListBuilder();
+
+        try {
+            tasksRepo.updateTasksDoneStatus(indexes, isDone);
+
+            for (int index : indexes) {
+                modifiedTasks.accept(tasksRepo.getTaskFromListIndex(index), index);
+            }
+        } catch (TaskRepoException e) {
+            this.displayError(e);
+            return false;
+        }
+
+        String feedback = isDone
+                ? this.feedbackFormatter.displayTasksSetToDone(modifiedTasks)
+                : this.feedbackFormatter.displayTasksSetToUndone(modifiedTasks);
+        this.displayFeedback(feedback);
+        return true;
+    }
+
+    /**
+     * Deletes several tasks at once and displays the corresponding feedback in each of the registered Uis. Either all
+     * of the tasks are deleted, or none of them are.
+     *
+     * @param indexes indexes of the tasks to be deleted, in ascending order and without duplicates.
+     * @return the deleted tasks in the order of their indexes, or null if they fail to be deleted.
+     */
+    public List<Task> deleteTasks(int[] indexes) throws UiException {
+        List<Task> tasksToBeDeleted = new ArrayList<>(indexes.length);
+        TasksControllerFeedback.TaskListBuilder deletedTasks = new TasksControllerFeedback.TaskListBuilder();
+
+        // Try accessing and deleting tasks
+        try {
+            for (int index : indexes) {
+                Task task = tasksRepo.getTaskFromListIndex(index);
+                tasksToBeDeleted.add(task);
+                deletedTasks.accept(task, index);
+            }
+
+            tasksRepo.deleteTasks(indexes);
+        } catch (TaskRepoException e) {
+            this.displayError(e);
+            return null;
+        }
+
+        String feedback = this.feedbackFormatter.displayTasksDeleted(deletedTasks, this.getTasksCount());
+        this.displayFeedback(feedback);
+        return tasksToBeDeleted;
+    }
+
+    /**
+     * Adds several tasks at once, such that each task ends up at its index, and displays the corresponding feedback in
+     * each of the registered Uis. This reverses deleteTasks(int[] indexes) when given the same indexes and the
+     * deleted tasks.
+     *
+     * @param indexes indexes at which the tasks end up, in ascending order and without duplicates.
+     * @param tasks the tasks to be added, in the same order as their indexes.
+     * @return true if the tasks were added successfully.
+     */
+    public boolean addTasksToIndexes(int[] indexes, List<Task> tasks) throws UiException {
+        try {
+            tasksRepo.addTasksToIndexes(indexes, tasks);
+        } catch (TaskRepoException e) {
+            this.displayError(e);
+            return false;
+        }
+
+        TasksControllerFeedback.TaskListBuilder addedTasks = new TasksControllerFeedback.TaskListBuilder();
+        for (int i = 0; i < indexes.length; i++) {
+            addedTasks.accept(tasks.get(i), indexes[i]);
+        }
+
+        String feedback = this.feedbackFormatter.displayTasksAdded(addedTasks, this.getTasksCount());
+        this.displayFeedback(feedback);
+        return true;
+    }
+
+    private Optional<Integer> getTasksCount() {
+        try {
+            return Optional.of(tasksRepo.getCurrentTasksCount());
+        } catch (TaskRepoException e) {
+            return Optional.empty();
+        }
+    }
+
     /**
      * Finds tasks containing a substring and displays corresponding feedback in all registered Uis.
      *
      * @param parameter substring to be searched.
+     * @return true if the tasks were displayed.
+     */
+    public boolean findTasks(String parameter) throws UiException {
+        // Try to find tasks
+        try {
+            TasksControllerFeedback.TaskListBuilder matchingTasks = new TasksControllerFeedback.TaskListBuilder();
+            tasksRepo.forEachMatchingTask(parameter, matchingTasks);
+
+            String feedback = this.feedbackFormatter.displayMatchingTasks(matchingTasks);
+            this.displayFeedback(feedback);
+            return true;
+        } catch (TaskRepoException e) {
+            this.displayError(e);
+            return false;
+        }
+    }
+
+    /**
+     * Finds tasks with words similar to the words of a search parameter and displays corresponding feedback in all
+     * registered Uis.
+     *
+     * @param parameter words to be searched.
+     * @param maxDistance maximum number of typos allowed in each word.
+     * @return true if the tasks were displayed.
      */
-    public void findTasks(String parameter) throws UiException {
+    public boolean findSimilarTasks(String parameter, int maxDistance) throws UiException {
         // Try to find tasks
         try {
-            List<Task> matchingTasks = tasksRepo.searchTasks(parameter);
+            TasksControllerFeedback.TaskListBuilder matchingTasks = new TasksControllerFeedback.TaskListBuilder();
+            tasksRepo.forEachSimilarTask(parameter, maxDistance, matchingTasks);
+
             String feedback = this.feedbackFormatter.displayMatchingTasks(matchingTasks);
             this.displayFeedback(feedback);
+            return true;
         } catch (TaskRepoException e) {
             this.displayError(e);
+            return false;
+        }
+    }
+
+    /**
+     * Finds tasks whose time frames overlap a period and displays corresponding feedback in all registered Uis.
+     *
+     * @param from start of the period.
+     * @param to end of the period.
+     * @return true if the tasks were displayed.
+     */
+    public boolean findOverlappingTasks(LocalDateTime from, LocalDateTime to) throws UiException {
+        // Try to find tasks
+        try {
+            TasksControllerFeedback.TaskListBuilder overlappingTasks = new TasksControllerFeedback.TaskListBuilder();
+            tasksRepo.forEachOverlappingTask(from, to, overlappingTasks);
+
+            String feedback = this.feedbackFormatter.displayOverlappingTasks(from, to, overlappingTasks);
+            this.displayFeedback(feedback);
+            return true;
+        } catch (TaskRepoException e) {
+            this.displayError(e);
+            return false;
+        }
+    }
+
+    /**
+     * Displays the statistics of the user's tasks in each of the registered Uis.
+     *
+     * @param now the point in time at which tasks that have ended are overdue.
+     * @return true if the statistics were displayed.
+     * @throws UiException if the ui fails unexpectedly.
+     */
+    public boolean displayStatistics(LocalDateTime now) throws UiException {
+        try {
+            TaskStatistics statistics = tasksRepo.getTaskStatistics(now);
+
+            String feedback = this.feedbackFormatter.displayStatistics(statistics);
+            this.displayFeedback(feedback);
+            return true;
+        } catch (TaskRepoException e) {
+            this.displayError(e);
+            return false;
         }
     }
 
@@ -258,30 +498,68 @@ public class TasksController {
      * Sorts tasks according to the specified sorting method.
      *
      * @param sortingMethod method with which to sort the user's tasks.
-     * @return old tasks if successful or null if sort was unsuccessful
+     * @return the index each task had before the sort, in the sorted order, or null if sort was unsuccessful
      * @throws UiException if the ui fails unexpectedly
      */
-    public List<Task> sortTasks(TaskSorts sortingMethod) throws UiException {
+    public int[] sortTasks(TaskSorts sortingMethod) throws UiException {
         // Try to sort tasks and print corresponding feedback
         try {
-            final List<Task> oldTasks = tasksRepo.getCurrentTasks();
-
-            List<Task> sortedTasks = tasksRepo.getCurrentTasks();
-            sortedTasks.sort(sortingMethod.comparator);
-            this.setNewTasks(sortedTasks, false);
+            int tasksCount = tasksRepo.getCurrentTasksCount();
+            List<Task> sortedTasks = new ArrayList<>(tasksCount);
+            int[] oldIndexes = new int[tasksCount];
+
+            tasksRepo.forEachSortedTask(sortingMethod.comparator, (task, index) -> {
+                oldIndexes[sortedTasks.size()] = index;
+                sortedTasks.add(task);
+            });
+            if (!this.setNewTasks(sortedTasks, false)) {
+                return null;
+            }
 
             String feedback = this.feedbackFormatter.displayTasksSorted(sortingMethod);
             this.displayFeedback(feedback);
 
             this.listTasks();
 
-            return oldTasks;
+            return oldIndexes;
         } catch (TaskRepoException e) {
             this.displayError(e);
             return null;
         }
     }
 
+    /**
+     * Moves each task back to the index it had before a sort, and displays the restored list of tasks.
+     *
+     * @param oldIndexes the index each task had before the sort, in the sorted order.
+     * @return true if the order of tasks was restored.
+     * @throws UiException if the ui fails unexpectedly.
+     */
+    public boolean restoreTaskOrder(int[] oldIndexes) throws UiException {
+        // Try to move each task back to its old index
+        try {
+            List<Task> sortedTasks = tasksRepo.getCurrentTasks();
+
+            if (sortedTasks.size() != oldIndexes.length) {
+                throw new TaskRepoException("Tasks have changed since they were sorted.");
+            }
+
+            Task[] restoredTasks = new Task[oldIndexes.length];
+
+            for (int i = 0; i < oldIndexes.length; i++) {
+                restoredTasks[oldIndexes[i]] = sortedTasks.get(i);
+            }
+
+            tasksRepo.setNewTasks(Arrays.asList(restoredTasks));
+        } catch (TaskRepoException e) {
+            this.displayError(e);
+            return false;
+        }
+
+        this.listTasks();
+        return true;
+    }
+
     /**
      * Delete all of the user's task data.
      *
@@ -312,26 +590,15 @@ public class TasksController {
      * @throws UiException if the ui fails unexpectedly.
      */
     public Task deleteTaskByUuid(UUID uuid) throws UiException {
-        Task taskToBeDeleted;
+        Task[] taskToBeDeleted = new Task[1];
 
-        // Try accessing and deleting task
+        // Try accessing and deleting task in a single batch
         try {
-            Optional<Task> optionalTask = tasksRepo.getCurrentTasks().stream()
-                    .filter(task -> task.getUuid().equals(uuid)).findFirst();
-
-            if (optionalTask.isEmpty()) {
-                this.displayError("Task is not found.");
-                return null;
-            }
-
-            taskToBeDeleted = optionalTask.get();
-
-            List<Task> newTasks = tasksRepo.getCurrentTasks().stream()
-                    .filter(task -> !task.getUuid().equals(uuid))
-                    .collect(Collectors.toList());
-
-            this.tasksRepo.setNewTasks(newTasks);
-
+            tasksRepo.applyBatch(tasks -> {
+                int index = tasks.getTaskIndexByUuid(uuid);
+                taskToBeDeleted[0] = tasks.getTaskFromListIndex(index);
+                tasks.deleteTask(index);
+            });
         } catch (TaskRepoException e) {
             this.displayError(e);
             return null;
@@ -345,9 +612,9 @@ public class TasksController {
             numTasks = Optional.empty();
         }
 
-        String feedback = this.feedbackFormatter.displayTaskDeleted(taskToBeDeleted, numTasks);
+        String feedback = this.feedbackFormatter.displayTaskDeleted(taskToBeDeleted[0], numTasks);
         this.displayFeedback(feedback);
-        return taskToBeDeleted;
+        return taskToBeDeleted[0];
     }
 
     /**
@@ -357,12 +624,13 @@ public class TasksController {
      * @return the old task if successful or null if not.
      */
     public Task setTask(int index, Task newTask) throws UiException {
-        Task taskToBeReplaced;
+        Task[] taskToBeReplaced = new Task[1];
 
         try {
-            taskToBeReplaced = this.tasksRepo.getTaskFromListIndex(index);
-
-            this.tasksRepo.updateTask(index, newTask);
+            this.tasksRepo.applyBatch(tasks -> {
+                taskToBeReplaced[0] = tasks.getTaskFromListIndex(index);
+                tasks.updateTask(index, newTask);
+            });
         } catch (TaskRepoException e) {
             this.displayError("Unable to update task details.");
             return null;
@@ -371,6 +639,6 @@ public class TasksController {
         String feedback = this.feedbackFormatter.displayTaskReplaced(newTask);
         this.displayFeedback(feedback);
 
-        return taskToBeReplaced;
+        return taskToBeReplaced[0];
     }
 }
@@ -3,24 +3,61 @@ package duke.task;
 import duke.command.sort.TaskSorts;
 import duke.task.Task;
 import util.strings.OutputBuilder;
+import util.time.DateTime;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
 
 class TasksControllerFeedback {
+    /**
+     * Builds the descriptions of a list of tasks one task at a time, keeping count of the tasks that have been added.
+     * Tasks are numbered in the order they are added, unless their indexes in the list of tasks are given.
+     */
+    static class TaskListBuilder implements Consumer<Task>, ObjIntConsumer<Task> {
+        private final OutputBuilder taskDescriptions = new OutputBuilder();
+        private int tasksCount;
+        private int undoneTasksCount;
+
+        @Override
+        public void accept(Task task) {
+            this.accept(task, this.tasksCount);
+        }
+
+        @Override
+        public void accept(Task task, int index) {
+            this.tasksCount++;
+            this.taskDescriptions.appendTask(index + 1, task);
+
+            if (!task.isTaskDone()) {
+                this.undoneTasksCount++;
+            }
+        }
+    }
+
     String displayAllTasks(List<Task> tasks) {
+        TaskListBuilder taskList = new TaskListBuilder();
+        tasks.forEach(taskList);
+
+        return this.displayAllTasks(taskList);
+    }
+
+    String displayAllTasks(TaskListBuilder taskList) {
         OutputBuilder builder = new OutputBuilder();
 
-        if (tasks.size() == 0) {
+        if (taskList.tasksCount == 0) {
             builder.append("0 tasks remaining you have.");
             return builder.build();
         }
 
-        builder.append(tasks.size() + " tasks remaining:")
+        builder.append(taskList.tasksCount + " tasks remaining:")
                 .newLine()
-                .appendTasks(tasks);
+                .append(taskList.taskDescriptions);
 
-        if (tasks.stream().filter(task -> !task.isTaskDone()).count() >= 10) {
+        if (taskList.undoneTasksCount >= 10) {
             builder.newLine()
                     .newLine()
                     .append("You have more than 10 undone tasks on your list.")
@@ -32,7 +69,7 @@ class TasksControllerFeedback {
             return builder.build();
         }
 
-        if (tasks.stream().filter(task -> !task.isTaskDone()).count() >= 5) {
+        if (taskList.undoneTasksCount >= 5) {
             builder.newLine()
                     .newLine()
                     .append("Hmmm. More than 5 tasks, I sense undone.")
@@ -46,11 +83,62 @@ class TasksControllerFeedback {
         return builder.build();
     }
 
+    String displayTasksPage(int pageNumber, int pagesCount, TaskListBuilder page, int tasksCount,
+            int undoneTasksCount) {
+        OutputBuilder builder = new OutputBuilder();
+
+        if (tasksCount == 0) {
+            builder.append("0 tasks remaining you have.");
+            return builder.build();
+        }
+
+        builder.append(String.format("Page %d of %d, these tasks are:", pageNumber, pagesCount))
+                .newLine()
+                .append(page.taskDescriptions)
+                .newLine()
+                .newLine()
+                .append(String.format("%d tasks remaining you have, %d of them undone.", tasksCount,
+                        undoneTasksCount));
+
+        return builder.build();
+    }
+
     String displayMatchingTasks(List<Task> tasks) {
+        TaskListBuilder taskList = new TaskListBuilder();
+        tasks.forEach(taskList);
+
+        return this.displayMatchingTasks(taskList);
+    }
+
+    String displayMatchingTasks(TaskListBuilder taskList) {
         OutputBuilder builder = new OutputBuilder();
         builder.append("Matching tasks these are, I sense:")
                 .newLine()
-                .appendTasks(tasks);
+                .append(taskList.taskDescriptions);
+
+        return builder.build();
+    }
+
+    String displayOverlappingTasks(LocalDateTime from, LocalDateTime to, TaskListBuilder taskList) {
+        OutputBuilder builder = new OutputBuilder();
+        builder.append(String.format("From %s to %s, these tasks there are:", DateTime.getString(from),
+                DateTime.getString(to)))
+                .newLine()
+                .append(taskList.taskDescriptions);
+
+        return builder.build();
+    }
+
+    String displayStatistics(TaskStatistics statistics) {
+        OutputBuilder builder = new OutputBuilder();
+        builder.append(String.format("%d tasks you have. Undone, %d are. Overdue, %d are.",
+                statistics.getTasksCount(), statistics.getUndoneTasksCount(), statistics.getOverdueTasksCount()));
+
+        for (Map.Entry<Character, Integer> entry : statistics.getTasksCountByCharCode().entrySet()) {
+            builder.newLine()
+                    .indent()
+                    .append(String.format("[%c] %d", entry.getKey(), entry.getValue()));
+        }
 
         return builder.build();
     }
@@ -108,6 +196,37 @@ class TasksControllerFeedback {
         return builder.build();
     }
 
+    String displayTasksChanged(String header, TaskListBuilder taskList, Optional<Integer> numTasks) {
+        OutputBuilder builder = new OutputBuilder();
+        builder.append(String.format(header, taskList.tasksCount))
+                .newLine()
+                .append(taskList.taskDescriptions);
+
+        numTasks.ifPresent(num -> builder
+                .newLine()
+                .append(String.format("%d tasks now you have", num)));
+
+        return builder.build();
+    }
+
+    String displayTasksSetToDone(TaskListBuilder taskList) {
+        return this.displayTasksChanged("Praise you I must! Done are these %d tasks:", taskList, Optional.empty());
+    }
+
+    String displayTasksSetToUndone(TaskListBuilder taskList) {
+        return this.displayTasksChanged("Not if anything to say about it I have! Undone are these %d tasks:", taskList,
+                Optional.empty());
+    }
+
+    String displayTasksDeleted(TaskListBuilder taskList, Optional<Integer> numTasks) {
+        return this.displayTasksChanged("Herh herh herh. Deleted these %d tasks I have:", taskList, numTasks);
+    }
+
+    String displayTasksAdded(TaskListBuilder taskList, Optional<Integer> numTasks) {
+        return this.displayTasksChanged("Do or do not. There is no try. Added these %d tasks I have:", taskList,
+                numTasks);
+    }
+
     String displayTasksSorted(TaskSorts sortingMethod) {
         OutputBuilder builder = new OutputBuilder();
         builder.append("Underestimate the force you will not. Sorted these tasks are. ");
@@ -89,6 +89,47 @@ public class TimeFrame implements Serializable, Comparable<TimeFrame> {
         return result;
     }
 
+    /**
+     * Returns true if the TimeFrame has at least one point in time in common with a period. TimeFrames with no start
+     * are treated as starting infinitely early, while TimeFrames with no end are treated as ending infinitely late.
+     * TimeFrames with no start and end times do not overlap any period, while TimeFrames that end before they start
+     * are treated as lasting from their end to their start.
+     * @param from the start of the period, which is included in the period.
+     * @param to the end of the period, which is included in the period.
+     * @return true if the TimeFrame overlaps the period.
+     */
+    public boolean overlaps(LocalDateTime from, LocalDateTime to) {
+        if (!this.hasDescription()) {
+            return false;
+        }
+
+        return !this.getEarliest().isAfter(to) && !this.getLatest().isBefore(from);
+    }
+
+    /**
+     * Returns the earliest point in time of the TimeFrame, which is LocalDateTime.MIN if it has no start.
+     * @return the earliest point in time of the TimeFrame.
+     */
+    public LocalDateTime getEarliest() {
+        if (this.start == null) {
+            return LocalDateTime.MIN;
+        }
+
+        return this.end != null && this.end.isBefore(this.start) ? this.end : this.start;
+    }
+
+    /**
+     * Returns the latest point in time of the TimeFrame, which is LocalDateTime.MAX if it has no end.
+     * @return the latest point in time of the TimeFrame.
+     */
+    public LocalDateTime getLatest() {
+        if (this.end == null) {
+            return LocalDateTime.MAX;
+        }
+
+        return this.start != null && this.start.isAfter(this.end) ? this.start : this.end;
+    }
+
     /**
      * Compares two TimeFrames based on which is later. -1 is returned if the TimeFrame being compared is later,
      * 1 is returned if the TimeFrame compared is earlier and 0 is returned if they are the same. TimeFrames are first
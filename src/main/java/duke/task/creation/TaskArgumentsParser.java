@@ -3,12 +3,12 @@ package duke.task.creation;
 import error.datetime.UnknownDateTimeException;
 import error.task.TaskArgumentsException;
 import util.time.DateTime;
+import util.time.DateTimeLexer;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Optional;
 
 /**
  * Class used to parse task arguments into its details and corresponding date times. To utilize this class,
@@ -17,16 +17,12 @@ import java.util.regex.Pattern;
  */
 class TaskArgumentsParser {
     private String arguments;
-    private final String dateTimeRegex;
-    private final String dateTimeRegexWithToSeparator;
-    private final String dateTimeRegexWithSpaceSeparator;
+    private final DateTimeLexer dateTimeLexer;
     private int numDates;
 
     TaskArgumentsParser(String arguments, int numDates) {
         this.arguments = arguments;
-        this.dateTimeRegex = RecognizedDateTime.DATE_TIME_REGEX;
-        this.dateTimeRegexWithToSeparator = "(" + dateTimeRegex + "\\s?to\\s?" + dateTimeRegex + ")";
-        this.dateTimeRegexWithSpaceSeparator = "(" + dateTimeRegex + "\\s" + dateTimeRegex + ")";
+        this.dateTimeLexer = RecognizedDateTime.DATE_TIME_LEXER;
         this.numDates = numDates;
     }
 
@@ -45,72 +41,29 @@ class TaskArgumentsParser {
 
     private List<LocalDateTime> extractLocalDateTime() throws UnknownDateTimeException, TaskArgumentsException {
         List<LocalDateTime> foundDateTimes = new ArrayList<>();
-        List<String> foundPatterns = new ArrayList<>();
 
         if (numDates == 0) {
             return foundDateTimes;
         }
 
-        if (numDates == 1) {
-            foundPatterns = findMatchingPatterns(arguments, dateTimeRegex);
-
-            if (foundPatterns.size() == 0) {
-                throw new UnknownDateTimeException();
-            }
-
-            // chooses last matching datetime as the datetime argument
-            String lastDateTimePattern = foundPatterns.get(foundPatterns.size() - 1);
-            foundDateTimes.add(DateTime.parse(lastDateTimePattern));
-        }
-
-        if (numDates == 2) {
-            String doubleDateTimeRegex = "(" + dateTimeRegexWithToSeparator + "|"
-                    + dateTimeRegexWithSpaceSeparator + ")";
-
-            foundPatterns = findMatchingPatterns(arguments, doubleDateTimeRegex);
-
-            if (foundPatterns.size() == 0) {
-                throw new UnknownDateTimeException();
-            }
-
-            String lastDateTimePattern = foundPatterns.get(foundPatterns.size() - 1);
-            for (String dateTimePattern : this.splitDoubleDateTimePattern(lastDateTimePattern)) {
-                foundDateTimes.add(DateTime.parse(dateTimePattern));
-            }
-        }
-
         if (numDates > 2) {
             throw new TaskArgumentsException("Not more than 2 date time arguments, a task can have.");
         }
 
-        arguments = trimFromMatchOnwards(arguments, foundPatterns.get(foundPatterns.size() - 1));
-        return foundDateTimes;
-    }
-
-    private List<String> findMatchingPatterns(String arguments, String regex) {
-        Pattern pattern = Pattern.compile(regex);
-        Matcher matcher = pattern.matcher(arguments);
-
-        List<String> matchingPatterns = new ArrayList<>();
+        // chooses last matching datetime, or pair of datetimes, as the datetime arguments
+        Optional<DateTimeLexer.Match> lastMatch = numDates == 1
+                ? dateTimeLexer.findLastDateTime(arguments)
+                : dateTimeLexer.findLastDateTimePair(arguments);
 
-        // find all substrings that match regex pattern
-        while (matcher.find()) {
-            matchingPatterns.add(matcher.group(1));
+        if (lastMatch.isEmpty()) {
+            throw new UnknownDateTimeException();
         }
 
-        return matchingPatterns;
-    }
-
-    private String[] splitDoubleDateTimePattern(String doubleDateTimePattern) {
-        if (doubleDateTimePattern.contains("to")) {
-            return doubleDateTimePattern.split("\\s?to\\s?");
-        } else {
-            List<String> separatePatterns = findMatchingPatterns(doubleDateTimePattern, dateTimeRegex);
-            return separatePatterns.toArray(String[]::new);
+        for (String dateTime : lastMatch.get().getDateTimes()) {
+            foundDateTimes.add(DateTime.parse(dateTime));
         }
-    }
 
-    private String trimFromMatchOnwards(String original, String pattern) {
-        return original.replaceAll(pattern + ".*$", "").trim();
+        arguments = arguments.substring(0, lastMatch.get().getStart()).trim();
+        return foundDateTimes;
     }
 }
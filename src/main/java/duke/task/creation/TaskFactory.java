@@ -5,7 +5,6 @@ import error.datetime.UnknownDateTimeException;
 import error.task.TaskArgumentsException;
 import error.task.TaskCreationException;
 
-import java.util.Arrays;
 import java.util.Optional;
 
 /**
@@ -21,18 +20,27 @@ public class TaskFactory {
      * @throws TaskCreationException if arguments are invalid.
      */
     public Optional<Task> getTask(String keyword, String arguments) throws TaskCreationException {
-        // scans task types to find corresponding keyword
-        Optional<TaskType> taskTypeOptional = Arrays.stream(TaskType.values())
-                .filter(t -> t.keyword.equals(keyword))
-                .findFirst();
+        Optional<TaskType> taskTypeOptional = TaskType.fromKeyword(keyword);
 
         if (taskTypeOptional.isEmpty()) {
             return Optional.empty();
         }
 
+        return Optional.of(this.getTask(taskTypeOptional.get(), arguments));
+    }
+
+    /**
+     * Parses user input to create a task of a type that is already known.
+     *
+     * @param taskType type of the task to be created.
+     * @param arguments remaining of user's input.
+     * @return the new task.
+     * @throws TaskCreationException if arguments are invalid.
+     */
+    public Task getTask(TaskType taskType, String arguments) throws TaskCreationException {
         try {
-            TaskArguments taskArguments = new TaskArgumentsParser(arguments, taskTypeOptional.get().numDates).parse();
-            return Optional.of(TaskBuilder.buildTask(taskTypeOptional.get(), taskArguments));
+            TaskArguments taskArguments = new TaskArgumentsParser(arguments, taskType.numDates).parse();
+            return TaskBuilder.buildTask(taskType, taskArguments);
 
         } catch (TaskArgumentsException e) {
             throw new TaskCreationException("Hmmm? Unexpected, something has happened..");
@@ -6,28 +6,132 @@ import duke.task.tasks.Deadline;
 import duke.task.tasks.DoWithin;
 import duke.task.tasks.Event;
 import duke.task.tasks.ToDo;
+import error.task.TaskCreationException;
 
-import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Enum used by the TaskFactory to generate the corresponding tasks. A task MUST be registered in this enum before
  * it will be produced by the TaskFactory. Each task is mapped to a keyword in the enum. This keyword is used
- * by the TaskFactory to determine what type of task to create.
+ * by the TaskFactory to determine what type of task to create. Each task type also holds a constructor that creates
+ * its tasks directly from their details and date times, so that tasks are created without any reflection, and the
+ * unique character code of its tasks, so that stored tasks are recreated through the same constructor.
  */
 public enum TaskType {
-    TODO("todo",  0, ToDo.class),
-    EVENT("event",  1, Event.class),
-    DEADLINE("deadline",  1, Deadline.class),
-    DO_WITHIN("within",  2, DoWithin.class),
-    DO_AFTER("after",  1, DoAfter.class);
+    TODO("todo", 'T', StoredDates.NONE, (details, dateTimes) -> new ToDo(details)),
+    EVENT("event", 'E', StoredDates.START, (details, dateTimes) -> new Event(details, dateTimes.get(0))),
+    DEADLINE("deadline", 'D', StoredDates.END, (details, dateTimes) -> new Deadline(details, dateTimes.get(0))),
+    DO_WITHIN("within", 'W', StoredDates.START_AND_END,
+            (details, dateTimes) -> new DoWithin(details, dateTimes.get(0), dateTimes.get(1))),
+    DO_AFTER("after", 'A', StoredDates.START, (details, dateTimes) -> new DoAfter(details, dateTimes.get(0)));
+
+    private static final Map<String, TaskType> KEYWORDS = new HashMap<>();
+    private static final Map<Character, TaskType> UNIQUE_CHAR_CODES = new HashMap<>();
+
+    static {
+        for (TaskType type : TaskType.values()) {
+            KEYWORDS.put(type.keyword, type);
+            UNIQUE_CHAR_CODES.put(type.uniqueCharCode, type);
+        }
+    }
 
     public final String keyword;
+    public final char uniqueCharCode;
     public final int numDates;
-    public final Class<? extends Task> task;
+    private final StoredDates storedDates;
+    private final TaskConstructor constructor;
 
-    TaskType(String keyword, int numDates, Class<? extends Task> task) {
+    /**
+     * The ends of a task's TimeFrame that hold its date times, in the order the constructor takes them.
+     */
+    private enum StoredDates {
+        NONE(false, false),
+        START(true, false),
+        END(false, true),
+        START_AND_END(true, true);
+
+        private final boolean hasStart;
+        private final boolean hasEnd;
+
+        StoredDates(boolean hasStart, boolean hasEnd) {
+            this.hasStart = hasStart;
+            this.hasEnd = hasEnd;
+        }
+    }
+
+    /**
+     * Creates a task of a particular type from its details and exactly as many date times as the type needs.
+     */
+    @FunctionalInterface
+    interface TaskConstructor {
+        Task create(String details, List<LocalDateTime> dateTimes) throws TaskCreationException;
+    }
+
+    TaskType(String keyword, char uniqueCharCode, StoredDates storedDates, TaskConstructor constructor) {
         this.keyword = keyword;
-        this.numDates = numDates;
-        this.task = task;
+        this.uniqueCharCode = uniqueCharCode;
+        this.numDates = (storedDates.hasStart ? 1 : 0) + (storedDates.hasEnd ? 1 : 0);
+        this.storedDates = storedDates;
+        this.constructor = constructor;
+    }
+
+    /**
+     * Returns the task type mapped to a keyword, in O(1) time.
+     * @param keyword the keyword of the task type.
+     * @return the task type, or empty if no task type is mapped to the keyword.
+     */
+    public static Optional<TaskType> fromKeyword(String keyword) {
+        return Optional.ofNullable(KEYWORDS.get(keyword));
+    }
+
+    /**
+     * Returns the task type of the tasks with a unique character code, in O(1) time.
+     * @param uniqueCharCode the unique character code of the tasks.
+     * @return the task type, or empty if no task type has the unique character code.
+     */
+    public static Optional<TaskType> fromUniqueCharCode(char uniqueCharCode) {
+        return Optional.ofNullable(UNIQUE_CHAR_CODES.get(uniqueCharCode));
+    }
+
+    /**
+     * Recreates a stored task of this type from its details and the ends of its TimeFrame.
+     * @param details the details of the task.
+     * @param start the start of the task's TimeFrame, or null if it does not exist.
+     * @param end the end of the task's TimeFrame, or null if it does not exist.
+     * @return the recreated task.
+     * @throws TaskCreationException if the ends of the TimeFrame do not hold the date times of this type.
+     */
+    public Task restoreTask(String details, LocalDateTime start, LocalDateTime end) throws TaskCreationException {
+        List<LocalDateTime> dateTimes = new ArrayList<>(this.numDates);
+
+        if (this.storedDates.hasStart) {
+            dateTimes.add(start);
+        }
+
+        if (this.storedDates.hasEnd) {
+            dateTimes.add(end);
+        }
+
+        if (dateTimes.contains(null)) {
+            throw new TaskCreationException("Task is missing its date times.");
+        }
+
+        return this.createTask(details, dateTimes);
+    }
+
+    /**
+     * Creates a task of this type.
+     * @param details the details of the task.
+     * @param dateTimes the date times of the task, of which there MUST be as many as numDates.
+     * @return the new task.
+     * @throws TaskCreationException if the task cannot be created from the arguments.
+     */
+    Task createTask(String details, List<LocalDateTime> dateTimes) throws TaskCreationException {
+        return this.constructor.create(details, dateTimes);
     }
 }
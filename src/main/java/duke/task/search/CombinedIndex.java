@@ -0,0 +1,57 @@
+package duke.task.search;
+
+import duke.task.Task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Index that combines several other indexes. Tasks are added to and removed from all of the indexes, and the
+ * candidates for a search parameter are the tasks that are candidates in every index that is able to narrow down the
+ * tasks for the parameter.
+ */
+public class CombinedIndex implements TaskSearchIndex {
+    private final List<TaskSearchIndex> indexes;
+
+    /**
+     * Constructs an index combining the given indexes.
+     * @param indexes the indexes to be combined.
+     */
+    public CombinedIndex(TaskSearchIndex... indexes) {
+        this.indexes = Arrays.asList(indexes);
+    }
+
+    @Override
+    public void addTask(Task task) {
+        this.indexes.forEach(index -> index.addTask(task));
+    }
+
+    @Override
+    public void removeTask(Task task) {
+        this.indexes.forEach(index -> index.removeTask(task));
+    }
+
+    @Override
+    public Optional<Set<UUID>> getCandidateTasks(String parameter) {
+        List<Set<UUID>> postings = new ArrayList<>();
+
+        for (TaskSearchIndex index : this.indexes) {
+            index.getCandidateTasks(parameter).ifPresent(postings::add);
+        }
+
+        if (postings.isEmpty()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(Postings.intersect(postings));
+    }
+
+    @Override
+    public long estimateMemoryUsage() {
+        return this.indexes.stream().mapToLong(TaskSearchIndex::estimateMemoryUsage).sum();
+    }
+}
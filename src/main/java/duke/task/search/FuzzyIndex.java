@@ -0,0 +1,84 @@
+package duke.task.search;
+
+import duke.task.Task;
+import util.collections.BkTree;
+import util.strings.EditDistance;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Index used to find tasks with tokens similar to the words of a search, so that searches tolerate typos. Tokens are
+ * found in the same way as in a TokenIndex, and tokens within a maximum Levenshtein distance of a word are found
+ * through a BkTree of all the tokens, instead of measuring the distance between the word and every token.
+ */
+public class FuzzyIndex {
+    private final Map<String, Set<UUID>> tokens;
+    private final BkTree<String> tokensTree;
+
+    /**
+     * Constructs an empty index.
+     */
+    public FuzzyIndex() {
+        this.tokens = new HashMap<>();
+        this.tokensTree = new BkTree<>(EditDistance::levenshtein);
+    }
+
+    /**
+     * Method used by the program to add a task to the index.
+     * @param task the task to be added.
+     */
+    public void addTask(Task task) {
+        for (String token : TokenIndex.getTokens(task.getTaskDetails())) {
+            if (this.tokens.computeIfAbsent(token, key -> new HashSet<>()).add(task.getUuid())) {
+                this.tokensTree.add(token);
+            }
+        }
+    }
+
+    /**
+     * Method used by the program to remove a task that was previously added to the index.
+     * @param task the task to be removed.
+     */
+    public void removeTask(Task task) {
+        for (String token : TokenIndex.getTokens(task.getTaskDetails())) {
+            Set<UUID> uuids = this.tokens.get(token);
+
+            if (uuids != null && uuids.remove(task.getUuid())) {
+                this.tokensTree.remove(token);
+
+                if (uuids.isEmpty()) {
+                    this.tokens.remove(token);
+                }
+            }
+        }
+    }
+
+    /**
+     * Method used by the program to retrieve the UUIDs of the tasks that have, for each of the words, a token within
+     * the maximum distance of the word.
+     * @param words the words to be searched for.
+     * @param maxDistance the maximum Levenshtein distance between a word and the tokens of the matching tasks.
+     * @return the UUIDs of the matching tasks.
+     */
+    public Set<UUID> getSimilarTasks(Set<String> words, int maxDistance) {
+        List<Set<UUID>> postings = new ArrayList<>();
+
+        for (String word : words) {
+            Set<UUID> uuids = new HashSet<>();
+            this.tokensTree.forEachWithin(word, maxDistance, token -> uuids.addAll(this.tokens.get(token)));
+            postings.add(uuids);
+        }
+
+        if (postings.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        return Postings.intersect(postings);
+    }
+}
@@ -0,0 +1,34 @@
+package duke.task.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Helper methods shared by the search indexes to combine the sets of task UUIDs found for each part of a search.
+ */
+class Postings {
+    private Postings() {
+    }
+
+    /**
+     * Returns the UUIDs found in all of the given sets. The sets are intersected starting from the smallest, so that
+     * the intermediate results stay as small as possible. None of the given sets are modified.
+     * @param postings the sets of UUIDs, of which there must be at least one.
+     * @return a new set of the UUIDs found in all of the sets.
+     */
+    static Set<UUID> intersect(List<Set<UUID>> postings) {
+        List<Set<UUID>> sortedPostings = new ArrayList<>(postings);
+        sortedPostings.sort(Comparator.comparingInt(Set::size));
+        Set<UUID> intersection = new HashSet<>(sortedPostings.get(0));
+
+        for (int i = 1; i < sortedPostings.size() && !intersection.isEmpty(); i++) {
+            intersection.retainAll(sortedPostings.get(i));
+        }
+
+        return intersection;
+    }
+}
@@ -0,0 +1,75 @@
+package duke.task.search;
+
+import duke.task.Task;
+
+import java.util.Comparator;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * View of a user's tasks sorted by a comparator, which is kept in a balanced binary search tree so that it can be
+ * updated in O(log N) time as tasks are added and removed, and read in sorted order without sorting the tasks again.
+ * Each task is stored together with its label in the OrderStatisticTree holding the list of tasks. Tasks that the
+ * comparator considers equal are ordered by their labels, which keeps them in the same order as the list of tasks,
+ * just like a stable sort would. Tasks that are given new labels have to be removed and added again with their new
+ * labels.
+ */
+public class SortedTaskView {
+    private final NavigableSet<Entry> entries;
+
+    private static class Entry {
+        private final Task task;
+        private final long label;
+
+        Entry(Task task, long label) {
+            this.task = task;
+            this.label = label;
+        }
+    }
+
+    /**
+     * Constructs an empty view.
+     * @param comparator the comparator used to sort the tasks.
+     */
+    public SortedTaskView(Comparator<Task> comparator) {
+        Comparator<Entry> entryComparator = Comparator.comparing((Entry entry) -> entry.task, comparator);
+        this.entries = new TreeSet<>(entryComparator.thenComparingLong(entry -> entry.label));
+    }
+
+    /**
+     * Method used by the program to add a task to the view.
+     * @param task the task to be added.
+     * @param label the label of the task in the list of tasks.
+     */
+    public void addTask(Task task, long label) {
+        this.entries.add(new Entry(task, label));
+    }
+
+    /**
+     * Method used by the program to remove a task that was previously added to the view.
+     * @param task the task to be removed.
+     * @param label the label of the task in the list of tasks.
+     */
+    public void removeTask(Task task, long label) {
+        this.entries.remove(new Entry(task, label));
+    }
+
+    /**
+     * Returns the number of tasks in the view.
+     * @return the number of tasks.
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Gives each task and its label to a consumer, in sorted order.
+     * @param consumer the consumer of the tasks and their labels.
+     */
+    public void forEachTask(ObjLongConsumer<Task> consumer) {
+        for (Entry entry : this.entries) {
+            consumer.accept(entry.task, entry.label);
+        }
+    }
+}
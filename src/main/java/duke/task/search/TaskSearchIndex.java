@@ -0,0 +1,42 @@
+package duke.task.search;
+
+import duke.task.Task;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * An interface to encapsulate an index over the details of a user's tasks, which is used to narrow down the tasks
+ * that have to be checked when searching for tasks. Tasks are considered matching a search parameter if a substring of
+ * their lowercase details is equal to the lowercase parameter. Indexes are maintained incrementally as tasks are added
+ * and removed, and refer to tasks by their UUIDs.
+ */
+public interface TaskSearchIndex {
+    /**
+     * Method used by the program to add a task to the index.
+     * @param task the task to be added.
+     */
+    public void addTask(Task task);
+
+    /**
+     * Method used by the program to remove a task that was previously added to the index.
+     * @param task the task to be removed.
+     */
+    public void removeTask(Task task);
+
+    /**
+     * Method used by the program to retrieve the UUIDs of the tasks that could match a search parameter. Every
+     * matching task MUST be included, but tasks that do not match may be included as well, so candidates still have to
+     * be checked against the parameter. Indexes that are unable to narrow down the tasks for a parameter return empty.
+     * @param parameter the search parameter.
+     * @return the UUIDs of the candidate tasks, or empty if every task is a candidate.
+     */
+    public Optional<Set<UUID>> getCandidateTasks(String parameter);
+
+    /**
+     * Method used by the program to estimate the number of bytes of memory taken up by the index.
+     * @return the estimated memory usage of the index in bytes.
+     */
+    public long estimateMemoryUsage();
+}
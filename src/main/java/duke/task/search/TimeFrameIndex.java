@@ -0,0 +1,62 @@
+package duke.task.search;
+
+import duke.task.Task;
+import duke.task.TimeFrame;
+import util.collections.IntervalTree;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Index used to find the tasks whose TimeFrames overlap a period, through an IntervalTree of the TimeFrames of the
+ * tasks. Each TimeFrame is stored as the interval from its earliest to its latest point in time, so TimeFrames with no
+ * start or end are stored as intervals that start at LocalDateTime.MIN or end at LocalDateTime.MAX respectively. As
+ * TimeFrames with no start and end times do not overlap any period, tasks with them are not stored at all.
+ */
+public class TimeFrameIndex {
+    private final IntervalTree<LocalDateTime, UUID> timeFrames;
+
+    /**
+     * Constructs an empty index.
+     */
+    public TimeFrameIndex() {
+        this.timeFrames = new IntervalTree<>();
+    }
+
+    /**
+     * Method used by the program to add a task to the index.
+     * @param task the task to be added.
+     */
+    public void addTask(Task task) {
+        TimeFrame timeFrame = task.getTaskTimeFrame();
+
+        if (!timeFrame.hasDescription()) {
+            return;
+        }
+
+        this.timeFrames.put(task.getUuid(), timeFrame.getEarliest(), timeFrame.getLatest());
+    }
+
+    /**
+     * Method used by the program to remove a task that was previously added to the index.
+     * @param task the task to be removed.
+     */
+    public void removeTask(Task task) {
+        this.timeFrames.remove(task.getUuid());
+    }
+
+    /**
+     * Method used by the program to retrieve the UUIDs of the tasks whose TimeFrames overlap a period.
+     * @param from the start of the period, which is included in the period.
+     * @param to the end of the period, which is included in the period.
+     * @return the UUIDs of the overlapping tasks.
+     */
+    public Set<UUID> getOverlappingTasks(LocalDateTime from, LocalDateTime to) {
+        Set<UUID> uuids = new HashSet<>();
+        this.timeFrames.forEachOverlapping(from, to, uuids::add);
+
+        return uuids;
+    }
+}
@@ -0,0 +1,174 @@
+package duke.task.search;
+
+import duke.task.Task;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Inverted index that maps each token found in the lowercase details of tasks to the UUIDs of the tasks containing
+ * it. Tokens are maximal runs of letters and digits. A search parameter is split into tokens in the same way, so that
+ * 1. a token that is surrounded by other characters in the parameter has to be a token of the matching tasks
+ * 2. the first token of the parameter has to be the end of a token of the matching tasks
+ * 3. the last token of the parameter has to be the start of a token of the matching tasks.
+ * The candidates are the tasks satisfying all of these conditions. Parameters consisting of a single token which is
+ * not followed or preceded by any other characters could be found in the middle of any token, so this index is unable
+ * to narrow down the tasks for them.
+ */
+public class TokenIndex implements TaskSearchIndex {
+    // rough sizes in bytes of a map entry with its token and set, and of a set entry, on a 64-bit JVM
+    private static final long BYTES_PER_TOKEN = 180;
+    private static final long BYTES_PER_POSTING = 40;
+
+    private final NavigableMap<String, Set<UUID>> tokens;
+    private final NavigableMap<String, Set<UUID>> reversedTokens;
+    private long postingsCount;
+
+    /**
+     * Constructs an empty index.
+     */
+    public TokenIndex() {
+        this.tokens = new TreeMap<>();
+        this.reversedTokens = new TreeMap<>();
+        this.postingsCount = 0;
+    }
+
+    private static boolean isTokenCharacter(char character) {
+        return Character.isLetterOrDigit(character);
+    }
+
+    private static String reverse(String token) {
+        return new StringBuilder(token).reverse().toString();
+    }
+
+    /**
+     * Returns the distinct tokens of the lowercase text, which are its maximal runs of letters and digits.
+     * @param text the text to be split into tokens.
+     * @return the distinct tokens of the text.
+     */
+    public static Set<String> getTokens(String text) {
+        String lowerCaseText = text.toLowerCase();
+        Set<String> tokens = new HashSet<>();
+        int start = -1;
+
+        for (int i = 0; i <= lowerCaseText.length(); i++) {
+            boolean isTokenCharacter = i < lowerCaseText.length() && isTokenCharacter(lowerCaseText.charAt(i));
+
+            if (isTokenCharacter && start == -1) {
+                start = i;
+            } else if (!isTokenCharacter && start != -1) {
+                tokens.add(lowerCaseText.substring(start, i));
+                start = -1;
+            }
+        }
+
+        return tokens;
+    }
+
+    @Override
+    public void addTask(Task task) {
+        for (String token : getTokens(task.getTaskDetails())) {
+            if (this.tokens.computeIfAbsent(token, key -> new HashSet<>()).add(task.getUuid())) {
+                this.postingsCount++;
+            }
+            this.reversedTokens.computeIfAbsent(reverse(token), key -> new HashSet<>()).add(task.getUuid());
+        }
+    }
+
+    @Override
+    public void removeTask(Task task) {
+        for (String token : getTokens(task.getTaskDetails())) {
+            if (removePosting(this.tokens, token, task.getUuid())) {
+                this.postingsCount--;
+            }
+            removePosting(this.reversedTokens, reverse(token), task.getUuid());
+        }
+    }
+
+    private static boolean removePosting(Map<String, Set<UUID>> postings, String token, UUID uuid) {
+        Set<UUID> uuids = postings.get(token);
+
+        if (uuids == null || !uuids.remove(uuid)) {
+            return false;
+        }
+
+        if (uuids.isEmpty()) {
+            postings.remove(token);
+        }
+
+        return true;
+    }
+
+    private static Set<UUID> getPrefixPostings(NavigableMap<String, Set<UUID>> postings, String prefix) {
+        Set<UUID> uuids = new HashSet<>();
+
+        for (Set<UUID> prefixUuids : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            uuids.addAll(prefixUuids);
+        }
+
+        return uuids;
+    }
+
+    @Override
+    public Optional<Set<UUID>> getCandidateTasks(String parameter) {
+        String query = parameter.toLowerCase();
+        List<Set<UUID>> exactPostings = new ArrayList<>();
+        List<String> prefixes = new ArrayList<>();
+        List<String> suffixes = new ArrayList<>();
+        int start = -1;
+
+        for (int i = 0; i <= query.length(); i++) {
+            boolean isTokenCharacter = i < query.length() && isTokenCharacter(query.charAt(i));
+
+            if (isTokenCharacter && start == -1) {
+                start = i;
+            } else if (!isTokenCharacter && start != -1) {
+                String token = query.substring(start, i);
+                boolean isStartBounded = start > 0;
+                boolean isEndBounded = i < query.length();
+
+                if (isStartBounded && isEndBounded) {
+                    exactPostings.add(this.tokens.getOrDefault(token, new HashSet<>()));
+                } else if (isStartBounded) {
+                    prefixes.add(token);
+                } else if (isEndBounded) {
+                    suffixes.add(reverse(token));
+                }
+
+                start = -1;
+            }
+        }
+
+        List<Set<UUID>> postings = exactPostings;
+
+        // prefixes and suffixes may match many tokens, so they are only used if there are no exact tokens
+        if (postings.isEmpty()) {
+            for (String prefix : prefixes) {
+                postings.add(getPrefixPostings(this.tokens, prefix));
+            }
+
+            for (String suffix : suffixes) {
+                postings.add(getPrefixPostings(this.reversedTokens, suffix));
+            }
+        }
+
+        if (postings.isEmpty()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(Postings.intersect(postings));
+    }
+
+    @Override
+    public long estimateMemoryUsage() {
+        long tokensCount = this.tokens.size() + this.reversedTokens.size();
+        return tokensCount * BYTES_PER_TOKEN + 2 * this.postingsCount * BYTES_PER_POSTING;
+    }
+}
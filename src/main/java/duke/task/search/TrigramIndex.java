@@ -0,0 +1,100 @@
+package duke.task.search;
+
+import duke.task.Task;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Index that maps each sequence of three consecutive characters, or trigram, found in the lowercase details of tasks
+ * to the UUIDs of the tasks containing it. Every trigram of a search parameter has to be found in the details of the
+ * matching tasks, so the candidates are the tasks containing all of the trigrams of the parameter. Unlike a TokenIndex,
+ * this allows parameters to be found in the middle of words. This index is unable to narrow down the tasks for
+ * parameters shorter than three characters.
+ */
+public class TrigramIndex implements TaskSearchIndex {
+    private static final int TRIGRAM_LENGTH = 3;
+
+    // rough sizes in bytes of a map entry with its trigram and set, and of a set entry, on a 64-bit JVM
+    private static final long BYTES_PER_TRIGRAM = 160;
+    private static final long BYTES_PER_POSTING = 40;
+
+    private final Map<String, Set<UUID>> trigrams;
+    private long postingsCount;
+
+    /**
+     * Constructs an empty index.
+     */
+    public TrigramIndex() {
+        this.trigrams = new HashMap<>();
+        this.postingsCount = 0;
+    }
+
+    private static Set<String> getTrigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+
+        for (int i = 0; i + TRIGRAM_LENGTH <= text.length(); i++) {
+            trigrams.add(text.substring(i, i + TRIGRAM_LENGTH));
+        }
+
+        return trigrams;
+    }
+
+    @Override
+    public void addTask(Task task) {
+        for (String trigram : getTrigrams(task.getTaskDetails().toLowerCase())) {
+            if (this.trigrams.computeIfAbsent(trigram, key -> new HashSet<>()).add(task.getUuid())) {
+                this.postingsCount++;
+            }
+        }
+    }
+
+    @Override
+    public void removeTask(Task task) {
+        for (String trigram : getTrigrams(task.getTaskDetails().toLowerCase())) {
+            Set<UUID> uuids = this.trigrams.get(trigram);
+
+            if (uuids != null && uuids.remove(task.getUuid())) {
+                this.postingsCount--;
+
+                if (uuids.isEmpty()) {
+                    this.trigrams.remove(trigram);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Optional<Set<UUID>> getCandidateTasks(String parameter) {
+        Set<String> queryTrigrams = getTrigrams(parameter.toLowerCase());
+
+        if (queryTrigrams.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<Set<UUID>> postings = new ArrayList<>();
+
+        for (String trigram : queryTrigrams) {
+            Set<UUID> uuids = this.trigrams.get(trigram);
+
+            if (uuids == null) {
+                return Optional.of(new HashSet<>());
+            }
+
+            postings.add(uuids);
+        }
+
+        return Optional.of(Postings.intersect(postings));
+    }
+
+    @Override
+    public long estimateMemoryUsage() {
+        return this.trigrams.size() * BYTES_PER_TRIGRAM + this.postingsCount * BYTES_PER_POSTING;
+    }
+}
@@ -0,0 +1,7 @@
+package error.storage;
+
+public class UncheckedStorageException extends RuntimeException {
+    public UncheckedStorageException(String error) {
+        super(error);
+    }
+}
@@ -2,26 +2,53 @@ package storage;
 
 import duke.task.Task;
 import error.storage.StorageException;
+import error.storage.UncheckedStorageException;
+import storage.codec.BinaryTaskCodec;
+import storage.codec.SerializedTaskCodec;
+import storage.codec.TaskCodec;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Checksum;
 
 /**
  * Storage class that handles the reading and writing of tasks to a storage file found in the local machine's file
  * system. This class will create a new storage file in the file system of the local machine if it does not already
  * exist. If not, it will read and write to the file corresponding to specified path.
+ *
+ * <p>Tasks are written using the TaskCodec the storage is created with, which is the BinaryTaskCodec by default. The
+ * format of an existing storage file is identified from its header, so files written in any of the known formats can
+ * be read. Storage files written in a format other than the selected one are migrated to it during setup. Tasks
+ * can also be streamed from the storage file one at a time if the format of the file supports it.
  */
 public class FileSystemStorage implements Storage {
+    private static final TaskCodec[] KNOWN_CODECS = {new BinaryTaskCodec(), new SerializedTaskCodec()};
+
     private String storageFilePath;
+    private TaskCodec codec;
 
-    private FileSystemStorage(String storageFilePath) {
+    private FileSystemStorage(String storageFilePath, TaskCodec codec) {
         this.storageFilePath = storageFilePath;
+        this.codec = codec;
     }
 
     /**
@@ -32,7 +59,20 @@ public class FileSystemStorage implements Storage {
      * @throws StorageException if unable to read file path
      */
     public static FileSystemStorage getInstance(String storageFilePath) throws StorageException {
-        FileSystemStorage storage = new FileSystemStorage(storageFilePath);
+        return FileSystemStorage.getInstance(storageFilePath, new BinaryTaskCodec());
+    }
+
+    /**
+     * Returns an instance of a FileSystemStorage that writes tasks to a file path using a particular format. A new
+     * file is created at the file path if it does not already exist, and an existing file written in another format
+     * is rewritten in the selected format.
+     * @param storageFilePath file path to read and write tasks
+     * @param codec the format to write tasks in
+     * @return FileSystemStorage instance
+     * @throws StorageException if unable to read file path
+     */
+    public static FileSystemStorage getInstance(String storageFilePath, TaskCodec codec) throws StorageException {
+        FileSystemStorage storage = new FileSystemStorage(storageFilePath, codec);
         storage.setup();
 
         return storage;
@@ -46,12 +86,15 @@ public class FileSystemStorage implements Storage {
 
                 file.getParentFile().mkdirs();
 
-                FileOutputStream outputStream = new FileOutputStream(storageFilePath);
-                ObjectOutputStream taskWriter = new ObjectOutputStream(outputStream);
-
                 System.out.println("Creating new storage file...");
-                taskWriter.writeObject(new ArrayList<Task>());
-                taskWriter.close();
+                this.writeTasks(new ArrayList<>());
+                return;
+            }
+
+            // Rewrite files written in older formats
+            if (!this.codec.isFormatOf(this.readHeader())) {
+                System.out.println("Migrating storage file...");
+                this.writeTasks(this.getTasks());
             }
 
         } catch (IOException e) {
@@ -63,46 +106,162 @@ public class FileSystemStorage implements Storage {
         return new File(filePath).exists();
     }
 
+    private byte[] readHeader() throws IOException {
+        try (InputStream inputStream = new FileInputStream(storageFilePath)) {
+            byte[] header = new byte[TaskCodec.HEADER_LENGTH];
+            int headerLength = inputStream.readNBytes(header, 0, header.length);
+
+            return headerLength == header.length ? header : new byte[0];
+        }
+    }
+
+    private TaskCodec getCodecOf(byte[] header) throws StorageException {
+        for (TaskCodec knownCodec : KNOWN_CODECS) {
+            if (knownCodec.isFormatOf(header)) {
+                return knownCodec;
+            }
+        }
+
+        throw new StorageException("Unknown storage file format");
+    }
+
+    private TaskCodec detectCodec(InputStream inputStream) throws IOException, StorageException {
+        byte[] header = new byte[TaskCodec.HEADER_LENGTH];
+        inputStream.mark(header.length);
+        int headerLength = inputStream.readNBytes(header, 0, header.length);
+        inputStream.reset();
+
+        if (headerLength != header.length) {
+            throw new StorageException("Unable to read tasks");
+        }
+
+        return this.getCodecOf(header);
+    }
+
+    private static void closeInputStream(InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (IOException e) {
+            System.out.println("Unable to close storage file.");
+        }
+    }
+
     /**
      * Gets stored tasks.
      * @return list of tasks
      * @throws StorageException if unable to read from file path
      */
-    @SuppressWarnings("unchecked")
     @Override
     public List<Task> getTasks() throws StorageException {
-        try {
-
-            FileInputStream inputStream = new FileInputStream(storageFilePath);
-            ObjectInputStream taskReader = new ObjectInputStream(inputStream);
-            List<Task> tasks = (List<Task>) taskReader.readObject();
+        try (InputStream inputStream = new BufferedInputStream(new FileInputStream(storageFilePath))) {
 
-            taskReader.close();
-            return tasks;
+            return this.detectCodec(inputStream).readTasks(inputStream);
 
-        } catch (IOException | ClassNotFoundException e) {
+        } catch (IOException e) {
             e.printStackTrace();
             throw new StorageException("Unable to read tasks");
         }
     }
 
     /**
-     * Writes tasks to storage file.
+     * Streams stored tasks, reading them from the storage file only as they are needed. The storage file stays open
+     * until the stream is closed.
+     * @return stream of tasks
+     * @throws StorageException if unable to read from file path
+     */
+    @Override
+    public Stream<Task> streamTasks() throws StorageException {
+        InputStream inputStream;
+        TaskCodec.TaskReader taskReader;
+
+        try {
+            inputStream = new BufferedInputStream(new FileInputStream(storageFilePath));
+        } catch (IOException e) {
+            throw new StorageException("Unable to read tasks");
+        }
+
+        try {
+            taskReader = this.detectCodec(inputStream).openTaskReader(inputStream);
+        } catch (IOException | StorageException e) {
+            closeInputStream(inputStream);
+            throw new StorageException("Unable to read tasks");
+        }
+
+        Spliterator<Task> tasks = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Task> action) {
+                Task task;
+
+                try {
+                    task = taskReader.readNextTask();
+                } catch (IOException e) {
+                    throw new UncheckedStorageException("Unable to read tasks");
+                }
+
+                if (task == null) {
+                    return false;
+                }
+
+                action.accept(task);
+                return true;
+            }
+        };
+
+        return StreamSupport.stream(tasks, false).onClose(() -> closeInputStream(inputStream));
+    }
+
+    /**
+     * Writes tasks to storage file. The tasks are written to a temporary file that then replaces the storage file, so
+     * that the storage file is never left partially written.
      * @param tasks list of task to be written
      * @throws StorageException if unable to write to file path
      */
     @Override
     public void writeTasks(List<Task> tasks) throws StorageException {
-        try {
+        this.writeTasks(tasks, new CRC32());
+    }
 
-            FileOutputStream outputStream = new FileOutputStream(storageFilePath);
-            ObjectOutputStream taskWriter = new ObjectOutputStream(outputStream);
-            taskWriter.writeObject(tasks);
+    /**
+     * Writes tasks to storage file, computing a checksum of the written file at the same time.
+     * @param tasks list of task to be written
+     * @param checksum the checksum to update with every byte of the storage file
+     * @throws StorageException if unable to write to file path
+     */
+    void writeTasks(List<Task> tasks, Checksum checksum) throws StorageException {
+        String temporaryFilePath = storageFilePath + ".tmp";
+
+        try {
+            try (OutputStream outputStream = new CheckedOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(temporaryFilePath)), checksum)) {
 
-            taskWriter.close();
+                this.codec.writeTasks(tasks, outputStream);
+            }
 
+            Files.move(Paths.get(temporaryFilePath), Paths.get(storageFilePath),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
         } catch (IOException e) {
             throw new StorageException("Unable to save tasks");
         }
     }
+
+    /**
+     * Computes the checksum of a storage file, as computed while writing it with writeTasks(List, Checksum).
+     * @param storageFilePath file path of the storage file
+     * @return the checksum of the file
+     * @throws IOException if unable to read the file
+     */
+    static long computeChecksum(String storageFilePath) throws IOException {
+        CRC32 checksum = new CRC32();
+
+        try (InputStream inputStream = new CheckedInputStream(new FileInputStream(storageFilePath), checksum)) {
+            byte[] buffer = new byte[8192];
+
+            while (inputStream.read(buffer) != -1) {
+                // the checksum is updated as the file is read
+            }
+        }
+
+        return checksum.getValue();
+    }
 }
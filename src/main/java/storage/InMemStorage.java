@@ -5,6 +5,7 @@ import error.storage.StorageException;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * An in-memory storage which is used to represent a temporary Storage with no ability to persist data.
@@ -27,6 +28,16 @@ public class InMemStorage implements Storage {
         return this.tasks;
     }
 
+    /**
+     * Method used by the program to read current list of tasks from storage one task at a time.
+     *
+     * @return a stream of the tasks that have been put in storage.
+     */
+    @Override
+    public Stream<Task> streamTasks() {
+        return this.tasks.stream();
+    }
+
     /**
      * Method used by the program to write new tasks to storage.
      *
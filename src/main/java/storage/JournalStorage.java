@@ -0,0 +1,590 @@
+package storage;
+
+import duke.task.Task;
+import error.storage.StorageException;
+import storage.codec.BinaryTaskCodec;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+/**
+ * Storage class that persists single task changes as small records appended to a journal file instead of rewriting
+ * the entire storage file on every change. The full list of tasks is kept in a snapshot file that has the same format
+ * as the storage file of FileSystemStorage, so existing storage files can be used as snapshots directly. On startup,
+ * the snapshot is read and the records in the journal are replayed on top of it. Once the journal reaches a certain
+ * number of records, a new snapshot is written and the journal is cleared so that replaying stays cheap.
+ *
+ * <p>The journal starts with a header describing the snapshot it applies to by its length and checksum. If the snapshot
+ * has been replaced after the journal was started, for instance when the program stops after writing a new snapshot
+ * but before clearing the journal, the journal is considered stale and is ignored. New snapshots are written to a
+ * temporary file that then replaces the snapshot file, so a snapshot is never left partially written.
+ *
+ * <p>Changes to several tasks at once are appended as a single batch of records, which is only replayed if all of its
+ * records were written. Likewise, a run of changes written together through writeChanges is appended as a single
+ * group of records with a single write to the journal file, along with the number of changes in the run.
+ *
+ * <p>The journal header also holds the sequence number of the snapshot, and each replayed record adds its number of
+ * changes to it, so the sequence number is persisted without a write of its own. Journals that are stale or missing
+ * leave the sequence number unknown, in which case it starts from a random number.
+ *
+ * <p>Tasks in journal records are written with the BinaryTaskCodec.
+ */
+public class JournalStorage implements Storage {
+    private static final int DEFAULT_SNAPSHOT_INTERVAL = 1000;
+    private static final int JOURNAL_MAGIC_NUMBER = 0x444b4a34;
+
+    private static final byte ADD_RECORD = 'A';
+    private static final byte UPDATE_RECORD = 'U';
+    private static final byte DELETE_RECORD = 'D';
+    private static final byte BATCH_RECORD = 'B';
+    private static final byte GROUP_RECORD = 'G';
+
+    private final String snapshotFilePath;
+    private final String journalFilePath;
+    private final int snapshotInterval;
+
+    private FileSystemStorage snapshotStorage;
+    private List<Task> tasks;
+    private DataOutputStream journalWriter;
+    private int journalRecordsCount;
+    private long sequenceNumber;
+    private ByteArrayOutputStream groupRecords;
+    private int groupRecordsCount;
+    private boolean isSnapshotRequired;
+
+    private static class JournalRecord {
+        private final int recordType;
+        private final int index;
+        private final Task task;
+
+        private JournalRecord(int recordType, int index, Task task) {
+            this.recordType = recordType;
+            this.index = index;
+            this.task = task;
+        }
+    }
+
+    private JournalStorage(String storageFilePath, int snapshotInterval) {
+        this.snapshotFilePath = storageFilePath;
+        this.journalFilePath = storageFilePath + ".journal";
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    /**
+     * Returns an instance of a JournalStorage that keeps its snapshot at the file path and its journal next to it.
+     * A new snapshot file is created at the file path if it does not already exist.
+     * @param storageFilePath file path of the snapshot file
+     * @return JournalStorage instance
+     * @throws StorageException if unable to read the snapshot or the journal
+     */
+    public static JournalStorage getInstance(String storageFilePath) throws StorageException {
+        return JournalStorage.getInstance(storageFilePath, DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    /**
+     * Returns an instance of a JournalStorage that writes a new snapshot every time the journal reaches the specified
+     * number of records.
+     * @param storageFilePath file path of the snapshot file
+     * @param snapshotInterval maximum number of records in the journal before a new snapshot is written
+     * @return JournalStorage instance
+     * @throws StorageException if unable to read the snapshot or the journal
+     */
+    public static JournalStorage getInstance(String storageFilePath, int snapshotInterval) throws StorageException {
+        if (snapshotInterval < 1) {
+            throw new StorageException("Snapshot interval must be positive");
+        }
+
+        JournalStorage storage = new JournalStorage(storageFilePath, snapshotInterval);
+        storage.setup();
+
+        return storage;
+    }
+
+    private void setup() throws StorageException {
+        // the journal header describes the snapshot as it was before any migration to a newer format
+        File snapshotFile = new File(snapshotFilePath);
+        long snapshotLength = snapshotFile.length();
+        long snapshotChecksum = snapshotFile.exists() ? computeSnapshotChecksum(snapshotFilePath) : 0;
+
+        this.snapshotStorage = FileSystemStorage.getInstance(snapshotFilePath);
+        this.tasks = new ArrayList<>(snapshotStorage.getTasks());
+
+        // replaced by the sequence number in the journal header if the journal applies to the snapshot
+        this.sequenceNumber = new Random().nextLong();
+
+        int replayedRecordsCount = this.replayJournal(snapshotLength, snapshotChecksum);
+
+        if (replayedRecordsCount > 0) {
+            // fold replayed records into a new snapshot so that they are not replayed again on the next startup
+            this.writeSnapshot(this.sequenceNumber);
+        } else {
+            // the snapshot may have been created or migrated to a newer format during setup
+            this.resetJournal(snapshotFile.length(), computeSnapshotChecksum(snapshotFilePath), this.sequenceNumber);
+        }
+    }
+
+    private static long computeSnapshotChecksum(String snapshotFilePath) throws StorageException {
+        try {
+            return FileSystemStorage.computeChecksum(snapshotFilePath);
+        } catch (IOException e) {
+            throw new StorageException("Unable to read snapshot");
+        }
+    }
+
+    private int replayJournal(long snapshotLength, long snapshotChecksum) throws StorageException {
+        File journalFile = new File(journalFilePath);
+        if (!journalFile.exists()) {
+            return 0;
+        }
+
+        int replayedRecordsCount = 0;
+
+        try (DataInputStream journalReader = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(journalFile)))) {
+
+            if (journalReader.readInt() != JOURNAL_MAGIC_NUMBER) {
+                return 0;
+            }
+
+            if (journalReader.readLong() != snapshotLength || journalReader.readLong() != snapshotChecksum) {
+                return 0;
+            }
+
+            this.sequenceNumber = journalReader.readLong();
+
+            while (this.replayRecord(journalReader)) {
+                replayedRecordsCount++;
+            }
+        } catch (EOFException e) {
+            // the last record was only partially written, the records before it are still valid
+        } catch (IOException | IndexOutOfBoundsException e) {
+            throw new StorageException("Unable to read journal");
+        }
+
+        return replayedRecordsCount;
+    }
+
+    private boolean replayRecord(DataInputStream journalReader) throws IOException {
+        int recordType = journalReader.read();
+        if (recordType == -1) {
+            return false;
+        }
+
+        // the whole record is read before it is applied, so that a partially written batch or group is not replayed
+        List<JournalRecord> records = new ArrayList<>();
+        int changesCount = readRecord(journalReader, recordType, records);
+
+        for (JournalRecord record : records) {
+            this.applyRecord(record);
+        }
+
+        this.sequenceNumber += changesCount;
+        return true;
+    }
+
+    private static int readRecord(DataInputStream journalReader, int recordType, List<JournalRecord> records)
+            throws IOException {
+        switch (recordType) {
+        case GROUP_RECORD:
+            int groupRecordsCount = readRecordsCount(journalReader);
+            int groupChangesCount = readRecordsCount(journalReader);
+
+            for (int i = 0; i < groupRecordsCount; i++) {
+                int groupRecordType = journalReader.readUnsignedByte();
+
+                if (groupRecordType == GROUP_RECORD) {
+                    throw new IOException("Unknown journal record");
+                }
+
+                readRecord(journalReader, groupRecordType, records);
+            }
+            return groupChangesCount;
+
+        case BATCH_RECORD:
+            int batchRecordsCount = readRecordsCount(journalReader);
+            int batchRecordType = journalReader.readUnsignedByte();
+
+            for (int i = 0; i < batchRecordsCount; i++) {
+                int index = journalReader.readInt();
+                records.add(new JournalRecord(batchRecordType, index, readRecordTask(journalReader, batchRecordType)));
+            }
+            return 1;
+
+        default:
+            int index = journalReader.readInt();
+            records.add(new JournalRecord(recordType, index, readRecordTask(journalReader, recordType)));
+            return 1;
+        }
+    }
+
+    private static int readRecordsCount(DataInputStream journalReader) throws IOException {
+        int recordsCount = journalReader.readInt();
+
+        if (recordsCount < 0) {
+            // only the tail of the journal can be corrupted by a partial write
+            throw new EOFException("Invalid number of records");
+        }
+
+        return recordsCount;
+    }
+
+    private void applyRecord(JournalRecord record) {
+        switch (record.recordType) {
+        case ADD_RECORD:
+            this.tasks.add(record.index, record.task);
+            break;
+
+        case UPDATE_RECORD:
+            this.tasks.set(record.index, record.task);
+            break;
+
+        default:
+            this.tasks.remove(record.index);
+            break;
+        }
+    }
+
+    private static Task readRecordTask(DataInputStream journalReader, int recordType) throws IOException {
+        switch (recordType) {
+        case ADD_RECORD:
+        case UPDATE_RECORD:
+            return BinaryTaskCodec.readTask(journalReader);
+
+        case DELETE_RECORD:
+            return null;
+
+        default:
+            throw new IOException("Unknown journal record");
+        }
+    }
+
+    private void writeSnapshot(long sequenceNumber) throws StorageException {
+        CRC32 snapshotChecksum = new CRC32();
+        this.snapshotStorage.writeTasks(this.tasks, snapshotChecksum);
+        this.resetJournal(new File(snapshotFilePath).length(), snapshotChecksum.getValue(), sequenceNumber);
+    }
+
+    private void resetJournal(long snapshotLength, long snapshotChecksum, long sequenceNumber)
+            throws StorageException {
+        try {
+            if (this.journalWriter != null) {
+                this.journalWriter.close();
+            }
+
+            this.journalWriter = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(journalFilePath)));
+            this.journalWriter.writeInt(JOURNAL_MAGIC_NUMBER);
+            this.journalWriter.writeLong(snapshotLength);
+            this.journalWriter.writeLong(snapshotChecksum);
+            this.journalWriter.writeLong(sequenceNumber);
+            this.journalWriter.flush();
+
+            this.journalRecordsCount = 0;
+            this.sequenceNumber = sequenceNumber;
+        } catch (IOException e) {
+            throw new StorageException("Unable to reset journal");
+        }
+    }
+
+    private void writeRecord(int index, Task task) throws IOException {
+        this.journalWriter.writeInt(index);
+
+        if (task != null) {
+            BinaryTaskCodec.writeTask(this.journalWriter, task);
+        }
+    }
+
+    private void appendRecord(byte recordType, int index, Task task) throws StorageException {
+        try {
+            this.journalWriter.writeByte(recordType);
+            this.writeRecord(index, task);
+            this.journalWriter.flush();
+        } catch (IOException e) {
+            throw new StorageException("Unable to save tasks");
+        }
+
+        this.journalRecordsCount++;
+        this.groupRecordsCount++;
+        this.sequenceNumber++;
+    }
+
+    private void appendBatch(byte recordType, int[] indexes, List<Task> tasks) throws StorageException {
+        try {
+            this.journalWriter.writeByte(BATCH_RECORD);
+            this.journalWriter.writeInt(indexes.length);
+            this.journalWriter.writeByte(recordType);
+
+            for (int i = 0; i < indexes.length; i++) {
+                this.writeRecord(indexes[i], tasks == null ? null : tasks.get(i));
+            }
+
+            this.journalWriter.flush();
+        } catch (IOException e) {
+            throw new StorageException("Unable to save tasks");
+        }
+
+        this.journalRecordsCount += indexes.length;
+        this.groupRecordsCount++;
+        this.sequenceNumber++;
+    }
+
+    private void appendGroup(byte[] records, int recordsCount, int changesCount) throws StorageException {
+        try {
+            this.journalWriter.writeByte(GROUP_RECORD);
+            this.journalWriter.writeInt(recordsCount);
+            this.journalWriter.writeInt(changesCount);
+            this.journalWriter.write(records);
+            this.journalWriter.flush();
+        } catch (IOException e) {
+            throw new StorageException("Unable to save tasks");
+        }
+    }
+
+    private void writeSnapshotIfDue() {
+        // a group of records is only written once all of its changes have been made
+        if (this.groupRecords != null || this.journalRecordsCount < this.snapshotInterval) {
+            return;
+        }
+
+        try {
+            this.writeSnapshot(this.sequenceNumber);
+        } catch (StorageException e) {
+            // the change is already in the journal, so the snapshot is written again after the next record instead
+        }
+    }
+
+    /**
+     * Gets stored tasks.
+     * @return list of tasks
+     */
+    @Override
+    public List<Task> getTasks() {
+        return new ArrayList<>(this.tasks);
+    }
+
+    @Override
+    public Task getTask(int index) {
+        return this.tasks.get(index);
+    }
+
+    @Override
+    public int getTasksCount() {
+        return this.tasks.size();
+    }
+
+    @Override
+    public boolean hasPersistentSequenceNumber() {
+        return true;
+    }
+
+    @Override
+    public long getSequenceNumber() {
+        return this.sequenceNumber;
+    }
+
+    /**
+     * Writes tasks as a new snapshot and clears the journal.
+     * @param tasks list of task to be written
+     * @throws StorageException if unable to write the snapshot
+     */
+    @Override
+    public void writeTasks(List<Task> tasks) throws StorageException {
+        this.tasks = new ArrayList<>(tasks);
+
+        if (this.groupRecords == null) {
+            this.writeSnapshot(this.sequenceNumber + 1);
+            return;
+        }
+
+        // the records of a group written before the rewrite no longer matter, as the new snapshot holds them
+        this.groupRecords.reset();
+        this.groupRecordsCount = 0;
+        this.isSnapshotRequired = true;
+    }
+
+    /**
+     * Writes a run of changes by appending a single group of records to the journal, or a new snapshot if any of the
+     * changes rewrites the tasks. The tasks are left unchanged if any change fails or the group cannot be written.
+     * @param changes the changes to be written, from the oldest to the latest.
+     * @throws StorageException if unable to write to the journal
+     */
+    @Override
+    public void writeChanges(List<? extends StorageChange> changes) throws StorageException {
+        List<Task> originalTasks = this.tasks;
+        DataOutputStream journalWriter = this.journalWriter;
+        int journalRecordsCount = this.journalRecordsCount;
+        long sequenceNumber = this.sequenceNumber;
+
+        // the changes are made to a copy of the tasks while their records are collected in memory
+        ByteArrayOutputStream groupRecords = new ByteArrayOutputStream();
+        this.tasks = new ArrayList<>(originalTasks);
+        this.groupRecords = groupRecords;
+        this.groupRecordsCount = 0;
+        this.isSnapshotRequired = false;
+        this.journalWriter = new DataOutputStream(groupRecords);
+
+        try {
+            for (StorageChange change : changes) {
+                change.writeTo(this);
+            }
+        } catch (StorageException | RuntimeException e) {
+            this.tasks = originalTasks;
+            this.journalRecordsCount = journalRecordsCount;
+            this.sequenceNumber = sequenceNumber;
+            throw e;
+        } finally {
+            this.journalWriter = journalWriter;
+            this.groupRecords = null;
+        }
+
+        // the group is written even without records, so that the sequence number counts its changes
+        try {
+            if (this.isSnapshotRequired) {
+                this.writeSnapshot(sequenceNumber + changes.size());
+            } else if (!changes.isEmpty()) {
+                this.appendGroup(groupRecords.toByteArray(), this.groupRecordsCount, changes.size());
+                this.sequenceNumber = sequenceNumber + changes.size();
+            }
+        } catch (StorageException e) {
+            this.tasks = originalTasks;
+            this.journalRecordsCount = journalRecordsCount;
+            this.sequenceNumber = sequenceNumber;
+            throw e;
+        }
+
+        this.writeSnapshotIfDue();
+    }
+
+    /**
+     * Appends a task by adding a single record to the journal.
+     * @param task the task to be added.
+     * @throws StorageException if unable to write to the journal
+     */
+    @Override
+    public void addTask(Task task) throws StorageException {
+        this.addTaskToIndex(this.tasks.size(), task);
+    }
+
+    /**
+     * Adds a task at a particular index by adding a single record to the journal. The tasks are left unchanged if the
+     * record cannot be written, and likewise for the other single task changes.
+     * @param index the index at which the task is to be added.
+     * @param task the task to be added.
+     * @throws StorageException if unable to write to the journal
+     */
+    @Override
+    public void addTaskToIndex(int index, Task task) throws StorageException {
+        Objects.checkIndex(index, this.tasks.size() + 1);
+        this.appendRecord(ADD_RECORD, index, task);
+        this.tasks.add(index, task);
+        this.writeSnapshotIfDue();
+    }
+
+    /**
+     * Replaces a task by adding a single record to the journal.
+     * @param index the index of the task to be replaced.
+     * @param task the new task.
+     * @throws StorageException if unable to write to the journal
+     */
+    @Override
+    public void updateTask(int index, Task task) throws StorageException {
+        Objects.checkIndex(index, this.tasks.size());
+        this.appendRecord(UPDATE_RECORD, index, task);
+        this.tasks.set(index, task);
+        this.writeSnapshotIfDue();
+    }
+
+    /**
+     * Deletes a task by adding a single record to the journal.
+     * @param index the index of the task to be deleted.
+     * @throws StorageException if unable to write to the journal
+     */
+    @Override
+    public void deleteTask(int index) throws StorageException {
+        Objects.checkIndex(index, this.tasks.size());
+        this.appendRecord(DELETE_RECORD, index, null);
+        this.tasks.remove(index);
+        this.writeSnapshotIfDue();
+    }
+
+    /**
+     * Adds several tasks by appending a single batch of records to the journal. The tasks are left unchanged if the
+     * batch cannot be written, and likewise for the other changes to several tasks.
+     * @param indexes the indexes at which the tasks end up, in ascending order and without duplicates.
+     * @param tasks the tasks to be added, in the same order as their indexes.
+     * @throws StorageException if unable to write to the journal
+     */
+    @Override
+    public void addTasksToIndexes(int[] indexes, List<Task> tasks) throws StorageException {
+        for (int i = 0; i < indexes.length; i++) {
+            Objects.checkIndex(indexes[i], this.tasks.size() + i + 1);
+        }
+
+        this.appendBatch(ADD_RECORD, indexes, tasks);
+
+        for (int i = 0; i < indexes.length; i++) {
+            this.tasks.add(indexes[i], tasks.get(i));
+        }
+
+        this.writeSnapshotIfDue();
+    }
+
+    /**
+     * Sets the done status of several tasks by appending a single batch of records to the journal.
+     * @param indexes the indexes of the tasks to be updated, in ascending order and without duplicates.
+     * @param isDone the new done status of the tasks.
+     * @throws StorageException if unable to write to the journal
+     */
+    @Override
+    public void updateTasksDoneStatus(int[] indexes, boolean isDone) throws StorageException {
+        List<Task> updatedTasks = new ArrayList<>(indexes.length);
+
+        for (int index : indexes) {
+            updatedTasks.add(this.tasks.get(index).withDoneStatus(isDone));
+        }
+
+        this.appendBatch(UPDATE_RECORD, indexes, updatedTasks);
+
+        for (int i = 0; i < indexes.length; i++) {
+            this.tasks.set(indexes[i], updatedTasks.get(i));
+        }
+
+        this.writeSnapshotIfDue();
+    }
+
+    /**
+     * Deletes several tasks by appending a single batch of records to the journal.
+     * @param indexes the indexes of the tasks to be deleted, in ascending order and without duplicates.
+     * @throws StorageException if unable to write to the journal
+     */
+    @Override
+    public void deleteTasks(int[] indexes) throws StorageException {
+        // tasks are deleted from the back so that the indexes of the tasks yet to be deleted do not change
+        int[] descendingIndexes = new int[indexes.length];
+
+        for (int i = 0; i < indexes.length; i++) {
+            Objects.checkIndex(indexes[i], this.tasks.size());
+            descendingIndexes[indexes.length - 1 - i] = indexes[i];
+        }
+
+        this.appendBatch(DELETE_RECORD, descendingIndexes, null);
+
+        for (int index : descendingIndexes) {
+            this.tasks.remove(index);
+        }
+
+        this.writeSnapshotIfDue();
+    }
+}
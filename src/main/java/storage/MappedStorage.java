@@ -0,0 +1,668 @@
+package storage;
+
+import duke.task.Task;
+import error.storage.StorageException;
+import error.storage.UncheckedStorageException;
+import storage.codec.BinaryTaskCodec;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Storage class that keeps each task in a fixed-size slot of a memory-mapped storage file, so that single tasks can
+ * be read and changed in place without reading or rewriting the other tasks. Setting the done status of a task only
+ * changes a single byte of its slot. Adding or deleting a task moves the slots after it but does not decode them.
+ *
+ * <p>The storage file starts with a header holding the number of tasks and the sequence number of the latest change,
+ * which is updated in place along with every change, followed by the slots of the tasks in order.
+ * Each slot holds the task's unique character code, done status, UUID and TimeFrame. Details that fit in the
+ * remaining space of the slot are stored inline. Longer details are appended to an overflow file next to the storage
+ * file and the slot holds their offset instead. Details in the overflow file that are no longer used are reclaimed
+ * once they make up most of the overflow file.
+ *
+ * <p>Changes are written to the mapped file directly and are flushed to disk by the operating system, or by flush().
+ * Rewrites of the entire list of tasks write new storage and overflow files next to the current ones, flush them and
+ * then move the new storage file over the current one. The header of the storage file holds the generation of the
+ * overflow file that its slots point into, so a rewrite that is interrupted leaves the current files untouched.
+ */
+public class MappedStorage implements Storage {
+    private static final int MAGIC_NUMBER = 0x444b4d50;
+    private static final int VERSION = 2;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final long COMPACTION_THRESHOLD = 1 << 20;
+
+    private static final int HEADER_LENGTH = 40;
+    private static final int MAGIC_NUMBER_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int SLOT_LENGTH_OFFSET = 8;
+    private static final int COUNT_OFFSET = 12;
+    private static final int UNUSED_OVERFLOW_OFFSET = 16;
+    private static final int OVERFLOW_GENERATION_OFFSET = 24;
+    private static final int SEQUENCE_NUMBER_OFFSET = 32;
+
+    private static final int SLOT_LENGTH = 128;
+    private static final int CHAR_CODE_OFFSET = 0;
+    private static final int DONE_OFFSET = 1;
+    private static final int FLAGS_OFFSET = 2;
+    private static final int UUID_OFFSET = 4;
+    private static final int START_OFFSET = 20;
+    private static final int END_OFFSET = 32;
+    private static final int DETAILS_LENGTH_OFFSET = 44;
+    private static final int DETAILS_OFFSET = 48;
+    private static final int INLINE_DETAILS_LENGTH = SLOT_LENGTH - DETAILS_OFFSET;
+
+    private static final int START_FLAG = 1;
+    private static final int END_FLAG = 1 << 1;
+
+    private final String storageFilePath;
+
+    private FileChannel slotsChannel;
+    private FileChannel overflowChannel;
+    private MappedByteBuffer slots;
+    private int capacity;
+    private int count;
+
+    private MappedStorage(String storageFilePath) {
+        this.storageFilePath = storageFilePath;
+    }
+
+    private static String getOverflowFilePath(String storageFilePath, long overflowGeneration) {
+        // overflow files of the first generation keep the name they had before rewrites moved to new files
+        return overflowGeneration == 0
+                ? storageFilePath + ".overflow"
+                : storageFilePath + ".overflow." + overflowGeneration;
+    }
+
+    /**
+     * Returns an instance of a MappedStorage that maps the file at a file path. A new file is created at the file
+     * path if it does not already exist.
+     * @param storageFilePath file path to read and write tasks
+     * @return MappedStorage instance
+     * @throws StorageException if unable to map the file path
+     */
+    public static MappedStorage getInstance(String storageFilePath) throws StorageException {
+        MappedStorage storage = new MappedStorage(storageFilePath);
+        storage.setup();
+
+        return storage;
+    }
+
+    private void setup() throws StorageException {
+        try {
+            File file = new File(storageFilePath);
+            if (file.getParentFile() != null) {
+                file.getParentFile().mkdirs();
+            }
+
+            this.slotsChannel = FileChannel.open(Paths.get(storageFilePath),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+            if (this.slotsChannel.size() == 0) {
+                System.out.println("Creating new storage file...");
+                this.overflowChannel = openOverflowFile(getOverflowFilePath(storageFilePath, 0));
+                this.initializeFile(0, new Random().nextLong());
+                return;
+            }
+
+            if (this.slotsChannel.size() < HEADER_LENGTH) {
+                throw new StorageException("Unknown storage file format");
+            }
+
+            this.map((int) ((this.slotsChannel.size() - HEADER_LENGTH) / SLOT_LENGTH));
+
+            if (this.slots.getInt(MAGIC_NUMBER_OFFSET) != MAGIC_NUMBER
+                    || this.slots.getInt(VERSION_OFFSET) != VERSION
+                    || this.slots.getInt(SLOT_LENGTH_OFFSET) != SLOT_LENGTH) {
+                throw new StorageException("Unknown storage file format");
+            }
+
+            this.count = this.slots.getInt(COUNT_OFFSET);
+
+            if (this.count < 0 || this.count > this.capacity) {
+                throw new StorageException("Storage file is corrupted");
+            }
+
+            this.overflowChannel = FileChannel.open(
+                    Paths.get(getOverflowFilePath(storageFilePath, this.getOverflowGeneration())),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new StorageException("Unable to set up storage");
+        }
+    }
+
+    private static FileChannel openOverflowFile(String overflowFilePath) throws IOException {
+        return FileChannel.open(Paths.get(overflowFilePath), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private void initializeFile(long overflowGeneration, long sequenceNumber) throws IOException {
+        this.map(INITIAL_CAPACITY);
+        this.slots.putInt(MAGIC_NUMBER_OFFSET, MAGIC_NUMBER);
+        this.slots.putInt(VERSION_OFFSET, VERSION);
+        this.slots.putInt(SLOT_LENGTH_OFFSET, SLOT_LENGTH);
+        this.slots.putLong(OVERFLOW_GENERATION_OFFSET, overflowGeneration);
+        this.slots.putLong(SEQUENCE_NUMBER_OFFSET, sequenceNumber);
+        this.setCount(0);
+        this.setUnusedOverflowLength(0);
+    }
+
+    private void map(int capacity) throws IOException {
+        // mapping beyond the end of the file extends the file
+        this.slots = this.slotsChannel.map(FileChannel.MapMode.READ_WRITE, 0,
+                HEADER_LENGTH + (long) capacity * SLOT_LENGTH);
+        this.capacity = capacity;
+    }
+
+    private void ensureCapacity(int requiredCapacity) throws IOException {
+        if (requiredCapacity > this.capacity) {
+            this.map(Math.max(this.capacity * 2, requiredCapacity));
+        }
+    }
+
+    private void setCount(int count) {
+        this.count = count;
+        this.slots.putInt(COUNT_OFFSET, count);
+    }
+
+    private long getUnusedOverflowLength() {
+        return this.slots.getLong(UNUSED_OVERFLOW_OFFSET);
+    }
+
+    private void setUnusedOverflowLength(long unusedOverflowLength) {
+        this.slots.putLong(UNUSED_OVERFLOW_OFFSET, unusedOverflowLength);
+    }
+
+    private long getOverflowGeneration() {
+        return this.slots.getLong(OVERFLOW_GENERATION_OFFSET);
+    }
+
+    private void countChange() {
+        this.slots.putLong(SEQUENCE_NUMBER_OFFSET, this.getSequenceNumber() + 1);
+    }
+
+    private static int getSlotOffset(int index) {
+        return HEADER_LENGTH + index * SLOT_LENGTH;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.count) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + this.count);
+        }
+    }
+
+    private Task readSlot(int index) throws StorageException {
+        int offset = getSlotOffset(index);
+        int flags = this.slots.get(offset + FLAGS_OFFSET);
+
+        char uniqueCharCode = (char) (this.slots.get(offset + CHAR_CODE_OFFSET) & 0xff);
+        boolean isDone = this.slots.get(offset + DONE_OFFSET) != 0;
+        UUID uuid = new UUID(this.slots.getLong(offset + UUID_OFFSET), this.slots.getLong(offset + UUID_OFFSET + 8));
+        LocalDateTime start = (flags & START_FLAG) != 0 ? this.readDateTime(offset + START_OFFSET) : null;
+        LocalDateTime end = (flags & END_FLAG) != 0 ? this.readDateTime(offset + END_OFFSET) : null;
+
+        try {
+            String details = new String(this.readDetails(offset), StandardCharsets.UTF_8);
+
+            return BinaryTaskCodec.restoreTask(uniqueCharCode, uuid, isDone, details, start, end);
+        } catch (IOException e) {
+            throw new StorageException("Unable to read tasks");
+        }
+    }
+
+    private LocalDateTime readDateTime(int offset) {
+        return LocalDateTime.ofEpochSecond(this.slots.getLong(offset), this.slots.getInt(offset + 8), ZoneOffset.UTC);
+    }
+
+    private byte[] readDetails(int offset) throws IOException {
+        int detailsLength = this.slots.getInt(offset + DETAILS_LENGTH_OFFSET);
+
+        if (detailsLength <= INLINE_DETAILS_LENGTH) {
+            ByteBuffer inlineDetails = this.slots.duplicate();
+            inlineDetails.position(offset + DETAILS_OFFSET);
+
+            byte[] details = new byte[detailsLength];
+            inlineDetails.get(details);
+            return details;
+        }
+
+        long overflowOffset = this.slots.getLong(offset + DETAILS_OFFSET);
+        ByteBuffer details = ByteBuffer.allocate(detailsLength);
+
+        while (details.hasRemaining()) {
+            if (this.overflowChannel.read(details, overflowOffset + details.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+
+        return details.array();
+    }
+
+    private void writeSlot(int index, Task task) throws IOException {
+        int offset = getSlotOffset(index);
+        LocalDateTime start = task.getTaskTimeFrame().getStart();
+        LocalDateTime end = task.getTaskTimeFrame().getEnd();
+        byte[] details = task.getTaskDetails().getBytes(StandardCharsets.UTF_8);
+
+        int flags = 0;
+        flags |= start != null ? START_FLAG : 0;
+        flags |= end != null ? END_FLAG : 0;
+
+        this.slots.put(offset + CHAR_CODE_OFFSET, (byte) task.getUniqueCharCode());
+        this.slots.put(offset + DONE_OFFSET, (byte) (task.isTaskDone() ? 1 : 0));
+        this.slots.put(offset + FLAGS_OFFSET, (byte) flags);
+        this.slots.putLong(offset + UUID_OFFSET, task.getUuid().getMostSignificantBits());
+        this.slots.putLong(offset + UUID_OFFSET + 8, task.getUuid().getLeastSignificantBits());
+
+        if (start != null) {
+            this.writeDateTime(offset + START_OFFSET, start);
+        }
+
+        if (end != null) {
+            this.writeDateTime(offset + END_OFFSET, end);
+        }
+
+        this.slots.putInt(offset + DETAILS_LENGTH_OFFSET, details.length);
+
+        if (details.length <= INLINE_DETAILS_LENGTH) {
+            ByteBuffer inlineDetails = this.slots.duplicate();
+            inlineDetails.position(offset + DETAILS_OFFSET);
+            inlineDetails.put(details);
+        } else {
+            long overflowOffset = this.overflowChannel.size();
+            ByteBuffer overflowDetails = ByteBuffer.wrap(details);
+
+            while (overflowDetails.hasRemaining()) {
+                this.overflowChannel.write(overflowDetails, overflowOffset + overflowDetails.position());
+            }
+
+            this.slots.putLong(offset + DETAILS_OFFSET, overflowOffset);
+        }
+    }
+
+    private void writeDateTime(int offset, LocalDateTime dateTime) {
+        this.slots.putLong(offset, dateTime.toEpochSecond(ZoneOffset.UTC));
+        this.slots.putInt(offset + 8, dateTime.getNano());
+    }
+
+    private void copySlot(int fromIndex, int toIndex) {
+        ByteBuffer source = this.slots.duplicate();
+        source.position(getSlotOffset(fromIndex)).limit(getSlotOffset(fromIndex) + SLOT_LENGTH);
+
+        ByteBuffer destination = this.slots.duplicate();
+        destination.position(getSlotOffset(toIndex));
+        destination.put(source);
+    }
+
+    private void checkIndexes(int[] indexes) {
+        for (int index : indexes) {
+            this.checkIndex(index);
+        }
+    }
+
+    private void releaseOverflow(int index) {
+        int detailsLength = this.slots.getInt(getSlotOffset(index) + DETAILS_LENGTH_OFFSET);
+
+        if (detailsLength > INLINE_DETAILS_LENGTH) {
+            this.setUnusedOverflowLength(this.getUnusedOverflowLength() + detailsLength);
+        }
+    }
+
+    private void compactOverflowIfNeeded() throws StorageException, IOException {
+        long unusedOverflowLength = this.getUnusedOverflowLength();
+
+        if (unusedOverflowLength > COMPACTION_THRESHOLD && unusedOverflowLength * 2 > this.overflowChannel.size()) {
+            this.rewriteTasks(this.getTasks(), this.getSequenceNumber());
+        }
+    }
+
+    /**
+     * Gets stored tasks.
+     * @return list of tasks
+     * @throws StorageException if unable to read the storage file
+     */
+    @Override
+    public List<Task> getTasks() throws StorageException {
+        List<Task> tasks = new ArrayList<>(this.count);
+
+        for (int i = 0; i < this.count; i++) {
+            tasks.add(this.readSlot(i));
+        }
+
+        return tasks;
+    }
+
+    /**
+     * Streams stored tasks, decoding each slot only as it is needed.
+     * @return stream of tasks
+     */
+    @Override
+    public Stream<Task> streamTasks() {
+        return IntStream.range(0, this.count).mapToObj(index -> {
+            try {
+                return this.readSlot(index);
+            } catch (StorageException e) {
+                throw new UncheckedStorageException(e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Gets a single stored task by decoding only its slot.
+     * @param index the index of the task to be read.
+     * @return the task found at the index
+     * @throws StorageException if unable to read the storage file
+     */
+    @Override
+    public Task getTask(int index) throws StorageException {
+        this.checkIndex(index);
+        return this.readSlot(index);
+    }
+
+    @Override
+    public int getTasksCount() {
+        return this.count;
+    }
+
+    @Override
+    public boolean hasPersistentSequenceNumber() {
+        return true;
+    }
+
+    @Override
+    public long getSequenceNumber() {
+        return this.slots.getLong(SEQUENCE_NUMBER_OFFSET);
+    }
+
+    /**
+     * Rewrites all slots into a new storage file and a new overflow file, flushes them to disk and then moves the new
+     * storage file over the current one. The current files stay valid until the move, so the tasks in storage are
+     * either all of the old tasks or all of the new tasks even if the rewrite is interrupted.
+     * @param tasks list of task to be written
+     * @throws StorageException if unable to write to the storage file
+     */
+    @Override
+    public void writeTasks(List<Task> tasks) throws StorageException {
+        this.rewriteTasks(tasks, this.getSequenceNumber() + 1);
+    }
+
+    /**
+     * Writes a run of changes to a copy of the tasks, which is then rewritten once with the sequence number of the
+     * last change, so that the new storage file holds all of the changes and their sequence number together.
+     * @param changes the changes to be written, from the oldest to the latest.
+     * @throws StorageException if unable to write to the storage file
+     */
+    @Override
+    public void writeChanges(List<? extends StorageChange> changes) throws StorageException {
+        InMemStorage stagedStorage = new InMemStorage();
+        stagedStorage.writeTasks(this.getTasks());
+
+        for (StorageChange change : changes) {
+            change.writeTo(stagedStorage);
+        }
+
+        this.rewriteTasks(stagedStorage.getTasks(), this.getSequenceNumber() + changes.size());
+    }
+
+    private void rewriteTasks(List<Task> tasks, long sequenceNumber) throws StorageException {
+        long overflowGeneration = this.getOverflowGeneration();
+        String newStorageFilePath = storageFilePath + ".tmp";
+
+        try {
+            this.writeNewFiles(newStorageFilePath, overflowGeneration + 1, sequenceNumber, tasks);
+            Files.move(Paths.get(newStorageFilePath), Paths.get(storageFilePath),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new StorageException("Unable to save tasks");
+        }
+
+        try {
+            this.slotsChannel.close();
+            this.overflowChannel.close();
+            Files.deleteIfExists(Paths.get(getOverflowFilePath(storageFilePath, overflowGeneration)));
+        } catch (IOException e) {
+            System.out.println("Unable to remove the old overflow file.");
+        }
+
+        this.setup();
+    }
+
+    private void writeNewFiles(String newStorageFilePath, long overflowGeneration, long sequenceNumber,
+            List<Task> tasks) throws IOException {
+        MappedStorage newStorage = new MappedStorage(newStorageFilePath);
+
+        try (FileChannel slotsChannel = FileChannel.open(Paths.get(newStorageFilePath), StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                FileChannel overflowChannel = openOverflowFile(
+                        getOverflowFilePath(storageFilePath, overflowGeneration))) {
+            newStorage.slotsChannel = slotsChannel;
+            newStorage.overflowChannel = overflowChannel;
+            newStorage.initializeFile(overflowGeneration, sequenceNumber);
+            newStorage.ensureCapacity(tasks.size());
+
+            for (int i = 0; i < tasks.size(); i++) {
+                newStorage.writeSlot(i, tasks.get(i));
+            }
+
+            newStorage.setCount(tasks.size());
+
+            // the details are flushed before the slots that point to them
+            overflowChannel.force(true);
+            newStorage.slots.force();
+        }
+    }
+
+    /**
+     * Flushes the changes made to the mapped storage file and the overflow file to disk.
+     * @throws StorageException if unable to write to the storage file
+     */
+    @Override
+    public void flush() throws StorageException {
+        try {
+            this.overflowChannel.force(true);
+            this.slots.force();
+        } catch (IOException e) {
+            throw new StorageException("Unable to save tasks");
+        }
+    }
+
+    @Override
+    public boolean hasCheapSingleTaskReads() {
+        return true;
+    }
+
+    @Override
+    public void addTask(Task task) throws StorageException {
+        this.addTaskToIndex(this.count, task);
+    }
+
+    /**
+     * Adds a task by moving the slots after the index back by one slot and writing the new slot.
+     * @param index the index at which the task is to be added.
+     * @param task the task to be added.
+     * @throws StorageException if unable to write to the storage file
+     */
+    @Override
+    public void addTaskToIndex(int index, Task task) throws StorageException {
+        if (index < 0 || index > this.count) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + this.count);
+        }
+
+        try {
+            this.ensureCapacity(this.count + 1);
+
+            for (int i = this.count; i > index; i--) {
+                this.copySlot(i - 1, i);
+            }
+
+            this.writeSlot(index, task);
+            this.setCount(this.count + 1);
+            this.countChange();
+        } catch (IOException e) {
+            throw new StorageException("Unable to save tasks");
+        }
+    }
+
+    /**
+     * Replaces a task by rewriting only its slot.
+     * @param index the index of the task to be replaced.
+     * @param task the new task.
+     * @throws StorageException if unable to write to the storage file
+     */
+    @Override
+    public void updateTask(int index, Task task) throws StorageException {
+        this.checkIndex(index);
+
+        try {
+            this.releaseOverflow(index);
+            this.writeSlot(index, task);
+            this.countChange();
+            this.compactOverflowIfNeeded();
+        } catch (IOException e) {
+            throw new StorageException("Unable to save tasks");
+        }
+    }
+
+    /**
+     * Sets the done status of a task by changing a single byte of its slot.
+     * @param index the index of the task to be updated.
+     * @param isDone the new done status of the task.
+     */
+    @Override
+    public void updateTaskDoneStatus(int index, boolean isDone) {
+        this.checkIndex(index);
+        this.slots.put(getSlotOffset(index) + DONE_OFFSET, (byte) (isDone ? 1 : 0));
+        this.countChange();
+    }
+
+    /**
+     * Deletes a task by moving the slots after it forward by one slot.
+     * @param index the index of the task to be deleted.
+     * @throws StorageException if unable to write to the storage file
+     */
+    @Override
+    public void deleteTask(int index) throws StorageException {
+        this.checkIndex(index);
+        this.releaseOverflow(index);
+
+        for (int i = index + 1; i < this.count; i++) {
+            this.copySlot(i, i - 1);
+        }
+
+        this.setCount(this.count - 1);
+        this.countChange();
+
+        try {
+            this.compactOverflowIfNeeded();
+        } catch (IOException e) {
+            throw new StorageException("Unable to save tasks");
+        }
+    }
+
+    /**
+     * Adds several tasks in a single pass from the back, moving each slot directly to its final position.
+     * @param indexes the indexes at which the tasks end up, in ascending order and without duplicates.
+     * @param tasks the tasks to be added, in the same order as their indexes.
+     * @throws StorageException if unable to write to the storage file
+     */
+    @Override
+    public void addTasksToIndexes(int[] indexes, List<Task> tasks) throws StorageException {
+        for (int i = 0; i < indexes.length; i++) {
+            if (indexes[i] < 0 || indexes[i] > this.count + i) {
+                throw new IndexOutOfBoundsException("Index " + indexes[i] + " out of bounds for length "
+                        + (this.count + i));
+            }
+        }
+
+        int newCount = this.count + indexes.length;
+
+        try {
+            this.ensureCapacity(newCount);
+
+            int nextStoredIndex = this.count - 1;
+            int nextAddedIndex = indexes.length - 1;
+
+            for (int i = newCount - 1; i >= 0 && nextStoredIndex != i; i--) {
+                if (nextAddedIndex >= 0 && indexes[nextAddedIndex] == i) {
+                    this.writeSlot(i, tasks.get(nextAddedIndex));
+                    nextAddedIndex--;
+                } else {
+                    this.copySlot(nextStoredIndex, i);
+                    nextStoredIndex--;
+                }
+            }
+
+            this.setCount(newCount);
+            this.countChange();
+        } catch (IOException e) {
+            throw new StorageException("Unable to save tasks");
+        }
+    }
+
+    /**
+     * Sets the done status of several tasks by changing a single byte of each of their slots.
+     * @param indexes the indexes of the tasks to be updated, in ascending order and without duplicates.
+     * @param isDone the new done status of the tasks.
+     */
+    @Override
+    public void updateTasksDoneStatus(int[] indexes, boolean isDone) {
+        this.checkIndexes(indexes);
+
+        for (int index : indexes) {
+            this.slots.put(getSlotOffset(index) + DONE_OFFSET, (byte) (isDone ? 1 : 0));
+        }
+
+        this.countChange();
+    }
+
+    /**
+     * Deletes several tasks in a single pass, moving each remaining slot directly to its final position.
+     * @param indexes the indexes of the tasks to be deleted, in ascending order and without duplicates.
+     * @throws StorageException if unable to write to the storage file
+     */
+    @Override
+    public void deleteTasks(int[] indexes) throws StorageException {
+        this.checkIndexes(indexes);
+
+        int nextDeletedIndex = 0;
+        int nextRemainingIndex = 0;
+
+        for (int i = 0; i < this.count; i++) {
+            if (nextDeletedIndex < indexes.length && indexes[nextDeletedIndex] == i) {
+                this.releaseOverflow(i);
+                nextDeletedIndex++;
+            } else {
+                if (nextRemainingIndex != i) {
+                    this.copySlot(i, nextRemainingIndex);
+                }
+
+                nextRemainingIndex++;
+            }
+        }
+
+        this.setCount(nextRemainingIndex);
+        this.countChange();
+
+        try {
+            this.compactOverflowIfNeeded();
+        } catch (IOException e) {
+            throw new StorageException("Unable to save tasks");
+        }
+    }
+}
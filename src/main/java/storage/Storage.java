@@ -3,10 +3,25 @@ package storage;
 import duke.task.Task;
 import error.storage.StorageException;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
- * An interface to encapsulate a class that handles reading and writing of tasks to storage.
+ * An interface to encapsulate a class that handles reading and writing of tasks to storage. Implementations MUST
+ * support reading and rewriting the entire list of tasks. Storages that are able to persist single task changes more
+ * efficiently than a full rewrite SHOULD override the default addTask, addTaskToIndex, updateTask,
+ * updateTaskDoneStatus and deleteTask methods, which simply read, modify and rewrite the entire list of tasks.
+ * Likewise, storages that are able to read single tasks without reading the entire list of tasks SHOULD override the
+ * default getTask, getTasksCount and streamTasks methods. Single task changes that fail SHOULD leave the tasks in
+ * storage unchanged, so that the change can be made again without being applied twice. Changes to several tasks at
+ * once are made through the addTasksToIndexes, updateTasksDoneStatus and deleteTasks methods, which rewrite the entire
+ * list of tasks once by default. Storages SHOULD override them if they persist single task changes, and SHOULD
+ * persist either all or none of the changes. Likewise, a run of changes made through any of these methods can be
+ * written together through the writeChanges method, which storages SHOULD override if they are able to persist the
+ * changes together more cheaply than one after another. Storages that persist a sequence number of the changes
+ * written to them along with the tasks SHOULD override the default hasPersistentSequenceNumber and getSequenceNumber
+ * methods.
  */
 public interface Storage {
     /**
@@ -16,10 +31,231 @@ public interface Storage {
      */
     public List<Task> getTasks() throws StorageException;
 
+    /**
+     * Method used by the program to read the current list of tasks from storage one task at a time, without holding
+     * all of the tasks in memory if the storage supports it. The returned stream MUST be closed once it is no longer
+     * needed. Tasks that fail to be read while the stream is consumed result in an UncheckedStorageException.
+     * @return a stream of the tasks that have been put in storage, in order.
+     * @throws StorageException if something goes wrong while accessing the storage.
+     */
+    public default Stream<Task> streamTasks() throws StorageException {
+        return this.getTasks().stream();
+    }
+
+    /**
+     * Method used by the program to read the task found at a particular index of the tasks in storage.
+     * @param index the index of the task to be read.
+     * @return the task found at the index.
+     * @throws StorageException if something goes wrong while accessing the storage.
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     */
+    public default Task getTask(int index) throws StorageException {
+        return this.getTasks().get(index);
+    }
+
+    /**
+     * Method used by the program to read the number of tasks in storage.
+     * @return the number of tasks that have been put in storage.
+     * @throws StorageException if something goes wrong while accessing the storage.
+     */
+    public default int getTasksCount() throws StorageException {
+        return this.getTasks().size();
+    }
+
+    /**
+     * Method used by the program to find out whether single tasks are read from this storage without reading the
+     * entire list of tasks, so that its clients can read tasks from it directly instead of keeping their own copy.
+     * Storages that override getTask, getTasksCount and streamTasks with such reads SHOULD override this method.
+     * @return true if single tasks are read without reading the entire list of tasks.
+     */
+    public default boolean hasCheapSingleTaskReads() {
+        return false;
+    }
+
+    /**
+     * Method used by the program to find out whether this storage persists a sequence number of the changes written
+     * to it, which is read through getSequenceNumber().
+     * @return true if the storage persists a sequence number.
+     */
+    public default boolean hasPersistentSequenceNumber() {
+        return false;
+    }
+
+    /**
+     * Method used by the program to read the sequence number of the latest change written to storage. The sequence
+     * number goes up by one with every change, counting each change of a run written through writeChanges, and is
+     * persisted along with the tasks. A sequence number read after a change therefore shows whether the change has
+     * reached storage once the program restarts, without reading the tasks. Changes that fail are not counted, and
+     * storages that have no persisted sequence number to start from start from a random one, so that it does not
+     * match sequence numbers read from other tasks.
+     * @return the sequence number of the latest change.
+     * @throws StorageException if the storage does not persist a sequence number.
+     */
+    public default long getSequenceNumber() throws StorageException {
+        throw new StorageException("Storage does not persist a sequence number");
+    }
+
     /**
      * Method used by the program to write new tasks to storage.
      * @param tasks the list of tasks to be written to storage.
      * @throws StorageException if something goes wrong while accessing the storage.
      */
     public void writeTasks(List<Task> tasks) throws StorageException;
+
+    /**
+     * Method used by the program to make sure that all changes written to storage so far have been persisted. Storages
+     * that persist changes some time after they are written MUST override this method.
+     * @throws StorageException if something goes wrong while persisting the changes.
+     */
+    public default void flush() throws StorageException {
+        return;
+    }
+
+    /**
+     * Method used by the program to write a run of changes together, in order. Either all or none of the changes are
+     * persisted. By default, the changes are made to a copy of the tasks in storage, which is then written once.
+     * @param changes the changes to be written, from the oldest to the latest.
+     * @throws StorageException if something goes wrong while accessing the storage.
+     * @throws IndexOutOfBoundsException if any change refers to an index that is out of bounds.
+     */
+    public default void writeChanges(List<? extends StorageChange> changes) throws StorageException {
+        InMemStorage stagedStorage = new InMemStorage();
+        stagedStorage.writeTasks(new ArrayList<>(this.getTasks()));
+
+        for (StorageChange change : changes) {
+            change.writeTo(stagedStorage);
+        }
+
+        this.writeTasks(stagedStorage.getTasks());
+    }
+
+    /**
+     * Method used by the program to hold back changes that the storage would otherwise persist in the background, so
+     * that they are only persisted by the next call to flush(). This lets a long run of changes be persisted together.
+     * Storages that persist changes in the background SHOULD override this method and resumeWrites().
+     */
+    public default void deferWrites() {
+        return;
+    }
+
+    /**
+     * Method used by the program to let the storage persist changes in the background again after deferWrites() has
+     * been called.
+     */
+    public default void resumeWrites() {
+        return;
+    }
+
+    /**
+     * Method used by the program to add a single task to the end of the tasks in storage.
+     * @param task the task to be added.
+     * @throws StorageException if something goes wrong while accessing the storage.
+     */
+    public default void addTask(Task task) throws StorageException {
+        List<Task> tasks = this.getTasks();
+        tasks.add(task);
+        this.writeTasks(tasks);
+    }
+
+    /**
+     * Method used by the program to add a single task at a particular index of the tasks in storage.
+     * @param index the index at which the task is to be added.
+     * @param task the task to be added.
+     * @throws StorageException if something goes wrong while accessing the storage.
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     */
+    public default void addTaskToIndex(int index, Task task) throws StorageException {
+        List<Task> tasks = this.getTasks();
+        tasks.add(index, task);
+        this.writeTasks(tasks);
+    }
+
+    /**
+     * Method used by the program to replace the task found at a particular index of the tasks in storage.
+     * @param index the index of the task to be replaced.
+     * @param task the new task.
+     * @throws StorageException if something goes wrong while accessing the storage.
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     */
+    public default void updateTask(int index, Task task) throws StorageException {
+        List<Task> tasks = this.getTasks();
+        tasks.set(index, task);
+        this.writeTasks(tasks);
+    }
+
+    /**
+     * Method used by the program to set the done status of the task found at a particular index of the tasks in
+     * storage.
+     * @param index the index of the task to be updated.
+     * @param isDone the new done status of the task.
+     * @throws StorageException if something goes wrong while accessing the storage.
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     */
+    public default void updateTaskDoneStatus(int index, boolean isDone) throws StorageException {
+        this.updateTask(index, this.getTask(index).withDoneStatus(isDone));
+    }
+
+    /**
+     * Method used by the program to delete the task found at a particular index of the tasks in storage.
+     * @param index the index of the task to be deleted.
+     * @throws StorageException if something goes wrong while accessing the storage.
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     */
+    public default void deleteTask(int index) throws StorageException {
+        List<Task> tasks = this.getTasks();
+        tasks.remove(index);
+        this.writeTasks(tasks);
+    }
+
+    /**
+     * Method used by the program to add several tasks at once, such that each task ends up at its index in the tasks
+     * in storage.
+     * @param indexes the indexes at which the tasks end up, in ascending order and without duplicates.
+     * @param tasks the tasks to be added, in the same order as their indexes.
+     * @throws StorageException if something goes wrong while accessing the storage.
+     * @throws IndexOutOfBoundsException if any index is out of bounds.
+     */
+    public default void addTasksToIndexes(int[] indexes, List<Task> tasks) throws StorageException {
+        List<Task> storedTasks = this.getTasks();
+
+        for (int i = 0; i < indexes.length; i++) {
+            storedTasks.add(indexes[i], tasks.get(i));
+        }
+
+        this.writeTasks(storedTasks);
+    }
+
+    /**
+     * Method used by the program to set the done status of several tasks at once.
+     * @param indexes the indexes of the tasks to be updated, in ascending order and without duplicates.
+     * @param isDone the new done status of the tasks.
+     * @throws StorageException if something goes wrong while accessing the storage.
+     * @throws IndexOutOfBoundsException if any index is out of bounds.
+     */
+    public default void updateTasksDoneStatus(int[] indexes, boolean isDone) throws StorageException {
+        List<Task> storedTasks = this.getTasks();
+
+        for (int index : indexes) {
+            storedTasks.set(index, storedTasks.get(index).withDoneStatus(isDone));
+        }
+
+        this.writeTasks(storedTasks);
+    }
+
+    /**
+     * Method used by the program to delete several tasks at once.
+     * @param indexes the indexes of the tasks to be deleted, in ascending order and without duplicates.
+     * @throws StorageException if something goes wrong while accessing the storage.
+     * @throws IndexOutOfBoundsException if any index is out of bounds.
+     */
+    public default void deleteTasks(int[] indexes) throws StorageException {
+        List<Task> storedTasks = this.getTasks();
+
+        // tasks are removed from the back so that the indexes of the tasks yet to be removed do not change
+        for (int i = indexes.length - 1; i >= 0; i--) {
+            storedTasks.remove(indexes[i]);
+        }
+
+        this.writeTasks(storedTasks);
+    }
 }
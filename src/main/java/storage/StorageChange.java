@@ -0,0 +1,16 @@
+package storage;
+
+import error.storage.StorageException;
+
+/**
+ * An interface to encapsulate a single change to the tasks in a Storage, so that several changes can be written to a
+ * Storage together through its writeChanges(List&lt;? extends StorageChange&gt; changes) method.
+ */
+public interface StorageChange {
+    /**
+     * Method used by the program to make the change through one of the methods of the storage.
+     * @param storage the storage to which the change is made.
+     * @throws StorageException if something goes wrong while accessing the storage.
+     */
+    public void writeTo(Storage storage) throws StorageException;
+}
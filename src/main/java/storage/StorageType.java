@@ -0,0 +1,26 @@
+package storage;
+
+/**
+ * Enum used by the OptionsFactory to configure which Storage implementation is used by the program.
+ */
+public enum StorageType {
+    /**
+     * Rewrites the entire storage file on every change.
+     */
+    FILE_SYSTEM,
+
+    /**
+     * Appends each change to a journal next to the storage file and periodically rewrites the storage file.
+     */
+    JOURNAL,
+
+    /**
+     * Keeps each task in a fixed-size slot of a memory-mapped file so that single tasks are read and changed in place.
+     */
+    MAPPED,
+
+    /**
+     * Keeps tasks in memory only. Changes are lost once the program exits.
+     */
+    IN_MEMORY
+}
@@ -0,0 +1,385 @@
+package storage;
+
+import duke.task.Task;
+import error.storage.StorageException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Storage class that wraps another Storage and writes changes to it in the background. Changes are queued and
+ * acknowledged immediately, and are then written to the wrapped Storage together once the oldest unwritten change is
+ * older than the maximum delay or once the maximum number of unwritten changes is reached, whichever comes first.
+ * Unwritten changes are handed to the writeChanges method of the wrapped Storage in a single call, so that a burst of
+ * changes costs the wrapped Storage a single write, and the entire list of tasks is only rewritten when it is
+ * replaced by writeTasks. Runs of changes that are handed to writeChanges are written to the wrapped Storage right
+ * away, after any unwritten changes, so that they are still written together. No copy of the tasks is kept: reads
+ * first write any unwritten changes and then read the tasks from the wrapped Storage, so they always reflect every
+ * change made so far.
+ *
+ * <p>While writes are deferred, changes are only written by flush() or by a read, however many of them there are.
+ *
+ * <p>The sequence number of a WriteBehindStorage counts unwritten changes as well, as it is the sequence number that
+ * the wrapped Storage has once every change made so far is written. Every queued change is therefore written to the
+ * wrapped Storage, even the changes that are overwritten by a later writeTasks.
+ *
+ * <p>Clients MUST call flush() before the program exits so that no changes are lost. Changes that fail to be written
+ * are kept and written again by the next flush. A change that the wrapped Storage rejects with a RuntimeException can
+ * never be written, so it is replaced by a change that does nothing, which keeps the sequence number of the wrapped
+ * Storage in step, while the changes around it are still written. Failures of writes made
+ * in the background are reported by the next change or flush, which throw a StorageException.
+ */
+public class WriteBehindStorage implements Storage {
+    private static final long DEFAULT_MAX_DELAY_MILLIS = 1000;
+    private static final int DEFAULT_MAX_BATCH_SIZE = 1000;
+    private static final PendingChange NO_CHANGE = new PendingChange(0, storage -> { });
+
+    private final Storage storage;
+    private final long maxDelayMillis;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService flushExecutor;
+    private final Object flushLock = new Object();
+
+    private int tasksCount;
+    private long sequenceNumber;
+    private List<PendingChange> pendingChanges;
+    private boolean isWritingDeferred;
+    private ScheduledFuture<?> scheduledFlush;
+    private StorageException backgroundFailure;
+
+    /**
+     * A change that is yet to be written to the wrapped Storage, along with its effect on the number of tasks.
+     */
+    private static class PendingChange implements StorageChange {
+        private final int tasksCountChange;
+        private final StorageChange change;
+
+        private PendingChange(int tasksCountChange, StorageChange change) {
+            this.tasksCountChange = tasksCountChange;
+            this.change = change;
+        }
+
+        @Override
+        public void writeTo(Storage storage) throws StorageException {
+            this.change.writeTo(storage);
+        }
+    }
+
+    private WriteBehindStorage(Storage storage, long maxDelayMillis, int maxBatchSize) {
+        this.storage = storage;
+        this.maxDelayMillis = maxDelayMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.pendingChanges = new ArrayList<>();
+        this.flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "storage-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns an instance of a WriteBehindStorage that writes changes to the wrapped Storage after a delay of at most
+     * one second.
+     * @param storage the Storage to write changes to
+     * @return WriteBehindStorage instance
+     * @throws StorageException if unable to read tasks from the wrapped Storage
+     */
+    public static WriteBehindStorage getInstance(Storage storage) throws StorageException {
+        return WriteBehindStorage.getInstance(storage, DEFAULT_MAX_DELAY_MILLIS, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * Returns an instance of a WriteBehindStorage with a custom maximum delay and batch size.
+     * @param storage the Storage to write changes to
+     * @param maxDelayMillis maximum number of milliseconds a change may stay unwritten
+     * @param maxBatchSize maximum number of changes that may stay unwritten
+     * @return WriteBehindStorage instance
+     * @throws StorageException if unable to read tasks from the wrapped Storage
+     */
+    public static WriteBehindStorage getInstance(Storage storage, long maxDelayMillis, int maxBatchSize)
+            throws StorageException {
+        if (maxDelayMillis < 0 || maxBatchSize < 1) {
+            throw new StorageException("Invalid write behind configuration");
+        }
+
+        WriteBehindStorage writeBehindStorage = new WriteBehindStorage(storage, maxDelayMillis, maxBatchSize);
+        writeBehindStorage.tasksCount = storage.getTasksCount();
+
+        if (storage.hasPersistentSequenceNumber()) {
+            writeBehindStorage.sequenceNumber = storage.getSequenceNumber();
+        }
+
+        return writeBehindStorage;
+    }
+
+    private synchronized void queueChange(int tasksCountChange, StorageChange change) throws StorageException {
+        this.reportBackgroundFailure();
+        this.tasksCount += tasksCountChange;
+        this.sequenceNumber++;
+        this.pendingChanges.add(new PendingChange(tasksCountChange, change));
+
+        if (this.isWritingDeferred) {
+            return;
+        }
+
+        boolean isFlushDue = this.scheduledFlush != null && this.scheduledFlush.getDelay(TimeUnit.MILLISECONDS) <= 0;
+
+        if (this.pendingChanges.size() >= this.maxBatchSize && !isFlushDue) {
+            if (this.scheduledFlush != null) {
+                this.scheduledFlush.cancel(false);
+            }
+            this.scheduledFlush = this.flushExecutor.schedule(this::flushInBackground, 0, TimeUnit.MILLISECONDS);
+        } else if (this.scheduledFlush == null) {
+            this.scheduledFlush = this.flushExecutor.schedule(this::flushInBackground, this.maxDelayMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flushInBackground() {
+        try {
+            this.writePendingChanges();
+        } catch (StorageException e) {
+            synchronized (this) {
+                this.backgroundFailure = e;
+            }
+        }
+    }
+
+    private synchronized void reportBackgroundFailure() throws StorageException {
+        if (this.backgroundFailure == null) {
+            return;
+        }
+
+        StorageException failure = this.backgroundFailure;
+        this.backgroundFailure = null;
+        throw failure;
+    }
+
+    private void writePendingChanges() throws StorageException {
+        synchronized (this.flushLock) {
+            List<PendingChange> changes;
+
+            synchronized (this) {
+                this.scheduledFlush = null;
+                changes = this.pendingChanges;
+                this.pendingChanges = new ArrayList<>();
+            }
+
+            if (changes.isEmpty()) {
+                return;
+            }
+
+            try {
+                this.storage.writeChanges(changes);
+            } catch (StorageException e) {
+                this.keepUnwrittenChanges(changes);
+                throw e;
+            } catch (RuntimeException e) {
+                // one of the changes can never be written, so the changes are written one at a time to leave it out
+                this.writeEachChange(changes);
+            }
+        }
+    }
+
+    private void writeEachChange(List<PendingChange> changes) throws StorageException {
+        List<PendingChange> changesToWrite = new ArrayList<>(changes);
+        int droppedChangesCount = 0;
+
+        for (int i = 0; i < changesToWrite.size(); i++) {
+            PendingChange change = changesToWrite.get(i);
+
+            try {
+                // each change is written as a run of its own, so that the sequence number still counts it once
+                this.storage.writeChanges(List.of(change));
+            } catch (StorageException e) {
+                this.keepUnwrittenChanges(changesToWrite.subList(i, changesToWrite.size()));
+                throw e;
+            } catch (RuntimeException e) {
+                droppedChangesCount++;
+
+                synchronized (this) {
+                    this.tasksCount -= change.tasksCountChange;
+                }
+
+                if (this.storage.hasPersistentSequenceNumber()) {
+                    changesToWrite.set(i, NO_CHANGE);
+                    i--;
+                }
+            }
+        }
+
+        if (droppedChangesCount > 0) {
+            throw new StorageException("Unable to save " + droppedChangesCount + " changes to tasks");
+        }
+    }
+
+    private synchronized void keepUnwrittenChanges(List<PendingChange> changes) {
+        // the unwritten changes are older than any change queued while they were being written
+        List<PendingChange> unwrittenChanges = new ArrayList<>(changes);
+        unwrittenChanges.addAll(this.pendingChanges);
+        this.pendingChanges = unwrittenChanges;
+    }
+
+    /**
+     * Writes all unwritten changes to the wrapped Storage and waits for them to be written.
+     * @throws StorageException if unable to write the changes
+     */
+    @Override
+    public void flush() throws StorageException {
+        this.writePendingChanges();
+        this.storage.flush();
+        this.reportBackgroundFailure();
+    }
+
+    /**
+     * Writes any unwritten changes and then hands the changes to the writeChanges method of the wrapped Storage, so
+     * that they are written together.
+     * @param changes the changes to be written, in order.
+     * @throws StorageException if unable to write the changes
+     */
+    @Override
+    public void writeChanges(List<? extends StorageChange> changes) throws StorageException {
+        this.reportBackgroundFailure();
+
+        synchronized (this.flushLock) {
+            this.writePendingChanges();
+            this.storage.writeChanges(changes);
+
+            synchronized (this) {
+                this.tasksCount = this.storage.getTasksCount();
+                this.sequenceNumber += changes.size();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void deferWrites() {
+        this.isWritingDeferred = true;
+
+        if (this.scheduledFlush != null) {
+            this.scheduledFlush.cancel(false);
+            this.scheduledFlush = null;
+        }
+    }
+
+    @Override
+    public synchronized void resumeWrites() {
+        this.isWritingDeferred = false;
+
+        if (!this.pendingChanges.isEmpty() && this.scheduledFlush == null) {
+            this.scheduledFlush = this.flushExecutor.schedule(this::flushInBackground, this.maxDelayMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public List<Task> getTasks() throws StorageException {
+        synchronized (this.flushLock) {
+            this.writePendingChanges();
+            return this.storage.getTasks();
+        }
+    }
+
+    @Override
+    public Task getTask(int index) throws StorageException {
+        synchronized (this.flushLock) {
+            this.writePendingChanges();
+            return this.storage.getTask(index);
+        }
+    }
+
+    @Override
+    public synchronized int getTasksCount() {
+        return this.tasksCount;
+    }
+
+    @Override
+    public boolean hasPersistentSequenceNumber() {
+        return this.storage.hasPersistentSequenceNumber();
+    }
+
+    @Override
+    public synchronized long getSequenceNumber() throws StorageException {
+        if (!this.hasPersistentSequenceNumber()) {
+            return this.storage.getSequenceNumber();
+        }
+
+        return this.sequenceNumber;
+    }
+
+    @Override
+    public synchronized void writeTasks(List<Task> tasks) throws StorageException {
+        this.reportBackgroundFailure();
+        List<Task> tasksToWrite = new ArrayList<>(tasks);
+        this.queueChange(tasksToWrite.size() - this.tasksCount, storage -> storage.writeTasks(tasksToWrite));
+    }
+
+    @Override
+    public synchronized void addTask(Task task) throws StorageException {
+        this.addTaskToIndex(this.tasksCount, task);
+    }
+
+    @Override
+    public synchronized void addTaskToIndex(int index, Task task) throws StorageException {
+        // indexes are checked immediately, as the wrapped Storage only sees the change once it is written
+        Objects.checkIndex(index, this.tasksCount + 1);
+        this.queueChange(1, storage -> storage.addTaskToIndex(index, task));
+    }
+
+    @Override
+    public synchronized void updateTask(int index, Task task) throws StorageException {
+        Objects.checkIndex(index, this.tasksCount);
+        this.queueChange(0, storage -> storage.updateTask(index, task));
+    }
+
+    @Override
+    public synchronized void updateTaskDoneStatus(int index, boolean isDone) throws StorageException {
+        Objects.checkIndex(index, this.tasksCount);
+        this.queueChange(0, storage -> storage.updateTaskDoneStatus(index, isDone));
+    }
+
+    @Override
+    public synchronized void deleteTask(int index) throws StorageException {
+        Objects.checkIndex(index, this.tasksCount);
+        this.queueChange(-1, storage -> storage.deleteTask(index));
+    }
+
+    @Override
+    public synchronized void addTasksToIndexes(int[] indexes, List<Task> tasks) throws StorageException {
+        int[] indexesToWrite = indexes.clone();
+        List<Task> tasksToWrite = List.copyOf(tasks);
+
+        for (int i = 0; i < indexesToWrite.length; i++) {
+            Objects.checkIndex(indexesToWrite[i], this.tasksCount + i + 1);
+        }
+
+        this.queueChange(indexesToWrite.length, storage -> storage.addTasksToIndexes(indexesToWrite, tasksToWrite));
+    }
+
+    @Override
+    public synchronized void updateTasksDoneStatus(int[] indexes, boolean isDone) throws StorageException {
+        int[] indexesToWrite = indexes.clone();
+
+        for (int index : indexesToWrite) {
+            Objects.checkIndex(index, this.tasksCount);
+        }
+
+        this.queueChange(0, storage -> storage.updateTasksDoneStatus(indexesToWrite, isDone));
+    }
+
+    @Override
+    public synchronized void deleteTasks(int[] indexes) throws StorageException {
+        int[] indexesToWrite = indexes.clone();
+
+        for (int index : indexesToWrite) {
+            Objects.checkIndex(index, this.tasksCount);
+        }
+
+        this.queueChange(-indexesToWrite.length, storage -> storage.deleteTasks(indexesToWrite));
+    }
+}
@@ -0,0 +1,305 @@
+package storage.codec;
+
+import duke.task.Task;
+import duke.task.TimeFrame;
+import duke.task.creation.TaskType;
+import error.task.TaskCreationException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Codec that stores a list of tasks in a compact, versioned binary format. A file starts with the bytes "DUKE"
+ * followed by a version byte and the number of tasks. Each task is then stored as
+ * 1. its unique character code as a single byte
+ * 2. its UUID as two longs
+ * 3. a flags byte describing its done status and which parts of its TimeFrame exist
+ * 4. the start and end of its TimeFrame, if they exist, as minutes since the epoch
+ * 5. its details as length-prefixed UTF-8.
+ * Numbers other than the UUID are stored as variable-length integers. Date times that are not on the minute also
+ * store the remaining seconds and nanoseconds so that no information is lost.
+ */
+public class BinaryTaskCodec implements TaskCodec {
+    private static final byte[] MAGIC_NUMBER = {'D', 'U', 'K', 'E'};
+    private static final int VERSION = 1;
+
+    private static final int DONE_FLAG = 1;
+    private static final int START_FLAG = 1 << 1;
+    private static final int END_FLAG = 1 << 2;
+    private static final int START_NANOS_FLAG = 1 << 3;
+    private static final int END_NANOS_FLAG = 1 << 4;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long NANOS_PER_MINUTE = 60 * NANOS_PER_SECOND;
+
+    @Override
+    public boolean isFormatOf(byte[] header) {
+        if (header.length < MAGIC_NUMBER.length) {
+            return false;
+        }
+
+        for (int i = 0; i < MAGIC_NUMBER.length; i++) {
+            if (header[i] != MAGIC_NUMBER[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public List<Task> readTasks(InputStream inputStream) throws IOException {
+        TaskReader taskReader = this.openTaskReader(inputStream);
+        List<Task> tasks = new ArrayList<>();
+
+        for (Task task = taskReader.readNextTask(); task != null; task = taskReader.readNextTask()) {
+            tasks.add(task);
+        }
+
+        return tasks;
+    }
+
+    @Override
+    public TaskReader openTaskReader(InputStream inputStream) throws IOException {
+        DataInputStream taskReader = new DataInputStream(new BufferedInputStream(inputStream));
+
+        byte[] header = new byte[MAGIC_NUMBER.length];
+        taskReader.readFully(header);
+
+        if (!this.isFormatOf(header)) {
+            throw new StreamCorruptedException("Unknown task file format");
+        }
+
+        int version = taskReader.readUnsignedByte();
+        if (version != VERSION) {
+            throw new StreamCorruptedException("Unsupported task file version " + version);
+        }
+
+        int numTasks = readVarInt(taskReader);
+
+        return new TaskReader() {
+            private int numTasksRead = 0;
+
+            @Override
+            public Task readNextTask() throws IOException {
+                if (this.numTasksRead == numTasks) {
+                    return null;
+                }
+
+                this.numTasksRead++;
+                return readTask(taskReader);
+            }
+        };
+    }
+
+    @Override
+    public void writeTasks(List<Task> tasks, OutputStream outputStream) throws IOException {
+        DataOutputStream taskWriter = new DataOutputStream(new BufferedOutputStream(outputStream));
+
+        taskWriter.write(MAGIC_NUMBER);
+        taskWriter.writeByte(VERSION);
+        writeVarInt(taskWriter, tasks.size());
+
+        for (Task task : tasks) {
+            writeTask(taskWriter, task);
+        }
+
+        taskWriter.flush();
+    }
+
+    /**
+     * Writes a single task without any file header. Used by storages that store tasks individually.
+     * @param output the output to write the task to.
+     * @param task the task to be written.
+     * @throws IOException if the task cannot be written.
+     */
+    public static void writeTask(DataOutput output, Task task) throws IOException {
+        TimeFrame timeFrame = task.getTaskTimeFrame();
+        LocalDateTime start = timeFrame.getStart();
+        LocalDateTime end = timeFrame.getEnd();
+
+        int flags = 0;
+        flags |= task.isTaskDone() ? DONE_FLAG : 0;
+        flags |= start != null ? START_FLAG : 0;
+        flags |= end != null ? END_FLAG : 0;
+        flags |= start != null && getNanosOfMinute(start) != 0 ? START_NANOS_FLAG : 0;
+        flags |= end != null && getNanosOfMinute(end) != 0 ? END_NANOS_FLAG : 0;
+
+        output.writeByte(task.getUniqueCharCode());
+        output.writeLong(task.getUuid().getMostSignificantBits());
+        output.writeLong(task.getUuid().getLeastSignificantBits());
+        output.writeByte(flags);
+
+        if (start != null) {
+            writeDateTime(output, start, (flags & START_NANOS_FLAG) != 0);
+        }
+
+        if (end != null) {
+            writeDateTime(output, end, (flags & END_NANOS_FLAG) != 0);
+        }
+
+        byte[] details = task.getTaskDetails().getBytes(StandardCharsets.UTF_8);
+        writeVarInt(output, details.length);
+        output.write(details);
+    }
+
+    /**
+     * Reads a single task written by writeTask(DataOutput output, Task task).
+     * @param input the input to read the task from.
+     * @return the task that was read.
+     * @throws IOException if the task cannot be read.
+     */
+    public static Task readTask(DataInput input) throws IOException {
+        char uniqueCharCode = (char) input.readUnsignedByte();
+        UUID uuid = new UUID(input.readLong(), input.readLong());
+        int flags = input.readUnsignedByte();
+
+        LocalDateTime start = null;
+        if ((flags & START_FLAG) != 0) {
+            start = readDateTime(input, (flags & START_NANOS_FLAG) != 0);
+        }
+
+        LocalDateTime end = null;
+        if ((flags & END_FLAG) != 0) {
+            end = readDateTime(input, (flags & END_NANOS_FLAG) != 0);
+        }
+
+        byte[] details = readBytes(input, readVarInt(input));
+
+        return restoreTask(uniqueCharCode, uuid, (flags & DONE_FLAG) != 0,
+                new String(details, StandardCharsets.UTF_8), start, end);
+    }
+
+    /**
+     * Reads a number of bytes, allocating them only as they are read so that a corrupted length ends the input instead
+     * of allocating a huge array.
+     * @param input the input to read the bytes from.
+     * @param length the number of bytes to read, which MUST NOT be negative.
+     * @return the bytes that were read.
+     * @throws IOException if the input ends before all of the bytes are read.
+     */
+    private static byte[] readBytes(DataInput input, int length) throws IOException {
+        byte[] bytes = new byte[Math.min(length, 8192)];
+        input.readFully(bytes);
+
+        while (bytes.length < length) {
+            int readLength = bytes.length;
+            bytes = Arrays.copyOf(bytes, (int) Math.min(length, readLength * 2L));
+            input.readFully(bytes, readLength, bytes.length - readLength);
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Recreates a stored task from its base attributes, keeping its original UUID.
+     * @param uniqueCharCode the unique character code of the task.
+     * @param uuid the UUID of the task.
+     * @param isDone whether the task is done.
+     * @param details the details of the task.
+     * @param start the start of the task's TimeFrame, or null if it does not exist.
+     * @param end the end of the task's TimeFrame, or null if it does not exist.
+     * @return the recreated task.
+     * @throws StreamCorruptedException if the attributes do not describe a valid task.
+     */
+    public static Task restoreTask(char uniqueCharCode, UUID uuid, boolean isDone, String details,
+                                   LocalDateTime start, LocalDateTime end) throws StreamCorruptedException {
+        try {
+            return createTask(uniqueCharCode, details, start, end).withUuid(uuid).withDoneStatus(isDone);
+        } catch (TaskCreationException e) {
+            throw new StreamCorruptedException("Invalid task");
+        }
+    }
+
+    private static Task createTask(char uniqueCharCode, String details, LocalDateTime start, LocalDateTime end)
+            throws TaskCreationException, StreamCorruptedException {
+        Optional<TaskType> taskType = TaskType.fromUniqueCharCode(uniqueCharCode);
+
+        if (taskType.isEmpty()) {
+            throw new StreamCorruptedException("Unknown task type " + uniqueCharCode);
+        }
+
+        return taskType.get().restoreTask(details, start, end);
+    }
+
+    private static long getNanosOfMinute(LocalDateTime dateTime) {
+        return dateTime.getSecond() * NANOS_PER_SECOND + dateTime.getNano();
+    }
+
+    private static void writeDateTime(DataOutput output, LocalDateTime dateTime, boolean hasNanos)
+            throws IOException {
+        long epochMinutes = Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+        writeVarLong(output, (epochMinutes << 1) ^ (epochMinutes >> 63));
+
+        if (hasNanos) {
+            writeVarLong(output, getNanosOfMinute(dateTime));
+        }
+    }
+
+    private static LocalDateTime readDateTime(DataInput input, boolean hasNanos) throws IOException {
+        long zigZagMinutes = readVarLong(input);
+        long epochMinutes = (zigZagMinutes >>> 1) ^ -(zigZagMinutes & 1);
+        long nanosOfMinute = hasNanos ? readVarLong(input) : 0;
+
+        if (nanosOfMinute < 0 || nanosOfMinute >= NANOS_PER_MINUTE) {
+            throw new StreamCorruptedException("Invalid date time");
+        }
+
+        return LocalDateTime.ofEpochSecond(epochMinutes * 60 + nanosOfMinute / NANOS_PER_SECOND,
+                (int) (nanosOfMinute % NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
+    private static void writeVarInt(DataOutput output, int value) throws IOException {
+        writeVarLong(output, value & 0xffffffffL);
+    }
+
+    private static int readVarInt(DataInput input) throws IOException {
+        long value = readVarLong(input);
+
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new StreamCorruptedException("Invalid length");
+        }
+
+        return (int) value;
+    }
+
+    private static void writeVarLong(DataOutput output, long value) throws IOException {
+        while ((value & ~0x7fL) != 0) {
+            output.writeByte((int) ((value & 0x7f) | 0x80));
+            value >>>= 7;
+        }
+
+        output.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInput input) throws IOException {
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+            int nextByte = input.readUnsignedByte();
+            value |= (long) (nextByte & 0x7f) << shift;
+
+            if ((nextByte & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new StreamCorruptedException("Invalid variable-length number");
+    }
+}
@@ -0,0 +1,44 @@
+package storage.codec;
+
+import duke.task.Task;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamConstants;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Codec that stores a list of tasks using java object serialization. This is the format used by earlier versions of
+ * the program and is kept so that their storage files can still be read.
+ */
+public class SerializedTaskCodec implements TaskCodec {
+    @Override
+    public boolean isFormatOf(byte[] header) {
+        return header.length >= 2
+                && (short) (((header[0] & 0xff) << 8) | (header[1] & 0xff)) == ObjectStreamConstants.STREAM_MAGIC;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public List<Task> readTasks(InputStream inputStream) throws IOException {
+        ObjectInputStream taskReader = new ObjectInputStream(inputStream);
+
+        try {
+            return (List<Task>) taskReader.readObject();
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new StreamCorruptedException("Unknown task list");
+        }
+    }
+
+    @Override
+    public void writeTasks(List<Task> tasks, OutputStream outputStream) throws IOException {
+        ObjectOutputStream taskWriter = new ObjectOutputStream(outputStream);
+        taskWriter.writeObject(new ArrayList<>(tasks));
+        taskWriter.flush();
+    }
+}
@@ -0,0 +1,65 @@
+package storage.codec;
+
+import duke.task.Task;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * An interface to encapsulate a file format used to store a list of tasks. Each format MUST start with a fixed header
+ * of HEADER_LENGTH bytes so that the format of an existing file can be identified before it is read. Formats that
+ * are able to read tasks one at a time SHOULD override the default openTaskReader method, which reads all of the
+ * tasks at once.
+ */
+public interface TaskCodec {
+    public static final int HEADER_LENGTH = 4;
+
+    /**
+     * Returns true if the header belongs to a file written in this format.
+     * @param header the first HEADER_LENGTH bytes of the file.
+     * @return true if the file can be read by this codec.
+     */
+    public boolean isFormatOf(byte[] header);
+
+    /**
+     * Reads a list of tasks written in this format.
+     * @param inputStream the stream to read the tasks from.
+     * @return the list of tasks that was read.
+     * @throws IOException if the stream cannot be read or is not in this format.
+     */
+    public List<Task> readTasks(InputStream inputStream) throws IOException;
+
+    /**
+     * Returns a reader that reads a list of tasks written in this format one task at a time.
+     * @param inputStream the stream to read the tasks from.
+     * @return the reader for the tasks.
+     * @throws IOException if the stream cannot be read or is not in this format.
+     */
+    public default TaskReader openTaskReader(InputStream inputStream) throws IOException {
+        Iterator<Task> tasks = this.readTasks(inputStream).iterator();
+        return () -> tasks.hasNext() ? tasks.next() : null;
+    }
+
+    /**
+     * Writes a list of tasks in this format.
+     * @param tasks the tasks to be written.
+     * @param outputStream the stream to write the tasks to.
+     * @throws IOException if the tasks cannot be written.
+     */
+    public void writeTasks(List<Task> tasks, OutputStream outputStream) throws IOException;
+
+    /**
+     * An interface to encapsulate the reading of a list of tasks one task at a time.
+     */
+    public interface TaskReader {
+        /**
+         * Reads the next task in the list.
+         * @return the next task, or null if all of the tasks have been read.
+         * @throws IOException if the task cannot be read.
+         */
+        public Task readNextTask() throws IOException;
+    }
+}
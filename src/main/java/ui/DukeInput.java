@@ -52,4 +52,13 @@ public abstract class DukeInput {
      * Stops listening to user input. Any input received afterwards SHOULD NOT BE forwarded to the controller anymore.
      */
     protected abstract void stopInputChannel();
+
+    /**
+     * Stops forwarding user input, and waits for the inputs that were already received to be forwarded to the
+     * listeners. Input channels that forward inputs on another thread than the one receiving them SHOULD override this
+     * method, so that the program does not stop while its listeners are still handling inputs.
+     */
+    protected void awaitReceivedInputs() {
+        return;
+    }
 }
@@ -20,6 +20,7 @@ public class Ui implements DukeInputListener {
     private UiDriver driver;
 
     private boolean isUiInitialized;
+    private boolean isOutputSuppressed;
 
     /**
      * Constructor for a Ui class.
@@ -59,9 +60,22 @@ public class Ui implements DukeInputListener {
             throw new UiException("Ui has not been initialized.");
         }
 
+        if (this.isOutputSuppressed) {
+            return;
+        }
+
         this.outputChannel.displayOutput(output);
     }
 
+    /**
+     * Stops or resumes displaying output. While output is suppressed, messages passed to displayOutput(String output)
+     * are dropped instead of being displayed, so that long runs of commands do not have to render every message.
+     * @param isOutputSuppressed true if output should be dropped.
+     */
+    public void setOutputSuppressed(boolean isOutputSuppressed) {
+        this.isOutputSuppressed = isOutputSuppressed;
+    }
+
     /**
      * Initializes Ui by opening the corresponding input and output channels of DukeInput and DukeOutput instances. Ui
      * must be initialized before controller can start receiving inputs and it can display any output.
@@ -96,6 +110,14 @@ public class Ui implements DukeInputListener {
         }
     }
 
+    /**
+     * Stops forwarding user input to the main program driver, and waits for the inputs that were already received to
+     * be handled by the driver. The driver SHOULD call this method before saving its state and exiting.
+     */
+    public void awaitReceivedInputs() {
+        this.inputChannel.awaitReceivedInputs();
+    }
+
     /**
      * Returns true if ui has been initialized.
      * @return boolean based on whether Ui has been initialized.
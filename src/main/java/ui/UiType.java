@@ -1,5 +1,7 @@
 package ui;
 
+import ui.batch.BatchInput;
+import ui.batch.BatchOutput;
 import ui.cli.ClInput;
 import ui.cli.ClOutput;
 import ui.fx.FxDukeInput;
@@ -14,7 +16,8 @@ import java.util.function.Supplier;
  */
 public enum UiType {
     CLI(ClInput::new, ClOutput::new),
-    JAVAFX(FxDukeInput::new, FxDukeOutput::new);
+    JAVAFX(FxDukeInput::new, FxDukeOutput::new),
+    BATCH(BatchInput::new, BatchOutput::new);
 
     public final Supplier<DukeInput> input;
     public final Supplier<DukeOutput> output;
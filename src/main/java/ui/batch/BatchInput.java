@@ -0,0 +1,33 @@
+package ui.batch;
+
+import ui.DukeInput;
+import ui.DukeOutput;
+
+/**
+ * Encapsulates an input channel that never receives any user input, for when the program runs a script of commands
+ * instead of reading them from the user.
+ */
+public class BatchInput extends DukeInput {
+
+    public BatchInput() {
+        super(false);
+    }
+
+    /**
+     * Starts the input channel, which does nothing as there is no user input to listen to.
+     *
+     * @param dukeOutputs output channels to be opened before the input channel.
+     */
+    @Override
+    protected void startInputChannel(DukeOutput... dukeOutputs) {
+        return;
+    }
+
+    /**
+     * Stops the input channel, which does nothing as there is no user input to listen to.
+     */
+    @Override
+    protected void stopInputChannel() {
+        return;
+    }
+}
@@ -0,0 +1,43 @@
+package ui.batch;
+
+import error.ui.UiException;
+import ui.DukeOutput;
+
+/**
+ * Encapsulates the command line as a plain DukeOutput output channel for the application when it runs a script of
+ * commands. Messages are printed as they are, without any greeting or decoration.
+ */
+public class BatchOutput extends DukeOutput {
+    private boolean isOpen;
+
+    /**
+     * Displays output message in a corresponding output channel. Any calls to displayOutput(String message) before
+     * start() is called all after stop() is called SHOULD THROW a UiException.
+     * @param message output to be displayed in the output channel
+     * @throws UiException when implemented output channel fails to display the output.
+     */
+    @Override
+    public void displayOutput(String message) throws UiException {
+        if (!this.isOpen) {
+            throw new UiException("Output channel is closed.");
+        }
+
+        System.out.println(message.replaceAll("/vader/", ""));
+    }
+
+    /**
+     * Opens the output channel.
+     */
+    @Override
+    public void startOutputChannel() {
+        this.isOpen = true;
+    }
+
+    /**
+     * Closes the output channel.
+     */
+    @Override
+    public void stopOutputChannel() {
+        this.isOpen = false;
+    }
+}
@@ -45,8 +45,8 @@ public class DukeMainWindowController {
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing duke.Duke's reply and then appends
-     * them to the dialog container. Clears the user input after processing.
+     * Echoes the user input in a dialog box and sends it to the listeners, whose replies are appended to the dialog
+     * container once the input has been processed. Clears the user input without waiting for the replies.
      */
     @FXML
     private void handleUserInput() {
@@ -79,13 +79,30 @@ public class DukeMainWindowController {
      * @param message message to be printed
      */
     void printDukeMessage(String message) {
+        dialogContainer.getChildren().add(createDukeDialog(message));
+    }
+
+    /**
+     * Prints several messages from Duke's perspective, adding all of their dialog boxes to the dialog container at
+     * once so that the window is only laid out again once.
+     * @param messages messages to be printed, in order
+     */
+    void printDukeMessages(List<String> messages) {
+        List<FxDialogBox> dialogs = new ArrayList<>(messages.size());
+
+        for (String message : messages) {
+            dialogs.add(createDukeDialog(message));
+        }
+
+        dialogContainer.getChildren().addAll(dialogs);
+    }
+
+    private FxDialogBox createDukeDialog(String message) {
         if (message.contains("\n/vader/")) {
-            message = message.replace("\n/vader/", "");
-            dialogContainer.getChildren().addAll(FxDialogBox.getDukeDialog(message, vaderImage));
-            return;
+            return FxDialogBox.getDukeDialog(message.replace("\n/vader/", ""), vaderImage);
         }
 
-        dialogContainer.getChildren().addAll(FxDialogBox.getDukeDialog(message, yodaImage));
+        return FxDialogBox.getDukeDialog(message, yodaImage);
     }
 
     /**
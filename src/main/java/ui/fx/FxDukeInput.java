@@ -6,12 +6,22 @@ import javafx.application.Platform;
 import ui.DukeInput;
 import ui.DukeOutput;
 
-import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Class to encapsulate a JavaFX application as a DukeInput for the application.
+ * Class to encapsulate a JavaFX application as a DukeInput for the application. Inputs are forwarded to the listeners
+ * on a single input thread instead of the JavaFX application thread, so that the window stays responsive while
+ * commands are executed and their changes are saved. Since there is only one input thread, inputs are forwarded one
+ * at a time, in the order they were received.
  */
 public class FxDukeInput extends DukeInput {
+    private static final long INPUTS_TIMEOUT_SECONDS = 10;
+
+    private ExecutorService inputExecutor;
+
     public FxDukeInput() {
         super(true);
     }
@@ -29,6 +39,12 @@ public class FxDukeInput extends DukeInput {
             outputChannel.startOutputChannel();
         }
 
+        this.inputExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread inputThread = new Thread(runnable, "duke-input");
+            inputThread.setDaemon(true);
+            return inputThread;
+        });
+
         FxMain.addListeners(this);
 
         if (!FxMain.isIsApplicationStarted()) {
@@ -42,14 +58,47 @@ public class FxDukeInput extends DukeInput {
     @Override
     protected void stopInputChannel() {
         Platform.exit();
+
+        if (this.inputExecutor != null) {
+            this.inputExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Stops forwarding user input, and waits for the input thread to finish forwarding the inputs that were already
+     * received, for up to 10 seconds.
+     */
+    @Override
+    protected void awaitReceivedInputs() {
+        if (this.inputExecutor == null) {
+            return;
+        }
+
+        this.inputExecutor.shutdown();
+
+        try {
+            if (!this.inputExecutor.awaitTermination(INPUTS_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                System.out.println("Stopping before the latest inputs are handled.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     /**
      * Method used by the MainWindowController instance to notify FxDukeInput of received user inputs. FxDukeInput then
-     * forwards the input to its listeners.
+     * forwards the input to its listeners on the input thread, and returns without waiting for them.
      * @param input input received from mainWindowController.
      */
     void receiveInput(String input) {
-        updateAllListeners(input);
+        if (this.inputExecutor == null) {
+            return;
+        }
+
+        try {
+            this.inputExecutor.execute(() -> updateAllListeners(input));
+        } catch (RejectedExecutionException e) {
+            // the input channel has been stopped, so the input is no longer forwarded
+        }
     }
 }
@@ -1,24 +1,70 @@
 package ui.fx;
 
 import error.ui.UiException;
+import javafx.application.Platform;
 import ui.DukeOutput;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
- * Class to encapsulate a JavaFX application as a DukeOutput for the application.
+ * Class to encapsulate a JavaFX application as a DukeOutput for the application. Messages may be displayed from any
+ * thread. They are queued and handed to the JavaFX application thread in batches, so that a command displaying many
+ * messages schedules a single update of the window instead of one update for each message. Messages are displayed in
+ * the order they were queued.
  */
 public class FxDukeOutput extends DukeOutput {
-    private boolean isOpen;
+    private final Queue<String> pendingMessages;
+    private final AtomicBoolean isDisplayScheduled;
+    private volatile boolean isOpen;
+
+    /**
+     * Constructs an output channel that is not yet open.
+     */
+    public FxDukeOutput() {
+        this.pendingMessages = new ConcurrentLinkedQueue<>();
+        this.isDisplayScheduled = new AtomicBoolean();
+    }
 
     /**
-     * Displays output message in a corresponding output channel. Any calls to displayOutput(String message) before
-     * start() is called all after stop() is called SHOULD THROW a UiException.
+     * Displays output message in a corresponding output channel. Messages passed before the channel is opened or after
+     * it is closed are dropped instead of throwing a UiException, since inputs that were received before the window
+     * closed may still be handled, and their messages have no window to be displayed in.
      *
      * @param message output to be displayed in the output channel
      */
     @Override
     public void displayOutput(String message) {
-        if (this.isOpen && FxMain.getActiveMainWindowController() != null) {
-            FxMain.getActiveMainWindowController().printDukeMessage(message);
+        if (!this.isOpen) {
+            return;
+        }
+
+        this.pendingMessages.add(message);
+
+        // a display that is already scheduled but has not started yet will also display this message
+        if (this.isDisplayScheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::displayPendingMessages);
+        }
+    }
+
+    private void displayPendingMessages() {
+        // messages queued from now on schedule another display, so none of them are left behind
+        this.isDisplayScheduled.set(false);
+
+        List<String> messages = new ArrayList<>();
+        String message;
+
+        while ((message = this.pendingMessages.poll()) != null) {
+            messages.add(message);
+        }
+
+        DukeMainWindowController mainWindowController = FxMain.getActiveMainWindowController();
+
+        if (mainWindowController != null && !messages.isEmpty()) {
+            mainWindowController.printDukeMessages(messages);
         }
     }
 
@@ -0,0 +1,199 @@
+package util.collections;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * A Burkhard-Keller tree, which holds elements of a metric space so that all elements within a maximum distance of
+ * a query can be found without measuring the distance to every element. Each child of a node is stored under its
+ * distance from the node, so by the triangle inequality only the children whose distances from the node lie within
+ * the maximum distance of the distance between the query and the node have to be searched.
+ *
+ * <p>Each element is counted, so that an element added several times has to be removed as many times before it is no
+ * longer found. Removing the last count of an element leaves its node in the tree as a tombstone, since the node is
+ * still needed to find its children. The tree is rebuilt without its tombstones once they outnumber the elements.
+ * @param <E> the type of elements in the tree.
+ */
+public class BkTree<E> {
+    private final ToIntBiFunction<E, E> metric;
+
+    private Node<E> root;
+    private int size;
+    private int tombstonesCount;
+
+    private static class Node<E> {
+        private final E element;
+        private final Map<Integer, Node<E>> children;
+        private int count;
+
+        Node(E element, int count) {
+            this.element = element;
+            this.children = new HashMap<>();
+            this.count = count;
+        }
+    }
+
+    /**
+     * Constructs an empty tree.
+     * @param metric the distance between two elements, which must satisfy the triangle inequality.
+     */
+    public BkTree(ToIntBiFunction<E, E> metric) {
+        this.metric = metric;
+    }
+
+    /**
+     * Returns the number of distinct elements in the tree.
+     * @return the number of distinct elements.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    // adds counts of an element to the tree and returns true if the element was not in the tree before
+    private boolean insert(E element, int count) {
+        if (this.root == null) {
+            this.root = new Node<>(element, count);
+            return true;
+        }
+
+        Node<E> node = this.root;
+
+        while (true) {
+            int distance = this.metric.applyAsInt(element, node.element);
+
+            if (distance == 0) {
+                boolean isTombstone = node.count == 0;
+
+                if (isTombstone) {
+                    this.tombstonesCount--;
+                }
+                node.count += count;
+                return isTombstone;
+            }
+
+            Node<E> child = node.children.get(distance);
+
+            if (child == null) {
+                node.children.put(distance, new Node<>(element, count));
+                return true;
+            }
+
+            node = child;
+        }
+    }
+
+    private Node<E> find(E element) {
+        Node<E> node = this.root;
+
+        while (node != null) {
+            int distance = this.metric.applyAsInt(element, node.element);
+
+            if (distance == 0) {
+                return node;
+            }
+
+            node = node.children.get(distance);
+        }
+
+        return null;
+    }
+
+    /**
+     * Adds one count of an element to the tree.
+     * @param element the element to be added.
+     */
+    public void add(E element) {
+        if (this.insert(element, 1)) {
+            this.size++;
+        }
+    }
+
+    /**
+     * Removes one count of an element from the tree, if it is in the tree.
+     * @param element the element to be removed.
+     */
+    public void remove(E element) {
+        Node<E> node = this.find(element);
+
+        if (node == null || node.count == 0) {
+            return;
+        }
+
+        node.count--;
+
+        if (node.count == 0) {
+            this.size--;
+            this.tombstonesCount++;
+        }
+
+        if (this.tombstonesCount > this.size) {
+            this.rebuild();
+        }
+    }
+
+    private void rebuild() {
+        List<Node<E>> nodes = new ArrayList<>();
+        this.forEachNode(nodes::add);
+
+        this.root = null;
+        this.tombstonesCount = 0;
+
+        for (Node<E> node : nodes) {
+            if (node.count > 0) {
+                this.insert(node.element, node.count);
+            }
+        }
+    }
+
+    private void forEachNode(Consumer<Node<E>> consumer) {
+        Deque<Node<E>> nodesToVisit = new ArrayDeque<>();
+
+        if (this.root != null) {
+            nodesToVisit.push(this.root);
+        }
+
+        while (!nodesToVisit.isEmpty()) {
+            Node<E> node = nodesToVisit.pop();
+            consumer.accept(node);
+            node.children.values().forEach(nodesToVisit::push);
+        }
+    }
+
+    /**
+     * Gives each element in the tree within a maximum distance of a query to a consumer, in no particular order.
+     * @param query the query to measure distances from.
+     * @param maxDistance the maximum distance of the elements from the query.
+     * @param consumer the consumer of the elements.
+     */
+    public void forEachWithin(E query, int maxDistance, Consumer<E> consumer) {
+        Deque<Node<E>> nodesToVisit = new ArrayDeque<>();
+
+        if (this.root != null) {
+            nodesToVisit.push(this.root);
+        }
+
+        while (!nodesToVisit.isEmpty()) {
+            Node<E> node = nodesToVisit.pop();
+            int distance = this.metric.applyAsInt(query, node.element);
+
+            if (distance <= maxDistance && node.count > 0) {
+                consumer.accept(node.element);
+            }
+
+            for (int childDistance = Math.max(1, distance - maxDistance);
+                    childDistance <= distance + maxDistance; childDistance++) {
+                Node<E> child = node.children.get(childDistance);
+
+                if (child != null) {
+                    nodesToVisit.push(child);
+                }
+            }
+        }
+    }
+}
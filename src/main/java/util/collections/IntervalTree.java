@@ -0,0 +1,229 @@
+package util.collections;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A map from values to closed intervals, backed by a balanced binary search tree of the intervals ordered by their
+ * lower ends. Every node also keeps the highest upper end found in its subtree, so that all intervals overlapping a
+ * query interval can be found in O(log N) time per interval found, without checking every interval. Each value may be
+ * mapped to at most one interval, which allows intervals to be removed by their values.
+ * @param <K> the type of the ends of the intervals.
+ * @param <V> the type of values mapped to intervals.
+ */
+public class IntervalTree<K extends Comparable<? super K>, V> {
+    private final Map<V, Node<K, V>> nodes;
+
+    private Node<K, V> root;
+    private long nextSequenceNumber;
+
+    private static class Node<K, V> {
+        private final K low;
+        private final K high;
+        private final V value;
+        // orders intervals with the same lower end
+        private final long sequenceNumber;
+        private Node<K, V> left;
+        private Node<K, V> right;
+        private K maxHigh;
+        private int height;
+
+        Node(K low, K high, V value, long sequenceNumber) {
+            this.low = low;
+            this.high = high;
+            this.value = value;
+            this.sequenceNumber = sequenceNumber;
+            this.maxHigh = high;
+            this.height = 1;
+        }
+    }
+
+    /**
+     * Constructs an empty tree.
+     */
+    public IntervalTree() {
+        this.nodes = new HashMap<>();
+    }
+
+    /**
+     * Returns the number of intervals in the tree.
+     * @return the number of intervals.
+     */
+    public int size() {
+        return this.nodes.size();
+    }
+
+    /**
+     * Maps a value to an interval, replacing any interval the value was mapped to before.
+     * @param value the value to be mapped.
+     * @param low the lower end of the interval, which is included in the interval.
+     * @param high the upper end of the interval, which is included in the interval.
+     * @throws IllegalArgumentException if the lower end is greater than the upper end.
+     */
+    public void put(V value, K low, K high) {
+        if (low.compareTo(high) > 0) {
+            throw new IllegalArgumentException("Lower end of interval is greater than its upper end");
+        }
+
+        this.remove(value);
+
+        Node<K, V> node = new Node<>(low, high, value, this.nextSequenceNumber++);
+        this.root = insert(this.root, node);
+        this.nodes.put(value, node);
+    }
+
+    /**
+     * Removes the interval mapped to a value, if there is one.
+     * @param value the value whose interval is to be removed.
+     */
+    public void remove(V value) {
+        Node<K, V> node = this.nodes.remove(value);
+
+        if (node != null) {
+            this.root = remove(this.root, node);
+        }
+    }
+
+    /**
+     * Gives each value mapped to an interval overlapping a query interval to a consumer, in the order of the lower
+     * ends of their intervals. Two intervals overlap if they have at least one point in common.
+     * @param low the lower end of the query interval.
+     * @param high the upper end of the query interval.
+     * @param consumer the consumer of the values.
+     */
+    public void forEachOverlapping(K low, K high, Consumer<V> consumer) {
+        Deque<Node<K, V>> path = new ArrayDeque<>();
+        Node<K, V> node = this.root;
+
+        // an in-order traversal that skips subtrees without any interval reaching the query interval, and stops once
+        // the intervals start after the query interval
+        while (node != null || !path.isEmpty()) {
+            while (node != null && node.maxHigh.compareTo(low) >= 0) {
+                path.push(node);
+                node = node.left;
+            }
+
+            if (path.isEmpty()) {
+                return;
+            }
+
+            node = path.pop();
+
+            if (node.low.compareTo(high) > 0) {
+                return;
+            }
+
+            if (node.high.compareTo(low) >= 0) {
+                consumer.accept(node.value);
+            }
+
+            node = node.right;
+        }
+    }
+
+    private static <K extends Comparable<? super K>, V> int compare(Node<K, V> a, Node<K, V> b) {
+        int lowComparison = a.low.compareTo(b.low);
+        return lowComparison != 0 ? lowComparison : Long.compare(a.sequenceNumber, b.sequenceNumber);
+    }
+
+    private static int height(Node<?, ?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static <K extends Comparable<? super K>, V> void update(Node<K, V> node) {
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+        node.maxHigh = node.high;
+
+        if (node.left != null && node.left.maxHigh.compareTo(node.maxHigh) > 0) {
+            node.maxHigh = node.left.maxHigh;
+        }
+
+        if (node.right != null && node.right.maxHigh.compareTo(node.maxHigh) > 0) {
+            node.maxHigh = node.right.maxHigh;
+        }
+    }
+
+    private static <K extends Comparable<? super K>, V> Node<K, V> rotateLeft(Node<K, V> node) {
+        Node<K, V> newRoot = node.right;
+        node.right = newRoot.left;
+        newRoot.left = node;
+        update(node);
+        update(newRoot);
+
+        return newRoot;
+    }
+
+    private static <K extends Comparable<? super K>, V> Node<K, V> rotateRight(Node<K, V> node) {
+        Node<K, V> newRoot = node.left;
+        node.left = newRoot.right;
+        newRoot.right = node;
+        update(node);
+        update(newRoot);
+
+        return newRoot;
+    }
+
+    private static <K extends Comparable<? super K>, V> Node<K, V> balance(Node<K, V> node) {
+        update(node);
+        int balanceFactor = height(node.left) - height(node.right);
+
+        if (balanceFactor > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+
+        if (balanceFactor < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+
+        return node;
+    }
+
+    private static <K extends Comparable<? super K>, V> Node<K, V> insert(Node<K, V> node, Node<K, V> newNode) {
+        if (node == null) {
+            return newNode;
+        }
+
+        if (compare(newNode, node) < 0) {
+            node.left = insert(node.left, newNode);
+        } else {
+            node.right = insert(node.right, newNode);
+        }
+
+        return balance(node);
+    }
+
+    private static <K extends Comparable<? super K>, V> Node<K, V> remove(Node<K, V> node, Node<K, V> oldNode) {
+        int comparison = compare(oldNode, node);
+
+        if (comparison < 0) {
+            node.left = remove(node.left, oldNode);
+        } else if (comparison > 0) {
+            node.right = remove(node.right, oldNode);
+        } else if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        } else {
+            // replace the node with its successor, which is the first node of its right subtree
+            Node<K, V> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+
+            successor.right = remove(node.right, successor);
+            successor.left = node.left;
+            return balance(successor);
+        }
+
+        return balance(node);
+    }
+}
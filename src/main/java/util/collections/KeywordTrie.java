@@ -0,0 +1,147 @@
+package util.collections;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * A map from keywords to values, backed by a trie of the characters of the keywords. A keyword can be looked up
+ * directly from a range of characters in a longer text, in time proportional to the length of the range and without
+ * creating a String for it. Besides whole keywords, a lookup also accepts any prefix that only one keyword starts
+ * with, so that keywords may be abbreviated as long as the abbreviation is unambiguous.
+ * @param <V> the type of values mapped to keywords.
+ */
+public class KeywordTrie<V> {
+    private final Node<V> root;
+
+    private static class Node<V> {
+        private char[] characters;
+        private Node<V>[] children;
+        private int childrenCount;
+        private V value;
+        // the number of keywords ending at this node or below it
+        private int keywordsCount;
+
+        @SuppressWarnings("unchecked")
+        Node() {
+            this.characters = new char[2];
+            this.children = (Node<V>[]) new Node<?>[2];
+        }
+
+        Node<V> getChild(char character) {
+            for (int i = 0; i < this.childrenCount; i++) {
+                if (this.characters[i] == character) {
+                    return this.children[i];
+                }
+            }
+
+            return null;
+        }
+
+        Node<V> addChild(char character) {
+            if (this.childrenCount == this.characters.length) {
+                this.characters = Arrays.copyOf(this.characters, this.childrenCount * 2);
+                this.children = Arrays.copyOf(this.children, this.childrenCount * 2);
+            }
+
+            Node<V> child = new Node<>();
+            this.characters[this.childrenCount] = character;
+            this.children[this.childrenCount] = child;
+            this.childrenCount++;
+
+            return child;
+        }
+    }
+
+    /**
+     * Constructs an empty trie.
+     */
+    public KeywordTrie() {
+        this.root = new Node<>();
+    }
+
+    /**
+     * Returns the number of keywords in the trie.
+     * @return the number of keywords.
+     */
+    public int size() {
+        return this.root.keywordsCount;
+    }
+
+    /**
+     * Maps a keyword to a value, unless the keyword is already mapped to a value.
+     * @param keyword the keyword to be mapped.
+     * @param value the value to be mapped to the keyword.
+     * @return true if the keyword was mapped to the value, or false if it was already mapped to a value.
+     * @throws IllegalArgumentException if the keyword is empty or the value is null.
+     */
+    public boolean put(String keyword, V value) {
+        if (keyword.isEmpty() || value == null) {
+            throw new IllegalArgumentException("Keyword is empty or value is null");
+        }
+
+        Node<V> existingNode = this.findNode(keyword, 0, keyword.length());
+
+        if (existingNode != null && existingNode.value != null) {
+            return false;
+        }
+
+        Node<V> node = this.root;
+        node.keywordsCount++;
+
+        for (int i = 0; i < keyword.length(); i++) {
+            Node<V> child = node.getChild(keyword.charAt(i));
+            node = child == null ? node.addChild(keyword.charAt(i)) : child;
+            node.keywordsCount++;
+        }
+
+        node.value = value;
+        return true;
+    }
+
+    /**
+     * Finds the value mapped to the keyword formed by a range of characters of a text. If no keyword is exactly the
+     * same as the range, the range is treated as an abbreviation, and the value of the only keyword starting with the
+     * range is returned.
+     * @param text the text containing the keyword or its abbreviation.
+     * @param start the index of the first character of the range.
+     * @param end the index after the last character of the range.
+     * @return the value of the keyword, or empty if the range is empty, matches no keyword, or is the abbreviation of
+     *     more than one keyword.
+     */
+    public Optional<V> findByPrefix(CharSequence text, int start, int end) {
+        if (start == end) {
+            return Optional.empty();
+        }
+
+        Node<V> node = this.findNode(text, start, end);
+
+        if (node == null) {
+            return Optional.empty();
+        }
+
+        if (node.value != null) {
+            return Optional.of(node.value);
+        }
+
+        if (node.keywordsCount != 1) {
+            return Optional.empty();
+        }
+
+        // a single keyword below the node means that the node is followed by a chain of single children
+        while (node.value == null) {
+            node = node.children[0];
+        }
+
+        return Optional.of(node.value);
+    }
+
+    private Node<V> findNode(CharSequence text, int start, int end) {
+        Node<V> node = this.root;
+
+        for (int i = start; i < end && node != null; i++) {
+            node = node.getChild(text.charAt(i));
+        }
+
+        return node;
+    }
+}
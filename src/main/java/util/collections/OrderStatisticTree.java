@@ -0,0 +1,484 @@
+package util.collections;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.OptionalLong;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * A list backed by a persistent balanced binary search tree in which every node keeps the size of its subtree, so that
+ * elements can be read, added, replaced and removed at any position in O(log N) time. Nodes are never modified once
+ * created. Instead, each change creates new copies of the O(log N) nodes on the path to the changed position and
+ * shares all other nodes with the previous version of the tree. This allows snapshots of the list to be taken in O(1)
+ * time, which are not affected by later changes to the list and do not affect the list when changed themselves.
+ *
+ * <p>Each element is ordered in the tree by a long label that is chosen when the element is added, so that the label
+ * of an element lies between the labels of the elements before and after it. Labels do not change when other elements
+ * are added or removed, which allows clients to remember the label of an element and later find its current position
+ * in O(log N) time through the indexOfLabel(long label) method. Elements added at either end of the list are given
+ * labels that are spaced far apart, while elements added between two others are given the label midway between theirs.
+ *
+ * <p>Once there is no label left between two elements, only the elements around them are given new evenly spaced
+ * labels. Labels are seen as 64-bit numbers, and the elements relabelled are those whose labels share all but the
+ * lowest k bits with an element next to the new one, for the smallest k such that the range of 2^k labels holds no
+ * more than 2^(k/2) elements once the new element is added. As each range may only be half as dense as the range half
+ * its size, a range is only relabelled again after many elements have been added to it, so that elements are only
+ * relabelled O(log N) times per added element on average, even when they are always added at the same position.
+ * Clients that remember labels are told of the new labels through a RelabelListener.
+ * @param <E> the type of elements in the list.
+ */
+public class OrderStatisticTree<E> extends AbstractList<E> {
+    private static final long LABEL_GAP = 1L << 32;
+
+    private Node<E> root;
+    private long relabelsCount;
+
+    private static class Node<E> {
+        private final long label;
+        private final E value;
+        private final Node<E> left;
+        private final Node<E> right;
+        private final int height;
+        private final int size;
+
+        Node(long label, E value, Node<E> left, Node<E> right) {
+            this.label = label;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+            this.size = size(left) + size(right) + 1;
+        }
+    }
+
+    /**
+     * An interface to receive the new labels of elements that have been relabelled.
+     * @param <E> the type of elements in the list.
+     */
+    public interface RelabelListener<E> {
+        /**
+         * Receives the elements that have been relabelled, once all of them have their new labels. The elements are
+         * consecutive in the list, and their relative order is the same under their old and new labels.
+         * @param values the relabelled elements, in the order of the list.
+         * @param oldLabels the old label of each element.
+         * @param newLabels the new label of each element.
+         */
+        public void onRelabel(List<E> values, long[] oldLabels, long[] newLabels);
+    }
+
+    /**
+     * Constructs an empty tree.
+     */
+    public OrderStatisticTree() {
+        this.root = null;
+    }
+
+    /**
+     * Constructs a tree containing the values in the same order as the list, in O(N) time.
+     * @param values the values of the tree.
+     */
+    public OrderStatisticTree(List<E> values) {
+        this.root = build(new ArrayList<>(values));
+    }
+
+    private OrderStatisticTree(Node<E> root, long relabelsCount) {
+        this.root = root;
+        this.relabelsCount = relabelsCount;
+    }
+
+    private static <E> Node<E> build(List<E> values) {
+        return build(values, 0, values.size(), -(values.size() / 2) * LABEL_GAP);
+    }
+
+    private static <E> Node<E> build(List<E> values, int from, int to, long firstLabel) {
+        if (from >= to) {
+            return null;
+        }
+
+        int mid = (from + to) >>> 1;
+        return new Node<>(firstLabel + mid * LABEL_GAP, values.get(mid),
+                build(values, from, mid, firstLabel), build(values, mid + 1, to, firstLabel));
+    }
+
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static <E> Node<E> rotateLeft(Node<E> node) {
+        Node<E> right = node.right;
+        return new Node<>(right.label, right.value, new Node<>(node.label, node.value, node.left, right.left),
+                right.right);
+    }
+
+    private static <E> Node<E> rotateRight(Node<E> node) {
+        Node<E> left = node.left;
+        return new Node<>(left.label, left.value, left.left,
+                new Node<>(node.label, node.value, left.right, node.right));
+    }
+
+    private static <E> Node<E> balance(long label, E value, Node<E> left, Node<E> right) {
+        int balanceFactor = height(left) - height(right);
+
+        if (balanceFactor > 1) {
+            if (height(left.left) < height(left.right)) {
+                left = rotateLeft(left);
+            }
+            return rotateRight(new Node<>(label, value, left, right));
+        }
+
+        if (balanceFactor < -1) {
+            if (height(right.right) < height(right.left)) {
+                right = rotateRight(right);
+            }
+            return rotateLeft(new Node<>(label, value, left, right));
+        }
+
+        return new Node<>(label, value, left, right);
+    }
+
+    private static <E> Node<E> insert(Node<E> node, long label, E value) {
+        if (node == null) {
+            return new Node<>(label, value, null, null);
+        }
+
+        if (label < node.label) {
+            return balance(node.label, node.value, insert(node.left, label, value), node.right);
+        } else {
+            return balance(node.label, node.value, node.left, insert(node.right, label, value));
+        }
+    }
+
+    private static <E> Node<E> replace(Node<E> node, int index, long label, E value) {
+        int leftSize = size(node.left);
+
+        if (index < leftSize) {
+            return new Node<>(node.label, node.value, replace(node.left, index, label, value), node.right);
+        } else if (index > leftSize) {
+            return new Node<>(node.label, node.value, node.left,
+                    replace(node.right, index - leftSize - 1, label, value));
+        } else {
+            return new Node<>(label, value, node.left, node.right);
+        }
+    }
+
+    private static <E> Node<E> remove(Node<E> node, int index) {
+        int leftSize = size(node.left);
+
+        if (index < leftSize) {
+            return balance(node.label, node.value, remove(node.left, index), node.right);
+        } else if (index > leftSize) {
+            return balance(node.label, node.value, node.left, remove(node.right, index - leftSize - 1));
+        } else if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        }
+
+        // replace the node with its successor, which is the first node of its right subtree
+        Node<E> successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+
+        return balance(successor.label, successor.value, node.left, remove(node.right, 0));
+    }
+
+    private Node<E> getNode(int index) {
+        if (index < 0 || index >= this.size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + this.size());
+        }
+
+        Node<E> node = this.root;
+
+        while (true) {
+            int leftSize = size(node.left);
+
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private static long getMidpoint(long lower, long upper) {
+        // average of the two labels rounded down, without overflowing
+        return (lower >> 1) + (upper >> 1) + (lower & upper & 1);
+    }
+
+    private OptionalLong chooseLabel(int index) {
+        boolean hasLower = index > 0;
+        boolean hasUpper = index < this.size();
+        long lower = hasLower ? this.getLabel(index - 1) : Long.MIN_VALUE;
+        long upper = hasUpper ? this.getLabel(index) : Long.MAX_VALUE;
+
+        if (!hasLower && !hasUpper) {
+            return OptionalLong.of(0);
+        } else if (!hasUpper && lower <= Long.MAX_VALUE - LABEL_GAP) {
+            return OptionalLong.of(lower + LABEL_GAP);
+        } else if (!hasLower && upper >= Long.MIN_VALUE + LABEL_GAP) {
+            return OptionalLong.of(upper - LABEL_GAP);
+        }
+
+        long label = getMidpoint(lower, upper);
+
+        if ((hasLower && label <= lower) || (hasUpper && label >= upper)) {
+            return OptionalLong.empty();
+        }
+
+        return OptionalLong.of(label);
+    }
+
+    private int countLabelsBelow(long label) {
+        Node<E> node = this.root;
+        int count = 0;
+
+        while (node != null) {
+            if (label <= node.label) {
+                node = node.left;
+            } else {
+                count += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+
+        return count;
+    }
+
+    private long relabelAround(int index, RelabelListener<E> listener) {
+        // labels are compared as unsigned numbers from here on, so that ranges of labels are aligned to powers of two
+        long pivot = this.getLabel(index > 0 ? index - 1 : index) ^ Long.MIN_VALUE;
+        int bits = 1;
+        long rangeStart;
+        int from;
+        int to;
+
+        while (true) {
+            rangeStart = bits == Long.SIZE ? 0 : (pivot >>> bits) << bits;
+            long rangeEnd = bits == Long.SIZE ? -1 : rangeStart + (1L << bits) - 1;
+            from = this.countLabelsBelow(rangeStart ^ Long.MIN_VALUE);
+            to = rangeEnd == -1 ? this.size() : this.countLabelsBelow((rangeEnd ^ Long.MIN_VALUE) + 1);
+
+            if (to - from + 1 <= 1L << (bits / 2)) {
+                break;
+            }
+
+            bits++;
+        }
+
+        // one of the evenly spaced labels is left for the element being added
+        long spacing = Long.divideUnsigned(bits == Long.SIZE ? -1 : 1L << bits, to - from + 1);
+        List<E> values = new ArrayList<>(to - from);
+        long[] oldLabels = new long[to - from];
+        long[] newLabels = new long[to - from];
+
+        for (int i = from; i < to; i++) {
+            Node<E> node = this.getNode(i);
+            int slot = i - from + (i >= index ? 1 : 0);
+
+            values.add(node.value);
+            oldLabels[i - from] = node.label;
+            newLabels[i - from] = (rangeStart + slot * spacing) ^ Long.MIN_VALUE;
+            this.root = replace(this.root, i, newLabels[i - from], node.value);
+        }
+
+        this.relabelsCount += to - from;
+        listener.onRelabel(values, oldLabels, newLabels);
+
+        return (rangeStart + (index - from) * spacing) ^ Long.MIN_VALUE;
+    }
+
+    @Override
+    public int size() {
+        return size(this.root);
+    }
+
+    @Override
+    public E get(int index) {
+        return this.getNode(index).value;
+    }
+
+    /**
+     * Returns the label of the element at a position of the list.
+     * @param index the position of the element.
+     * @return the label of the element at the position.
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     */
+    public long getLabel(int index) {
+        return this.getNode(index).label;
+    }
+
+    /**
+     * Returns the current position of the element with a label.
+     * @param label the label of the element.
+     * @return the position of the element, or -1 if no element has the label.
+     */
+    public int indexOfLabel(long label) {
+        Node<E> node = this.root;
+        int index = 0;
+
+        while (node != null) {
+            if (label < node.label) {
+                node = node.left;
+            } else if (label > node.label) {
+                index += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return index + size(node.left);
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Adds an element at a position of the list, shifting the elements at and after the position back by one.
+     * @param index the position at which to add the element.
+     * @param value the element to be added.
+     * @return the label of the added element.
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     */
+    public long addWithLabel(int index, E value) {
+        return this.addWithLabel(index, value, (values, oldLabels, newLabels) -> {});
+    }
+
+    /**
+     * Adds an element at a position of the list, shifting the elements at and after the position back by one. The
+     * listener is told of any element that is given a new label to make room for the added element.
+     * @param index the position at which to add the element.
+     * @param value the element to be added.
+     * @param listener the listener of the new labels of other elements.
+     * @return the label of the added element.
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     */
+    public long addWithLabel(int index, E value, RelabelListener<E> listener) {
+        if (index < 0 || index > this.size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + this.size());
+        }
+
+        OptionalLong chosenLabel = this.chooseLabel(index);
+        long label = chosenLabel.isPresent() ? chosenLabel.getAsLong() : this.relabelAround(index, listener);
+        this.root = insert(this.root, label, value);
+
+        return label;
+    }
+
+    @Override
+    public void add(int index, E value) {
+        this.addWithLabel(index, value);
+    }
+
+    /**
+     * Replaces the element at a position of the list. The label of the position stays the same.
+     * @param index the position of the element.
+     * @param value the new element.
+     * @return the element that was replaced.
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     */
+    @Override
+    public E set(int index, E value) {
+        Node<E> node = this.getNode(index);
+        this.root = replace(this.root, index, node.label, value);
+
+        return node.value;
+    }
+
+    /**
+     * Removes the element at a position of the list, shifting the elements after the position forward by one.
+     * @param index the position of the element.
+     * @return the element that was removed.
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     */
+    @Override
+    public E remove(int index) {
+        E value = this.get(index);
+        this.root = remove(this.root, index);
+
+        return value;
+    }
+
+    @Override
+    public void clear() {
+        this.root = null;
+    }
+
+    /**
+     * Returns a snapshot of the list in O(1) time. The snapshot keeps the labels of the list. Changes to the list
+     * after the snapshot is taken are not reflected in the snapshot, and vice versa.
+     * @return the snapshot of the list.
+     */
+    public OrderStatisticTree<E> snapshot() {
+        return new OrderStatisticTree<>(this.root, this.relabelsCount);
+    }
+
+    /**
+     * Returns the number of times an element has been given a new label. Labels obtained before the count changed may
+     * no longer be valid.
+     * @return the number of times elements have been relabelled.
+     */
+    public long getRelabelsCount() {
+        return this.relabelsCount;
+    }
+
+    /**
+     * Gives each element and its label to a consumer, in the order of the list.
+     * @param consumer the consumer of the elements and their labels.
+     */
+    public void forEachWithLabel(ObjLongConsumer<E> consumer) {
+        Deque<Node<E>> path = new ArrayDeque<>();
+        Node<E> node = this.root;
+
+        while (node != null || !path.isEmpty()) {
+            while (node != null) {
+                path.push(node);
+                node = node.left;
+            }
+
+            node = path.pop();
+            consumer.accept(node.value, node.label);
+            node = node.right;
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        Deque<Node<E>> path = new ArrayDeque<>();
+
+        for (Node<E> node = this.root; node != null; node = node.left) {
+            path.push(node);
+        }
+
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty();
+            }
+
+            @Override
+            public E next() {
+                if (path.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+
+                Node<E> node = path.pop();
+                for (Node<E> next = node.right; next != null; next = next.left) {
+                    path.push(next);
+                }
+
+                return node.value;
+            }
+        };
+    }
+}
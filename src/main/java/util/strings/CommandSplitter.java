@@ -1,16 +1,28 @@
 package util.strings;
 
 /**
- * Utility class to help split user input into the command keyword and the remaining arguments.
+ * Utility class to help split user input into the command keyword and the remaining arguments. The input is split
+ * at its first space, which is found without any regular expression.
  */
 public class CommandSplitter {
+    /**
+     * Returns the index after the last character of the command keyword, which is the index of the first space in the
+     * user input, or the length of the input if it has no space.
+     * @param input the user's input.
+     * @return the end of the command keyword.
+     */
+    public static int getCommandEnd(String input) {
+        int spaceIndex = input.indexOf(' ');
+        return spaceIndex == -1 ? input.length() : spaceIndex;
+    }
+
     /**
      * Isolates the first word of the user input and returns it as a the command keyword.
      * @param input the user's input.
      * @return the command keyword.
      */
     public static String getCommand(String input) {
-        return input.split(" ")[0];
+        return input.substring(0, getCommandEnd(input));
     }
 
     /**
@@ -19,12 +31,21 @@ public class CommandSplitter {
      * @return the command's arguments.
      */
     public static String getArguments(String input) {
-        String[] inputArray = input.split(" ", 2);
+        return getArguments(input, getCommandEnd(input));
+    }
 
-        if (inputArray.length < 2) {
+    /**
+     * Returns the rest of the user input after a command keyword that has already been found, as the arguments for
+     * the command.
+     * @param input the user's input.
+     * @param commandEnd the end of the command keyword, as returned by getCommandEnd(String input).
+     * @return the command's arguments.
+     */
+    public static String getArguments(String input, int commandEnd) {
+        if (commandEnd >= input.length()) {
             return "";
         }
 
-        return inputArray[1];
+        return input.substring(commandEnd + 1);
     }
 }
@@ -0,0 +1,39 @@
+package util.strings;
+
+/**
+ * Utility class to measure how different two Strings are.
+ */
+public class EditDistance {
+    /**
+     * Returns the Levenshtein distance between two Strings, which is the minimum number of single character
+     * insertions, deletions and substitutions needed to change one String into the other.
+     * @param a the first String.
+     * @param b the second String.
+     * @return the Levenshtein distance between the Strings.
+     */
+    public static int levenshtein(String a, String b) {
+        // only the previous row of the distance table is needed to compute the next one
+        int[] previousRow = new int[b.length() + 1];
+        int[] currentRow = new int[b.length() + 1];
+
+        for (int j = 0; j <= b.length(); j++) {
+            previousRow[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            currentRow[0] = i;
+
+            for (int j = 1; j <= b.length(); j++) {
+                int substitutionCost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                currentRow[j] = Math.min(previousRow[j - 1] + substitutionCost,
+                        Math.min(previousRow[j], currentRow[j - 1]) + 1);
+            }
+
+            int[] row = previousRow;
+            previousRow = currentRow;
+            currentRow = row;
+        }
+
+        return previousRow[b.length()];
+    }
+}
@@ -0,0 +1,68 @@
+package util.strings;
+
+import java.util.Arrays;
+
+/**
+ * Utility class to parse lists of indexes entered by the user, such as "3-40,52,60". Items of the list are separated
+ * by commas, and each item is either a single index or an inclusive range of indexes. Indexes are entered starting
+ * from 1 and are returned starting from 0, in ascending order and without duplicates.
+ */
+public class IndexListParser {
+    public static final int MAX_INDEXES_COUNT = 100000;
+
+    /**
+     * Parses a list of indexes.
+     * @param text the list of indexes entered by the user.
+     * @return the indexes starting from 0, in ascending order and without duplicates.
+     * @throws NumberFormatException if the text is not a list of positive indexes and ascending ranges, or if it has
+     *     more than MAX_INDEXES_COUNT indexes.
+     */
+    public static int[] parse(String text) throws NumberFormatException {
+        String[] items = text.split(",", -1);
+        int[] indexes = new int[0];
+        int indexesCount = 0;
+
+        for (String item : items) {
+            int rangeSeparator = item.indexOf('-');
+            int from = parseIndex(rangeSeparator == -1 ? item : item.substring(0, rangeSeparator));
+            int to = rangeSeparator == -1 ? from : parseIndex(item.substring(rangeSeparator + 1));
+
+            if (from > to) {
+                throw new NumberFormatException("Range of indexes is descending: " + item);
+            }
+
+            if ((long) indexesCount + to - from + 1 > MAX_INDEXES_COUNT) {
+                throw new NumberFormatException("Too many indexes");
+            }
+
+            if (indexesCount + to - from + 1 > indexes.length) {
+                indexes = Arrays.copyOf(indexes, Math.max(indexes.length * 2, indexesCount + to - from + 1));
+            }
+
+            for (int index = from; index <= to; index++) {
+                indexes[indexesCount++] = index;
+            }
+        }
+
+        Arrays.sort(indexes, 0, indexesCount);
+        int distinctCount = 0;
+
+        for (int i = 0; i < indexesCount; i++) {
+            if (distinctCount == 0 || indexes[distinctCount - 1] != indexes[i]) {
+                indexes[distinctCount++] = indexes[i];
+            }
+        }
+
+        return Arrays.copyOf(indexes, distinctCount);
+    }
+
+    private static int parseIndex(String text) throws NumberFormatException {
+        int index = Integer.parseInt(text.strip());
+
+        if (index < 1) {
+            throw new NumberFormatException("Index is not positive: " + text);
+        }
+
+        return index - 1;
+    }
+}
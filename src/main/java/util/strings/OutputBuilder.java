@@ -84,18 +84,28 @@ public class OutputBuilder {
      * @return modified message.
      */
     public OutputBuilder appendTasks(List<Task> tasks) {
-        if (!tasks.isEmpty()) {
-            message.append("1.")
-                    .append(tasks.get(0).getTaskDescription());
+        for (int i = 0; i < tasks.size(); i++) {
+            this.appendTask(i + 1, tasks.get(i));
         }
 
-        for (int i = 1; i < tasks.size(); i++) {
-            message.append("\n")
-                    .append(i + 1)
-                    .append(".")
-                    .append(tasks.get(i).getTaskDescription());
+        return this;
+    }
+
+    /**
+     * Appends a numbered task description to the back of message, starting on a new line unless the message is empty.
+     * @param number the number of the task in its list, starting from 1.
+     * @param task task to be appended.
+     * @return modified message.
+     */
+    public OutputBuilder appendTask(int number, Task task) {
+        if (message.length() > 0) {
+            message.append("\n");
         }
 
+        message.append(number)
+                .append(".")
+                .append(task.getTaskDescription());
+
         return this;
     }
 }
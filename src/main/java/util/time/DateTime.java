@@ -1,7 +1,6 @@
 package util.time;
 
 import error.datetime.UnknownDateTimeException;
-import util.time.DayParser;
 
 import java.time.DateTimeException;
 import java.time.LocalDateTime;
@@ -11,10 +10,8 @@ import java.time.format.DateTimeFormatter;
  * Utility class to handle date and time.
  */
 public class DateTime {
-    private static final String dateRegex = "((([0]?[1-9]|[1|2][0-9]|[3][0|1])[./-]([0]?[1-9]|[1][0-2])[./-]"
-            + "([0-9]{4}|[0-9]{2})(\\s([0-9]{4}))?))";
-    private static final String dayRegex = "((?i)(Today|Tomorrow|Mon|Monday|Tue|Tues|Tuesday|Wed|Wednesday|"
-            + "Thu|Thursday|Fri|Friday|Sat|Saturday|Sun|Sunday)(\\s([0-9]{4}))?)";
+    private static final DateTimeLexer lexer = new DateTimeLexer("Today", "Tomorrow", "Mon", "Monday", "Tue", "Tues",
+            "Tuesday", "Wed", "Wednesday", "Thu", "Thursday", "Fri", "Friday", "Sat", "Saturday", "Sun", "Sunday");
 
     /**
      * Parses a string into a LocalDateTime object. E.g. 24/02/2022 0315.
@@ -25,11 +22,11 @@ public class DateTime {
      */
     public static LocalDateTime parse(String dateTimeString) throws UnknownDateTimeException {
         try {
-            if (dateTimeString.matches(dateRegex)) {
+            if (lexer.isDate(dateTimeString)) {
                 return parseAsDate(dateTimeString);
             }
 
-            if (dateTimeString.matches(dayRegex)) {
+            if (lexer.isDay(dateTimeString)) {
                 return parseAsDay(dateTimeString);
             }
 
@@ -39,13 +36,20 @@ public class DateTime {
         }
     }
 
-    private static LocalDateTime parseAsDate(String dateTimeString) throws UnknownDateTimeException {
-        String[] dateTimeStrings = dateTimeString.split("\\s+");
-
-        if (dateTimeStrings.length > 2) {
-            throw new UnknownDateTimeException();
+    // a date time recognized by the lexer has at most one whitespace, which comes before its time
+    private static String[] splitDateAndTime(String dateTimeString) {
+        for (int i = 0; i < dateTimeString.length(); i++) {
+            if (DateTimeLexer.isWhitespace(dateTimeString, i)) {
+                return new String[] {dateTimeString.substring(0, i), dateTimeString.substring(i + 1)};
+            }
         }
 
+        return new String[] {dateTimeString};
+    }
+
+    private static LocalDateTime parseAsDate(String dateTimeString) throws UnknownDateTimeException {
+        String[] dateTimeStrings = splitDateAndTime(dateTimeString);
+
         String date = dateTimeStrings[0];
 
         String[] dayMonthYear = date.split("/");
@@ -77,7 +81,7 @@ public class DateTime {
     }
 
     private static LocalDateTime parseAsDay(String dateTimeString) throws UnknownDateTimeException {
-        String[] dayTimeStrings = dateTimeString.split("\\s+");
+        String[] dayTimeStrings = splitDateAndTime(dateTimeString);
 
         String day = dayTimeStrings[0];
         LocalDateTime dateTime = DayParser.parse(day);
@@ -0,0 +1,264 @@
+package util.time;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntPredicate;
+
+/**
+ * Hand-written matcher for the date time formats recognized by the program, which are
+ * 1. dates in the form d/m/yy or d/m/yyyy, where the day and month may have a leading zero and the separators may
+ * also be '.' or '-', optionally followed by a whitespace and a time in the form HHmm
+ * 2. words for days, compared case-insensitively, optionally followed by a whitespace and a time in the form HHmm.
+ *
+ * <p>Each part of a format is a small state machine that gives every position at which the part could end to a
+ * continuation, in a fixed order of preference. The first ending that lets the rest of the format match is used, so
+ * that the lexer chooses exactly the same matches as a backtracking regular expression for the formats would, without
+ * compiling or running any regular expression. The recognized words for days are given to the lexer, and are tried in
+ * the order given.
+ */
+public class DateTimeLexer {
+    private final List<String> dayWords;
+
+    /**
+     * A date time, or a pair of date times, found in a text.
+     */
+    public static class Match {
+        private final int start;
+        private final int end;
+        private final List<String> dateTimes;
+
+        private Match(int start, int end, List<String> dateTimes) {
+            this.start = start;
+            this.end = end;
+            this.dateTimes = dateTimes;
+        }
+
+        /**
+         * Returns the index of the first character of the match.
+         * @return the start of the match.
+         */
+        public int getStart() {
+            return this.start;
+        }
+
+        /**
+         * Returns the index after the last character of the match.
+         * @return the end of the match.
+         */
+        public int getEnd() {
+            return this.end;
+        }
+
+        /**
+         * Returns the text of each date time in the match, without any separator between them.
+         * @return the date times in the match.
+         */
+        public List<String> getDateTimes() {
+            return this.dateTimes;
+        }
+    }
+
+    /**
+     * Constructs a lexer recognizing a list of words for days.
+     * @param dayWords the words for days, in the order they are to be tried.
+     */
+    public DateTimeLexer(String... dayWords) {
+        this.dayWords = Collections.unmodifiableList(Arrays.asList(dayWords));
+    }
+
+    /**
+     * Returns true if the whole text is a date, optionally followed by a time.
+     * @param text the text to be checked.
+     * @return true if the text is a date.
+     */
+    public boolean isDate(CharSequence text) {
+        return matchDate(text, 0, end -> matchOptionalTime(text, end, timeEnd -> timeEnd == text.length()));
+    }
+
+    /**
+     * Returns true if the whole text is a word for a day, optionally followed by a time.
+     * @param text the text to be checked.
+     * @return true if the text is a word for a day.
+     */
+    public boolean isDay(CharSequence text) {
+        return this.matchDayWord(text, 0, end -> matchOptionalTime(text, end, timeEnd -> timeEnd == text.length()));
+    }
+
+    /**
+     * Finds the last date time in the text. Like repeated regular expression searches, date times are searched for
+     * from the start of the text, and each search continues from the end of the previous date time found.
+     * @param text the text to be searched.
+     * @return the last date time found, or empty if there is none.
+     */
+    public Optional<Match> findLastDateTime(CharSequence text) {
+        Match lastMatch = null;
+        int[] ends = new int[1];
+
+        for (int start = 0; start < text.length(); start++) {
+            if (this.matchDateTime(text, start, end -> setEnds(ends, end))) {
+                List<String> dateTimes = List.of(text.subSequence(start, ends[0]).toString());
+                lastMatch = new Match(start, ends[0], dateTimes);
+                start = ends[0] - 1;
+            }
+        }
+
+        return Optional.ofNullable(lastMatch);
+    }
+
+    /**
+     * Finds the last pair of date times in the text. The date times of a pair are separated by "to", optionally with a
+     * whitespace on either side of it, or else by a single whitespace. Pairs are searched for in the same way as the
+     * findLastDateTime(CharSequence text) method.
+     * @param text the text to be searched.
+     * @return the last pair of date times found, or empty if there is none.
+     */
+    public Optional<Match> findLastDateTimePair(CharSequence text) {
+        Match lastMatch = null;
+        // the end of the first date time, the start of the second date time and the end of the pair
+        int[] ends = new int[3];
+
+        for (int start = 0; start < text.length(); start++) {
+            if (this.matchDateTimePair(text, start, ends)) {
+                List<String> dateTimes = new ArrayList<>(2);
+                dateTimes.add(text.subSequence(start, ends[0]).toString());
+                dateTimes.add(text.subSequence(ends[1], ends[2]).toString());
+                lastMatch = new Match(start, ends[2], Collections.unmodifiableList(dateTimes));
+                start = ends[2] - 1;
+            }
+        }
+
+        return Optional.ofNullable(lastMatch);
+    }
+
+    private boolean matchDateTimePair(CharSequence text, int index, int[] ends) {
+        // pairs separated by "to" are preferred over pairs separated by a whitespace
+        return this.matchDateTime(text, index, firstEnd -> matchToSeparator(text, firstEnd, secondStart ->
+                this.matchDateTime(text, secondStart, secondEnd -> setEnds(ends, firstEnd, secondStart, secondEnd))))
+                || this.matchDateTime(text, index, firstEnd -> isWhitespace(text, firstEnd)
+                && this.matchDateTime(text, firstEnd + 1, secondEnd ->
+                setEnds(ends, firstEnd, firstEnd + 1, secondEnd)));
+    }
+
+    private static boolean setEnds(int[] ends, int... values) {
+        System.arraycopy(values, 0, ends, 0, values.length);
+        return true;
+    }
+
+    private boolean matchDateTime(CharSequence text, int index, IntPredicate next) {
+        return matchDate(text, index, end -> matchOptionalTime(text, end, next))
+                || this.matchDayWord(text, index, end -> matchOptionalTime(text, end, next));
+    }
+
+    private static boolean matchDate(CharSequence text, int index, IntPredicate next) {
+        return matchDay(text, index, dayEnd -> isSeparator(text, dayEnd)
+                && matchMonth(text, dayEnd + 1, monthEnd -> isSeparator(text, monthEnd)
+                && matchYear(text, monthEnd + 1, next)));
+    }
+
+    private static boolean matchDay(CharSequence text, int index, IntPredicate next) {
+        // '|' is accepted wherever the former character classes [1|2] and [0|1] accepted it, so that the same matches
+        // are found, and is rejected when the number is parsed
+        return matchSingleDigitNumber(text, index, next)
+                || (isAnyOf(text, index, "1|2") && isDigit(text, index + 1) && next.test(index + 2))
+                || (isAnyOf(text, index, "3") && isAnyOf(text, index + 1, "0|1") && next.test(index + 2));
+    }
+
+    private static boolean matchMonth(CharSequence text, int index, IntPredicate next) {
+        return matchSingleDigitNumber(text, index, next)
+                || (isAnyOf(text, index, "1") && isAnyOf(text, index + 1, "012") && next.test(index + 2));
+    }
+
+    private static boolean matchSingleDigitNumber(CharSequence text, int index, IntPredicate next) {
+        // the leading zero is optional, and is taken if possible
+        return (isAnyOf(text, index, "0") && isAnyOf(text, index + 1, "123456789") && next.test(index + 2))
+                || (isAnyOf(text, index, "123456789") && next.test(index + 1));
+    }
+
+    private static boolean matchYear(CharSequence text, int index, IntPredicate next) {
+        return (isDigits(text, index, 4) && next.test(index + 4))
+                || (isDigits(text, index, 2) && next.test(index + 2));
+    }
+
+    private static boolean matchOptionalTime(CharSequence text, int index, IntPredicate next) {
+        // the time is optional, and is taken if possible
+        return (isWhitespace(text, index) && isDigits(text, index + 1, 4) && next.test(index + 5))
+                || next.test(index);
+    }
+
+    private static boolean matchToSeparator(CharSequence text, int index, IntPredicate next) {
+        return (isWhitespace(text, index) && matchToWord(text, index + 1, next))
+                || matchToWord(text, index, next);
+    }
+
+    private static boolean matchToWord(CharSequence text, int index, IntPredicate next) {
+        if (!isAnyOf(text, index, "t") || !isAnyOf(text, index + 1, "o")) {
+            return false;
+        }
+
+        return (isWhitespace(text, index + 2) && next.test(index + 3)) || next.test(index + 2);
+    }
+
+    private boolean matchDayWord(CharSequence text, int index, IntPredicate next) {
+        for (String word : this.dayWords) {
+            if (startsWithIgnoreCase(text, index, word) && next.test(index + word.length())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean startsWithIgnoreCase(CharSequence text, int index, String word) {
+        if (index + word.length() > text.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < word.length(); i++) {
+            if (toAsciiLowerCase(text.charAt(index + i)) != toAsciiLowerCase(word.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static char toAsciiLowerCase(char character) {
+        return character >= 'A' && character <= 'Z' ? (char) (character + ('a' - 'A')) : character;
+    }
+
+    private static boolean isAnyOf(CharSequence text, int index, String characters) {
+        return index < text.length() && characters.indexOf(text.charAt(index)) != -1;
+    }
+
+    private static boolean isDigit(CharSequence text, int index) {
+        return isAnyOf(text, index, "0123456789");
+    }
+
+    private static boolean isDigits(CharSequence text, int index, int count) {
+        for (int i = index; i < index + count; i++) {
+            if (!isDigit(text, i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isSeparator(CharSequence text, int index) {
+        return isAnyOf(text, index, "./-");
+    }
+
+    /**
+     * Returns true if the character at an index of the text is one of the whitespace characters matched by \s in
+     * regular expressions, which are fewer than those of Character.isWhitespace(char ch).
+     * @param text the text to be checked.
+     * @param index the index of the character.
+     * @return true if the character is a whitespace.
+     */
+    static boolean isWhitespace(CharSequence text, int index) {
+        return isAnyOf(text, index, " \t\n\u000B\f\r");
+    }
+}
@@ -0,0 +1,244 @@
+package duke;
+
+import duke.command.Command;
+import duke.command.UndoAction;
+import duke.command.delete.DeleteCommandProducer;
+import duke.command.sort.SortCommand;
+import duke.command.sort.TaskSorts;
+import duke.history.HistoryEntry;
+import duke.task.CachedTaskRepo;
+import duke.task.ITaskRepo;
+import duke.task.Task;
+import duke.task.TasksController;
+import duke.task.tasks.ToDo;
+import error.command.CommandCreationException;
+import error.storage.StorageException;
+import error.task.TaskCreationException;
+import error.task.TaskRepoException;
+import error.ui.UiException;
+import error.ui.UiInitializationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import storage.InMemStorage;
+import ui.StubInput;
+import ui.StubOutput;
+import ui.Ui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+class CommandExecutorTest {
+    private static final int TASKS_COUNT = 2000;
+
+    private ITaskRepo repo;
+    private TasksController controller;
+
+    private List<Task> generateMocks() throws UiInitializationException, TaskCreationException, TaskRepoException {
+        Ui ui = new Ui(new StubInput(null), new StubOutput(), null);
+        ui.initializeUi();
+
+        this.repo = new CachedTaskRepo(new InMemStorage());
+        this.controller = new TasksController(this.repo);
+        this.controller.registerUi(ui.getUiOutputAccessor());
+
+        Random random = new Random(42);
+        List<Task> tasks = new ArrayList<>();
+
+        for (int i = 0; i < TASKS_COUNT; i++) {
+            tasks.add(new ToDo("task " + random.nextInt(TASKS_COUNT)));
+        }
+
+        this.repo.setNewTasks(tasks);
+        return tasks;
+    }
+
+    private static Command generateCommand(UndoAction undoAction) {
+        return generateCommand(undoAction, UndoAction.BASE_SIZE);
+    }
+
+    private static Command generateCommand(UndoAction undoAction, long estimatedSize) {
+        HistoryEntry undoEntry = new HistoryEntry(null, null, null) {
+            @Override
+            public boolean undo() throws UiException {
+                return undoAction.undo();
+            }
+
+            @Override
+            public long getEstimatedSize() {
+                return estimatedSize;
+            }
+        };
+
+        return new Command() {
+            @Override
+            public boolean execute() {
+                // nothing to execute, only the HistoryEntry is needed
+                return true;
+            }
+
+            @Override
+            public Optional<HistoryEntry> getUndoAction() {
+                return Optional.of(undoEntry);
+            }
+        };
+    }
+
+    @Test
+    void sortIsUndoneFromIndexes() throws Exception {
+        List<Task> tasks = this.generateMocks();
+        CommandExecutor executor = new CommandExecutor();
+
+        executor.executeCommand(new SortCommand(TaskSorts.NAME, this.controller));
+        Assertions.assertNotEquals(tasks, this.repo.getCurrentTasks());
+
+        // the undo history holds an index for each task instead of a copy of the list of tasks
+        long sortSize = executor.getUndoActionsSize();
+        Assertions.assertTrue(sortSize <= 4L * TASKS_COUNT + 4 * UndoAction.BASE_SIZE);
+        List<Task> sortedTasks = this.repo.getCurrentTasks();
+
+        Assertions.assertTrue(executor.undoLatestAction());
+        Assertions.assertEquals(tasks, this.repo.getCurrentTasks());
+        Assertions.assertEquals(sortSize, executor.getUndoActionsSize());
+
+        Assertions.assertTrue(executor.redoLatestEntry());
+        Assertions.assertEquals(sortedTasks, this.repo.getCurrentTasks());
+        Assertions.assertEquals(sortSize, executor.getUndoActionsSize());
+    }
+
+    @Test
+    void deletedTasksCountTowardsHistorySize() throws Exception {
+        List<Task> tasks = this.generateMocks();
+        CommandExecutor executor = new CommandExecutor();
+        DeleteCommandProducer deleteCommandProducer = new DeleteCommandProducer(this.controller);
+
+        executor.executeCommand(deleteCommandProducer.generateCommand("1-10,20"));
+        long deleteSize = executor.getUndoActionsSize();
+        List<Task> deletedTasks = new ArrayList<>(tasks.subList(0, 10));
+        deletedTasks.add(tasks.get(19));
+        long deletedTasksSize = UndoAction.estimateTasksSize(deletedTasks);
+        Assertions.assertTrue(deleteSize >= deletedTasksSize);
+        Assertions.assertTrue(deleteSize <= deletedTasksSize + 2 * 4 * 11 + 4 * UndoAction.BASE_SIZE);
+
+        executor.executeCommand(deleteCommandProducer.generateCommand("all"));
+        Assertions.assertTrue(executor.getUndoActionsSize() - deleteSize
+                >= UndoAction.TASK_BASE_SIZE * (TASKS_COUNT - 11));
+
+        Assertions.assertTrue(executor.undoLatestAction());
+        Assertions.assertTrue(executor.undoLatestAction());
+        Assertions.assertEquals(tasks, this.repo.getCurrentTasks());
+        Assertions.assertEquals(2, executor.getRedoEntriesCount());
+
+        // executing another command forgets the undone commands
+        executor.executeCommand(new SortCommand(TaskSorts.NAME, this.controller));
+        Assertions.assertEquals(0, executor.getRedoEntriesCount());
+        Assertions.assertTrue(executor.getUndoActionsSize() <= 4L * TASKS_COUNT + 4 * UndoAction.BASE_SIZE);
+    }
+
+    @Test
+    void failedSortIsNotRecorded() throws Exception {
+        this.generateMocks();
+        this.repo = new CachedTaskRepo(new InMemStorage() {
+            @Override
+            public void writeTasks(List<Task> tasks) throws StorageException {
+                throw new StorageException("Unable to save tasks");
+            }
+        });
+        this.controller = new TasksController(this.repo);
+        CommandExecutor executor = new CommandExecutor();
+
+        executor.executeCommand(new SortCommand(TaskSorts.NAME, this.controller));
+        Assertions.assertEquals(0, executor.getUndoActionsCount());
+    }
+
+    @Test
+    void estimatedSizeMatchesMeasuredHeap() throws Exception {
+        this.generateMocks();
+        CommandExecutor executor = new CommandExecutor(Long.MAX_VALUE);
+        DeleteCommandProducer deleteCommandProducer = new DeleteCommandProducer(this.controller);
+        this.repo.deleteAllTasks();
+
+        long usedHeapBefore = getUsedHeap();
+
+        // the deleted tasks are only held by the history once they are deleted
+        for (int i = 0; i < 20; i++) {
+            List<Task> tasks = new ArrayList<>();
+
+            for (int j = 0; j < TASKS_COUNT; j++) {
+                tasks.add(new ToDo("task " + i + " " + j));
+            }
+
+            this.repo.setNewTasks(tasks);
+            executor.executeCommand(deleteCommandProducer.generateCommand("all"));
+        }
+
+        long measuredSize = getUsedHeap() - usedHeapBefore;
+        long estimatedSize = executor.getUndoActionsSize();
+
+        Assertions.assertEquals(20, executor.getUndoActionsCount());
+        // the estimate leaves room for JVMs without compressed references, but must not be far below the real size
+        Assertions.assertTrue(measuredSize >= estimatedSize / 3 && measuredSize <= estimatedSize * 2,
+                "estimated " + estimatedSize + " bytes, measured " + measuredSize + " bytes");
+    }
+
+    private static long getUsedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Test
+    void evictsOldestUndoActionsOverBudget() throws UiException, CommandCreationException {
+        CommandExecutor executor = new CommandExecutor(10 * UndoAction.BASE_SIZE);
+        List<Integer> undoneCommands = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            int command = i;
+            executor.executeCommand(generateCommand(() -> undoneCommands.add(command)));
+            Assertions.assertTrue(executor.getUndoActionsSize() <= 10 * UndoAction.BASE_SIZE);
+        }
+
+        Assertions.assertEquals(10, executor.getUndoActionsCount());
+
+        while (executor.undoLatestAction()) {
+            // each UndoAction records its command once undone
+        }
+
+        Assertions.assertEquals(List.of(99, 98, 97, 96, 95, 94, 93, 92, 91, 90), undoneCommands);
+    }
+
+    @Test
+    void keepsUndoActionThatFails() throws UiException, CommandCreationException {
+        CommandExecutor executor = new CommandExecutor();
+        boolean[] isUndoable = {false};
+
+        executor.executeCommand(generateCommand(() -> isUndoable[0]));
+        long size = executor.getUndoActionsSize();
+
+        Assertions.assertFalse(executor.undoLatestAction());
+        Assertions.assertEquals(1, executor.getUndoActionsCount());
+        Assertions.assertEquals(size, executor.getUndoActionsSize());
+
+        isUndoable[0] = true;
+        Assertions.assertTrue(executor.undoLatestAction());
+        Assertions.assertEquals(0, executor.getUndoActionsCount());
+        Assertions.assertFalse(executor.undoLatestAction());
+    }
+
+    @Test
+    void keepsLatestUndoActionOverBudget() throws UiException, CommandCreationException {
+        CommandExecutor executor = new CommandExecutor(UndoAction.BASE_SIZE);
+
+        executor.executeCommand(generateCommand(() -> true));
+        executor.executeCommand(generateCommand(() -> true, 10 * UndoAction.BASE_SIZE));
+
+        Assertions.assertEquals(1, executor.getUndoActionsCount());
+        Assertions.assertEquals(10 * UndoAction.BASE_SIZE, executor.getUndoActionsSize());
+    }
+}
@@ -0,0 +1,83 @@
+package duke;
+
+import duke.command.creation.AddCommandFactory;
+import duke.command.creation.MainCommandFactory;
+import duke.command.done.DoneCommandProducer;
+import duke.task.CachedTaskRepo;
+import duke.task.TasksController;
+import error.command.CommandProducerRegisterException;
+import error.storage.StorageException;
+import error.ui.UiException;
+import error.ui.UiInitializationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import storage.CountingStorage;
+import ui.StubInput;
+import ui.StubOutput;
+import ui.Ui;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+class ScriptRunnerTest {
+    private final CountingStorage storage = new CountingStorage();
+    private final StubOutput output = new StubOutput();
+    private Ui ui;
+    private ScriptRunner scriptRunner;
+
+    private void generateMocks(int flushInterval) throws UiInitializationException, CommandProducerRegisterException {
+        this.ui = new Ui(new StubInput(null), this.output, null);
+        this.ui.initializeUi();
+
+        TasksController tasksController = new TasksController(new CachedTaskRepo(this.storage));
+        tasksController.registerUi(this.ui.getUiOutputAccessor());
+
+        MainCommandFactory commandFactory = new MainCommandFactory();
+        commandFactory.registerCommandProducer(new DoneCommandProducer(tasksController));
+        commandFactory.registerCommandFactory(new AddCommandFactory(tasksController));
+
+        this.scriptRunner = new ScriptRunner(commandFactory, new CommandExecutor(), this.storage, this.ui,
+                flushInterval);
+    }
+
+    private ScriptRunner.Report runScript(String script) throws IOException, StorageException, UiException {
+        return this.scriptRunner.runScript(new BufferedReader(new StringReader(script)));
+    }
+
+    @Test
+    void runsCommandsAndCountsFailures() throws Exception {
+        this.generateMocks(ScriptRunner.DEFAULT_FLUSH_INTERVAL);
+
+        ScriptRunner.Report report = this.runScript("todo read book\n\ndeadline essay 1/1/2020\nfly\ndone 1\n"
+                + "done x\ndone 1\ndone 999\n");
+
+        // commands that fail when they are executed count as failures too
+        Assertions.assertEquals(7, report.getCommandsCount());
+        Assertions.assertEquals(4, report.getFailuresCount());
+        Assertions.assertEquals(4, report.getFailures().size());
+        Assertions.assertTrue(report.getFailures().get(0).startsWith("Line 4: "));
+        Assertions.assertTrue(report.getFailures().get(1).startsWith("Line 6: "));
+        Assertions.assertTrue(report.getFailures().get(2).startsWith("Line 7: "));
+        Assertions.assertTrue(report.getFailures().get(3).startsWith("Line 8: "));
+        Assertions.assertEquals(2, this.storage.getTasks().size());
+        Assertions.assertTrue(this.storage.getTasks().get(0).isTaskDone());
+
+        // output of the commands is suppressed while the script runs
+        Assertions.assertEquals(0, this.output.getReceivedOutputs().size());
+        Assertions.assertFalse(this.scriptRunner.isRunning());
+    }
+
+    @Test
+    void resumesOutputAfterScript() throws Exception {
+        this.generateMocks(2);
+
+        ScriptRunner.Report report = this.runScript("todo a\ntodo b\ntodo c\n");
+        Assertions.assertEquals(0, report.getFailuresCount());
+        Assertions.assertEquals(3, this.storage.getTasks().size());
+
+        this.ui.displayOutput(report.formatReport());
+        Assertions.assertEquals(1, this.output.getReceivedOutputs().size());
+        Assertions.assertTrue(this.output.getReceivedOutputs().get(0).startsWith("3 commands in "));
+    }
+}
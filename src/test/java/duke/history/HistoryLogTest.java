@@ -0,0 +1,162 @@
+package duke.history;
+
+import duke.CommandExecutor;
+import duke.command.add.AddCommand;
+import duke.command.done.DoneCommand;
+import duke.command.sort.SortCommand;
+import duke.command.sort.TaskSorts;
+import duke.task.CachedTaskRepo;
+import duke.task.ITaskRepo;
+import duke.task.Task;
+import duke.task.TasksController;
+import duke.task.tasks.ToDo;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import storage.JournalStorage;
+import storage.Storage;
+import storage.WriteBehindStorage;
+import ui.StubInput;
+import ui.StubOutput;
+import ui.Ui;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+
+class HistoryLogTest {
+    private Storage storage;
+    private ITaskRepo repo;
+    private TasksController controller;
+
+    private void generateMocks(Storage storage) throws Exception {
+        Ui ui = new Ui(new StubInput(null), new StubOutput(), null);
+        ui.initializeUi();
+
+        this.storage = storage;
+        this.repo = new CachedTaskRepo(storage);
+        this.controller = new TasksController(this.repo);
+        this.controller.registerUi(ui.getUiOutputAccessor());
+    }
+
+    private CommandExecutor restartExecutor(String logFilePath, long maxSize) throws Exception {
+        CommandExecutor executor = new CommandExecutor();
+        executor.attachHistoryLog(HistoryLog.getInstance(logFilePath, maxSize, this.storage, this.controller));
+
+        return executor;
+    }
+
+    @Test
+    void restoresUndoAndRedoAfterRestart() throws Exception {
+        String storageFilePath = Files.createTempDirectory("DukeHistoryTests") + "/tasks.DAT";
+        String logFilePath = storageFilePath + ".history";
+        this.generateMocks(JournalStorage.getInstance(storageFilePath));
+
+        CommandExecutor executor = this.restartExecutor(logFilePath, HistoryLog.DEFAULT_MAX_SIZE);
+        Task taskA = new ToDo("write essay");
+        Task taskB = new ToDo("buy milk");
+        executor.executeCommand(new AddCommand(taskA, this.controller));
+        executor.executeCommand(new AddCommand(taskB, this.controller));
+        executor.executeCommand(new SortCommand(TaskSorts.NAME, this.controller));
+        executor.executeCommand(new DoneCommand(0, this.controller));
+
+        Assertions.assertTrue(executor.undoLatestAction());
+        Assertions.assertTrue(executor.undoLatestAction());
+        Assertions.assertTrue(executor.redoLatestEntry());
+        Assertions.assertEquals(List.of(taskB, taskA), this.repo.getCurrentTasks());
+
+        CommandExecutor restartedExecutor = this.restartExecutor(logFilePath, HistoryLog.DEFAULT_MAX_SIZE);
+        Assertions.assertEquals(3, restartedExecutor.getUndoActionsCount());
+        Assertions.assertEquals(1, restartedExecutor.getRedoEntriesCount());
+        Assertions.assertEquals(executor.getUndoActionsSize(), restartedExecutor.getUndoActionsSize());
+
+        Assertions.assertTrue(restartedExecutor.redoLatestEntry());
+        Assertions.assertTrue(this.repo.getTaskFromListIndex(0).isTaskDone());
+
+        restartedExecutor = this.restartExecutor(logFilePath, HistoryLog.DEFAULT_MAX_SIZE);
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertTrue(restartedExecutor.undoLatestAction());
+        }
+
+        Assertions.assertFalse(restartedExecutor.undoLatestAction());
+        Assertions.assertEquals(0, this.repo.getCurrentTasksCount());
+    }
+
+    @Test
+    void dropsRecordsNotMatchingStoredTasks() throws Exception {
+        String storageFilePath = Files.createTempDirectory("DukeHistoryTests") + "/tasks.DAT";
+        String logFilePath = storageFilePath + ".history";
+        WriteBehindStorage writeBehindStorage = WriteBehindStorage.getInstance(
+                JournalStorage.getInstance(storageFilePath));
+        writeBehindStorage.deferWrites();
+        this.generateMocks(writeBehindStorage);
+
+        CommandExecutor executor = this.restartExecutor(logFilePath, HistoryLog.DEFAULT_MAX_SIZE);
+        Task taskA = new ToDo("write essay");
+        Task taskB = new ToDo("buy milk");
+        executor.executeCommand(new AddCommand(taskA, this.controller));
+        executor.executeCommand(new AddCommand(taskB, this.controller));
+        writeBehindStorage.flush();
+        executor.executeCommand(new DoneCommand(1, this.controller));
+
+        // the program stopped before the latest change was written, so only the records made before it are replayed
+        this.generateMocks(JournalStorage.getInstance(storageFilePath));
+        CommandExecutor restartedExecutor = this.restartExecutor(logFilePath, HistoryLog.DEFAULT_MAX_SIZE);
+        Assertions.assertEquals(2, restartedExecutor.getUndoActionsCount());
+
+        Assertions.assertTrue(restartedExecutor.undoLatestAction());
+        Assertions.assertEquals(List.of(taskA), this.repo.getCurrentTasks());
+
+        // changes that no record was made for drop the whole history
+        this.repo.setNewTasks(List.of(taskB));
+        restartedExecutor = this.restartExecutor(logFilePath, HistoryLog.DEFAULT_MAX_SIZE);
+        Assertions.assertEquals(0, restartedExecutor.getUndoActionsCount());
+        Assertions.assertEquals(0, restartedExecutor.getRedoEntriesCount());
+    }
+
+    @Test
+    void flushesDeferredRecordsTogether() throws Exception {
+        String storageFilePath = Files.createTempDirectory("DukeHistoryTests") + "/tasks.DAT";
+        String logFilePath = storageFilePath + ".history";
+        this.generateMocks(JournalStorage.getInstance(storageFilePath));
+
+        CommandExecutor executor = this.restartExecutor(logFilePath, HistoryLog.DEFAULT_MAX_SIZE);
+        long logSize = new File(logFilePath).length();
+
+        executor.deferHistoryFlushes();
+        executor.executeCommand(new AddCommand(new ToDo("write essay"), this.controller));
+        executor.executeCommand(new AddCommand(new ToDo("buy milk"), this.controller));
+        Assertions.assertEquals(logSize, new File(logFilePath).length());
+
+        executor.resumeHistoryFlushes();
+        Assertions.assertTrue(new File(logFilePath).length() > logSize);
+        CommandExecutor restartedExecutor = this.restartExecutor(logFilePath, HistoryLog.DEFAULT_MAX_SIZE);
+        Assertions.assertEquals(2, restartedExecutor.getUndoActionsCount());
+    }
+
+    @Test
+    void compactsLogBeyondMaxSize() throws Exception {
+        String storageFilePath = Files.createTempDirectory("DukeHistoryTests") + "/tasks.DAT";
+        String logFilePath = storageFilePath + ".history";
+        this.generateMocks(JournalStorage.getInstance(storageFilePath));
+        long maxSize = 4096;
+
+        CommandExecutor executor = this.restartExecutor(logFilePath, maxSize);
+
+        for (int i = 0; i < 500; i++) {
+            executor.executeCommand(new AddCommand(new ToDo("task " + i), this.controller));
+            Assertions.assertTrue(new File(logFilePath).length() <= maxSize);
+        }
+
+        List<Task> tasks = this.repo.getCurrentTasks();
+        CommandExecutor restartedExecutor = this.restartExecutor(logFilePath, maxSize);
+        int restoredCount = restartedExecutor.getUndoActionsCount();
+        Assertions.assertTrue(restoredCount > 0 && restoredCount < 500);
+
+        // only the latest commands are restored, and they are undone in order
+        while (restartedExecutor.getUndoActionsCount() > 0) {
+            Assertions.assertTrue(restartedExecutor.undoLatestAction());
+        }
+
+        Assertions.assertEquals(tasks.subList(0, 500 - restoredCount), this.repo.getCurrentTasks());
+    }
+}
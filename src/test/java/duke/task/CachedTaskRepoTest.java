@@ -0,0 +1,431 @@
+package duke.task;
+
+import duke.command.sort.TaskSorts;
+import duke.task.tasks.Deadline;
+import duke.task.tasks.DoAfter;
+import duke.task.tasks.DoWithin;
+import duke.task.tasks.Event;
+import duke.task.tasks.ToDo;
+import error.storage.StorageException;
+import error.task.TaskCreationException;
+import error.task.TaskRepoException;
+import error.ui.UiException;
+import error.ui.UiInitializationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import storage.CountingStorage;
+import storage.InMemStorage;
+import ui.StubInput;
+import ui.StubOutput;
+import ui.Ui;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+class CachedTaskRepoTest {
+    private CountingStorage storage;
+    private CachedTaskRepo repo;
+    private TasksController controller;
+
+    private void generateMocks() throws UiInitializationException, TaskCreationException, StorageException {
+        this.storage = new CountingStorage();
+        this.storage.writeTasks(this.generateMockTasks());
+        this.repo = new CachedTaskRepo(this.storage);
+        this.controller = new TasksController(this.repo);
+
+        Ui ui = new Ui(new StubInput(null), new StubOutput(), null);
+        ui.initializeUi();
+        this.controller.registerUi(ui.getUiOutputAccessor());
+    }
+
+    private List<Task> generateMockTasks() throws TaskCreationException {
+        List<Task> mockTasks = new ArrayList<>();
+        mockTasks.add(new ToDo("helloc"));
+        mockTasks.add(new Event("hellob", LocalDateTime.now()));
+        mockTasks.add(new Deadline("helloa", LocalDateTime.now()));
+
+        return mockTasks;
+    }
+
+    @Test
+    void readsStorageOnlyOnce()
+            throws UiException, TaskRepoException, TaskCreationException, UiInitializationException, StorageException {
+        this.generateMocks();
+
+        this.controller.listTasks();
+        Assertions.assertEquals(1, this.storage.getReadsCount());
+
+        this.storage.resetCounts();
+        this.controller.addTask(new ToDo("hello"));
+        this.controller.setTaskToDone(2);
+        this.controller.setTaskToUndone(2);
+        this.controller.findTasks("hello");
+        this.controller.deleteTask(0);
+        this.controller.listTasks();
+
+        Assertions.assertEquals(0, this.storage.getReadsCount());
+    }
+
+    @Test
+    void writesThroughOncePerCommand()
+            throws UiException, TaskRepoException, TaskCreationException, UiInitializationException, StorageException {
+        this.generateMocks();
+        this.controller.listTasks();
+
+        this.storage.resetCounts();
+        this.controller.setTaskToDone(2);
+        Assertions.assertEquals(1, this.storage.getWritesCount());
+
+        this.storage.resetCounts();
+        this.controller.addTask(new ToDo("hello"));
+        Assertions.assertEquals(1, this.storage.getWritesCount());
+
+        this.storage.resetCounts();
+        this.controller.deleteTask(0);
+        Assertions.assertEquals(1, this.storage.getWritesCount());
+
+        this.storage.resetCounts();
+        this.controller.listTasks();
+        this.controller.findTasks("a");
+        Assertions.assertEquals(0, this.storage.getWritesCount());
+
+        Assertions.assertEquals(this.repo.getCurrentTasks(), this.storage.getTasks());
+        Assertions.assertTrue(this.storage.getTasks().get(1).isTaskDone());
+    }
+
+    @Test
+    void returnedTasksAreSnapshots()
+            throws UiException, TaskRepoException, TaskCreationException, UiInitializationException, StorageException {
+        this.generateMocks();
+
+        List<Task> snapshot = this.repo.getCurrentTasks();
+        Task task = this.repo.getTaskFromListIndex(0);
+        task.withDoneStatus(true);
+        this.repo.getCurrentTasks().clear();
+
+        Assertions.assertEquals(3, this.repo.getCurrentTasksCount());
+        Assertions.assertFalse(this.repo.getTaskFromListIndex(0).isTaskDone());
+
+        this.repo.updateTaskDoneStatus(0, true);
+        this.repo.addTask(new ToDo("hello"));
+
+        Assertions.assertEquals(3, snapshot.size());
+        Assertions.assertSame(task, snapshot.get(0));
+        Assertions.assertFalse(snapshot.get(0).isTaskDone());
+        Assertions.assertTrue(this.repo.getTaskFromListIndex(0).isTaskDone());
+    }
+
+    @Test
+    void failedWriteDoesNotChangeCache() throws TaskCreationException, TaskRepoException {
+        CachedTaskRepo failingRepo = new CachedTaskRepo(new InMemStorage() {
+            @Override
+            public void addTask(Task task) throws StorageException {
+                throw new StorageException("Unable to save tasks");
+            }
+        });
+
+        Assertions.assertThrows(TaskRepoException.class, () -> failingRepo.addTask(new ToDo("hello")));
+        Assertions.assertEquals(0, failingRepo.getCurrentTasksCount());
+    }
+
+    @Test
+    void findTasksByUuid()
+            throws UiException, TaskRepoException, TaskCreationException, UiInitializationException, StorageException {
+        this.generateMocks();
+        Task taskA = new ToDo("a");
+        Task taskB = new ToDo("b");
+        Task taskC = new ToDo("c");
+
+        this.repo.addTask(taskA);
+        Assertions.assertEquals(3, this.repo.getTaskIndexByUuid(taskA.getUuid()));
+
+        this.repo.addTaskToIndex(0, taskB);
+        this.repo.addTask(taskC);
+        Assertions.assertEquals(4, this.repo.getTaskIndexByUuid(taskA.getUuid()));
+        Assertions.assertEquals(taskB, this.repo.getTaskByUuid(taskB.getUuid()));
+
+        this.storage.resetCounts();
+        this.controller.deleteTaskByUuid(taskC.getUuid());
+        Assertions.assertEquals(1, this.storage.getWritesCount());
+        Assertions.assertEquals(0, this.storage.getReadsCount());
+
+        this.repo.deleteTaskByUuid(taskB.getUuid());
+        Task newTaskA = new ToDo("a2");
+        this.repo.updateTaskByUuid(taskA.getUuid(), newTaskA);
+
+        Assertions.assertEquals(3, this.repo.getTaskIndexByUuid(newTaskA.getUuid()));
+        Assertions.assertThrows(TaskRepoException.class, () -> this.repo.getTaskByUuid(taskA.getUuid()));
+        Assertions.assertThrows(TaskRepoException.class, () -> this.repo.deleteTaskByUuid(taskC.getUuid()));
+        Assertions.assertEquals(this.repo.getCurrentTasks(), this.storage.getTasks());
+    }
+
+    @Test
+    void searchesLikeFullScan()
+            throws UiException, TaskRepoException, TaskCreationException, UiInitializationException, StorageException {
+        this.generateMocks();
+        this.repo.searchTasks("hello");
+
+        this.repo.addTaskToIndex(1, new ToDo("say hello world"));
+        this.repo.addTask(new ToDo("world peace"));
+        this.repo.updateTask(0, new ToDo("hello, world"));
+        this.repo.deleteTask(2);
+
+        for (String parameter : new String[] {"hello", "o world", "world ", ", w", "lo, wo", "peace", "xyz"}) {
+            List<Task> expectedTasks = new ArrayList<>();
+            for (Task task : this.storage.getTasks()) {
+                if (task.getTaskDetails().toLowerCase().contains(parameter)) {
+                    expectedTasks.add(task);
+                }
+            }
+
+            Assertions.assertEquals(expectedTasks, this.repo.searchTasks(parameter));
+        }
+    }
+
+    @Test
+    void findsSimilarTasksLikeFullScan()
+            throws UiException, TaskRepoException, TaskCreationException, UiInitializationException, StorageException {
+        this.generateMocks();
+        this.repo.addTask(new ToDo("write report"));
+        this.repo.addTask(new ToDo("read reports"));
+        this.repo.forEachSimilarTask("hello", 1, task -> { });
+        this.repo.updateTask(0, new ToDo("rewrite the repot"));
+        this.repo.deleteTask(3);
+
+        DefaultTaskRepo defaultRepo = new DefaultTaskRepo(this.storage);
+
+        for (String parameter : new String[] {"reprot", "wirte reprot", "helo", "hello", "xyz", ""}) {
+            List<Task> expectedTasks = new ArrayList<>();
+            defaultRepo.forEachSimilarTask(parameter, 2, expectedTasks::add);
+            List<Task> similarTasks = new ArrayList<>();
+            this.repo.forEachSimilarTask(parameter, 2, similarTasks::add);
+
+            Assertions.assertEquals(expectedTasks, similarTasks);
+        }
+
+        List<Task> similarTasks = new ArrayList<>();
+        this.repo.forEachSimilarTask("reprot", 2, similarTasks::add);
+        Assertions.assertEquals(1, similarTasks.size());
+    }
+
+    @Test
+    void findsOverlappingTasksLikeFullScan()
+            throws UiException, TaskRepoException, TaskCreationException, UiInitializationException, StorageException {
+        this.generateMocks();
+        LocalDateTime now = LocalDateTime.now();
+        this.repo.forEachOverlappingTask(now, now, task -> { });
+
+        this.repo.addTask(new DoAfter("after", now.plusDays(2)));
+        this.repo.addTask(new DoWithin("within", now.plusDays(1), now.plusDays(3)));
+        this.repo.addTaskToIndex(0, new Deadline("deadline", now.plusDays(5)));
+        this.repo.addTask(new Event("event", now.minusDays(1)));
+        this.repo.updateTask(2, new Event("moved", now.plusDays(4)));
+        this.repo.deleteTask(3);
+
+        DefaultTaskRepo defaultRepo = new DefaultTaskRepo(this.storage);
+
+        for (int day = -2; day <= 6; day++) {
+            LocalDateTime from = now.plusDays(day);
+            LocalDateTime to = from.plusHours(12);
+
+            List<Task> expectedTasks = new ArrayList<>();
+            defaultRepo.forEachOverlappingTask(from, to, expectedTasks::add);
+            List<Task> overlappingTasks = new ArrayList<>();
+            this.repo.forEachOverlappingTask(from, to, overlappingTasks::add);
+
+            Assertions.assertEquals(expectedTasks, overlappingTasks);
+        }
+    }
+
+    @Test
+    void listsSortedTasksLikeFullSort()
+            throws UiException, TaskRepoException, TaskCreationException, UiInitializationException, StorageException {
+        this.generateMocks();
+        LocalDateTime now = LocalDateTime.now();
+        this.repo.forEachSortedTask(TaskSorts.NAME.comparator, (task, index) -> { });
+        this.repo.forEachSortedTask(TaskSorts.DATE.comparator, (task, index) -> { });
+
+        this.repo.addTask(new Deadline("b", now.plusDays(2)));
+        this.repo.addTaskToIndex(0, new ToDo("b"));
+        this.repo.addTask(new Event("a", now.minusDays(1)));
+        this.repo.updateTask(1, new ToDo("c"));
+        this.repo.updateTaskDoneStatus(2, true);
+        this.repo.deleteTask(4);
+
+        DefaultTaskRepo defaultRepo = new DefaultTaskRepo(this.storage);
+
+        for (TaskSorts sortingMethod : TaskSorts.values()) {
+            List<Integer> expectedIndexes = new ArrayList<>();
+            List<Task> expectedTasks = new ArrayList<>();
+            defaultRepo.forEachSortedTask(sortingMethod.comparator, (task, index) -> {
+                expectedIndexes.add(index);
+                expectedTasks.add(task);
+            });
+
+            List<Integer> sortedIndexes = new ArrayList<>();
+            List<Task> sortedTasks = new ArrayList<>();
+            this.repo.forEachSortedTask(sortingMethod.comparator, (task, index) -> {
+                sortedIndexes.add(index);
+                sortedTasks.add(task);
+            });
+
+            Assertions.assertEquals(expectedIndexes, sortedIndexes);
+            Assertions.assertEquals(expectedTasks, sortedTasks);
+        }
+
+        Assertions.assertEquals(this.storage.getTasks(), this.repo.getCurrentTasks());
+        Assertions.assertEquals(defaultRepo.getUndoneTasksCount(), this.repo.getUndoneTasksCount());
+    }
+
+    @Test
+    void followsTasksGivenNewLabels()
+            throws UiException, TaskRepoException, TaskCreationException, UiInitializationException, StorageException {
+        this.generateMocks();
+        this.repo.forEachSortedTask(TaskSorts.NAME.comparator, (task, index) -> { });
+        this.repo.getTaskIndexByUuid(this.repo.getTaskFromListIndex(0).getUuid());
+
+        // tasks added at the same index run out of labels between their neighbours, and equal tasks are sorted by label
+        List<Task> addedTasks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Task task = new ToDo("same");
+            this.repo.addTaskToIndex(1, task);
+            addedTasks.add(task);
+        }
+
+        for (int i = 0; i < addedTasks.size(); i++) {
+            Assertions.assertEquals(200 - i, this.repo.getTaskIndexByUuid(addedTasks.get(i).getUuid()));
+        }
+
+        List<Integer> expectedIndexes = new ArrayList<>();
+        new DefaultTaskRepo(this.storage).forEachSortedTask(TaskSorts.NAME.comparator,
+                (task, index) -> expectedIndexes.add(index));
+
+        List<Integer> sortedIndexes = new ArrayList<>();
+        this.repo.forEachSortedTask(TaskSorts.NAME.comparator, (task, index) -> sortedIndexes.add(index));
+        Assertions.assertEquals(expectedIndexes, sortedIndexes);
+    }
+
+    @Test
+    void keepsStatisticsLikeFullScan()
+            throws UiException, TaskRepoException, TaskCreationException, UiInitializationException, StorageException {
+        this.generateMocks();
+        LocalDateTime now = LocalDateTime.now();
+        this.repo.getTaskStatistics(now);
+
+        this.repo.addTask(new Deadline("late", now.minusDays(1)));
+        this.repo.addTaskToIndex(0, new Event("soon", now.plusHours(1)));
+        this.repo.updateTask(2, new Event("moved", now.minusHours(3)));
+        this.repo.updateTaskDoneStatus(1, true);
+        this.repo.deleteTask(0);
+
+        DefaultTaskRepo defaultRepo = new DefaultTaskRepo(this.storage);
+
+        for (LocalDateTime time : new LocalDateTime[] {now, now.plusDays(1), now.minusDays(2)}) {
+            TaskStatistics expectedStatistics = defaultRepo.getTaskStatistics(time);
+            TaskStatistics statistics = this.repo.getTaskStatistics(time);
+
+            Assertions.assertEquals(expectedStatistics.getTasksCount(), statistics.getTasksCount());
+            Assertions.assertEquals(expectedStatistics.getUndoneTasksCount(), statistics.getUndoneTasksCount());
+            Assertions.assertEquals(expectedStatistics.getOverdueTasksCount(), statistics.getOverdueTasksCount());
+            Assertions.assertEquals(expectedStatistics.getTasksCountByCharCode(),
+                    statistics.getTasksCountByCharCode());
+        }
+    }
+
+    @Test
+    void bulkChangesWriteOnceLikeDefaultRepo()
+            throws UiException, TaskRepoException, TaskCreationException, UiInitializationException, StorageException {
+        this.generateMocks();
+        for (int i = 0; i < 7; i++) {
+            this.repo.addTask(new ToDo("bulk " + i));
+        }
+
+        InMemStorage defaultStorage = new InMemStorage();
+        defaultStorage.writeTasks(this.repo.getCurrentTasks());
+        DefaultTaskRepo defaultRepo = new DefaultTaskRepo(defaultStorage);
+        List<Task> originalTasks = this.repo.getCurrentTasks();
+        this.controller.listSortedTasks(TaskSorts.NAME);
+        this.storage.resetCounts();
+
+        int[] indexes = {0, 4, 9};
+        this.controller.setTasksToDone(indexes);
+        defaultRepo.updateTasksDoneStatus(indexes, true);
+        Assertions.assertEquals(1, this.storage.getWritesCount());
+        Assertions.assertEquals(defaultRepo.getCurrentTasks(), this.repo.getCurrentTasks());
+        Assertions.assertTrue(this.repo.getTaskFromListIndex(4).isTaskDone());
+
+        // either all of the tasks are changed, or none of them are
+        Assertions.assertThrows(TaskRepoException.class, () -> this.repo.updateTasksDoneStatus(new int[] {3, 4}, true));
+        Assertions.assertFalse(this.repo.getTaskFromListIndex(3).isTaskDone());
+        Assertions.assertEquals(1, this.storage.getWritesCount());
+
+        List<Task> deletedTasks = this.controller.deleteTasks(new int[] {1, 5, 6});
+        defaultRepo.deleteTasks(new int[] {1, 5, 6});
+        Assertions.assertEquals(2, this.storage.getWritesCount());
+        Assertions.assertEquals(List.of(originalTasks.get(1), originalTasks.get(5), originalTasks.get(6)),
+                deletedTasks);
+        Assertions.assertEquals(defaultRepo.getCurrentTasks(), this.repo.getCurrentTasks());
+        Assertions.assertEquals(7, this.repo.getTaskStatistics(LocalDateTime.now()).getTasksCount());
+
+        this.controller.addTasksToIndexes(new int[] {1, 5, 6}, deletedTasks);
+        this.controller.setTasksToUndone(indexes);
+        Assertions.assertEquals(4, this.storage.getWritesCount());
+        Assertions.assertEquals(originalTasks, this.repo.getCurrentTasks());
+        Assertions.assertEquals(originalTasks, this.storage.getTasks());
+        Assertions.assertEquals(5, this.repo.getTaskIndexByUuid(originalTasks.get(5).getUuid()));
+        Assertions.assertEquals(List.of(originalTasks.get(6)), this.repo.searchTasks("bulk 3"));
+
+        List<Task> sortedTasks = new ArrayList<>();
+        this.repo.forEachSortedTask(TaskSorts.NAME.comparator, (task, index) -> sortedTasks.add(task));
+        List<Task> expectedSortedTasks = new ArrayList<>();
+        defaultRepo.setNewTasks(originalTasks);
+        defaultRepo.forEachSortedTask(TaskSorts.NAME.comparator, (task, index) -> expectedSortedTasks.add(task));
+        Assertions.assertEquals(expectedSortedTasks, sortedTasks);
+    }
+
+    @Test
+    void batchKeepsIndexesAndWritesOnce()
+            throws UiException, TaskRepoException, TaskCreationException, UiInitializationException, StorageException {
+        this.generateMocks();
+        List<Task> originalTasks = this.repo.getCurrentTasks();
+        this.controller.findTasks("hello");
+        this.controller.listSortedTasks(TaskSorts.NAME);
+        this.storage.resetCounts();
+
+        ToDo newTask = new ToDo("hellod");
+        this.repo.applyBatch(tasks -> {
+            tasks.deleteTask(tasks.getTaskIndexByUuid(originalTasks.get(1).getUuid()));
+            tasks.addTaskToIndex(0, newTask);
+            tasks.updateTaskDoneStatus(2, true);
+        });
+
+        Assertions.assertEquals(1, this.storage.getWritesCount());
+        Assertions.assertEquals(0, this.storage.getRewritesCount());
+        Assertions.assertEquals(0, this.storage.getReadsCount());
+        Assertions.assertEquals(this.storage.getTasks(), this.repo.getCurrentTasks());
+        Assertions.assertEquals(List.of(newTask), this.repo.searchTasks("hellod"));
+        Assertions.assertEquals(1, this.repo.getTaskIndexByUuid(originalTasks.get(0).getUuid()));
+        Assertions.assertTrue(this.repo.getTaskFromListIndex(2).isTaskDone());
+
+        List<Task> sortedTasks = new ArrayList<>();
+        this.repo.forEachSortedTask(TaskSorts.NAME.comparator, (task, index) -> sortedTasks.add(task));
+        Assertions.assertEquals(List.of(originalTasks.get(2), originalTasks.get(0), newTask), sortedTasks);
+    }
+
+    @Test
+    void invalidIndex()
+            throws UiException, TaskRepoException, TaskCreationException, UiInitializationException, StorageException {
+        this.generateMocks();
+
+        Assertions.assertThrows(TaskRepoException.class, () -> this.repo.getTaskFromListIndex(3));
+        Assertions.assertThrows(TaskRepoException.class, () -> this.repo.deleteTask(-1));
+        Assertions.assertThrows(TaskRepoException.class, () -> this.repo.addTaskToIndex(4, new ToDo("a")));
+        Assertions.assertThrows(TaskRepoException.class, () -> this.repo.updateTaskDoneStatus(3, true));
+        Assertions.assertThrows(TaskRepoException.class, () -> this.repo.deleteTasks(new int[] {2, 3}));
+        Assertions.assertThrows(TaskRepoException.class, () -> this.repo.deleteTasks(new int[] {2, 1}));
+        Assertions.assertThrows(TaskRepoException.class,
+            () -> this.repo.addTasksToIndexes(new int[] {0, 5}, List.of(new ToDo("a"), new ToDo("b"))));
+        Assertions.assertEquals(3, this.repo.getCurrentTasksCount());
+    }
+}
@@ -9,6 +9,7 @@ import error.task.TaskCreationException;
 import error.task.TaskRepoException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import storage.CountingStorage;
 import storage.InMemStorage;
 
 import java.time.LocalDateTime;
@@ -196,4 +197,50 @@ class DefaultTaskRepoTest {
         Task taskA = repo.getCurrentTasks().get(0);
         Assertions.assertEquals(mockTaskA, taskA);
     }
-}
\ No newline at end of file
+
+    @Test
+    void applyBatchWritesOnce() throws StorageException, TaskRepoException, TaskCreationException {
+        CountingStorage storage = new CountingStorage();
+        DefaultTaskRepo repo = new DefaultTaskRepo(storage);
+        List<Task> mockTasks = this.generateMockTasks();
+        storage.writeTasks(new ArrayList<>(mockTasks));
+        storage.resetCounts();
+
+        ToDo newTask = new ToDo("new");
+        repo.applyBatch(tasks -> {
+            tasks.deleteTask(tasks.getTaskIndexByUuid(mockTasks.get(1).getUuid()));
+            tasks.addTaskToIndex(0, newTask);
+            tasks.updateTaskDoneStatus(1, true);
+            Assertions.assertEquals(3, tasks.getCurrentTasksCount());
+        });
+
+        // the changes are written together through the single task methods of the storage
+        Assertions.assertEquals(1, storage.getWritesCount());
+        Assertions.assertEquals(0, storage.getRewritesCount());
+        Assertions.assertEquals(List.of(newTask, mockTasks.get(0), mockTasks.get(2)), repo.getCurrentTasks());
+        Assertions.assertTrue(repo.getTaskFromListIndex(1).isTaskDone());
+
+        storage.resetCounts();
+        repo.applyBatch(tasks -> tasks.deleteTask(0));
+        Assertions.assertEquals(1, storage.getWritesCount());
+        Assertions.assertEquals(0, storage.getRewritesCount());
+        Assertions.assertEquals(2, repo.getCurrentTasksCount());
+    }
+
+    @Test
+    void failedBatchIsRolledBack() throws StorageException, TaskRepoException, TaskCreationException {
+        CountingStorage storage = new CountingStorage();
+        DefaultTaskRepo repo = new DefaultTaskRepo(storage);
+        List<Task> mockTasks = this.generateMockTasks();
+        storage.writeTasks(mockTasks);
+        storage.resetCounts();
+
+        Assertions.assertThrows(TaskRepoException.class, () -> repo.applyBatch(tasks -> {
+            tasks.deleteTask(0);
+            tasks.updateTaskDoneStatus(5, true);
+        }));
+
+        Assertions.assertEquals(0, storage.getWritesCount());
+        Assertions.assertEquals(mockTasks, repo.getCurrentTasks());
+    }
+}
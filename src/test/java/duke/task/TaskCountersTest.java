@@ -0,0 +1,55 @@
+package duke.task;
+
+import duke.task.tasks.Deadline;
+import duke.task.tasks.DoAfter;
+import duke.task.tasks.Event;
+import duke.task.tasks.ToDo;
+import error.task.TaskCreationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+class TaskCountersTest {
+    @Test
+    void countsTasks() throws TaskCreationException {
+        LocalDateTime now = LocalDateTime.of(2019, 10, 1, 12, 0);
+        TaskCounters counters = new TaskCounters();
+        Task done = new ToDo("done").withDoneStatus(true);
+        counters.addTask(new ToDo("todo"));
+        counters.addTask(done);
+        counters.addTask(new Deadline("deadline", now.plusDays(1)));
+        counters.removeTask(done);
+
+        TaskStatistics statistics = counters.getStatistics(now);
+        Assertions.assertEquals(2, statistics.getTasksCount());
+        Assertions.assertEquals(2, statistics.getUndoneTasksCount());
+        Assertions.assertEquals(Integer.valueOf(1), statistics.getTasksCountByCharCode().get('T'));
+        Assertions.assertEquals(Integer.valueOf(1), statistics.getTasksCountByCharCode().get('D'));
+        Assertions.assertFalse(statistics.getTasksCountByCharCode().containsKey('E'));
+    }
+
+    @Test
+    void countsOverdueTasksAsTimePasses() throws TaskCreationException {
+        LocalDateTime now = LocalDateTime.of(2019, 10, 1, 12, 0);
+        TaskCounters counters = new TaskCounters();
+        Task deadline = new Deadline("deadline", now.plusDays(1));
+        counters.addTask(deadline);
+        counters.addTask(new Event("event", now.plusDays(2)));
+        counters.addTask(new DoAfter("after", now.minusDays(1)));
+        counters.addTask(new ToDo("todo"));
+
+        Assertions.assertEquals(0, counters.getOverdueTasksCount(now));
+        Assertions.assertEquals(1, counters.getOverdueTasksCount(now.plusDays(1).plusMinutes(1)));
+        Assertions.assertEquals(2, counters.getOverdueTasksCount(now.plusDays(3)));
+
+        counters.removeTask(deadline);
+        counters.addTask(deadline.withDoneStatus(true));
+        counters.addTask(new Deadline("late", now));
+        Assertions.assertEquals(2, counters.getOverdueTasksCount(now.plusDays(3)));
+
+        // turning the clock back uncounts the tasks that are no longer overdue
+        Assertions.assertEquals(1, counters.getOverdueTasksCount(now.plusDays(1)));
+        Assertions.assertEquals(0, counters.getOverdueTasksCount(now));
+    }
+}
@@ -75,6 +75,23 @@ class TasksControllerTest {
         Assertions.assertEquals(message, expectedMessage);
     }
 
+    @Test
+    void listTasksPage() throws UiException, TaskRepoException, TaskCreationException, UiInitializationException {
+        this.generateMocks();
+
+        List<Task> tasks = this.generateMockTasks();
+        this.repo.setNewTasks(tasks);
+        this.repo.updateTaskDoneStatus(2, true);
+
+        Assertions.assertTrue(controller.listTasksPage(2, 2));
+        Assertions.assertFalse(controller.listTasksPage(3, 2));
+
+        String message = output.getReceivedOutputs().get(0);
+        Assertions.assertTrue(message.startsWith("Page 2 of 2, these tasks are:\n3."));
+        Assertions.assertFalse(message.contains("\n1."));
+        Assertions.assertTrue(message.endsWith("3 tasks remaining you have, 2 of them undone."));
+    }
+
     @Test
     void addTask() throws UiException, TaskRepoException, TaskCreationException, UiInitializationException {
         this.generateMocks();
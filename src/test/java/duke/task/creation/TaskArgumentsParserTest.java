@@ -51,4 +51,20 @@ class TaskArgumentsParserTest {
         TaskArgumentsParser parserD = new TaskArgumentsParser("abcde", 2);
         Assertions.assertThrows(UnknownDateTimeException.class, parserD::parse);
     }
+
+    @Test
+    void parseSplitsAtLastMatch() throws TaskArgumentsException, UnknownDateTimeException {
+        TaskArguments argumentsA = new TaskArgumentsParser("trip today to tomorrow 1200", 2).parse();
+
+        Assertions.assertEquals("trip", argumentsA.getDetails());
+        Assertions.assertEquals(DateTime.parse("today"), argumentsA.getDateTimes().get(0));
+        Assertions.assertEquals(DateTime.parse("tomorrow").toLocalDate(),
+                argumentsA.getDateTimes().get(1).toLocalDate());
+        Assertions.assertEquals(12, argumentsA.getDateTimes().get(1).getHour());
+
+        TaskArguments argumentsB = new TaskArgumentsParser("Mon meeting on Mon", 1).parse();
+
+        Assertions.assertEquals("Mon meeting on", argumentsB.getDetails());
+        Assertions.assertEquals(DateTime.parse("mon"), argumentsB.getDateTimes().get(0));
+    }
 }
\ No newline at end of file
@@ -66,4 +66,14 @@ class TaskBuilderTest {
         Assertions.assertEquals(task.getTaskDescription(),
                 "[W][✘] hello everyone (from: Jan 02 2020, Thu, 02:10AM to: Feb 03 2021, Wed, 09:00AM)");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testWrongNumberOfDateTimes() throws UnknownDateTimeException {
+        TaskArguments arguments = new TaskArguments("hello everyone", List.of(DateTime.parse("02/01/2020 0210")));
+
+        Assertions.assertThrows(TaskCreationException.class, () ->
+                TaskBuilder.buildTask(TaskType.DO_WITHIN, arguments));
+        Assertions.assertEquals(TaskType.DO_WITHIN, TaskType.fromKeyword("within").get());
+        Assertions.assertTrue(TaskType.fromKeyword("Within").isEmpty());
+    }
+}
@@ -0,0 +1,43 @@
+package duke.task.search;
+
+import duke.task.Task;
+import duke.task.tasks.ToDo;
+import error.task.TaskCreationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+class TokenIndexTest {
+    @Test
+    void findsCandidatesByTokens() throws TaskCreationException {
+        TokenIndex index = new TokenIndex();
+        Task meeting = new ToDo("Team meeting, room 3");
+        Task lunch = new ToDo("lunch with team");
+        Task report = new ToDo("write report");
+        index.addTask(meeting);
+        index.addTask(lunch);
+        index.addTask(report);
+
+        Assertions.assertEquals(Set.of(meeting.getUuid(), lunch.getUuid()), index.getCandidateTasks("team ").get());
+        Assertions.assertEquals(Set.of(meeting.getUuid()), index.getCandidateTasks("am meet").get());
+        Assertions.assertEquals(Set.of(meeting.getUuid()), index.getCandidateTasks(", room").get());
+        Assertions.assertEquals(Set.of(lunch.getUuid()), index.getCandidateTasks(" with ").get());
+        Assertions.assertEquals(Set.of(), index.getCandidateTasks("lunch report").get());
+        Assertions.assertEquals(Optional.empty(), index.getCandidateTasks("eport"));
+    }
+
+    @Test
+    void removesTasks() throws TaskCreationException {
+        TokenIndex index = new TokenIndex();
+        Task task = new ToDo("hello world");
+        index.addTask(task);
+        index.addTask(new ToDo("hello"));
+        index.removeTask(task);
+
+        Optional<Set<UUID>> candidates = index.getCandidateTasks("o world");
+        Assertions.assertEquals(Set.of(), candidates.get());
+    }
+}
@@ -0,0 +1,42 @@
+package duke.task.search;
+
+import duke.task.Task;
+import duke.task.tasks.ToDo;
+import error.task.TaskCreationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.Set;
+
+class TrigramIndexTest {
+    @Test
+    void findsCandidatesInsideWords() throws TaskCreationException {
+        TrigramIndex index = new TrigramIndex();
+        Task premeeting = new ToDo("Premeeting notes");
+        Task meet = new ToDo("meet Bob");
+        Task report = new ToDo("write report");
+        index.addTask(premeeting);
+        index.addTask(meet);
+        index.addTask(report);
+
+        Assertions.assertEquals(Set.of(premeeting.getUuid(), meet.getUuid()), index.getCandidateTasks("MEET").get());
+        Assertions.assertEquals(Set.of(premeeting.getUuid()), index.getCandidateTasks("emeeti").get());
+        Assertions.assertEquals(Set.of(), index.getCandidateTasks("meetx").get());
+        Assertions.assertEquals(Optional.empty(), index.getCandidateTasks("me"));
+    }
+
+    @Test
+    void tracksMemoryUsage() throws TaskCreationException {
+        TrigramIndex index = new TrigramIndex();
+        Task task = new ToDo("hello world");
+        Assertions.assertEquals(0, index.estimateMemoryUsage());
+
+        index.addTask(task);
+        Assertions.assertTrue(index.estimateMemoryUsage() > 0);
+
+        index.removeTask(task);
+        Assertions.assertEquals(0, index.estimateMemoryUsage());
+        Assertions.assertEquals(Set.of(), index.getCandidateTasks("hello").get());
+    }
+}
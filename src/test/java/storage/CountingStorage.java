@@ -0,0 +1,130 @@
+package storage;
+
+import duke.task.Task;
+import error.storage.StorageException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Storage stub that counts the number of times tasks are read from and written to an underlying InMemStorage, and
+ * how many of the writes rewrite the entire list of tasks. A run of changes written together counts as one write.
+ */
+public class CountingStorage implements Storage {
+    private final InMemStorage storage = new InMemStorage();
+    private int readsCount;
+    private int writesCount;
+    private int rewritesCount;
+
+    @Override
+    public List<Task> getTasks() throws StorageException {
+        this.readsCount++;
+        return storage.getTasks();
+    }
+
+    @Override
+    public Task getTask(int index) throws StorageException {
+        this.readsCount++;
+        return storage.getTask(index);
+    }
+
+    @Override
+    public int getTasksCount() throws StorageException {
+        this.readsCount++;
+        return storage.getTasksCount();
+    }
+
+    @Override
+    public void writeTasks(List<Task> tasks) throws StorageException {
+        this.writesCount++;
+        this.rewritesCount++;
+        storage.writeTasks(tasks);
+    }
+
+    @Override
+    public void addTask(Task task) throws StorageException {
+        this.writesCount++;
+        storage.addTask(task);
+    }
+
+    @Override
+    public void addTaskToIndex(int index, Task task) throws StorageException {
+        this.writesCount++;
+        storage.addTaskToIndex(index, task);
+    }
+
+    @Override
+    public void updateTask(int index, Task task) throws StorageException {
+        this.writesCount++;
+        storage.updateTask(index, task);
+    }
+
+    @Override
+    public void updateTaskDoneStatus(int index, boolean isDone) throws StorageException {
+        this.writesCount++;
+        storage.updateTaskDoneStatus(index, isDone);
+    }
+
+    @Override
+    public void deleteTask(int index) throws StorageException {
+        this.writesCount++;
+        storage.deleteTask(index);
+    }
+
+    @Override
+    public void addTasksToIndexes(int[] indexes, List<Task> tasks) throws StorageException {
+        this.writesCount++;
+        storage.addTasksToIndexes(indexes, tasks);
+    }
+
+    @Override
+    public void updateTasksDoneStatus(int[] indexes, boolean isDone) throws StorageException {
+        this.writesCount++;
+        storage.updateTasksDoneStatus(indexes, isDone);
+    }
+
+    @Override
+    public void deleteTasks(int[] indexes) throws StorageException {
+        this.writesCount++;
+        storage.deleteTasks(indexes);
+    }
+
+    @Override
+    public void writeChanges(List<? extends StorageChange> changes) throws StorageException {
+        List<Task> originalTasks = new ArrayList<>(this.storage.getTasks());
+        int writesCount = this.writesCount;
+        int rewritesCount = this.rewritesCount;
+
+        try {
+            for (StorageChange change : changes) {
+                change.writeTo(this);
+            }
+        } catch (StorageException | RuntimeException e) {
+            this.storage.writeTasks(originalTasks);
+            this.writesCount = writesCount;
+            this.rewritesCount = rewritesCount;
+            throw e;
+        }
+
+        // the changes are written together, so they only count as a single write
+        this.writesCount = writesCount + 1;
+    }
+
+    public int getReadsCount() {
+        return this.readsCount;
+    }
+
+    public int getWritesCount() {
+        return this.writesCount;
+    }
+
+    public int getRewritesCount() {
+        return this.rewritesCount;
+    }
+
+    public void resetCounts() {
+        this.readsCount = 0;
+        this.writesCount = 0;
+        this.rewritesCount = 0;
+    }
+}
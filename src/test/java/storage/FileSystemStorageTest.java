@@ -4,14 +4,19 @@ import duke.task.Task;
 import duke.task.tasks.Event;
 import duke.task.tasks.ToDo;
 import error.storage.StorageException;
+import error.storage.UncheckedStorageException;
 import error.task.TaskCreationException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 class FileSystemStorageTest {
     private static final String rootTestDirectory = System.getProperty("user.home") + "/DukeTests";
@@ -46,6 +51,41 @@ class FileSystemStorageTest {
         Assertions.assertTrue(deleteDirectory(new File(rootTestDirectory)));
     }
 
+    @Test
+    void streamTasks() throws StorageException, TaskCreationException, IOException {
+        String storagePath = rootTestDirectory + "/Tasks.DAT";
+        FileSystemStorage storage = FileSystemStorage.getInstance(storagePath);
+
+        List<Task> mockTasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            mockTasks.add(new ToDo("hello" + i));
+        }
+        storage.writeTasks(mockTasks);
+
+        try (Stream<Task> storedTasks = storage.streamTasks()) {
+            Assertions.assertEquals(mockTasks, storedTasks.collect(Collectors.toList()));
+        }
+
+        try (Stream<Task> storedTasks = storage.streamTasks()) {
+            Assertions.assertEquals(List.of(mockTasks.get(42)),
+                    storedTasks.filter(task -> task.getTaskDetails().equals("hello42")).collect(Collectors.toList()));
+        }
+
+        // tasks after the corrupted part of the file can only be read once the stream reaches them
+        try (RandomAccessFile storageFile = new RandomAccessFile(storagePath, "rw")) {
+            storageFile.setLength(storageFile.length() - 1);
+        }
+
+        try (Stream<Task> storedTasks = storage.streamTasks()) {
+            Assertions.assertEquals(mockTasks.subList(0, 10), storedTasks.limit(10).collect(Collectors.toList()));
+        }
+
+        try (Stream<Task> storedTasks = storage.streamTasks()) {
+            Assertions.assertThrows(UncheckedStorageException.class, () -> storedTasks.forEach(task -> { }));
+        }
+
+        Assertions.assertTrue(deleteDirectory(new File(rootTestDirectory)));
+    }
 
     private boolean deleteDirectory(File directoryToBeDeleted) {
         File[] allContents = directoryToBeDeleted.listFiles();
@@ -0,0 +1,245 @@
+package storage;
+
+import duke.task.Task;
+import duke.task.tasks.Deadline;
+import duke.task.tasks.Event;
+import duke.task.tasks.ToDo;
+import error.storage.StorageException;
+import error.task.TaskCreationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+class JournalStorageTest {
+    private static final String rootTestDirectory = System.getProperty("user.home") + "/DukeJournalTests";
+    private static final String storagePath = rootTestDirectory + "/Tasks.DAT";
+
+    private List<Task> generateMockTasks() throws TaskCreationException {
+        List<Task> mockTasks = new ArrayList<>();
+        mockTasks.add(new ToDo("hello"));
+        mockTasks.add(new Event("hello", LocalDateTime.now()));
+        mockTasks.add(new Deadline("hello", LocalDateTime.now()));
+
+        return mockTasks;
+    }
+
+    @Test
+    void replayJournal() throws StorageException, TaskCreationException {
+        JournalStorage storage = JournalStorage.getInstance(storagePath);
+        List<Task> mockTasks = this.generateMockTasks();
+        storage.writeTasks(mockTasks);
+
+        Task mockTaskA = new ToDo("world");
+        Task mockTaskB = new ToDo("galaxy");
+        storage.addTask(mockTaskA);
+        storage.addTaskToIndex(0, mockTaskB);
+        storage.updateTask(1, mockTasks.get(2));
+        storage.deleteTask(2);
+
+        List<Task> expectedTasks = List.of(mockTaskB, mockTasks.get(2), mockTasks.get(2), mockTaskA);
+        Assertions.assertEquals(expectedTasks, storage.getTasks());
+
+        // snapshot file alone must not contain the journalled changes
+        Assertions.assertEquals(mockTasks, FileSystemStorage.getInstance(storagePath).getTasks());
+
+        JournalStorage reopenedStorage = JournalStorage.getInstance(storagePath);
+        Assertions.assertEquals(expectedTasks, reopenedStorage.getTasks());
+        Assertions.assertEquals(expectedTasks, FileSystemStorage.getInstance(storagePath).getTasks());
+
+        Assertions.assertTrue(deleteDirectory(new File(rootTestDirectory)));
+    }
+
+    @Test
+    void snapshotInterval() throws StorageException, TaskCreationException {
+        JournalStorage storage = JournalStorage.getInstance(storagePath, 2);
+        File journalFile = new File(storagePath + ".journal");
+        long emptyJournalLength = journalFile.length();
+
+        storage.addTask(new ToDo("a"));
+        Assertions.assertTrue(journalFile.length() > emptyJournalLength);
+
+        storage.addTask(new ToDo("b"));
+        Assertions.assertEquals(emptyJournalLength, journalFile.length());
+        Assertions.assertEquals(2, FileSystemStorage.getInstance(storagePath).getTasks().size());
+
+        Assertions.assertTrue(deleteDirectory(new File(rootTestDirectory)));
+    }
+
+    @Test
+    void replayBatchesOfChanges() throws IOException, StorageException, TaskCreationException {
+        JournalStorage storage = JournalStorage.getInstance(storagePath);
+        List<Task> mockTasks = this.generateMockTasks();
+        storage.writeTasks(mockTasks);
+        File journalFile = new File(storagePath + ".journal");
+        long emptyJournalLength = journalFile.length();
+
+        Task mockTaskA = new ToDo("world");
+        Task mockTaskB = new ToDo("galaxy");
+        storage.addTasksToIndexes(new int[] {0, 4}, List.of(mockTaskA, mockTaskB));
+        storage.updateTasksDoneStatus(new int[] {0, 2}, true);
+        storage.deleteTasks(new int[] {1, 3});
+
+        List<Task> expectedTasks = List.of(mockTaskA.withDoneStatus(true), mockTasks.get(1).withDoneStatus(true),
+                mockTaskB);
+        Assertions.assertEquals(expectedTasks, storage.getTasks());
+        Assertions.assertTrue(journalFile.length() > emptyJournalLength);
+        Assertions.assertEquals(mockTasks, FileSystemStorage.getInstance(storagePath).getTasks());
+
+        // a batch that was only partially written is not replayed at all
+        storage.deleteTasks(new int[] {0, 1});
+        try (RandomAccessFile journal = new RandomAccessFile(journalFile, "rw")) {
+            journal.setLength(journal.length() - 1);
+        }
+
+        JournalStorage reopenedStorage = JournalStorage.getInstance(storagePath);
+        Assertions.assertEquals(expectedTasks, reopenedStorage.getTasks());
+        Assertions.assertTrue(reopenedStorage.getTask(1).isTaskDone());
+
+        Assertions.assertTrue(deleteDirectory(new File(rootTestDirectory)));
+    }
+
+    @Test
+    void replayGroupsOfChanges() throws IOException, StorageException, TaskCreationException {
+        JournalStorage storage = JournalStorage.getInstance(storagePath);
+        List<Task> mockTasks = this.generateMockTasks();
+        storage.writeTasks(mockTasks);
+        File journalFile = new File(storagePath + ".journal");
+
+        Task mockTaskA = new ToDo("world");
+        List<Task> expectedTasks = new ArrayList<>(mockTasks);
+        List<StorageChange> changes = new ArrayList<>();
+
+        for (int i = 0; i < 500; i++) {
+            int index = i % 3;
+            changes.add(changedStorage -> changedStorage.addTaskToIndex(index, mockTaskA));
+            expectedTasks.add(index, mockTaskA);
+        }
+
+        changes.add(changedStorage -> changedStorage.updateTasksDoneStatus(new int[] {0, 1}, true));
+        changes.add(changedStorage -> changedStorage.deleteTask(2));
+        expectedTasks.set(0, mockTaskA.withDoneStatus(true));
+        expectedTasks.set(1, mockTaskA.withDoneStatus(true));
+        expectedTasks.remove(2);
+
+        storage.writeChanges(changes);
+        Assertions.assertEquals(expectedTasks, storage.getTasks());
+        Assertions.assertEquals(expectedTasks, JournalStorage.getInstance(storagePath).getTasks());
+
+        // a group that was only partially written is not replayed at all
+        storage = JournalStorage.getInstance(storagePath);
+        storage.writeChanges(List.of(changedStorage -> changedStorage.deleteTask(0),
+                changedStorage -> changedStorage.deleteTask(0)));
+        try (RandomAccessFile journal = new RandomAccessFile(journalFile, "rw")) {
+            journal.setLength(journal.length() - 1);
+        }
+
+        Assertions.assertEquals(expectedTasks, JournalStorage.getInstance(storagePath).getTasks());
+
+        // changes that fail leave the tasks unchanged
+        storage = JournalStorage.getInstance(storagePath);
+        JournalStorage failingStorage = storage;
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> failingStorage.writeChanges(
+                List.of(changedStorage -> changedStorage.deleteTask(0),
+                        changedStorage -> changedStorage.deleteTask(expectedTasks.size()))));
+        Assertions.assertEquals(expectedTasks, storage.getTasks());
+        Assertions.assertEquals(expectedTasks, JournalStorage.getInstance(storagePath).getTasks());
+
+        Assertions.assertTrue(deleteDirectory(new File(rootTestDirectory)));
+    }
+
+    @Test
+    void persistSequenceNumber() throws StorageException, TaskCreationException {
+        JournalStorage storage = JournalStorage.getInstance(storagePath, 4);
+        long sequenceNumber = storage.getSequenceNumber();
+
+        Task mockTask = new ToDo("b");
+        storage.addTask(new ToDo("a"));
+        storage.updateTasksDoneStatus(new int[] {0}, true);
+        storage.writeChanges(List.of(changedStorage -> changedStorage.addTask(mockTask),
+                changedStorage -> changedStorage.deleteTask(0)));
+        Assertions.assertEquals(sequenceNumber + 4, storage.getSequenceNumber());
+        Assertions.assertEquals(sequenceNumber + 4, JournalStorage.getInstance(storagePath).getSequenceNumber());
+
+        // the sequence number is kept across snapshots, and changes that fail are not counted
+        storage = JournalStorage.getInstance(storagePath, 4);
+        storage.writeTasks(this.generateMockTasks());
+        for (int i = 0; i < 5; i++) {
+            storage.updateTask(0, new ToDo("c"));
+        }
+
+        JournalStorage failingStorage = storage;
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> failingStorage.deleteTask(3));
+        Assertions.assertEquals(sequenceNumber + 10, storage.getSequenceNumber());
+        Assertions.assertEquals(sequenceNumber + 10, JournalStorage.getInstance(storagePath).getSequenceNumber());
+
+        Assertions.assertTrue(deleteDirectory(new File(rootTestDirectory)));
+    }
+
+    @Test
+    void ignoreStaleJournal() throws StorageException, TaskCreationException {
+        JournalStorage storage = JournalStorage.getInstance(storagePath);
+        storage.addTask(new ToDo("a"));
+
+        List<Task> mockTasks = this.generateMockTasks();
+        FileSystemStorage.getInstance(storagePath).writeTasks(mockTasks);
+
+        Assertions.assertEquals(mockTasks, JournalStorage.getInstance(storagePath).getTasks());
+
+        Assertions.assertTrue(deleteDirectory(new File(rootTestDirectory)));
+    }
+
+    @Test
+    void ignoreJournalOfReplacedSnapshotWithSameLength() throws StorageException, TaskCreationException {
+        JournalStorage storage = JournalStorage.getInstance(storagePath);
+        storage.writeTasks(List.of(new ToDo("a")));
+        storage.addTask(new ToDo("c"));
+
+        File snapshotFile = new File(storagePath);
+        long snapshotLength = snapshotFile.length();
+        long snapshotLastModified = snapshotFile.lastModified();
+
+        List<Task> mockTasks = List.of(new ToDo("b"));
+        FileSystemStorage.getInstance(storagePath).writeTasks(mockTasks);
+        Assertions.assertTrue(snapshotFile.setLastModified(snapshotLastModified));
+        Assertions.assertEquals(snapshotLength, snapshotFile.length());
+
+        Assertions.assertEquals(mockTasks, JournalStorage.getInstance(storagePath).getTasks());
+
+        Assertions.assertTrue(deleteDirectory(new File(rootTestDirectory)));
+    }
+
+    @Test
+    void truncateCorruptedJournalTail() throws IOException, StorageException, TaskCreationException {
+        JournalStorage storage = JournalStorage.getInstance(storagePath);
+        Task mockTask = new ToDo("a");
+        storage.addTask(mockTask);
+
+        // an add record whose task claims to have details of about 2 GB
+        try (FileOutputStream journalWriter = new FileOutputStream(storagePath + ".journal", true)) {
+            journalWriter.write(new byte[] {'A', 0, 0, 0, 0, 'T'});
+            journalWriter.write(new byte[17]);
+            journalWriter.write(new byte[] {(byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, 0x07});
+        }
+
+        Assertions.assertEquals(List.of(mockTask), JournalStorage.getInstance(storagePath).getTasks());
+
+        Assertions.assertTrue(deleteDirectory(new File(rootTestDirectory)));
+    }
+
+    private boolean deleteDirectory(File directoryToBeDeleted) {
+        File[] allContents = directoryToBeDeleted.listFiles();
+        if (allContents != null) {
+            for (File file : allContents) {
+                deleteDirectory(file);
+            }
+        }
+        return directoryToBeDeleted.delete();
+    }
+}
@@ -0,0 +1,182 @@
+package storage;
+
+import duke.task.Task;
+import duke.task.tasks.Deadline;
+import duke.task.tasks.DoWithin;
+import duke.task.tasks.Event;
+import duke.task.tasks.ToDo;
+import error.storage.StorageException;
+import error.task.TaskCreationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+class MappedStorageTest {
+    private static final String rootTestDirectory = System.getProperty("user.home") + "/DukeMappedTests";
+    private static final String storagePath = rootTestDirectory + "/Tasks.MAP";
+    private static final String longDetails = "hello".repeat(40);
+
+    private List<Task> generateMockTasks() throws TaskCreationException {
+        List<Task> mockTasks = new ArrayList<>();
+        mockTasks.add(new ToDo("hello"));
+        mockTasks.add(new Event(longDetails, LocalDateTime.now()));
+        mockTasks.add(new Deadline("hello", LocalDateTime.now()));
+        mockTasks.add(new DoWithin("héllo", LocalDateTime.now(), LocalDateTime.now().plusDays(1)));
+
+        return mockTasks;
+    }
+
+    @Test
+    void readAndWriteTasks() throws StorageException, TaskCreationException {
+        MappedStorage storage = MappedStorage.getInstance(storagePath);
+        List<Task> mockTasks = this.generateMockTasks();
+        storage.writeTasks(mockTasks);
+
+        Assertions.assertEquals(mockTasks, storage.getTasks());
+        Assertions.assertEquals(mockTasks.get(1), storage.getTask(1));
+        Assertions.assertEquals(mockTasks.get(1).getUuid(), storage.getTask(1).getUuid());
+        Assertions.assertEquals(4, storage.getTasksCount());
+
+        Assertions.assertEquals(mockTasks, MappedStorage.getInstance(storagePath).getTasks());
+
+        Assertions.assertTrue(deleteDirectory(new File(rootTestDirectory)));
+    }
+
+    @Test
+    void updateTaskDoneStatusInPlace() throws StorageException, TaskCreationException {
+        MappedStorage storage = MappedStorage.getInstance(storagePath);
+        storage.writeTasks(this.generateMockTasks());
+        long storageFileLength = new File(storagePath).length();
+        // the rewrite moves the details to the overflow file of the next generation
+        long overflowFileLength = new File(storagePath + ".overflow.1").length();
+
+        storage.updateTaskDoneStatus(1, true);
+
+        Assertions.assertTrue(storage.getTask(1).isTaskDone());
+        Assertions.assertFalse(storage.getTask(2).isTaskDone());
+        Assertions.assertEquals(storageFileLength, new File(storagePath).length());
+        Assertions.assertEquals(overflowFileLength, new File(storagePath + ".overflow.1").length());
+        Assertions.assertTrue(MappedStorage.getInstance(storagePath).getTask(1).isTaskDone());
+
+        Assertions.assertTrue(deleteDirectory(new File(rootTestDirectory)));
+    }
+
+    @Test
+    void addAndDeleteTasks() throws StorageException, TaskCreationException {
+        MappedStorage storage = MappedStorage.getInstance(storagePath);
+        List<Task> expectedTasks = new ArrayList<>();
+
+        // grow past the initial capacity of the storage file
+        for (int i = 0; i < 100; i++) {
+            Task task = new ToDo(i % 2 == 0 ? "hello" + i : longDetails + i);
+            storage.addTaskToIndex(i / 2, task);
+            expectedTasks.add(i / 2, task);
+        }
+
+        storage.deleteTask(0);
+        expectedTasks.remove(0);
+        storage.updateTask(10, new Deadline(longDetails, LocalDateTime.now()));
+        expectedTasks.set(10, storage.getTask(10));
+
+        Assertions.assertEquals(expectedTasks, storage.getTasks());
+        Assertions.assertEquals(expectedTasks, MappedStorage.getInstance(storagePath).getTasks());
+
+        Assertions.assertTrue(deleteDirectory(new File(rootTestDirectory)));
+    }
+
+    @Test
+    void rewriteReplacesOverflowFile() throws StorageException, TaskCreationException {
+        MappedStorage storage = MappedStorage.getInstance(storagePath);
+        storage.addTask(new ToDo(longDetails));
+        List<Task> mockTasks = this.generateMockTasks();
+        storage.writeTasks(mockTasks);
+        storage.flush();
+
+        Assertions.assertFalse(new File(storagePath + ".overflow").exists());
+        Assertions.assertFalse(new File(storagePath + ".tmp").exists());
+        Assertions.assertEquals(mockTasks, MappedStorage.getInstance(storagePath).getTasks());
+
+        Assertions.assertTrue(deleteDirectory(new File(rootTestDirectory)));
+    }
+
+    @Test
+    void persistSequenceNumber() throws StorageException, TaskCreationException {
+        MappedStorage storage = MappedStorage.getInstance(storagePath);
+        long sequenceNumber = storage.getSequenceNumber();
+
+        storage.addTask(new ToDo("a"));
+        storage.updateTaskDoneStatus(0, true);
+        storage.writeTasks(this.generateMockTasks());
+        storage.writeChanges(List.of(changedStorage -> changedStorage.deleteTask(0),
+                changedStorage -> changedStorage.deleteTasks(new int[] {0, 1})));
+        Assertions.assertEquals(sequenceNumber + 5, storage.getSequenceNumber());
+        Assertions.assertEquals(sequenceNumber + 5, MappedStorage.getInstance(storagePath).getSequenceNumber());
+
+        Assertions.assertTrue(deleteDirectory(new File(rootTestDirectory)));
+    }
+
+    @Test
+    void changeSeveralTasksInPlace() throws StorageException, TaskCreationException {
+        MappedStorage storage = MappedStorage.getInstance(storagePath);
+        List<Task> expectedTasks = new ArrayList<>();
+
+        for (int i = 0; i < 10; i++) {
+            Task task = new ToDo(i % 2 == 0 ? "hello" + i : longDetails + i);
+            storage.addTask(task);
+            expectedTasks.add(task);
+        }
+
+        storage.updateTasksDoneStatus(new int[] {1, 4}, true);
+        expectedTasks.set(1, expectedTasks.get(1).withDoneStatus(true));
+        expectedTasks.set(4, expectedTasks.get(4).withDoneStatus(true));
+        Assertions.assertEquals(expectedTasks, storage.getTasks());
+
+        List<Task> deletedTasks = List.of(expectedTasks.get(0), expectedTasks.get(3), expectedTasks.get(9));
+        storage.deleteTasks(new int[] {0, 3, 9});
+        expectedTasks.removeAll(deletedTasks);
+        Assertions.assertEquals(expectedTasks, storage.getTasks());
+
+        storage.addTasksToIndexes(new int[] {0, 3, 9}, deletedTasks);
+        expectedTasks.add(0, deletedTasks.get(0));
+        expectedTasks.add(3, deletedTasks.get(1));
+        expectedTasks.add(9, deletedTasks.get(2));
+        Assertions.assertEquals(expectedTasks, storage.getTasks());
+
+        storage.flush();
+        Assertions.assertEquals(expectedTasks, MappedStorage.getInstance(storagePath).getTasks());
+
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> storage.deleteTasks(new int[] {2, 10}));
+        Assertions.assertThrows(IndexOutOfBoundsException.class,
+            () -> storage.addTasksToIndexes(new int[] {11}, List.of(new ToDo("a"))));
+        Assertions.assertEquals(expectedTasks, storage.getTasks());
+
+        Assertions.assertTrue(deleteDirectory(new File(rootTestDirectory)));
+    }
+
+    @Test
+    void invalidIndex() throws StorageException, TaskCreationException {
+        MappedStorage storage = MappedStorage.getInstance(storagePath);
+        storage.writeTasks(this.generateMockTasks());
+
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> storage.getTask(4));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> storage.deleteTask(-1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> storage.addTaskToIndex(5, new ToDo("a")));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> storage.updateTaskDoneStatus(4, true));
+
+        Assertions.assertTrue(deleteDirectory(new File(rootTestDirectory)));
+    }
+
+    private boolean deleteDirectory(File directoryToBeDeleted) {
+        File[] allContents = directoryToBeDeleted.listFiles();
+        if (allContents != null) {
+            for (File file : allContents) {
+                deleteDirectory(file);
+            }
+        }
+        return directoryToBeDeleted.delete();
+    }
+}
@@ -0,0 +1,244 @@
+package storage;
+
+import duke.task.Task;
+import duke.task.tasks.ToDo;
+import error.storage.StorageException;
+import error.task.TaskCreationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+class WriteBehindStorageTest {
+    private static final long LONG_DELAY_MILLIS = 60000;
+
+    @Test
+    void writeChangesTogetherOnFlush() throws StorageException, TaskCreationException {
+        CountingStorage countingStorage = new CountingStorage();
+        WriteBehindStorage storage = WriteBehindStorage.getInstance(countingStorage, LONG_DELAY_MILLIS, 10000);
+        List<Task> expectedTasks = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++) {
+            Task task = new ToDo("hello" + i);
+            storage.addTaskToIndex(i / 2, task);
+            expectedTasks.add(i / 2, task);
+        }
+
+        storage.updateTaskDoneStatus(10, true);
+        storage.deleteTask(0);
+        expectedTasks.remove(0);
+
+        Assertions.assertEquals(999, storage.getTasksCount());
+        Assertions.assertEquals(0, countingStorage.getWritesCount());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> storage.deleteTask(999));
+
+        storage.flush();
+        Assertions.assertEquals(1, countingStorage.getWritesCount());
+        Assertions.assertEquals(0, countingStorage.getRewritesCount());
+        Assertions.assertEquals(expectedTasks, countingStorage.getTasks());
+        Assertions.assertTrue(countingStorage.getTask(9).isTaskDone());
+
+        storage.flush();
+        Assertions.assertEquals(1, countingStorage.getWritesCount());
+    }
+
+    @Test
+    void readsReflectUnwrittenChanges() throws StorageException, TaskCreationException {
+        CountingStorage countingStorage = new CountingStorage();
+        WriteBehindStorage storage = WriteBehindStorage.getInstance(countingStorage, LONG_DELAY_MILLIS, 100);
+        Task task = new ToDo("hello");
+
+        storage.addTask(new ToDo("world"));
+        storage.addTaskToIndex(0, task);
+
+        Assertions.assertEquals(task, storage.getTask(0));
+        Assertions.assertEquals(1, countingStorage.getWritesCount());
+        Assertions.assertEquals(storage.getTasks(), countingStorage.getTasks());
+    }
+
+    @Test
+    void rewriteOnlyWhenTasksAreReplaced() throws StorageException, TaskCreationException {
+        CountingStorage countingStorage = new CountingStorage();
+        WriteBehindStorage storage = WriteBehindStorage.getInstance(countingStorage, LONG_DELAY_MILLIS, 100);
+        List<Task> expectedTasks = new ArrayList<>(List.of(new ToDo("a"), new ToDo("b")));
+
+        storage.addTask(new ToDo("hello"));
+        storage.writeTasks(expectedTasks);
+        storage.deleteTask(0);
+        expectedTasks.remove(0);
+
+        storage.flush();
+        Assertions.assertEquals(1, countingStorage.getWritesCount());
+        Assertions.assertEquals(1, countingStorage.getRewritesCount());
+        Assertions.assertEquals(expectedTasks, countingStorage.getTasks());
+    }
+
+    @Test
+    void flushOnceBatchIsFull() throws StorageException, TaskCreationException, InterruptedException {
+        CountingStorage countingStorage = new CountingStorage();
+        WriteBehindStorage storage = WriteBehindStorage.getInstance(countingStorage, LONG_DELAY_MILLIS, 100);
+
+        for (int i = 0; i < 100; i++) {
+            storage.addTask(new ToDo("hello" + i));
+        }
+
+        for (int i = 0; i < 500 && countingStorage.getWritesCount() == 0; i++) {
+            Thread.sleep(10);
+        }
+
+        Assertions.assertEquals(1, countingStorage.getWritesCount());
+        Assertions.assertEquals(0, countingStorage.getRewritesCount());
+        Assertions.assertEquals(100, countingStorage.getTasks().size());
+    }
+
+    @Test
+    void flushAfterDelay() throws StorageException, TaskCreationException, InterruptedException {
+        CountingStorage countingStorage = new CountingStorage();
+        WriteBehindStorage storage = WriteBehindStorage.getInstance(countingStorage, 10, 100);
+
+        storage.addTask(new ToDo("hello"));
+
+        for (int i = 0; i < 500 && countingStorage.getWritesCount() == 0; i++) {
+            Thread.sleep(10);
+        }
+
+        Assertions.assertEquals(1, countingStorage.getWritesCount());
+    }
+
+    @Test
+    void deferWritesUntilFlush() throws StorageException, TaskCreationException, InterruptedException {
+        CountingStorage countingStorage = new CountingStorage();
+        WriteBehindStorage storage = WriteBehindStorage.getInstance(countingStorage, 10, 100);
+
+        storage.deferWrites();
+        for (int i = 0; i < 500; i++) {
+            storage.addTask(new ToDo("hello" + i));
+        }
+
+        Thread.sleep(100);
+        Assertions.assertEquals(0, countingStorage.getWritesCount());
+
+        storage.flush();
+        Assertions.assertEquals(1, countingStorage.getWritesCount());
+        Assertions.assertEquals(storage.getTasks(), countingStorage.getTasks());
+
+        storage.resumeWrites();
+        storage.addTask(new ToDo("hello"));
+
+        for (int i = 0; i < 500 && countingStorage.getWritesCount() == 1; i++) {
+            Thread.sleep(10);
+        }
+
+        Assertions.assertEquals(2, countingStorage.getWritesCount());
+    }
+
+    @Test
+    void retryFailedChangesInOrder() throws StorageException, TaskCreationException {
+        CountingStorage countingStorage = new CountingStorage() {
+            private boolean hasFailed;
+
+            @Override
+            public void writeChanges(List<? extends StorageChange> changes) throws StorageException {
+                if (!this.hasFailed) {
+                    this.hasFailed = true;
+                    throw new StorageException("Unable to save tasks");
+                }
+                super.writeChanges(changes);
+            }
+        };
+        WriteBehindStorage storage = WriteBehindStorage.getInstance(countingStorage, LONG_DELAY_MILLIS, 100);
+        List<Task> expectedTasks = List.of(new ToDo("a"), new ToDo("b"), new ToDo("c"));
+
+        storage.addTask(expectedTasks.get(0));
+        storage.addTask(expectedTasks.get(1));
+
+        Assertions.assertThrows(StorageException.class, storage::flush);
+        Assertions.assertEquals(List.of(), countingStorage.getTasks());
+
+        storage.addTask(expectedTasks.get(2));
+        storage.flush();
+        Assertions.assertEquals(expectedTasks, countingStorage.getTasks());
+        Assertions.assertEquals(0, countingStorage.getRewritesCount());
+    }
+
+    @Test
+    void countUnwrittenChangesInSequenceNumber() throws IOException, StorageException, TaskCreationException {
+        JournalStorage journalStorage = JournalStorage.getInstance(
+                Files.createTempDirectory("DukeWriteBehindTests") + "/tasks.DAT");
+        WriteBehindStorage storage = WriteBehindStorage.getInstance(journalStorage, LONG_DELAY_MILLIS, 100);
+        long sequenceNumber = journalStorage.getSequenceNumber();
+
+        storage.addTask(new ToDo("a"));
+        storage.addTask(new ToDo("b"));
+        storage.writeTasks(List.of(new ToDo("c")));
+        Assertions.assertTrue(storage.hasPersistentSequenceNumber());
+        Assertions.assertEquals(sequenceNumber + 3, storage.getSequenceNumber());
+        Assertions.assertEquals(sequenceNumber, journalStorage.getSequenceNumber());
+
+        // the unwritten changes are written before the run of changes
+        Task mockTask = new ToDo("d");
+        storage.writeChanges(List.of(changedStorage -> changedStorage.addTask(mockTask),
+                changedStorage -> changedStorage.deleteTask(0)));
+        Assertions.assertEquals(sequenceNumber + 5, storage.getSequenceNumber());
+        Assertions.assertEquals(sequenceNumber + 5, journalStorage.getSequenceNumber());
+        Assertions.assertEquals(1, journalStorage.getTasksCount());
+    }
+
+    @Test
+    void dropChangesRejectedByStorage() throws StorageException, TaskCreationException {
+        Task rejectedTask = new ToDo("rejected");
+        CountingStorage countingStorage = new CountingStorage() {
+            @Override
+            public void updateTask(int index, Task task) throws StorageException {
+                if (task == rejectedTask) {
+                    throw new IllegalStateException();
+                }
+                super.updateTask(index, task);
+            }
+        };
+        WriteBehindStorage storage = WriteBehindStorage.getInstance(countingStorage, LONG_DELAY_MILLIS, 100);
+        List<Task> expectedTasks = List.of(new ToDo("a"), new ToDo("b"), new ToDo("c"));
+
+        storage.addTask(expectedTasks.get(0));
+        storage.addTask(expectedTasks.get(1));
+        storage.updateTask(1, rejectedTask);
+        storage.addTask(expectedTasks.get(2));
+
+        Assertions.assertThrows(StorageException.class, storage::flush);
+        Assertions.assertEquals(expectedTasks, countingStorage.getTasks());
+        Assertions.assertEquals(3, storage.getTasksCount());
+
+        // the rejected change is not written again
+        storage.flush();
+        Assertions.assertEquals(expectedTasks, countingStorage.getTasks());
+    }
+
+    @Test
+    void reportBackgroundFailureOnNextChange() throws StorageException, TaskCreationException, InterruptedException {
+        boolean[] isFailing = {true};
+        CountingStorage countingStorage = new CountingStorage() {
+            @Override
+            public void writeChanges(List<? extends StorageChange> changes) throws StorageException {
+                if (isFailing[0]) {
+                    throw new StorageException("Unable to save tasks");
+                }
+                super.writeChanges(changes);
+            }
+        };
+        WriteBehindStorage storage = WriteBehindStorage.getInstance(countingStorage, 10, 100);
+        Task task = new ToDo("hello");
+
+        storage.addTask(task);
+        Thread.sleep(200);
+
+        Assertions.assertThrows(StorageException.class, () -> storage.addTask(new ToDo("world")));
+        Assertions.assertEquals(1, storage.getTasksCount());
+
+        isFailing[0] = false;
+        storage.flush();
+        Assertions.assertEquals(List.of(task), countingStorage.getTasks());
+    }
+}
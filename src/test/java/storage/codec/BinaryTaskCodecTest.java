@@ -0,0 +1,122 @@
+package storage.codec;
+
+import duke.task.Task;
+import duke.task.tasks.Deadline;
+import duke.task.tasks.DoAfter;
+import duke.task.tasks.DoWithin;
+import duke.task.tasks.Event;
+import duke.task.tasks.ToDo;
+import error.storage.StorageException;
+import error.task.TaskCreationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import storage.FileSystemStorage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+class BinaryTaskCodecTest {
+    private static final String rootTestDirectory = System.getProperty("user.home") + "/DukeCodecTests";
+    private static final String storagePath = rootTestDirectory + "/Tasks.DAT";
+
+    private List<Task> generateMockTasks() throws TaskCreationException {
+        List<Task> mockTasks = new ArrayList<>();
+        mockTasks.add(new ToDo("hello"));
+        mockTasks.add(new Event("hello world", LocalDateTime.now()));
+        mockTasks.add(new Deadline("héllo ✓", LocalDateTime.of(2019, 10, 1, 23, 59)).withDoneStatus(true));
+        mockTasks.add(new DoAfter("hello", LocalDateTime.of(1960, 1, 1, 0, 0, 30)));
+        mockTasks.add(new DoWithin("", LocalDateTime.of(2019, 9, 1, 8, 0), LocalDateTime.now()));
+
+        return mockTasks;
+    }
+
+    private void assertSameTasks(List<Task> expectedTasks, List<Task> actualTasks) {
+        Assertions.assertEquals(expectedTasks, actualTasks);
+
+        for (int i = 0; i < expectedTasks.size(); i++) {
+            Assertions.assertEquals(expectedTasks.get(i).getUuid(), actualTasks.get(i).getUuid());
+            Assertions.assertEquals(expectedTasks.get(i).isTaskDone(), actualTasks.get(i).isTaskDone());
+            Assertions.assertEquals(expectedTasks.get(i).getClass(), actualTasks.get(i).getClass());
+        }
+    }
+
+    @Test
+    void readAndWriteTasks() throws IOException, TaskCreationException {
+        TaskCodec codec = new BinaryTaskCodec();
+        List<Task> mockTasks = this.generateMockTasks();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        codec.writeTasks(mockTasks, outputStream);
+        byte[] encodedTasks = outputStream.toByteArray();
+
+        Assertions.assertTrue(codec.isFormatOf(encodedTasks));
+        Assertions.assertFalse(new SerializedTaskCodec().isFormatOf(encodedTasks));
+        this.assertSameTasks(mockTasks, codec.readTasks(new ByteArrayInputStream(encodedTasks)));
+    }
+
+    @Test
+    void smallerThanSerializedFormat() throws IOException, TaskCreationException {
+        List<Task> mockTasks = this.generateMockTasks();
+
+        ByteArrayOutputStream binaryOutputStream = new ByteArrayOutputStream();
+        new BinaryTaskCodec().writeTasks(mockTasks, binaryOutputStream);
+        ByteArrayOutputStream serializedOutputStream = new ByteArrayOutputStream();
+        new SerializedTaskCodec().writeTasks(mockTasks, serializedOutputStream);
+
+        Assertions.assertTrue(binaryOutputStream.size() * 4 < serializedOutputStream.size());
+    }
+
+    @Test
+    void rejectCorruptedTasks() throws IOException, TaskCreationException {
+        TaskCodec codec = new BinaryTaskCodec();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        codec.writeTasks(this.generateMockTasks(), outputStream);
+        byte[] encodedTasks = outputStream.toByteArray();
+        byte[] truncatedTasks = new byte[encodedTasks.length - 1];
+        System.arraycopy(encodedTasks, 0, truncatedTasks, 0, truncatedTasks.length);
+
+        Assertions.assertThrows(IOException.class, () -> codec.readTasks(new ByteArrayInputStream(truncatedTasks)));
+        Assertions.assertThrows(IOException.class, () -> codec.readTasks(new ByteArrayInputStream(new byte[8])));
+    }
+
+    @Test
+    void migrateSerializedStorageFile() throws IOException, StorageException, TaskCreationException {
+        List<Task> mockTasks = this.generateMockTasks();
+        new File(rootTestDirectory).mkdirs();
+
+        try (FileOutputStream outputStream = new FileOutputStream(storagePath)) {
+            new SerializedTaskCodec().writeTasks(mockTasks, outputStream);
+        }
+
+        FileSystemStorage storage = FileSystemStorage.getInstance(storagePath);
+        this.assertSameTasks(mockTasks, storage.getTasks());
+
+        try (FileInputStream inputStream = new FileInputStream(storagePath)) {
+            Assertions.assertTrue(new BinaryTaskCodec().isFormatOf(inputStream.readNBytes(TaskCodec.HEADER_LENGTH)));
+        }
+
+        // storages that select the legacy format can still read binary files
+        FileSystemStorage legacyStorage = FileSystemStorage.getInstance(storagePath, new SerializedTaskCodec());
+        this.assertSameTasks(mockTasks, legacyStorage.getTasks());
+
+        Assertions.assertTrue(deleteDirectory(new File(rootTestDirectory)));
+    }
+
+    private boolean deleteDirectory(File directoryToBeDeleted) {
+        File[] allContents = directoryToBeDeleted.listFiles();
+        if (allContents != null) {
+            for (File file : allContents) {
+                deleteDirectory(file);
+            }
+        }
+        return directoryToBeDeleted.delete();
+    }
+}
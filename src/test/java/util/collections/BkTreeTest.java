@@ -0,0 +1,77 @@
+package util.collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import util.strings.EditDistance;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+class BkTreeTest {
+    private Set<String> findWithin(BkTree<String> tree, String query, int maxDistance) {
+        Set<String> words = new HashSet<>();
+        tree.forEachWithin(query, maxDistance, words::add);
+
+        return words;
+    }
+
+    @Test
+    void findsWordsWithinDistance() {
+        BkTree<String> tree = new BkTree<>(EditDistance::levenshtein);
+        for (String word : List.of("report", "repot", "reports", "import", "sport", "rapport")) {
+            tree.add(word);
+        }
+
+        Assertions.assertEquals(Set.of("report", "repot"), this.findWithin(tree, "reprot", 2));
+        Assertions.assertEquals(Set.of("report", "repot", "reports", "sport", "import", "rapport"),
+                this.findWithin(tree, "report", 2));
+        Assertions.assertEquals(Set.of(), this.findWithin(tree, "xyz", 1));
+    }
+
+    @Test
+    void matchesBruteForce() {
+        Random random = new Random(2103);
+        BkTree<String> tree = new BkTree<>(EditDistance::levenshtein);
+        Set<String> words = new HashSet<>();
+
+        for (int i = 0; i < 2000; i++) {
+            String word = Integer.toString(random.nextInt(5000), 7);
+
+            if (random.nextInt(3) == 0) {
+                tree.remove(word);
+                words.remove(word);
+            } else if (words.add(word)) {
+                tree.add(word);
+            }
+        }
+
+        Assertions.assertEquals(words.size(), tree.size());
+
+        for (String query : List.of("1234", "66", "10203", "5")) {
+            Set<String> expectedWords = new HashSet<>();
+            for (String word : words) {
+                if (EditDistance.levenshtein(query, word) <= 2) {
+                    expectedWords.add(word);
+                }
+            }
+
+            Assertions.assertEquals(expectedWords, this.findWithin(tree, query, 2));
+        }
+    }
+
+    @Test
+    void countsElements() {
+        BkTree<String> tree = new BkTree<>(EditDistance::levenshtein);
+        tree.add("hello");
+        tree.add("hello");
+        tree.remove("hello");
+
+        Assertions.assertEquals(Set.of("hello"), this.findWithin(tree, "hello", 0));
+
+        tree.remove("hello");
+        Assertions.assertEquals(Set.of(), this.findWithin(tree, "hello", 0));
+        Assertions.assertEquals(0, tree.size());
+    }
+}
@@ -0,0 +1,81 @@
+package util.collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+class IntervalTreeTest {
+    private Set<Integer> findOverlapping(IntervalTree<Integer, Integer> tree, int low, int high) {
+        Set<Integer> values = new HashSet<>();
+        tree.forEachOverlapping(low, high, values::add);
+
+        return values;
+    }
+
+    @Test
+    void findsOverlappingIntervals() {
+        IntervalTree<Integer, Integer> tree = new IntervalTree<>();
+        tree.put(1, 0, 10);
+        tree.put(2, 5, 5);
+        tree.put(3, 11, 20);
+        tree.put(4, Integer.MIN_VALUE, 3);
+        tree.put(5, 15, Integer.MAX_VALUE);
+
+        Assertions.assertEquals(Set.of(1, 2), this.findOverlapping(tree, 4, 10));
+        Assertions.assertEquals(Set.of(1, 4), this.findOverlapping(tree, 3, 3));
+        Assertions.assertEquals(Set.of(3, 5), this.findOverlapping(tree, 16, 16));
+        Assertions.assertEquals(Set.of(5), this.findOverlapping(tree, 100, 200));
+
+        tree.put(1, 30, 40);
+        tree.remove(5);
+        Assertions.assertEquals(Set.of(2), this.findOverlapping(tree, 4, 10));
+        Assertions.assertEquals(Set.of(), this.findOverlapping(tree, 100, 200));
+        Assertions.assertEquals(Set.of(1), this.findOverlapping(tree, 35, 50));
+        Assertions.assertEquals(4, tree.size());
+    }
+
+    @Test
+    void matchesBruteForce() {
+        Random random = new Random(2103);
+        IntervalTree<Integer, Integer> tree = new IntervalTree<>();
+        Map<Integer, int[]> intervals = new HashMap<>();
+
+        for (int i = 0; i < 3000; i++) {
+            int value = random.nextInt(500);
+
+            if (random.nextInt(4) == 0) {
+                tree.remove(value);
+                intervals.remove(value);
+            } else {
+                int low = random.nextInt(1000);
+                int high = low + random.nextInt(50);
+                tree.put(value, low, high);
+                intervals.put(value, new int[] {low, high});
+            }
+        }
+
+        for (int i = 0; i < 100; i++) {
+            int low = random.nextInt(1100) - 50;
+            int high = low + random.nextInt(100);
+
+            Set<Integer> expectedValues = new HashSet<>();
+            intervals.forEach((value, interval) -> {
+                if (interval[0] <= high && interval[1] >= low) {
+                    expectedValues.add(value);
+                }
+            });
+
+            List<Integer> values = new ArrayList<>();
+            tree.forEachOverlapping(low, high, values::add);
+            Assertions.assertEquals(expectedValues, new HashSet<>(values));
+            Assertions.assertEquals(expectedValues.size(), values.size());
+        }
+    }
+}
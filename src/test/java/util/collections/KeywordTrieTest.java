@@ -0,0 +1,43 @@
+package util.collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+class KeywordTrieTest {
+    private final KeywordTrie<String> trie = new KeywordTrie<>();
+
+    KeywordTrieTest() {
+        for (String keyword : new String[] {"delete", "deadline", "done", "due", "do", "list"}) {
+            this.trie.put(keyword, keyword.toUpperCase());
+        }
+    }
+
+    @Test
+    void findsKeywordsAndUniqueAbbreviations() {
+        Assertions.assertEquals(6, this.trie.size());
+        Assertions.assertEquals(Optional.of("DELETE"), this.trie.findByPrefix("delete", 0, 6));
+        Assertions.assertEquals(Optional.of("DELETE"), this.trie.findByPrefix("del 1", 0, 3));
+        Assertions.assertEquals(Optional.of("DEADLINE"), this.trie.findByPrefix("dea", 0, 3));
+        Assertions.assertEquals(Optional.of("LIST"), this.trie.findByPrefix("xl", 1, 2));
+        // an exact keyword wins over the longer keywords it is a prefix of
+        Assertions.assertEquals(Optional.of("DO"), this.trie.findByPrefix("do", 0, 2));
+    }
+
+    @Test
+    void rejectsAmbiguousOrUnknownWords() {
+        Assertions.assertEquals(Optional.empty(), this.trie.findByPrefix("d", 0, 1));
+        Assertions.assertEquals(Optional.empty(), this.trie.findByPrefix("de", 0, 2));
+        Assertions.assertEquals(Optional.empty(), this.trie.findByPrefix("deletes", 0, 7));
+        Assertions.assertEquals(Optional.empty(), this.trie.findByPrefix("x", 0, 1));
+        Assertions.assertEquals(Optional.empty(), this.trie.findByPrefix("", 0, 0));
+    }
+
+    @Test
+    void keepsFirstValueOfKeyword() {
+        Assertions.assertFalse(this.trie.put("done", "OTHER"));
+        Assertions.assertEquals(Optional.of("DONE"), this.trie.findByPrefix("done", 0, 4));
+        Assertions.assertEquals(6, this.trie.size());
+    }
+}
@@ -0,0 +1,136 @@
+package util.collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+class OrderStatisticTreeTest {
+    @Test
+    void behavesLikeList() {
+        Random random = new Random(2103);
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Arrays.asList(0, 1, 2, 3, 4));
+        List<Integer> list = new ArrayList<>(Arrays.asList(0, 1, 2, 3, 4));
+
+        for (int i = 0; i < 5000; i++) {
+            int operation = random.nextInt(4);
+
+            if (operation == 0 || list.isEmpty()) {
+                int index = random.nextInt(list.size() + 1);
+                tree.add(index, i);
+                list.add(index, i);
+            } else if (operation == 1) {
+                int index = random.nextInt(list.size());
+                Assertions.assertEquals(list.remove(index), tree.remove(index));
+            } else if (operation == 2) {
+                int index = random.nextInt(list.size());
+                Assertions.assertEquals(list.set(index, -i), tree.set(index, -i));
+            } else {
+                int index = random.nextInt(list.size());
+                Assertions.assertEquals(list.get(index), tree.get(index));
+            }
+
+            Assertions.assertEquals(list.size(), tree.size());
+        }
+
+        Assertions.assertEquals(list, tree);
+    }
+
+    @Test
+    void labelsFollowElements() {
+        OrderStatisticTree<String> tree = new OrderStatisticTree<>();
+        long labelB = tree.addWithLabel(0, "b");
+        tree.add(0, "a");
+        long labelC = tree.addWithLabel(2, "c");
+
+        Assertions.assertEquals(1, tree.indexOfLabel(labelB));
+        Assertions.assertEquals(2, tree.indexOfLabel(labelC));
+
+        tree.remove(0);
+        Assertions.assertEquals(0, tree.indexOfLabel(labelB));
+        Assertions.assertEquals(1, tree.indexOfLabel(labelC));
+
+        tree.remove(0);
+        Assertions.assertEquals(-1, tree.indexOfLabel(labelB));
+        Assertions.assertEquals(0, tree.indexOfLabel(labelC));
+    }
+
+    @Test
+    void relabelsWhenLabelsRunOut() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Arrays.asList(0, 100));
+
+        for (int i = 1; i < 100; i++) {
+            tree.add(i, i);
+        }
+
+        Assertions.assertTrue(tree.getRelabelsCount() > 0);
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i <= 100; i++) {
+            expected.add(i);
+        }
+        Assertions.assertEquals(expected, tree);
+
+        List<Long> labels = new ArrayList<>();
+        tree.forEachWithLabel((value, label) -> labels.add(label));
+        for (int i = 0; i < labels.size(); i++) {
+            Assertions.assertEquals(i, tree.indexOfLabel(labels.get(i)));
+        }
+    }
+
+    @Test
+    void relabelsFewElementsWhenAddingAtSamePosition() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Arrays.asList(-1, -2));
+        Map<Integer, Long> labels = new HashMap<>();
+        labels.put(-1, tree.getLabel(0));
+        labels.put(-2, tree.getLabel(1));
+        int count = 20000;
+
+        for (int i = 0; i < count; i++) {
+            long label = tree.addWithLabel(1, i, (values, oldLabels, newLabels) -> {
+                for (int j = 0; j < values.size(); j++) {
+                    Assertions.assertEquals(oldLabels[j], (long) labels.put(values.get(j), newLabels[j]));
+                }
+            });
+            labels.put(i, label);
+        }
+
+        // relabelling all of the elements every time the labels run out would relabel about count^2 / 64 elements
+        Assertions.assertTrue(tree.getRelabelsCount() > 0);
+        Assertions.assertTrue(tree.getRelabelsCount() <= 32L * count, "relabelled " + tree.getRelabelsCount());
+
+        for (int i = 0; i < count; i++) {
+            Assertions.assertEquals(count - i, tree.indexOfLabel(labels.get(i)));
+        }
+    }
+
+    @Test
+    void snapshotsAreIndependent() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Arrays.asList(0, 1, 2));
+        long label = tree.getLabel(1);
+        OrderStatisticTree<Integer> snapshot = tree.snapshot();
+
+        tree.add(0, -1);
+        tree.set(2, 10);
+        snapshot.remove(2);
+
+        Assertions.assertEquals(Arrays.asList(-1, 0, 10, 2), tree);
+        Assertions.assertEquals(Arrays.asList(0, 1), snapshot);
+        Assertions.assertEquals(2, tree.indexOfLabel(label));
+        Assertions.assertEquals(1, snapshot.indexOfLabel(label));
+    }
+
+    @Test
+    void invalidIndex() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Arrays.asList(0, 1));
+
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> tree.get(2));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> tree.add(3, 0));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> tree.remove(-1));
+    }
+}
@@ -0,0 +1,20 @@
+package util.strings;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class IndexListParserTest {
+    @Test
+    void parsesIndexesAndRanges() {
+        Assertions.assertArrayEquals(new int[] {0}, IndexListParser.parse("1"));
+        Assertions.assertArrayEquals(new int[] {2, 3, 4, 51, 59}, IndexListParser.parse("3-5,52,60"));
+        Assertions.assertArrayEquals(new int[] {4, 8, 11, 12, 13}, IndexListParser.parse("12-14, 9 ,5,13"));
+    }
+
+    @Test
+    void rejectsInvalidLists() {
+        for (String text : new String[] {"", "all", "0", "-3", "5-3", "1,,2", "1-", "1-2-3", "1-200000"}) {
+            Assertions.assertThrows(NumberFormatException.class, () -> IndexListParser.parse(text));
+        }
+    }
+}
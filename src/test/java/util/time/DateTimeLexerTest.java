@@ -0,0 +1,143 @@
+package util.time;
+
+import error.datetime.UnknownDateTimeException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Checks the lexer against the regular expressions it replaced, on random texts built from date time fragments.
+ */
+class DateTimeLexerTest {
+    private static final String DATE_TIME_REGEX = "("
+            + "("
+            + "([0]?[1-9]|[1|2][0-9]|[3][0|1])[./-]([0]?[1-9]|[1][0-2])[./-]([0-9]{4}|[0-9]{2})"
+            + "(\\s([0-9]{4}))?"
+            + ")"
+            + "|"
+            + "("
+            + "(?i)"
+            + "Today|Tomorrow|"
+            + "Mon|Monday|Tue|Tues|Tuesday|Wed|Wednesday|Thu|Thurs|Thursday|Fri|Friday|Sat|Saturday|Sun|Sunday"
+            + ")"
+            + "(\\s([0-9]{4}))?"
+            + ")";
+    private static final String DATE_TIME_PAIR_REGEX = "((" + DATE_TIME_REGEX + "\\s?to\\s?" + DATE_TIME_REGEX + ")|("
+            + DATE_TIME_REGEX + "\\s" + DATE_TIME_REGEX + "))";
+    private static final String DATE_REGEX = "((([0]?[1-9]|[1|2][0-9]|[3][0|1])[./-]([0]?[1-9]|[1][0-2])[./-]"
+            + "([0-9]{4}|[0-9]{2})(\\s([0-9]{4}))?))";
+    private static final String DAY_REGEX = "((?i)(Today|Tomorrow|Mon|Monday|Tue|Tues|Tuesday|Wed|Wednesday|"
+            + "Thu|Thursday|Fri|Friday|Sat|Saturday|Sun|Sunday)(\\s([0-9]{4}))?)";
+
+    private static final String[] FRAGMENTS = {
+        "1/1/2019", "01/12/19", "31.12.2019", "3-4-2020", "32/1/2019", "|5/1/2019", "123/12/2019", "1/13/2019",
+        "29/02/2019", "mon", "MONDAY", "Thurs", "tue", "tomorrow", "Today", "sunday", "1200", "2359", "to", "TO",
+        "meeting", "x", "\t"
+    };
+    private static final String[] SEPARATORS = {" ", "", "  ", "\t"};
+
+    private final DateTimeLexer lexer = new DateTimeLexer("Today", "Tomorrow",
+            "Mon", "Monday", "Tue", "Tues", "Tuesday", "Wed", "Wednesday", "Thu", "Thurs", "Thursday",
+            "Fri", "Friday", "Sat", "Saturday", "Sun", "Sunday");
+
+    private static List<String> generateTexts() {
+        Random random = new Random(42);
+        List<String> texts = new ArrayList<>();
+
+        for (int i = 0; i < 5000; i++) {
+            StringBuilder text = new StringBuilder();
+            int fragmentsCount = 1 + random.nextInt(5);
+
+            for (int j = 0; j < fragmentsCount; j++) {
+                if (j > 0) {
+                    text.append(SEPARATORS[random.nextInt(SEPARATORS.length)]);
+                }
+                text.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+
+            texts.add(text.toString());
+        }
+
+        return texts;
+    }
+
+    private static Optional<int[]> findLastByRegex(String regex, String text) {
+        Matcher matcher = Pattern.compile(regex).matcher(text);
+        int[] lastMatch = null;
+
+        while (matcher.find()) {
+            lastMatch = new int[] {matcher.start(1), matcher.end(1)};
+        }
+
+        return Optional.ofNullable(lastMatch);
+    }
+
+    private static void assertSameMatch(Optional<int[]> expectedMatch, Optional<DateTimeLexer.Match> match,
+            String text) {
+        Assertions.assertEquals(expectedMatch.isPresent(), match.isPresent(), text);
+
+        if (expectedMatch.isPresent()) {
+            Assertions.assertEquals(expectedMatch.get()[0], match.get().getStart(), text);
+            Assertions.assertEquals(expectedMatch.get()[1], match.get().getEnd(), text);
+        }
+    }
+
+    @Test
+    void findsSameDateTimesAsRegex() {
+        for (String text : generateTexts()) {
+            assertSameMatch(findLastByRegex(DATE_TIME_REGEX, text), this.lexer.findLastDateTime(text), text);
+        }
+    }
+
+    @Test
+    void findsSameDateTimePairsAsRegex() {
+        for (String text : generateTexts()) {
+            assertSameMatch(findLastByRegex(DATE_TIME_PAIR_REGEX, text), this.lexer.findLastDateTimePair(text), text);
+        }
+    }
+
+    @Test
+    void splitsDateTimePairs() {
+        DateTimeLexer.Match match = this.lexer.findLastDateTimePair("a today to tomorrow 1200 b").get();
+        Assertions.assertEquals(List.of("today", "tomorrow 1200"), match.getDateTimes());
+        Assertions.assertEquals(2, match.getStart());
+
+        match = this.lexer.findLastDateTimePair("1/1/2019 1200 mon").get();
+        Assertions.assertEquals(List.of("1/1/2019 1200", "mon"), match.getDateTimes());
+    }
+
+    @Test
+    void parsesSameDateTimesAsRegex() {
+        DateTimeLexer dateTimeLexer = new DateTimeLexer("Today", "Tomorrow", "Mon", "Monday", "Tue", "Tues",
+                "Tuesday", "Wed", "Wednesday", "Thu", "Thursday", "Fri", "Friday", "Sat", "Saturday", "Sun", "Sunday");
+
+        for (String text : generateTexts()) {
+            Assertions.assertEquals(text.matches(DATE_REGEX), dateTimeLexer.isDate(text), text);
+            Assertions.assertEquals(text.matches(DAY_REGEX), dateTimeLexer.isDay(text), text);
+
+            if (!text.matches(DATE_REGEX) && !text.matches(DAY_REGEX)) {
+                Assertions.assertThrows(UnknownDateTimeException.class, () -> DateTime.parse(text));
+            }
+        }
+    }
+
+    @Test
+    void parse() throws UnknownDateTimeException {
+        Assertions.assertEquals(LocalDateTime.of(2020, 2, 23, 9, 0), DateTime.parse("23/02/2020 0900"));
+        Assertions.assertEquals(LocalDateTime.of(2019, 1, 1, 0, 0), DateTime.parse("1/1/2019"));
+        Assertions.assertEquals(LocalDateTime.of(19, 1, 1, 0, 0), DateTime.parse("1/1/19"));
+        Assertions.assertEquals(13, DateTime.parse("tomorrow\t1330").getHour());
+        Assertions.assertThrows(UnknownDateTimeException.class, () -> DateTime.parse("1.1.2019"));
+        Assertions.assertThrows(UnknownDateTimeException.class, () -> DateTime.parse("|5/1/2019"));
+        Assertions.assertThrows(UnknownDateTimeException.class, () -> DateTime.parse("29/02/2019"));
+        Assertions.assertThrows(UnknownDateTimeException.class, () -> DateTime.parse("thurs"));
+        Assertions.assertThrows(UnknownDateTimeException.class, () -> DateTime.parse("mon  1200"));
+    }
+}